@@ -13,3 +13,16 @@
 * See the License for the specific language governing permissions and
 * limitations under the License.
 */
+
+insert into scrty_fn_lk (scrty_fn_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+values ('FN_BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_POST', current_timestamp, 'SYSTEM', current_timestamp, 'SYSTEM');
+
+insert into scrty_fn_lk (scrty_fn_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+values ('FN_METRICS_GET', current_timestamp, 'SYSTEM', current_timestamp, 'SYSTEM');
+
+insert into scrty_fn_lk (scrty_fn_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+values ('FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_STREAM_POST', current_timestamp, 'SYSTEM', current_timestamp, 'SYSTEM');
+
+create index bus_objct_data_ix6 on bus_objct_data (bus_objct_frmt_id, updt_ts);
+
+create index strge_unit_ix5 on strge_unit (updt_ts);
@@ -0,0 +1,492 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.core.helper;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.SuppressLogging;
+
+/**
+ * A helper that records the latency, error count and in-flight count of the herd methods and exposes them in the Prometheus text exposition format. The
+ * metrics are kept in memory since the start of this herd node and are never reset.
+ */
+@Component
+public class MethodMetricsHelper
+{
+    /**
+     * The category of the herd DAO methods.
+     */
+    public static final String DAO_METHOD_CATEGORY = "dao";
+
+    /**
+     * The category of the herd DAO operations methods, i.e. the calls made to the external services like AWS.
+     */
+    public static final String OPERATIONS_METHOD_CATEGORY = "operations";
+
+    /**
+     * The category of the herd service methods.
+     */
+    public static final String SERVICE_METHOD_CATEGORY = "service";
+
+    /**
+     * The quantiles of the method durations exposed by the metrics.
+     */
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    /**
+     * The upper bounds of the method duration histogram buckets in milliseconds. Durations above the last bound are counted in an additional overflow bucket.
+     */
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLISECONDS =
+        {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 120000, 300000, 600000};
+
+    /**
+     * The upper bounds of the method duration histogram buckets in nanoseconds.
+     */
+    private static final long[] BUCKET_UPPER_BOUNDS_NANOSECONDS =
+        Arrays.stream(BUCKET_UPPER_BOUNDS_MILLISECONDS).map(TimeUnit.MILLISECONDS::toNanos).toArray();
+
+    /**
+     * The method metrics by category, target class and the method from the join point signature. The nested maps let the metrics of a method call be found
+     * without any reflection or annotation lookup after the first call.
+     */
+    private final ConcurrentMap<String, ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodMetrics>>> methodMetricsMap = new ConcurrentHashMap<>();
+
+    /**
+     * The named counters recorded by the herd components outside of the method calls, e.g. the number of processed messages.
+     */
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * The named gauges registered by the herd components, e.g. the number of queued tasks. The gauge values are read when the metrics are exposed.
+     */
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the metrics of the method called by the specified join point. The metrics, along with the suppress logging flag of the method, are created on the
+     * first call and cached for all subsequent calls.
+     *
+     * @param category the method category
+     * @param pjp the proceeding join point
+     *
+     * @return the method metrics
+     */
+    public MethodMetrics getMethodMetrics(String category, ProceedingJoinPoint pjp)
+    {
+        // Get the target class being called.
+        Class<?> targetClass = pjp.getTarget().getClass();
+
+        // Get the target method being called as defined by the join point signature.
+        Method signatureMethod = ((MethodSignature) pjp.getSignature()).getMethod();
+
+        return methodMetricsMap.computeIfAbsent(category, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(signatureMethod, key -> createMethodMetrics(category, targetClass, signatureMethod));
+    }
+
+    /**
+     * Gets the current value of the specified named counter.
+     *
+     * @param name the counter name
+     *
+     * @return the counter value or 0 if the counter was never incremented
+     */
+    public long getCounter(String name)
+    {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Increments the specified named counter. The counter is exposed by the metrics as "herd_&lt;name&gt;_total".
+     *
+     * @param name the counter name that must be a valid Prometheus metric name
+     * @param amount the amount to increment the counter by
+     */
+    public void incrementCounter(String name, long amount)
+    {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * Registers the specified named gauge, replacing a gauge previously registered with the same name. The gauge is exposed by the metrics as
+     * "herd_&lt;name&gt;".
+     *
+     * @param name the gauge name that must be a valid Prometheus metric name
+     * @param valueSupplier the supplier of the current gauge value, which must be thread safe and must not block
+     */
+    public void registerGauge(String name, LongSupplier valueSupplier)
+    {
+        gauges.put(name, valueSupplier);
+    }
+
+    /**
+     * Gets the current value of the specified named gauge.
+     *
+     * @param name the gauge name
+     *
+     * @return the gauge value or 0 if the gauge was never registered
+     */
+    public long getGauge(String name)
+    {
+        LongSupplier gauge = gauges.get(name);
+        return gauge == null ? 0 : gauge.getAsLong();
+    }
+
+    /**
+     * Gets the metrics of all the methods called so far in the Prometheus text exposition format. The method durations are exposed as a summary with the
+     * 0.5, 0.95 and 0.99 quantiles, which are estimated from a histogram with fixed buckets. The named counters and then the named gauges follow the method
+     * metrics.
+     *
+     * @return the metrics in the Prometheus text exposition format
+     */
+    public String getPrometheusMetrics()
+    {
+        // Collect the metrics of all methods sorted by category, method name and parameter types, so the output is stable.
+        List<MethodMetrics> methodMetricsList = new ArrayList<>();
+        for (ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodMetrics>> methodMetricsByClass : methodMetricsMap.values())
+        {
+            for (ConcurrentMap<Method, MethodMetrics> methodMetricsByMethod : methodMetricsByClass.values())
+            {
+                methodMetricsList.addAll(methodMetricsByMethod.values());
+            }
+        }
+        methodMetricsList.sort(Comparator.comparing(MethodMetrics::getCategory).thenComparing(MethodMetrics::getClassName)
+            .thenComparing(MethodMetrics::getMethodName).thenComparing(MethodMetrics::getParameterTypeNames));
+
+        StringBuilder prometheusMetrics = new StringBuilder();
+
+        prometheusMetrics.append("# HELP herd_method_duration_seconds The duration of the herd method calls.\n");
+        prometheusMetrics.append("# TYPE herd_method_duration_seconds summary\n");
+        for (MethodMetrics methodMetrics : methodMetricsList)
+        {
+            String labels = getLabels(methodMetrics);
+            for (double quantile : QUANTILES)
+            {
+                prometheusMetrics.append("herd_method_duration_seconds{").append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                    .append(toSeconds(methodMetrics.getDurationQuantileNanoseconds(quantile))).append('\n');
+            }
+            prometheusMetrics.append("herd_method_duration_seconds_sum{").append(labels).append("} ")
+                .append(toSeconds(methodMetrics.getDurationSumNanoseconds())).append('\n');
+            prometheusMetrics.append("herd_method_duration_seconds_count{").append(labels).append("} ").append(methodMetrics.getCount()).append('\n');
+        }
+
+        prometheusMetrics.append("# HELP herd_method_errors_total The number of herd method calls that threw an exception.\n");
+        prometheusMetrics.append("# TYPE herd_method_errors_total counter\n");
+        for (MethodMetrics methodMetrics : methodMetricsList)
+        {
+            prometheusMetrics.append("herd_method_errors_total{").append(getLabels(methodMetrics)).append("} ").append(methodMetrics.getErrorCount())
+                .append('\n');
+        }
+
+        prometheusMetrics.append("# HELP herd_method_in_flight The number of herd method calls currently in progress.\n");
+        prometheusMetrics.append("# TYPE herd_method_in_flight gauge\n");
+        for (MethodMetrics methodMetrics : methodMetricsList)
+        {
+            prometheusMetrics.append("herd_method_in_flight{").append(getLabels(methodMetrics)).append("} ").append(methodMetrics.getInFlightCount())
+                .append('\n');
+        }
+
+        for (Map.Entry<String, LongAdder> counter : new TreeMap<>(counters).entrySet())
+        {
+            String metricName = "herd_" + counter.getKey() + "_total";
+            prometheusMetrics.append("# TYPE ").append(metricName).append(" counter\n");
+            prometheusMetrics.append(metricName).append(' ').append(counter.getValue().sum()).append('\n');
+        }
+
+        for (Map.Entry<String, LongSupplier> gauge : new TreeMap<>(gauges).entrySet())
+        {
+            String metricName = "herd_" + gauge.getKey();
+            prometheusMetrics.append("# TYPE ").append(metricName).append(" gauge\n");
+            prometheusMetrics.append(metricName).append(' ').append(gauge.getValue().getAsLong()).append('\n');
+        }
+
+        return prometheusMetrics.toString();
+    }
+
+    /**
+     * Creates the metrics of the specified method. When the method from the join point signature is declared by an interface, the underlying implementation
+     * method is used to look up the suppress logging annotation.
+     *
+     * @param category the method category
+     * @param targetClass the target class
+     * @param signatureMethod the method from the join point signature
+     *
+     * @return the method metrics
+     */
+    private MethodMetrics createMethodMetrics(String category, Class<?> targetClass, Method signatureMethod)
+    {
+        Method targetMethod = signatureMethod;
+        if (signatureMethod.getDeclaringClass().isInterface())
+        {
+            try
+            {
+                // Get the underlying implementation if we are given an interface.
+                targetMethod = targetClass.getMethod(signatureMethod.getName(), signatureMethod.getParameterTypes());
+            }
+            catch (NoSuchMethodException e)
+            {
+                // Keep the interface method, which still has the right name.
+                targetMethod = signatureMethod;
+            }
+        }
+
+        boolean suppressLogging = (AnnotationUtils.findAnnotation(targetClass, SuppressLogging.class) != null) ||
+            (AnnotationUtils.findAnnotation(targetMethod, SuppressLogging.class) != null);
+
+        // Keep the parameter types of the method, so the overloaded methods are exposed as separate series.
+        String parameterTypeNames = Arrays.stream(signatureMethod.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(","));
+
+        return new MethodMetrics(category, targetClass.getName(), signatureMethod.getName(), parameterTypeNames, suppressLogging);
+    }
+
+    /**
+     * Gets the Prometheus labels of the specified method metrics. The parameters label tells the overloaded methods apart.
+     *
+     * @param methodMetrics the method metrics
+     *
+     * @return the labels
+     */
+    private String getLabels(MethodMetrics methodMetrics)
+    {
+        return "category=\"" + escapeLabelValue(methodMetrics.getCategory()) + "\",class=\"" + escapeLabelValue(methodMetrics.getClassName()) +
+            "\",method=\"" + escapeLabelValue(methodMetrics.getMethodName()) + "\",parameters=\"" + escapeLabelValue(methodMetrics.getParameterTypeNames()) +
+            "\"";
+    }
+
+    /**
+     * Escapes a Prometheus label value.
+     *
+     * @param labelValue the label value
+     *
+     * @return the escaped label value
+     */
+    private String escapeLabelValue(String labelValue)
+    {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Converts a duration in nanoseconds to seconds.
+     *
+     * @param nanoseconds the duration in nanoseconds
+     *
+     * @return the duration in seconds
+     */
+    private double toSeconds(double nanoseconds)
+    {
+        return nanoseconds / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * The metrics of a single method. All the methods of this class are thread safe.
+     */
+    public static class MethodMetrics
+    {
+        private final String category;
+
+        private final String className;
+
+        private final String methodName;
+
+        private final String parameterTypeNames;
+
+        private final boolean suppressLogging;
+
+        private final LongAdder[] bucketCounts = new LongAdder[BUCKET_UPPER_BOUNDS_NANOSECONDS.length + 1];
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder durationSumNanoseconds = new LongAdder();
+
+        private final LongAccumulator durationMaxNanoseconds = new LongAccumulator(Long::max, 0);
+
+        private final LongAdder errorCount = new LongAdder();
+
+        private final AtomicLong inFlightCount = new AtomicLong();
+
+        /**
+         * Creates the metrics of a method.
+         *
+         * @param category the method category
+         * @param className the name of the target class
+         * @param methodName the method name
+         * @param parameterTypeNames the comma separated simple names of the method parameter types
+         * @param suppressLogging whether the class or method is annotated with {@link SuppressLogging}
+         */
+        public MethodMetrics(String category, String className, String methodName, String parameterTypeNames, boolean suppressLogging)
+        {
+            this.category = category;
+            this.className = className;
+            this.methodName = methodName;
+            this.parameterTypeNames = parameterTypeNames;
+            this.suppressLogging = suppressLogging;
+
+            for (int i = 0; i < bucketCounts.length; i++)
+            {
+                bucketCounts[i] = new LongAdder();
+            }
+        }
+
+        public String getCategory()
+        {
+            return category;
+        }
+
+        public String getClassName()
+        {
+            return className;
+        }
+
+        public String getMethodName()
+        {
+            return methodName;
+        }
+
+        public String getParameterTypeNames()
+        {
+            return parameterTypeNames;
+        }
+
+        public boolean isSuppressLogging()
+        {
+            return suppressLogging;
+        }
+
+        public long getCount()
+        {
+            return count.sum();
+        }
+
+        public long getDurationSumNanoseconds()
+        {
+            return durationSumNanoseconds.sum();
+        }
+
+        public long getErrorCount()
+        {
+            return errorCount.sum();
+        }
+
+        public long getInFlightCount()
+        {
+            return inFlightCount.get();
+        }
+
+        /**
+         * Records the start of a method call.
+         *
+         * @return the start time in nanoseconds to be passed to {@link #stop(long, boolean)}
+         */
+        public long start()
+        {
+            inFlightCount.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        /**
+         * Records the end of a method call.
+         *
+         * @param startTime the start time in nanoseconds as returned by {@link #start()}
+         * @param error whether the method call threw an exception
+         *
+         * @return the duration of the method call in nanoseconds
+         */
+        public long stop(long startTime, boolean error)
+        {
+            long durationNanoseconds = System.nanoTime() - startTime;
+            inFlightCount.decrementAndGet();
+
+            // Find the histogram bucket of the duration. A negative insertion point means the duration falls between two bucket bounds.
+            int bucketIndex = Arrays.binarySearch(BUCKET_UPPER_BOUNDS_NANOSECONDS, durationNanoseconds);
+            bucketCounts[bucketIndex >= 0 ? bucketIndex : -bucketIndex - 1].increment();
+
+            count.increment();
+            durationSumNanoseconds.add(durationNanoseconds);
+            durationMaxNanoseconds.accumulate(durationNanoseconds);
+            if (error)
+            {
+                errorCount.increment();
+            }
+
+            return durationNanoseconds;
+        }
+
+        /**
+         * Estimates the specified quantile of the method durations. The duration is interpolated linearly within the histogram bucket holding the quantile.
+         * The estimate never exceeds the longest recorded duration, which is also used for the durations in the overflow bucket.
+         *
+         * @param quantile the quantile between 0 and 1
+         *
+         * @return the estimated duration in nanoseconds or 0 if no method call was recorded
+         */
+        public double getDurationQuantileNanoseconds(double quantile)
+        {
+            // Take a snapshot of the bucket counts.
+            long[] counts = new long[bucketCounts.length];
+            long totalCount = 0;
+            for (int i = 0; i < counts.length; i++)
+            {
+                counts[i] = bucketCounts[i].sum();
+                totalCount += counts[i];
+            }
+
+            if (totalCount == 0)
+            {
+                return 0;
+            }
+
+            // Find the bucket holding the rank of the quantile.
+            double rank = quantile * totalCount;
+            long cumulativeCount = 0;
+            for (int i = 0; i < counts.length; i++)
+            {
+                if (counts[i] > 0 && cumulativeCount + counts[i] >= rank)
+                {
+                    if (i == BUCKET_UPPER_BOUNDS_NANOSECONDS.length)
+                    {
+                        return durationMaxNanoseconds.get();
+                    }
+
+                    long lowerBound = i == 0 ? 0 : BUCKET_UPPER_BOUNDS_NANOSECONDS[i - 1];
+                    long upperBound = BUCKET_UPPER_BOUNDS_NANOSECONDS[i];
+                    return Math.min(lowerBound + (upperBound - lowerBound) * (rank - cumulativeCount) / counts[i], durationMaxNanoseconds.get());
+                }
+                cumulativeCount += counts[i];
+            }
+
+            return durationMaxNanoseconds.get();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.core.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aspectj.lang.Signature;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.finra.herd.core.MockMethodSignature;
+import org.finra.herd.core.MockProceedingJoinPoint;
+import org.finra.herd.core.SuppressLogging;
+
+/**
+ * This class tests functionality within the method metrics helper.
+ */
+public class MethodMetricsHelperTest
+{
+    private MethodMetricsHelper methodMetricsHelper;
+
+    @Before
+    public void before()
+    {
+        methodMetricsHelper = new MethodMetricsHelper();
+    }
+
+    @Test
+    public void testCounters()
+    {
+        // Increment two named counters.
+        methodMetricsHelper.incrementCounter("test_b_count", 2);
+        methodMetricsHelper.incrementCounter("test_a_count", 1);
+        methodMetricsHelper.incrementCounter("test_b_count", 3);
+
+        // Validate the counter values.
+        assertEquals(1, methodMetricsHelper.getCounter("test_a_count"));
+        assertEquals(5, methodMetricsHelper.getCounter("test_b_count"));
+        assertEquals(0, methodMetricsHelper.getCounter("test_c_count"));
+
+        // Validate that the counters are exposed sorted by name.
+        String prometheusMetrics = methodMetricsHelper.getPrometheusMetrics();
+        assertTrue(prometheusMetrics.endsWith("# TYPE herd_test_a_count_total counter\nherd_test_a_count_total 1\n" +
+            "# TYPE herd_test_b_count_total counter\nherd_test_b_count_total 5\n"));
+    }
+
+    @Test
+    public void testGauges()
+    {
+        // Register two named gauges and a counter.
+        AtomicLong gaugeValue = new AtomicLong(7);
+        methodMetricsHelper.registerGauge("test_b_size", gaugeValue::get);
+        methodMetricsHelper.registerGauge("test_a_size", () -> 3);
+        methodMetricsHelper.incrementCounter("test_count", 1);
+
+        // Validate the gauge values, which are read on demand.
+        assertEquals(3, methodMetricsHelper.getGauge("test_a_size"));
+        assertEquals(7, methodMetricsHelper.getGauge("test_b_size"));
+        gaugeValue.set(9);
+        assertEquals(9, methodMetricsHelper.getGauge("test_b_size"));
+        assertEquals(0, methodMetricsHelper.getGauge("test_c_size"));
+
+        // Validate that the gauges are exposed sorted by name after the counters.
+        String prometheusMetrics = methodMetricsHelper.getPrometheusMetrics();
+        assertTrue(prometheusMetrics.endsWith("herd_test_count_total 1\n# TYPE herd_test_a_size gauge\nherd_test_a_size 3\n" +
+            "# TYPE herd_test_b_size gauge\nherd_test_b_size 9\n"));
+    }
+
+    @Test
+    public void testGetMethodMetrics()
+    {
+        // Get the method metrics twice for the same method.
+        MethodMetricsHelper.MethodMetrics methodMetrics =
+            methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.SERVICE_METHOD_CATEGORY, new MockProceedingJoinPoint());
+
+        // Validate that the method metrics are created once and then reused.
+        assertSame(methodMetrics, methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.SERVICE_METHOD_CATEGORY, new MockProceedingJoinPoint()));
+        assertEquals(MethodMetricsHelper.SERVICE_METHOD_CATEGORY, methodMetrics.getCategory());
+        assertEquals(MockProceedingJoinPoint.class.getName(), methodMetrics.getClassName());
+        assertEquals("getMethod", methodMetrics.getMethodName());
+        assertEquals("", methodMetrics.getParameterTypeNames());
+        assertFalse(methodMetrics.isSuppressLogging());
+        assertEquals(0, methodMetrics.getCount());
+    }
+
+    @Test
+    public void testGetMethodMetricsClassSuppressLogging()
+    {
+        // Get the method metrics of a class annotated with SuppressLogging.
+        MethodMetricsHelper.MethodMetrics methodMetrics =
+            methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.DAO_METHOD_CATEGORY, new MockProceedingJoinPointClassSuppressLogging());
+
+        // Validate the method metrics.
+        assertEquals(MockProceedingJoinPointClassSuppressLogging.class.getName(), methodMetrics.getClassName());
+        assertTrue(methodMetrics.isSuppressLogging());
+    }
+
+    @Test
+    public void testGetMethodMetricsOverloadedMethods()
+    {
+        // Get the method metrics of two overloaded methods.
+        MethodMetricsHelper.MethodMetrics methodMetrics =
+            methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.SERVICE_METHOD_CATEGORY, new MockProceedingJoinPointOverloadedMethod());
+        MethodMetricsHelper.MethodMetrics overloadedMethodMetrics =
+            methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.SERVICE_METHOD_CATEGORY, new MockProceedingJoinPointOverloadedMethod(Object[].class));
+
+        // Validate that the overloaded methods have separate metrics.
+        assertNotSame(methodMetrics, overloadedMethodMetrics);
+        assertEquals("proceed", methodMetrics.getMethodName());
+        assertEquals("", methodMetrics.getParameterTypeNames());
+        assertEquals("proceed", overloadedMethodMetrics.getMethodName());
+        assertEquals("Object[]", overloadedMethodMetrics.getParameterTypeNames());
+
+        // Validate that the overloaded methods are exposed with distinct labels.
+        String prometheusMetrics = methodMetricsHelper.getPrometheusMetrics();
+        String labels = "category=\"service\",class=\"" + MockProceedingJoinPointOverloadedMethod.class.getName() + "\",method=\"proceed\"";
+        assertTrue(prometheusMetrics.contains("herd_method_errors_total{" + labels + ",parameters=\"\"} 0\n"));
+        assertTrue(prometheusMetrics.contains("herd_method_errors_total{" + labels + ",parameters=\"Object[]\"} 0\n"));
+    }
+
+    @Test
+    public void testMethodMetricsDurationQuantiles()
+    {
+        // Record 90 method calls that took about 3 milliseconds and 10 method calls that took about 700 milliseconds, one of which failed.
+        MethodMetricsHelper.MethodMetrics methodMetrics =
+            methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.OPERATIONS_METHOD_CATEGORY, new MockProceedingJoinPoint());
+        for (int i = 0; i < 100; i++)
+        {
+            methodMetrics.start();
+            methodMetrics.stop(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(i < 90 ? 3 : 700), i == 99);
+        }
+
+        // Validate the counters.
+        assertEquals(100, methodMetrics.getCount());
+        assertEquals(1, methodMetrics.getErrorCount());
+        assertEquals(0, methodMetrics.getInFlightCount());
+
+        // Validate that the quantiles fall within the relative histogram buckets.
+        double medianMilliseconds = methodMetrics.getDurationQuantileNanoseconds(0.5) / TimeUnit.MILLISECONDS.toNanos(1);
+        assertTrue(medianMilliseconds >= 2 && medianMilliseconds <= 5);
+        double p99Milliseconds = methodMetrics.getDurationQuantileNanoseconds(0.99) / TimeUnit.MILLISECONDS.toNanos(1);
+        assertTrue(p99Milliseconds >= 500 && p99Milliseconds <= 1000);
+    }
+
+    @Test
+    public void testMethodMetricsDurationQuantilesNoMethodCalls()
+    {
+        // Get the method metrics without recording any method calls.
+        MethodMetricsHelper.MethodMetrics methodMetrics =
+            methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.SERVICE_METHOD_CATEGORY, new MockProceedingJoinPoint());
+
+        // Validate the quantile.
+        assertEquals(0, methodMetrics.getDurationQuantileNanoseconds(0.5), 0);
+    }
+
+    @Test
+    public void testGetPrometheusMetrics()
+    {
+        // Record a method call that is still in progress and a method call that failed.
+        MethodMetricsHelper.MethodMetrics methodMetrics =
+            methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.SERVICE_METHOD_CATEGORY, new MockProceedingJoinPoint());
+        methodMetrics.start();
+        methodMetrics.stop(methodMetrics.start(), true);
+
+        // Get the metrics.
+        String prometheusMetrics = methodMetricsHelper.getPrometheusMetrics();
+
+        // Validate the metrics.
+        String labels = "category=\"service\",class=\"" + MockProceedingJoinPoint.class.getName() + "\",method=\"getMethod\",parameters=\"\"";
+        assertTrue(prometheusMetrics.contains("# TYPE herd_method_duration_seconds summary\n"));
+        assertTrue(prometheusMetrics.contains("herd_method_duration_seconds{" + labels + ",quantile=\"0.99\"} "));
+        assertTrue(prometheusMetrics.contains("herd_method_duration_seconds_count{" + labels + "} 1\n"));
+        assertTrue(prometheusMetrics.contains("# TYPE herd_method_errors_total counter\n"));
+        assertTrue(prometheusMetrics.contains("herd_method_errors_total{" + labels + "} 1\n"));
+        assertTrue(prometheusMetrics.contains("# TYPE herd_method_in_flight gauge\n"));
+        assertTrue(prometheusMetrics.contains("herd_method_in_flight{" + labels + "} 1\n"));
+    }
+
+    /**
+     * This is a mock proceeding join point that has the suppress logging annotation present.
+     */
+    @SuppressLogging
+    public class MockProceedingJoinPointClassSuppressLogging extends MockProceedingJoinPoint
+    {
+    }
+
+    /**
+     * This is a mock proceeding join point that calls one of its overloaded proceed methods.
+     */
+    public class MockProceedingJoinPointOverloadedMethod extends MockProceedingJoinPoint
+    {
+        private final Class<?>[] parameterTypes;
+
+        public MockProceedingJoinPointOverloadedMethod(Class<?>... parameterTypes)
+        {
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        public Signature getSignature()
+        {
+            return new MockMethodSignature()
+            {
+                @Override
+                public Method getMethod()
+                {
+                    try
+                    {
+                        return MockProceedingJoinPoint.class.getMethod("proceed", parameterTypes);
+                    }
+                    catch (NoSuchMethodException e)
+                    {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+        }
+    }
+}
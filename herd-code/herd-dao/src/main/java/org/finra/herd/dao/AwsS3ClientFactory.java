@@ -16,8 +16,15 @@
 package org.finra.herd.dao;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
 
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSCredentials;
@@ -35,25 +42,70 @@ import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3control.AWSS3Control;
 import com.amazonaws.services.s3control.AWSS3ControlClient;
 import com.amazonaws.services.s3control.AWSS3ControlClientBuilder;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.core.helper.MethodMetricsHelper;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.model.api.xml.AwsCredential;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 
+/**
+ * A factory of the Amazon S3 clients. The S3 clients are pooled by region, endpoint, client configuration and credentials, so their connection pools are
+ * reused across the S3 operations. A pooled S3 client is leased by {@link #getAmazonS3Client(S3FileTransferRequestParamsDto)} and must be given back by
+ * {@link #releaseAmazonS3Client(AmazonS3Client)} once the S3 operation completes.
+ */
 @Component
 public class AwsS3ClientFactory
 {
+    /**
+     * The name of the counter of the Amazon S3 clients created by this factory.
+     */
+    public static final String CREATED_CLIENTS_COUNTER = "s3_client_pool_created_clients";
+
+    /**
+     * The name of the counter of the Amazon S3 client leases served by an already pooled client.
+     */
+    public static final String REUSED_CLIENTS_COUNTER = "s3_client_pool_reused_clients";
+
+    /**
+     * The name of the counter of the Amazon S3 clients shut down by this factory. The number of created clients less the number of shut down clients is the
+     * number of live clients.
+     */
+    public static final String SHUTDOWN_CLIENTS_COUNTER = "s3_client_pool_shutdown_clients";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AwsClientFactory.class);
 
     @Autowired
     private AwsHelper awsHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
+    @Autowired
+    private S3TransferExecutorFactory s3TransferExecutorFactory;
+
+    /**
+     * The pooled Amazon S3 clients by pool key in the least recently used order. Guarded by this factory's monitor.
+     */
+    private final Map<PoolKey, PooledAmazonS3Client> amazonS3ClientPool = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The leased pooled Amazon S3 clients, including the ones already removed from the pool, by client identity. Guarded by this factory's monitor.
+     */
+    private final Map<AmazonS3Client, PooledAmazonS3Client> leasedAmazonS3Clients = new IdentityHashMap<>();
+
     /**
      * <p> Gets the {@link AWSCredentialsProvider} based on the credentials in the given parameters. </p> <p> Returns {@link
      * DefaultAWSCredentialsProviderChain} if either access or secret key is {@code null}. Otherwise returns a {@link StaticCredentialsProvider} with the
@@ -81,7 +133,9 @@ public class AwsS3ClientFactory
     }
 
     /**
-     * Gets a new S3 client based on the specified parameters. The HTTP proxy information will be added if the host and port are specified in the parameters.
+     * Leases an S3 client from the S3 client pool based on the specified parameters. A new S3 client is created and pooled if none matches the region,
+     * endpoint, HTTP proxy, socket timeout and credentials in the parameters. The client must be given back by {@link #releaseAmazonS3Client(AmazonS3Client)}
+     * and must not be shut down by the caller.
      *
      * @param params the parameters
      *
@@ -89,11 +143,62 @@ public class AwsS3ClientFactory
      */
     public AmazonS3Client getAmazonS3Client(S3FileTransferRequestParamsDto params)
     {
-        return getAmazonS3Client(params, null);
+        // The clients that use additional credentials providers are not pooled, since the providers carry no comparable identity.
+        int maxPoolSize = configurationHelper.getProperty(ConfigurationValue.S3_CLIENT_POOL_MAX_SIZE, Integer.class);
+        if (maxPoolSize <= 0 || CollectionUtils.isNotEmpty(params.getAdditionalAwsCredentialsProviders()))
+        {
+            return getAmazonS3Client(params, null);
+        }
+
+        PoolKey poolKey = new PoolKey(params);
+        long currentTime = System.currentTimeMillis();
+
+        synchronized (this)
+        {
+            // Reuse the pooled client, unless it is expired.
+            PooledAmazonS3Client pooledAmazonS3Client = amazonS3ClientPool.get(poolKey);
+            if (pooledAmazonS3Client != null && pooledAmazonS3Client.expirationTime <= currentTime)
+            {
+                retirePooledAmazonS3Client(amazonS3ClientPool.remove(poolKey));
+                pooledAmazonS3Client = null;
+            }
+
+            if (pooledAmazonS3Client == null)
+            {
+                long ttlSeconds = poolKey.sessionTokenHash != null ?
+                    configurationHelper.getProperty(ConfigurationValue.S3_CLIENT_POOL_SESSION_CREDENTIALS_TTL_SECS, Integer.class) :
+                    configurationHelper.getProperty(ConfigurationValue.S3_CLIENT_POOL_TTL_SECS, Integer.class);
+                pooledAmazonS3Client =
+                    new PooledAmazonS3Client(createAmazonS3Client(params, null), currentTime + TimeUnit.SECONDS.toMillis(ttlSeconds));
+                amazonS3ClientPool.put(poolKey, pooledAmazonS3Client);
+
+                // Retire the least recently used clients over the maximum pool size.
+                Iterator<PooledAmazonS3Client> iterator = amazonS3ClientPool.values().iterator();
+                while (amazonS3ClientPool.size() > maxPoolSize && iterator.hasNext())
+                {
+                    PooledAmazonS3Client eldestPooledAmazonS3Client = iterator.next();
+                    iterator.remove();
+                    retirePooledAmazonS3Client(eldestPooledAmazonS3Client);
+                }
+
+                LOGGER.info("Created a pooled Amazon S3 client. s3ClientPoolSize={} s3ClientsLeased={}", amazonS3ClientPool.size(),
+                    leasedAmazonS3Clients.size());
+            }
+            else
+            {
+                methodMetricsHelper.incrementCounter(REUSED_CLIENTS_COUNTER, 1);
+            }
+
+            pooledAmazonS3Client.leaseCount++;
+            leasedAmazonS3Clients.put(pooledAmazonS3Client.amazonS3Client, pooledAmazonS3Client);
+
+            return pooledAmazonS3Client.amazonS3Client;
+        }
     }
 
     /**
      * Gets a new S3 client based on the specified parameters. The HTTP proxy information will be added if the host and port are specified in the parameters.
+     * The client is not pooled, but it can still be given back by {@link #releaseAmazonS3Client(AmazonS3Client)}, which shuts it down.
      *
      * @param params the parameters
      * @param awsCredentialsProvider the AWS credentials provider, may be null
@@ -101,6 +206,76 @@ public class AwsS3ClientFactory
      * @return the Amazon S3 client.
      */
     public AmazonS3Client getAmazonS3Client(S3FileTransferRequestParamsDto params, AWSCredentialsProvider awsCredentialsProvider)
+    {
+        return createAmazonS3Client(params, awsCredentialsProvider);
+    }
+
+    /**
+     * Gives back an S3 client obtained from this factory. A pooled client stays in the pool to be reused, unless it was removed from the pool while leased, in
+     * which case it is shut down once given back by all its users. A client that is not pooled is shut down.
+     *
+     * @param amazonS3Client the Amazon S3 client
+     */
+    public void releaseAmazonS3Client(AmazonS3Client amazonS3Client)
+    {
+        synchronized (this)
+        {
+            PooledAmazonS3Client pooledAmazonS3Client = leasedAmazonS3Clients.get(amazonS3Client);
+            if (pooledAmazonS3Client != null)
+            {
+                pooledAmazonS3Client.leaseCount--;
+                if (pooledAmazonS3Client.leaseCount > 0)
+                {
+                    return;
+                }
+
+                leasedAmazonS3Clients.remove(amazonS3Client);
+                if (!pooledAmazonS3Client.retired)
+                {
+                    return;
+                }
+            }
+        }
+
+        shutdownAmazonS3Client(amazonS3Client);
+    }
+
+    /**
+     * Gets the number of the Amazon S3 clients in the S3 client pool.
+     *
+     * @return the S3 client pool size
+     */
+    public synchronized int getAmazonS3ClientPoolSize()
+    {
+        return amazonS3ClientPool.size();
+    }
+
+    /**
+     * Shuts down all the pooled S3 clients.
+     */
+    @PreDestroy
+    public void shutdownAmazonS3ClientPool()
+    {
+        List<PooledAmazonS3Client> pooledAmazonS3Clients;
+        synchronized (this)
+        {
+            pooledAmazonS3Clients = new ArrayList<>(amazonS3ClientPool.values());
+            amazonS3ClientPool.clear();
+        }
+
+        pooledAmazonS3Clients.forEach(this::retirePooledAmazonS3Client);
+    }
+
+    /**
+     * Creates a new S3 client based on the specified parameters. The HTTP proxy information will be added if the host and port are specified in the
+     * parameters.
+     *
+     * @param params the parameters
+     * @param awsCredentialsProvider the AWS credentials provider, may be null
+     *
+     * @return the Amazon S3 client.
+     */
+    private AmazonS3Client createAmazonS3Client(S3FileTransferRequestParamsDto params, AWSCredentialsProvider awsCredentialsProvider)
     {
         AmazonS3Client amazonS3Client;
 
@@ -136,10 +311,43 @@ public class AwsS3ClientFactory
             amazonS3Client.setRegion(Region.getRegion(Regions.fromName(params.getAwsRegionName())));
         }
 
+        methodMetricsHelper.incrementCounter(CREATED_CLIENTS_COUNTER, 1);
+
         // Return the newly created client.
         return amazonS3Client;
     }
 
+    /**
+     * Marks a client removed from the S3 client pool as retired and shuts it down if it is not leased. A leased retired client is shut down once released.
+     *
+     * @param pooledAmazonS3Client the pooled Amazon S3 client
+     */
+    private void retirePooledAmazonS3Client(PooledAmazonS3Client pooledAmazonS3Client)
+    {
+        boolean shutdown;
+        synchronized (this)
+        {
+            pooledAmazonS3Client.retired = true;
+            shutdown = pooledAmazonS3Client.leaseCount == 0;
+        }
+
+        if (shutdown)
+        {
+            shutdownAmazonS3Client(pooledAmazonS3Client.amazonS3Client);
+        }
+    }
+
+    /**
+     * Shuts down an S3 client to release its resources.
+     *
+     * @param amazonS3Client the Amazon S3 client
+     */
+    private void shutdownAmazonS3Client(AmazonS3Client amazonS3Client)
+    {
+        amazonS3Client.shutdown();
+        methodMetricsHelper.incrementCounter(SHUTDOWN_CLIENTS_COUNTER, 1);
+    }
+
     /**
      * Gets a new S3 control client based on the specified parameters.
      *
@@ -172,7 +380,8 @@ public class AwsS3ClientFactory
     }
 
     /**
-     * Gets a transfer manager with the specified parameters including proxy host, proxy port, S3 access key, S3 secret key, and max threads.
+     * Gets a transfer manager with the specified parameters including proxy host, proxy port, S3 access key, S3 secret key, and max threads. The transfer
+     * manager runs its tasks on the transfer thread pool shared by this JVM, limited to the specified max threads or to the configured default.
      *
      * @param params the parameters.
      *
@@ -182,17 +391,89 @@ public class AwsS3ClientFactory
     {
         // We are returning a new transfer manager each time it is called. Although the Javadocs of TransferManager say to share a single instance
         // if possible, this could potentially be a problem if TransferManager.shutdown(true) is called and underlying resources are not present when needed
-        // for subsequent transfers.
-        if (params.getMaxThreads() == null)
+        // for subsequent transfers. For the same reason, the transfer manager gets its own S3 client rather than a pooled one. Shutting down the transfer
+        // manager only shuts down its own transfer executor service, not the shared thread pool.
+        LOGGER.info("Creating a transfer manager. maxThreads={}", params.getMaxThreads());
+        return new TransferManager(createAmazonS3Client(params, null), s3TransferExecutorFactory.getTransferExecutorService(params.getMaxThreads()));
+    }
+
+    /**
+     * The key of a pooled Amazon S3 client. The credentials are kept as hashes, so the pool keys do not hold the secrets.
+     */
+    private static class PoolKey
+    {
+        private final String awsRegionName;
+
+        private final String s3Endpoint;
+
+        private final String httpProxyHost;
+
+        private final Integer httpProxyPort;
+
+        private final Integer socketTimeout;
+
+        private final String awsAccessKeyId;
+
+        private final String awsSecretKeyHash;
+
+        private final String sessionTokenHash;
+
+        PoolKey(S3FileTransferRequestParamsDto params)
         {
-            // Create a transfer manager that will internally use an appropriate number of threads.
-            return new TransferManager(getAmazonS3Client(params));
+            awsRegionName = params.getAwsRegionName();
+            s3Endpoint = params.getS3Endpoint();
+            httpProxyHost = params.getHttpProxyHost();
+            httpProxyPort = params.getHttpProxyPort();
+            socketTimeout = params.getSocketTimeout();
+            awsAccessKeyId = params.getAwsAccessKeyId();
+            awsSecretKeyHash = params.getAwsSecretKey() == null ? null : DigestUtils.sha256Hex(params.getAwsSecretKey());
+            sessionTokenHash = StringUtils.isBlank(params.getSessionToken()) ? null : DigestUtils.sha256Hex(params.getSessionToken());
         }
-        else
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass())
+            {
+                return false;
+            }
+
+            PoolKey poolKey = (PoolKey) object;
+
+            return Objects.equals(awsRegionName, poolKey.awsRegionName) && Objects.equals(s3Endpoint, poolKey.s3Endpoint) &&
+                Objects.equals(httpProxyHost, poolKey.httpProxyHost) && Objects.equals(httpProxyPort, poolKey.httpProxyPort) &&
+                Objects.equals(socketTimeout, poolKey.socketTimeout) && Objects.equals(awsAccessKeyId, poolKey.awsAccessKeyId) &&
+                Objects.equals(awsSecretKeyHash, poolKey.awsSecretKeyHash) && Objects.equals(sessionTokenHash, poolKey.sessionTokenHash);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(awsRegionName, s3Endpoint, httpProxyHost, httpProxyPort, socketTimeout, awsAccessKeyId, awsSecretKeyHash, sessionTokenHash);
+        }
+    }
+
+    /**
+     * A pooled Amazon S3 client along with its lease count and expiration time. The mutable fields are guarded by the factory's monitor.
+     */
+    private static class PooledAmazonS3Client
+    {
+        private final AmazonS3Client amazonS3Client;
+
+        private final long expirationTime;
+
+        private int leaseCount;
+
+        private boolean retired;
+
+        PooledAmazonS3Client(AmazonS3Client amazonS3Client, long expirationTime)
         {
-            // Create a transfer manager with our own executor configured with the specified total threads.
-            LOGGER.info("Creating a transfer manager. fixedThreadPoolSize={}", params.getMaxThreads());
-            return new TransferManager(getAmazonS3Client(params), Executors.newFixedThreadPool(params.getMaxThreads()));
+            this.amazonS3Client = amazonS3Client;
+            this.expirationTime = expirationTime;
         }
     }
 
@@ -221,4 +221,19 @@ public interface BusinessObjectDataDao extends BaseJpaDao
      */
     List<BusinessObjectData> searchBusinessObjectData(BusinessObjectDataSearchKey businessObjectDataSearchKey,
         Map<String, Integer> partitionKeyToPartitionLevelMap, Integer pageNum, Integer pageSize);
+
+    /**
+     * Retrieves a list of business object data per specified business object data search key using keyset pagination. The results are ordered by business
+     * object data id and only business object data with an id greater than the specified one are returned, so the database can seek on the primary key index
+     * instead of skipping over the records on the previous pages.
+     *
+     * @param businessObjectDataSearchKey the business object data search key
+     * @param partitionKeyToPartitionLevelMap the partition key to partition level mapping, not null
+     * @param lastBusinessObjectDataId the id of the last business object data returned on the previous page, may be null to get the first page
+     * @param maxResults the maximum number of business object data to return
+     *
+     * @return the list of business object data
+     */
+    List<BusinessObjectData> searchBusinessObjectDataAfterId(BusinessObjectDataSearchKey businessObjectDataSearchKey,
+        Map<String, Integer> partitionKeyToPartitionLevelMap, Long lastBusinessObjectDataId, Integer maxResults);
 }
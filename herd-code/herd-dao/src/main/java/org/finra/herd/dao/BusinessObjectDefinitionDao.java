@@ -40,6 +40,17 @@ public interface BusinessObjectDefinitionDao extends BaseJpaDao
      */
     public List<BusinessObjectDefinitionEntity> getAllBusinessObjectDefinitions(Integer startPosition, Integer maxResult);
 
+    /**
+     * Gets a chunk of business object definition entities defined in the system with ids greater than the specified id. The entities are sorted by id, so the
+     * id of the last entity in a chunk can be used to get the next chunk without having the database skip over the entities already retrieved.
+     *
+     * @param lastId the id of the last entity retrieved in the previous chunk, may be null to get the first chunk
+     * @param maxResult the maximum number of results to retrieve
+     *
+     * @return the list of business object definition entities
+     */
+    public List<BusinessObjectDefinitionEntity> getAllBusinessObjectDefinitionsAfterId(Long lastId, int maxResult);
+
     /**
      * Gets a list of business object definition entities by a list of ids
      *
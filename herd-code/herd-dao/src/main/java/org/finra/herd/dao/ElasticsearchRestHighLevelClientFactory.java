@@ -15,16 +15,23 @@
  */
 package org.finra.herd.dao;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
 
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.HttpStatus;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import vc.inreach.aws.request.AWSSigner;
@@ -33,8 +40,13 @@ import vc.inreach.aws.request.AWSSigningRequestInterceptor;
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.model.dto.ConfigurationValue;
 
+/**
+ * Factory that manages a single, long-lived and connection-pooled Elasticsearch high level REST client shared by all Elasticsearch DAOs. The client is built
+ * lazily and is rebuilt when any of the configuration values used to build it change. Callers must not close the returned client, since it is closed when
+ * the application context shuts down.
+ */
 @Component
-public class ElasticsearchRestHighLevelClientFactory
+public class ElasticsearchRestHighLevelClientFactory implements DisposableBean
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElasticsearchRestHighLevelClientFactory.class);
 
@@ -42,11 +54,95 @@ public class ElasticsearchRestHighLevelClientFactory
     private ConfigurationHelper configurationHelper;
 
     /**
-     * Builds and returns the Elasticsearch high level REST client.
+     * The shared client along with the configuration values it was built with.
+     */
+    private volatile SharedRestHighLevelClient sharedRestHighLevelClient;
+
+    /**
+     * The client replaced after a configuration change. It is kept open until the next rebuild or shutdown, so requests still in flight can complete.
+     */
+    private RestHighLevelClient retiredRestHighLevelClient;
+
+    /**
+     * Returns the shared Elasticsearch high level REST client, building it if this is the first call or if the client configuration has changed. The returned
+     * client must not be closed by the caller.
      *
      * @return RestHighLevelClient The ElasticSearch high level REST client.
      */
     public RestHighLevelClient getRestHighLevelClient()
+    {
+        // Retrieve the configuration values needed to build a REST high level client.
+        final List<String> restHighLevelClientSettings = getRestHighLevelClientSettings();
+
+        // Return the shared client if it was built with the current configuration.
+        SharedRestHighLevelClient currentSharedRestHighLevelClient = sharedRestHighLevelClient;
+        if (currentSharedRestHighLevelClient != null && currentSharedRestHighLevelClient.settings.equals(restHighLevelClientSettings))
+        {
+            return currentSharedRestHighLevelClient.restHighLevelClient;
+        }
+
+        synchronized (this)
+        {
+            // Check again, since another thread might have built the client while this thread was waiting for the lock.
+            currentSharedRestHighLevelClient = sharedRestHighLevelClient;
+            if (currentSharedRestHighLevelClient != null && currentSharedRestHighLevelClient.settings.equals(restHighLevelClientSettings))
+            {
+                return currentSharedRestHighLevelClient.restHighLevelClient;
+            }
+
+            // Close the client retired by the previous rebuild and retire the current one.
+            closeRestHighLevelClient(retiredRestHighLevelClient);
+            retiredRestHighLevelClient = currentSharedRestHighLevelClient != null ? currentSharedRestHighLevelClient.restHighLevelClient : null;
+
+            // Build a new shared client.
+            sharedRestHighLevelClient = new SharedRestHighLevelClient(restHighLevelClientSettings, createRestHighLevelClient());
+
+            return sharedRestHighLevelClient.restHighLevelClient;
+        }
+    }
+
+    /**
+     * Closes the shared client and the retired client, if any, when the application context shuts down.
+     */
+    @Override
+    public synchronized void destroy()
+    {
+        closeRestHighLevelClient(retiredRestHighLevelClient);
+        retiredRestHighLevelClient = null;
+
+        if (sharedRestHighLevelClient != null)
+        {
+            closeRestHighLevelClient(sharedRestHighLevelClient.restHighLevelClient);
+            sharedRestHighLevelClient = null;
+        }
+    }
+
+    /**
+     * Closes the specified Elasticsearch high level REST client, logging any I/O errors.
+     *
+     * @param restHighLevelClient the client to close, may be null
+     */
+    private void closeRestHighLevelClient(RestHighLevelClient restHighLevelClient)
+    {
+        if (restHighLevelClient != null)
+        {
+            try
+            {
+                restHighLevelClient.close();
+            }
+            catch (IOException ioException)
+            {
+                LOGGER.warn("Failed to close the Elasticsearch REST high level client.", ioException);
+            }
+        }
+    }
+
+    /**
+     * Builds a new Elasticsearch high level REST client with a connection pool sized per configuration.
+     *
+     * @return RestHighLevelClient The ElasticSearch high level REST client.
+     */
+    private RestHighLevelClient createRestHighLevelClient()
     {
         // Retrieve the configuration values needed to build a REST high level client.
         final String esRegionName = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_AWS_REGION_NAME);
@@ -55,6 +151,12 @@ public class ElasticsearchRestHighLevelClientFactory
         final String scheme = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_SCHEME);
         final int socketTimeout = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT, Integer.class);
         final int connectTimeout = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_CONNECTION_TIMEOUT, Integer.class);
+        final int maxConnectionsTotal =
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL, Integer.class);
+        final int maxConnectionsPerRoute =
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_PER_ROUTE, Integer.class);
+        final int ioThreadCount = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_IO_THREAD_COUNT, Integer.class);
+        final int keepAlive = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_KEEP_ALIVE, Integer.class);
 
         // Create and setup the AWS
         final DefaultAWSCredentialsProviderChain defaultAWSCredentialsProviderChain = new DefaultAWSCredentialsProviderChain();
@@ -65,19 +167,72 @@ public class ElasticsearchRestHighLevelClientFactory
         final HttpHost httpHost = new HttpHost(hostname, port, scheme);
 
         // Create a new REST client builder.
-        final  RestClientBuilder restClientBuilder = RestClient.builder(httpHost);
+        final RestClientBuilder restClientBuilder = RestClient.builder(httpHost);
 
         // Configure and set the request config callback.
         restClientBuilder.setRequestConfigCallback(
             requestConfigCallback -> requestConfigCallback.setSocketTimeout(socketTimeout).setConnectTimeout(connectTimeout));
 
-        // Configure and set the http client config callback.
-        restClientBuilder.setHttpClientConfigCallback(
-            httpClientConfigCallback -> httpClientConfigCallback.addInterceptorLast(awsSigningRequestInterceptor));
+        // Configure and set the http client config callback. Since the client is long-lived, a forbidden response makes the credentials provider chain
+        // re-resolve the credentials, so the following requests are signed with rotated credentials.
+        restClientBuilder.setHttpClientConfigCallback(httpClientConfigCallback -> {
+            httpClientConfigCallback.addInterceptorLast(awsSigningRequestInterceptor);
+            httpClientConfigCallback.addInterceptorLast((HttpResponseInterceptor) (httpResponse, httpContext) -> {
+                if (httpResponse.getStatusLine().getStatusCode() == HttpStatus.SC_FORBIDDEN)
+                {
+                    LOGGER.warn("Elasticsearch domain returned a forbidden response. Refreshing AWS credentials.");
+                    defaultAWSCredentialsProviderChain.refresh();
+                }
+            });
+            httpClientConfigCallback.setMaxConnTotal(maxConnectionsTotal).setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setKeepAliveStrategy((httpResponse, httpContext) -> keepAlive);
+            if (ioThreadCount > 0)
+            {
+                httpClientConfigCallback.setDefaultIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(ioThreadCount).build());
+            }
+            return httpClientConfigCallback;
+        });
 
-        LOGGER.info("Creating new Elasticsearch REST high level client with hostname={}, port={}, and scheme={}.", hostname, port, scheme);
+        LOGGER.info("Creating new shared Elasticsearch REST high level client with hostname={}, port={}, scheme={}, maxConnectionsTotal={}, " +
+            "maxConnectionsPerRoute={}, ioThreadCount={}, and keepAlive={}.", hostname, port, scheme, maxConnectionsTotal, maxConnectionsPerRoute,
+            ioThreadCount, keepAlive);
 
         // Return a new REST high level client to be used to connect and make requests to the Elasticsearch domain.
         return new RestHighLevelClient(restClientBuilder);
     }
+
+    /**
+     * Returns the configuration values used to build the Elasticsearch high level REST client, so a configuration change can be detected.
+     *
+     * @return the list of configuration values
+     */
+    private List<String> getRestHighLevelClientSettings()
+    {
+        return Arrays.asList(configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_AWS_REGION_NAME),
+            configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_HOSTNAME_V2),
+            configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_PORT),
+            configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_SCHEME),
+            configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT),
+            configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_CONNECTION_TIMEOUT),
+            configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL),
+            configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_PER_ROUTE),
+            configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_IO_THREAD_COUNT),
+            configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_KEEP_ALIVE));
+    }
+
+    /**
+     * An immutable pair of the shared client and the configuration values it was built with.
+     */
+    private static class SharedRestHighLevelClient
+    {
+        private final RestHighLevelClient restHighLevelClient;
+
+        private final List<String> settings;
+
+        private SharedRestHighLevelClient(List<String> settings, RestHighLevelClient restHighLevelClient)
+        {
+            this.settings = settings;
+            this.restHighLevelClient = restHighLevelClient;
+        }
+    }
 }
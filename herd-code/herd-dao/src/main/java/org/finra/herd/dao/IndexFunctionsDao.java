@@ -131,6 +131,34 @@ public interface IndexFunctionsDao extends BaseJpaDao
      */
     void updateIndexDocuments(String indexName, Map<String, String> documentMap);
 
+    /**
+     * The bulk index documents function will take as arguments the index name and a map of documents to add to that index, not to the indices behind an
+     * alias, in a single bulk request. The document map key is the document id, and the value is the document as a JSON string.
+     *
+     * @param indexName index name
+     * @param documentMap document map
+     *
+     * @return the number of documents successfully added to the index
+     */
+    int bulkIndexDocuments(String indexName, Map<String, String> documentMap);
+
+    /**
+     * The refresh index function will take as an argument the index name and will make all documents added to the index since the last refresh visible
+     * to searches and counts.
+     *
+     * @param indexName index name
+     */
+    void refreshIndex(String indexName);
+
+    /**
+     * The update index settings function will take as arguments the index name and the dynamic index settings to update. A setting with a null value is
+     * reset to its default.
+     *
+     * @param indexName index name
+     * @param settings index settings
+     */
+    void updateIndexSettings(String indexName, Settings settings);
+
     /**
      * Get the index settings
      *
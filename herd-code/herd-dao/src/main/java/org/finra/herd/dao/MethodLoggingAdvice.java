@@ -15,19 +15,16 @@
 */
 package org.finra.herd.dao;
 
-import java.lang.reflect.Method;
-
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
-import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import org.finra.herd.core.SuppressLogging;
+import org.finra.herd.core.helper.MethodMetricsHelper;
 
 @Component
 @Aspect
@@ -35,6 +32,9 @@ public class MethodLoggingAdvice
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodLoggingAdvice.class);
 
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
     /**
      * A pointcut for all herd DAO operations methods.
      */
@@ -55,26 +55,18 @@ public class MethodLoggingAdvice
     @Around("operationsMethods()")
     public Object logMethodBeingInvoked(ProceedingJoinPoint pjp) throws Throwable
     {
-        // Get the target class being called.
-        Class<?> targetClass = pjp.getTarget().getClass();
-
-        // Get the target method being called.
-        MethodSignature targetMethodSignature = (MethodSignature) pjp.getSignature();
-        Method targetMethod = targetMethodSignature.getMethod();
-        if (targetMethod.getDeclaringClass().isInterface())
-        {
-            // Get the underlying implementation if we are given an interface.
-            targetMethod = pjp.getTarget().getClass().getMethod(pjp.getSignature().getName(), targetMethod.getParameterTypes());
-        }
-
-        // Only log the method if the class and method aren't suppressing logging and the log level is debug.
-        if ((AnnotationUtils.findAnnotation(targetClass, SuppressLogging.class) == null) &&
-            (AnnotationUtils.findAnnotation(targetMethod, SuppressLogging.class) == null) && (LOGGER.isDebugEnabled()))
+        // Only log the method if the log level is debug and the class and method aren't suppressing logging. The method metrics cache whether the class or
+        // method is suppressing logging, so the annotations are only looked up on the first call.
+        if (LOGGER.isDebugEnabled())
         {
-            LOGGER.debug("javaMethod=\"{}.{}\"", targetClass.getName(), targetMethodSignature.getName());
+            MethodMetricsHelper.MethodMetrics methodMetrics = methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.OPERATIONS_METHOD_CATEGORY, pjp);
+            if (!methodMetrics.isSuppressLogging())
+            {
+                LOGGER.debug("javaMethod=\"{}.{}\"", methodMetrics.getClassName(), methodMetrics.getMethodName());
+            }
         }
 
         // Proceed to the join point (i.e. call the method and let it return).
         return pjp.proceed();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.MethodMetricsHelper;
+
+@Component
+@Aspect
+public class MethodMetricsAdvice
+{
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
+    /**
+     * A pointcut for all herd DAO methods.
+     */
+    @Pointcut("execution(* org.finra.herd.dao.*Dao.*(..))")
+    protected void daoMethods()
+    {
+        // Pointcut methods are defined by their annotation and don't have an implementation.
+    }
+
+    /**
+     * A pointcut for all herd DAO operations methods.
+     */
+    @Pointcut("execution(* org.finra.herd.dao.*Operations.*(..))")
+    protected void operationsMethods()
+    {
+        // Pointcut methods are defined by their annotation and don't have an implementation.
+    }
+
+    /**
+     * Around advice that records the metrics of all DAO methods.
+     *
+     * @param pjp the proceeding join point.
+     *
+     * @return the return value of the method we are advising.
+     * @throws Throwable if there were any problems executing the method.
+     */
+    @Around("daoMethods()")
+    public Object recordDaoMethodMetrics(ProceedingJoinPoint pjp) throws Throwable
+    {
+        return proceedAndRecordMethodMetrics(MethodMetricsHelper.DAO_METHOD_CATEGORY, pjp);
+    }
+
+    /**
+     * Around advice that records the metrics of all DAO operations methods, i.e. the calls made to the external services like AWS.
+     *
+     * @param pjp the proceeding join point.
+     *
+     * @return the return value of the method we are advising.
+     * @throws Throwable if there were any problems executing the method.
+     */
+    @Around("operationsMethods()")
+    public Object recordOperationsMethodMetrics(ProceedingJoinPoint pjp) throws Throwable
+    {
+        return proceedAndRecordMethodMetrics(MethodMetricsHelper.OPERATIONS_METHOD_CATEGORY, pjp);
+    }
+
+    /**
+     * Proceeds to the join point while recording the metrics of the method.
+     *
+     * @param category the method category
+     * @param pjp the proceeding join point.
+     *
+     * @return the return value of the method we are advising.
+     * @throws Throwable if there were any problems executing the method.
+     */
+    private Object proceedAndRecordMethodMetrics(String category, ProceedingJoinPoint pjp) throws Throwable
+    {
+        MethodMetricsHelper.MethodMetrics methodMetrics = methodMetricsHelper.getMethodMetrics(category, pjp);
+
+        long startTime = methodMetrics.start();
+        boolean error = true;
+        try
+        {
+            Object returnValue = pjp.proceed();
+            error = false;
+            return returnValue;
+        }
+        finally
+        {
+            methodMetrics.stop(startTime, error);
+        }
+    }
+}
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.dao;
 
+import java.util.List;
+
 import org.finra.herd.model.jpa.NotificationMessageEntity;
 
 public interface NotificationMessageDao extends BaseJpaDao
@@ -25,4 +27,25 @@ public interface NotificationMessageDao extends BaseJpaDao
      * @return the notification message
      */
     public NotificationMessageEntity getOldestNotificationMessage();
+
+    /**
+     * Selects ids of a batch of the oldest notification messages from the queue. Only messages with ids greater than the specified notification message id
+     * are selected.
+     *
+     * @param lastNotificationMessageId the id of the last notification message already processed by the caller, may be null
+     * @param maxResults the maximum number of notification message ids to select
+     *
+     * @return the list of notification message ids in ascending order
+     */
+    public List<Long> getOldestNotificationMessageIds(Long lastNotificationMessageId, int maxResults);
+
+    /**
+     * Selects and locks notification messages by their ids. Messages that are currently locked by another transaction (i.e. claimed by another herd node
+     * draining the queue) are skipped.
+     *
+     * @param notificationMessageIds the list of notification message ids
+     *
+     * @return the list of locked notification messages ordered by their sequence generated ids
+     */
+    public List<NotificationMessageEntity> getNotificationMessagesForUpdateSkipLocked(List<Long> notificationMessageIds);
 }
@@ -0,0 +1,33 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+public interface ReferenceDataCacheDao extends BaseJpaDao
+{
+    /**
+     * Evicts all reference data entities, their cached collections and the results of their alternate key lookups from the second-level cache of this herd
+     * node.
+     */
+    public void evictReferenceDataCache();
+
+    /**
+     * Gets the current version of the reference data. The version is built from the row count and the latest update timestamp of every cached reference data
+     * table, so it changes whenever a reference data entity is created, updated or deleted by any herd node.
+     *
+     * @return the reference data version
+     */
+    public String getReferenceDataVersion();
+}
@@ -15,14 +15,24 @@
 */
 package org.finra.herd.dao;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.ConfigurationConverter;
 import org.apache.commons.configuration.event.ConfigurationErrorEvent;
 import org.apache.commons.configuration.event.ConfigurationErrorListener;
 import org.apache.commons.configuration.event.EventSource;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.MapPropertySource;
@@ -32,6 +42,11 @@ import org.springframework.util.StringUtils;
  * A property source that will possibly re-load itself each time a property is requested. A reload will take place if the configured refresh interval has
  * elapsed. A refresh interval of 0 will cause the properties to refresh every time a property is requested.
  * <p/>
+ * The properties are kept in an immutable snapshot that gets replaced as a whole when the properties are reloaded, so reading a property never takes a lock
+ * and never observes a partially reloaded set of properties. When the refresh interval is greater than 0, the reload is performed by a background thread
+ * while the readers keep using the previous snapshot. When a reload changes any properties, the registered {@link PropertiesChangeListener}s are notified.
+ * A failed reload keeps the previous snapshot and is retried once the refresh interval elapses again.
+ * <p/>
  * If a property is loaded with the key org.finra.herd.dao.ReloadablePropertiesSource.refreshIntervalSecs, it will be used as a way to override the previously
  * configured refresh interval.
  */
@@ -39,16 +54,29 @@ public class ReloadablePropertySource extends MapPropertySource
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(ReloadablePropertySource.class);
 
+    // The executor that reloads the properties in the background. It uses daemon threads, so it never prevents the JVM from shutting down.
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(
+        new BasicThreadFactory.Builder().namingPattern(ReloadablePropertySource.class.getSimpleName() + "-refresher-%d").daemon(true).build());
+
     // The configuration that can read properties.
     protected Configuration configuration;
 
     // The last time the properties were refreshed.
-    protected long lastRefreshTime;
+    protected volatile long lastRefreshTime;
 
     // The interval in milliseconds to wait before refreshing the properties. Defaults to 0 (i.e. always refresh).
-    protected long refreshIntervalMillis = 0;
+    protected volatile long refreshIntervalMillis = 0;
+
+    protected volatile ConfigurationErrorEvent lastConfigurationErrorEvent;
+
+    // The current immutable snapshot of the properties.
+    private volatile Map<String, Object> properties;
 
-    protected ConfigurationErrorEvent lastConfigurationErrorEvent;
+    // Specifies whether a background refresh of the properties is currently scheduled or running.
+    private final AtomicBoolean backgroundRefreshInProgress = new AtomicBoolean();
+
+    // The listeners to be notified when a refresh changes any properties.
+    private final List<PropertiesChangeListener> propertiesChangeListeners = new CopyOnWriteArrayList<>();
 
     // The number of milliseconds in a second.
     private static final int MILLISECONDS_IN_A_SECOND = 1000;
@@ -83,6 +111,7 @@ public class ReloadablePropertySource extends MapPropertySource
     {
         super(name, (Map) source);
         this.configuration = configuration;
+        this.properties = createSnapshot(source);
 
         /*
          * Catches any errors and records it in the lastConfigurationErrorEvent variable.
@@ -104,6 +133,32 @@ public class ReloadablePropertySource extends MapPropertySource
         LOGGER.info("A refresh interval has been configured. propertiesRefreshIntervalInSeconds={}", refreshIntervalSecs);
     }
 
+    /**
+     * Registers a listener to be notified when a refresh changes any properties.
+     *
+     * @param propertiesChangeListener the listener
+     */
+    public void addPropertiesChangeListener(PropertiesChangeListener propertiesChangeListener)
+    {
+        propertiesChangeListeners.add(propertiesChangeListener);
+    }
+
+    /**
+     * Unregisters a previously registered properties change listener.
+     *
+     * @param propertiesChangeListener the listener
+     */
+    public void removePropertiesChangeListener(PropertiesChangeListener propertiesChangeListener)
+    {
+        propertiesChangeListeners.remove(propertiesChangeListener);
+    }
+
+    @Override
+    public boolean containsProperty(String name)
+    {
+        return getProperty(name) != null;
+    }
+
     /**
      * Gets a property by name while possibly refreshing the properties if needed.
      *
@@ -116,68 +171,187 @@ public class ReloadablePropertySource extends MapPropertySource
     {
         // Refresh the properties before returning the value.
         refreshPropertiesIfNeeded();
-        return this.source.get(name);
+        return properties.get(name);
+    }
+
+    @Override
+    public String[] getPropertyNames()
+    {
+        return StringUtils.toStringArray(properties.keySet());
     }
 
     /**
-     * Refreshes the properties from the configuration if it's time to.
+     * Gets the current immutable snapshot of the properties.
+     *
+     * @return the properties
+     */
+    @Override
+    public Map<String, Object> getSource()
+    {
+        return properties;
+    }
+
+    /**
+     * Refreshes the properties from the configuration if it's time to. When the refresh interval is 0, the properties are refreshed by the calling thread.
+     * Otherwise, the refresh is handed off to a background thread and the current snapshot of the properties keeps being used until the refresh completes.
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     protected void refreshPropertiesIfNeeded()
     {
-        // Ensure we update the properties in a synchronized fashion to avoid possibly corrupting the properties.
-        synchronized (this)
+        // See if it's time to refresh the properties (i.e. the elapsed time is greater than the configured refresh interval).
+        if (System.currentTimeMillis() - lastRefreshTime >= refreshIntervalMillis)
         {
-            // See if it's time to refresh the properties (i.e. the elapsed time is greater than the configured refresh interval).
-            LOGGER.debug("Checking if properties need to be refreshed. currentTime={} lastRefreshTime={} millisecondsSinceLastPropertiesRefresh={}",
-                System.currentTimeMillis(), lastRefreshTime, System.currentTimeMillis() - lastRefreshTime);
-
-            if (System.currentTimeMillis() - lastRefreshTime >= refreshIntervalMillis)
+            if (refreshIntervalMillis <= 0)
             {
-                // Enough time has passed so refresh the properties.
-                LOGGER.debug("Refreshing properties...");
-
-                // Get the latest properties from the configuration.
-                Properties properties = ConfigurationConverter.getProperties(configuration);
+                refreshProperties();
+            }
+            else if (backgroundRefreshInProgress.compareAndSet(false, true))
+            {
+                LOGGER.debug("Scheduling a background refresh of the properties. lastRefreshTime={} millisecondsSinceLastPropertiesRefresh={}",
+                    lastRefreshTime, System.currentTimeMillis() - lastRefreshTime);
 
-                if (lastConfigurationErrorEvent != null)
-                {
-                    LOGGER.error("An error occurred while retrieving configurations. Previous values are retained. See cause for details.",
-                        lastConfigurationErrorEvent.getCause());
-                    lastConfigurationErrorEvent = null;
-                }
-                else
-                {
-                    // Log the properties we just retrieved from the configuration.
-                    if (LOGGER.isDebugEnabled())
+                REFRESH_EXECUTOR.execute(() -> {
+                    try
+                    {
+                        refreshProperties();
+                    }
+                    catch (RuntimeException e)
                     {
-                        LOGGER.debug("New properties just retrieved.");
-                        for (Map.Entry<Object, Object> entry : properties.entrySet())
-                        {
-                            LOGGER.debug("{}=\"{}\"", entry.getKey(), entry.getValue());
-                        }
+                        LOGGER.error("Failed to refresh the properties. Previous values are retained.", e);
                     }
+                    finally
+                    {
+                        backgroundRefreshInProgress.set(false);
+                    }
+                });
+            }
+        }
+    }
 
-                    // Update our property sources properties with the ones just read by clearing and adding in the new ones since the "source" is final.
-                    this.source.clear();
-                    this.source.putAll((Map) properties);
+    /**
+     * Reloads the properties from the configuration and replaces the current snapshot of the properties with the new one. If the reload fails, the current
+     * snapshot of the properties is kept.
+     */
+    protected synchronized void refreshProperties()
+    {
+        try
+        {
+            // Enough time has passed so refresh the properties.
+            LOGGER.debug("Refreshing properties...");
+
+            // Get the latest properties from the configuration.
+            Properties newProperties = ConfigurationConverter.getProperties(configuration);
 
-                    // Log the properties we have in our property source.
-                    if (LOGGER.isDebugEnabled())
+            if (lastConfigurationErrorEvent != null)
+            {
+                LOGGER.error("An error occurred while retrieving configurations. Previous values are retained. See cause for details.",
+                    lastConfigurationErrorEvent.getCause());
+                lastConfigurationErrorEvent = null;
+            }
+            else
+            {
+                // Log the properties we just retrieved from the configuration.
+                if (LOGGER.isDebugEnabled())
+                {
+                    LOGGER.debug("New properties just retrieved.");
+                    for (Map.Entry<Object, Object> entry : newProperties.entrySet())
                     {
-                        LOGGER.debug("Updated reloadable properties.");
-                        for (Object key : source.keySet())
-                        {
-                            LOGGER.debug("{}=\"{}\"", key, properties.get(key));
-                        }
+                        LOGGER.debug("{}=\"{}\"", entry.getKey(), entry.getValue());
                     }
                 }
 
-                // Update the last refresh time and refresh interval.
-                updateLastRefreshTime();
-                updateRefreshInterval();
+                // Replace the current snapshot with the one built from the properties just read.
+                Map<String, Object> oldSnapshot = properties;
+                Map<String, Object> newSnapshot = createSnapshot(newProperties);
+                properties = newSnapshot;
 
-                LOGGER.debug("The properties have been refreshed from the configuration.");
+                // Notify the listeners about the changed properties, if any.
+                Set<String> changedPropertyNames = getChangedPropertyNames(oldSnapshot, newSnapshot);
+                if (!changedPropertyNames.isEmpty())
+                {
+                    LOGGER.debug("Updated reloadable properties. changedPropertyNames={}", changedPropertyNames);
+                    notifyPropertiesChangeListeners(changedPropertyNames);
+                }
+            }
+        }
+        finally
+        {
+            // Update the last refresh time and refresh interval. This is done even when the reload fails, so a failed reload is retried only after the
+            // refresh interval elapses again rather than on every property read.
+            updateLastRefreshTime();
+            updateRefreshInterval();
+        }
+
+        LOGGER.debug("The properties have been refreshed from the configuration.");
+    }
+
+    /**
+     * Creates an immutable snapshot of the specified properties.
+     *
+     * @param source the properties
+     *
+     * @return the immutable snapshot of the properties
+     */
+    private Map<String, Object> createSnapshot(Properties source)
+    {
+        Map<String, Object> snapshot = new HashMap<>();
+
+        for (Map.Entry<Object, Object> entry : source.entrySet())
+        {
+            snapshot.put(String.valueOf(entry.getKey()), entry.getValue());
+        }
+
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Gets the names of the properties that were added, removed, or updated between the specified snapshots.
+     *
+     * @param oldSnapshot the old snapshot of the properties
+     * @param newSnapshot the new snapshot of the properties
+     *
+     * @return the names of the changed properties
+     */
+    private Set<String> getChangedPropertyNames(Map<String, Object> oldSnapshot, Map<String, Object> newSnapshot)
+    {
+        Set<String> changedPropertyNames = new HashSet<>();
+
+        for (Map.Entry<String, Object> entry : newSnapshot.entrySet())
+        {
+            if (!entry.getValue().equals(oldSnapshot.get(entry.getKey())))
+            {
+                changedPropertyNames.add(entry.getKey());
+            }
+        }
+
+        for (String propertyName : oldSnapshot.keySet())
+        {
+            if (!newSnapshot.containsKey(propertyName))
+            {
+                changedPropertyNames.add(propertyName);
+            }
+        }
+
+        return changedPropertyNames;
+    }
+
+    /**
+     * Notifies the registered listeners about the changed properties. A failing listener does not prevent the other listeners from being notified.
+     *
+     * @param changedPropertyNames the names of the changed properties
+     */
+    private void notifyPropertiesChangeListeners(Set<String> changedPropertyNames)
+    {
+        Set<String> unmodifiableChangedPropertyNames = Collections.unmodifiableSet(changedPropertyNames);
+
+        for (PropertiesChangeListener propertiesChangeListener : propertiesChangeListeners)
+        {
+            try
+            {
+                propertiesChangeListener.propertiesChanged(unmodifiableChangedPropertyNames);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.warn("Properties change listener failed. propertiesChangeListener={}", propertiesChangeListener, e);
             }
         }
     }
@@ -198,7 +372,7 @@ public class ReloadablePropertySource extends MapPropertySource
     private void updateRefreshInterval()
     {
         // Get the property based on the override key.
-        String refreshIntervalSecsString = (String) this.source.get(REFRESH_INTERVAL_SECS_OVERRIDE_KEY);
+        String refreshIntervalSecsString = (String) properties.get(REFRESH_INTERVAL_SECS_OVERRIDE_KEY);
 
         // If a value was found, try to update the refresh interval.
         if (StringUtils.hasText(refreshIntervalSecsString))
@@ -219,4 +393,17 @@ public class ReloadablePropertySource extends MapPropertySource
             }
         }
     }
+
+    /**
+     * A listener that gets notified when a refresh of the reloadable property source changes any properties.
+     */
+    public interface PropertiesChangeListener
+    {
+        /**
+         * Called after a new snapshot of the properties has been put in place.
+         *
+         * @param changedPropertyNames the names of the properties that were added, removed, or updated
+         */
+        void propertiesChanged(Set<String> changedPropertyNames);
+    }
 }
@@ -18,6 +18,7 @@ package org.finra.herd.dao;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Consumer;
 
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
@@ -28,6 +29,7 @@ import org.finra.herd.model.dto.BatchJobConfigDto;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 
 /**
@@ -183,6 +185,20 @@ public interface S3Dao
      */
     List<S3ObjectSummary> listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
 
+    /**
+     * Streams all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name) to the specified consumer. The S3 objects are listed page by page
+     * and passed on as soon as a page is received, so, unlike {@link #listDirectory(S3FileTransferRequestParamsDto, boolean)}, the listing is never held in
+     * memory as a whole. When the S3 file transfer request parameters specify more than one max thread, the sub-prefixes found right under the S3 key prefix
+     * (e.g. the partition directories) are listed in parallel. The consumer is never called concurrently, but the S3 objects then do not come in key order.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 objects to get
+     * listed.
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories.
+     * @param s3ObjectConsumer the consumer of the listed S3 objects represented by their keys, sizes and storage classes
+     */
+    void streamDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers,
+        Consumer<S3ObjectSummaryDto> s3ObjectConsumer);
+
     /**
      * Lists all S3 versions matching the S3 key prefix in the given bucket (S3 bucket name). The S3 bucket name and S3 key prefix that identify the S3 versions
      * to get listed are taken from the S3 file transfer request parameters DTO.
@@ -215,9 +231,11 @@ public interface S3Dao
     boolean s3FileExists(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws RuntimeException;
 
     /**
-     * Tags S3 objects with the specified S3 object tag.
+     * Tags S3 objects with the specified S3 object tag. The S3 keys are tagged concurrently, up to the maximum number of threads specified in the S3 file
+     * transfer request parameters.
      *
-     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. This set of parameters contains the S3 bucket name
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. This set of parameters contains the S3 bucket name and the maximum
+     * number of threads
      * @param s3ObjectTaggerRoleParamsDto the S3 objects tagger role parameters DTO
      * @param s3ObjectSummaries the list of S3 objects to be tagged
      * @param tag the S3 object tag
@@ -226,9 +244,11 @@ public interface S3Dao
         final List<S3ObjectSummary> s3ObjectSummaries, final Tag tag);
 
     /**
-     * Tags S3 versions with the specified S3 object tag.
+     * Tags S3 versions with the specified S3 object tag. The S3 keys are tagged concurrently, up to the maximum number of threads specified in the S3 file
+     * transfer request parameters.
      *
-     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. This set of parameters contains the S3 bucket name
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. This set of parameters contains the S3 bucket name and the maximum
+     * number of threads
      * @param s3ObjectTaggerRoleParamsDto the S3 objects tagger role parameters DTO
      * @param s3VersionSummaries the list of S3 versions to be tagged
      * @param tag the S3 object tag
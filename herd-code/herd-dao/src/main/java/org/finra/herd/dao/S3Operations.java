@@ -30,6 +30,8 @@ import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
 import com.amazonaws.services.s3.model.MultipartUploadListing;
 import com.amazonaws.services.s3.model.ObjectListing;
@@ -178,6 +180,16 @@ public interface S3Operations
      */
     public ObjectListing listObjects(ListObjectsRequest listObjectsRequest, AmazonS3 s3Client);
 
+    /**
+     * Returns a list of summary information about the objects in the specified bucket using the version 2 of the list objects API.
+     *
+     * @param listObjectsV2Request the request object containing all options for listing the objects in a specified bucket
+     * @param s3Client the {@link AmazonS3} implementation to use
+     *
+     * @return the listing of the objects in the specified bucket
+     */
+    public ListObjectsV2Result listObjectsV2(ListObjectsV2Request listObjectsV2Request, AmazonS3 s3Client);
+
     /**
      * Returns a list of summary information about the versions in the specified bucket.
      *
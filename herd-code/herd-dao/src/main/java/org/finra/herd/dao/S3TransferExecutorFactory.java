@@ -0,0 +1,393 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.dao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.core.helper.MethodMetricsHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * A factory of the executor services used by the S3 transfer managers. All the executor services run their tasks on a single bounded thread pool shared by
+ * this JVM, so concurrent transfers do not each start their own threads. Every transfer is limited to its own maximum number of concurrent tasks, which keeps
+ * a large transfer from taking all the shared threads, and the callers are blocked when a transfer has too many tasks waiting for its threads.
+ */
+@Component
+public class S3TransferExecutorFactory
+{
+    /**
+     * The name of the gauge of the transfer executor services that are not terminated yet, i.e. the active transfers.
+     */
+    public static final String ACTIVE_TRANSFERS_GAUGE = "s3_transfer_executor_active_transfers";
+
+    /**
+     * The name of the gauge of the transfer tasks, e.g. the multipart upload parts, that are waiting for a thread.
+     */
+    public static final String QUEUED_PARTS_GAUGE = "s3_transfer_executor_queued_parts";
+
+    /**
+     * The name of the gauge of the shared threads that are running transfer tasks.
+     */
+    public static final String ACTIVE_THREADS_GAUGE = "s3_transfer_executor_active_threads";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3TransferExecutorFactory.class);
+
+    /**
+     * The flag set while the current thread runs a transfer task. Such threads are never blocked on a full transfer queue, since the queue may only drain
+     * through them.
+     */
+    private static final ThreadLocal<Boolean> TRANSFER_TASK_THREAD = new ThreadLocal<>();
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
+    /**
+     * The number of the transfer executor services that are not terminated yet.
+     */
+    private final AtomicInteger activeTransferCount = new AtomicInteger();
+
+    /**
+     * The number of the transfer tasks waiting in the transfer executor services before they are handed over to the shared thread pool.
+     */
+    private final AtomicInteger pendingTaskCount = new AtomicInteger();
+
+    /**
+     * The thread pool shared by all the transfer executor services. It is created on the first use. Guarded by this factory's monitor.
+     */
+    private ThreadPoolExecutor sharedThreadPoolExecutor;
+
+    /**
+     * Registers the transfer executor gauges with the metrics.
+     */
+    @PostConstruct
+    public void registerGauges()
+    {
+        methodMetricsHelper.registerGauge(ACTIVE_TRANSFERS_GAUGE, activeTransferCount::get);
+        methodMetricsHelper.registerGauge(QUEUED_PARTS_GAUGE, this::getQueuedTaskCount);
+        methodMetricsHelper.registerGauge(ACTIVE_THREADS_GAUGE, this::getActiveThreadCount);
+    }
+
+    /**
+     * Gets a new executor service for a single S3 transfer. The executor service runs its tasks on the shared thread pool and can be shut down without
+     * affecting the other transfers.
+     *
+     * @param maxThreads the maximum number of concurrent tasks of the transfer, may be null to use the configured default
+     *
+     * @return the transfer executor service
+     */
+    public ExecutorService getTransferExecutorService(Integer maxThreads)
+    {
+        int maxConcurrentTasks =
+            maxThreads != null ? maxThreads : configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_EXECUTOR_DEFAULT_TRANSFER_THREADS, Integer.class);
+        int maxPendingTasks = configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_EXECUTOR_MAX_QUEUED_TASKS_PER_TRANSFER, Integer.class);
+
+        return new TransferExecutorService(getSharedThreadPoolExecutor(), Math.max(maxConcurrentTasks, 1), Math.max(maxPendingTasks, 1));
+    }
+
+    /**
+     * Gets the number of the transfer tasks waiting for a thread, either in a transfer executor service or in the shared thread pool queue.
+     *
+     * @return the number of queued transfer tasks
+     */
+    public synchronized long getQueuedTaskCount()
+    {
+        return pendingTaskCount.get() + (sharedThreadPoolExecutor == null ? 0 : sharedThreadPoolExecutor.getQueue().size());
+    }
+
+    /**
+     * Gets the approximate number of the shared threads that are running transfer tasks.
+     *
+     * @return the number of active threads
+     */
+    public synchronized long getActiveThreadCount()
+    {
+        return sharedThreadPoolExecutor == null ? 0 : sharedThreadPoolExecutor.getActiveCount();
+    }
+
+    /**
+     * Shuts down the shared thread pool. The running transfer tasks are interrupted. A new shared thread pool is created if the factory is used again.
+     */
+    @PreDestroy
+    public synchronized void shutdownSharedThreadPool()
+    {
+        if (sharedThreadPoolExecutor != null)
+        {
+            sharedThreadPoolExecutor.shutdownNow();
+            sharedThreadPoolExecutor = null;
+        }
+    }
+
+    /**
+     * Gets the shared thread pool, creating it on the first use. The shared threads are daemon threads that time out when idle, so the shared thread pool
+     * does not delay the JVM from exiting.
+     *
+     * @return the shared thread pool executor
+     */
+    private synchronized ThreadPoolExecutor getSharedThreadPoolExecutor()
+    {
+        if (sharedThreadPoolExecutor == null)
+        {
+            int maxThreads = configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_EXECUTOR_MAX_THREADS, Integer.class);
+
+            sharedThreadPoolExecutor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new BasicThreadFactory.Builder().namingPattern(S3TransferExecutorFactory.class.getSimpleName() + "-%d").daemon(true).build());
+            sharedThreadPoolExecutor.allowCoreThreadTimeOut(true);
+
+            LOGGER.info("Created the shared S3 transfer thread pool. maxThreads={}", maxThreads);
+        }
+
+        return sharedThreadPoolExecutor;
+    }
+
+    /**
+     * The executor service of a single transfer. The submitted tasks wait in this executor service until the transfer has less than its maximum number of
+     * tasks in the shared thread pool. Shutting down this executor service only affects the tasks of this transfer. The mutable fields are guarded by this
+     * executor service's monitor.
+     */
+    private class TransferExecutorService extends AbstractExecutorService
+    {
+        private final ThreadPoolExecutor sharedThreadPoolExecutor;
+
+        private final int maxConcurrentTasks;
+
+        private final int maxPendingTasks;
+
+        private final Deque<Runnable> pendingTasks = new ArrayDeque<>();
+
+        private final Set<TransferTask> runningTasks = new HashSet<>();
+
+        private boolean shutdown;
+
+        private boolean terminated;
+
+        TransferExecutorService(ThreadPoolExecutor sharedThreadPoolExecutor, int maxConcurrentTasks, int maxPendingTasks)
+        {
+            this.sharedThreadPoolExecutor = sharedThreadPoolExecutor;
+            this.maxConcurrentTasks = maxConcurrentTasks;
+            this.maxPendingTasks = maxPendingTasks;
+
+            activeTransferCount.incrementAndGet();
+        }
+
+        @Override
+        public synchronized void execute(Runnable command)
+        {
+            // Apply backpressure to the callers outside of the transfer tasks while this transfer has too many pending tasks.
+            while (!shutdown && pendingTasks.size() >= maxPendingTasks && TRANSFER_TASK_THREAD.get() == null)
+            {
+                try
+                {
+                    wait();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting to queue an S3 transfer task.", e);
+                }
+            }
+
+            if (shutdown)
+            {
+                throw new RejectedExecutionException("The S3 transfer executor service is shut down.");
+            }
+
+            pendingTasks.add(command);
+            pendingTaskCount.incrementAndGet();
+
+            dispatchPendingTasks();
+        }
+
+        @Override
+        public synchronized void shutdown()
+        {
+            shutdown = true;
+            notifyAll();
+            checkTerminated();
+        }
+
+        @Override
+        public synchronized List<Runnable> shutdownNow()
+        {
+            shutdown = true;
+
+            // Drop the pending tasks and interrupt the running ones. Cancelling a task removes it from the running tasks.
+            List<Runnable> droppedTasks = new ArrayList<>(pendingTasks);
+            pendingTasks.clear();
+            pendingTaskCount.addAndGet(-droppedTasks.size());
+            for (TransferTask runningTask : new ArrayList<>(runningTasks))
+            {
+                runningTask.cancel(true);
+            }
+
+            notifyAll();
+            checkTerminated();
+
+            return droppedTasks;
+        }
+
+        @Override
+        public synchronized boolean isShutdown()
+        {
+            return shutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated()
+        {
+            return terminated;
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+        {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!terminated)
+            {
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0)
+                {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            }
+
+            return true;
+        }
+
+        /**
+         * Hands the pending tasks over to the shared thread pool while this transfer has less than its maximum number of tasks there. Must be called holding
+         * this executor service's monitor.
+         */
+        private void dispatchPendingTasks()
+        {
+            while (runningTasks.size() < maxConcurrentTasks && !pendingTasks.isEmpty())
+            {
+                TransferTask transferTask = new TransferTask(pendingTasks.poll());
+                pendingTaskCount.decrementAndGet();
+                runningTasks.add(transferTask);
+
+                try
+                {
+                    sharedThreadPoolExecutor.execute(transferTask);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    // The shared thread pool is shut down, so none of the pending tasks can run.
+                    runningTasks.remove(transferTask);
+                    pendingTaskCount.addAndGet(-pendingTasks.size());
+                    pendingTasks.clear();
+                    shutdown = true;
+                    checkTerminated();
+                    throw e;
+                }
+            }
+
+            // Wake up the callers waiting for room in the pending tasks.
+            notifyAll();
+        }
+
+        /**
+         * Releases the slot of a completed or cancelled task and dispatches the next pending task.
+         *
+         * @param transferTask the transfer task
+         */
+        private synchronized void onTaskDone(TransferTask transferTask)
+        {
+            runningTasks.remove(transferTask);
+
+            try
+            {
+                dispatchPendingTasks();
+            }
+            catch (RejectedExecutionException e)
+            {
+                LOGGER.warn("Dropped the pending S3 transfer tasks since the shared S3 transfer thread pool is shut down.", e);
+            }
+
+            checkTerminated();
+        }
+
+        /**
+         * Marks this executor service as terminated once it is shut down and has no tasks left. Must be called holding this executor service's monitor.
+         */
+        private void checkTerminated()
+        {
+            if (!terminated && shutdown && runningTasks.isEmpty() && pendingTasks.isEmpty())
+            {
+                terminated = true;
+                activeTransferCount.decrementAndGet();
+                notifyAll();
+            }
+        }
+
+        /**
+         * A task of this transfer running in the shared thread pool.
+         */
+        private class TransferTask extends FutureTask<Void>
+        {
+            TransferTask(Runnable runnable)
+            {
+                super(runnable, null);
+            }
+
+            @Override
+            public void run()
+            {
+                TRANSFER_TASK_THREAD.set(Boolean.TRUE);
+                try
+                {
+                    super.run();
+                }
+                finally
+                {
+                    TRANSFER_TASK_THREAD.remove();
+                }
+            }
+
+            @Override
+            protected void done()
+            {
+                onTaskDone(this);
+            }
+        }
+    }
+}
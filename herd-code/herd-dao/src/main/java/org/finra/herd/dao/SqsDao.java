@@ -16,11 +16,14 @@
 package org.finra.herd.dao;
 
 import java.util.List;
+import java.util.Map;
 
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 import org.finra.herd.model.dto.AwsParamsDto;
 import org.finra.herd.model.dto.MessageHeader;
+import org.finra.herd.model.dto.NotificationMessage;
 
 /**
  * A DAO for Amazon AWS SQS.
@@ -38,4 +41,16 @@ public interface SqsDao
      * @return the result the send message operation returned by the service
      */
     public SendMessageResult sendMessage(AwsParamsDto awsParamsDto, String queueName, String messageText, List<MessageHeader> messageHeaders);
+
+    /**
+     * Delivers up to ten messages to the specified queue in a single request. The total size of all messages in the batch must not exceed the maximum SQS
+     * message size.
+     *
+     * @param awsParamsDto the AWS related parameters that contain optional proxy information
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param notificationMessages the notification messages to send keyed by batch entry ids that are unique within the request
+     *
+     * @return the result of the send message batch operation returned by the service, that lists successful and failed entries by their batch entry ids
+     */
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, Map<String, NotificationMessage> notificationMessages);
 }
@@ -15,6 +15,7 @@
  */
 package org.finra.herd.dao;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 import javax.xml.datatype.XMLGregorianCalendar;
@@ -59,6 +60,27 @@ public interface StorageUnitDao extends BaseJpaDao
      */
     List<StorageUnitEntity> getLatestVersionStorageUnitsByStoragePlatformAndFileType(String storagePlatform, String businessObjectFormatFileType);
 
+    /**
+     * Retrieves the partition values of business object data that have storage units in the specified storage and were created or updated since the specified
+     * time, or whose storage units in the specified storage were created or updated since that time. This covers business object data registered,
+     * re-versioned (the previous latest version gets updated), or whose status was changed since the specified time.
+     *
+     * @param businessObjectDefinitionEntity the business object definition entity
+     * @param businessObjectFormatUsage the business object format usage (case-insensitive)
+     * @param fileTypeEntity the file type entity
+     * @param businessObjectFormatVersion the optional business object format version. If a business object format version isn't specified, business object data
+     * registered with any business object format version is selected
+     * @param storageEntities the optional list of storage entities where business object data storage units should be looked for
+     * @param storagePlatformEntity the optional storage platform entity, e.g. S3 for Hive DDL. It is ignored when the list of storage entities is not empty
+     * @param changedSinceTime the time since when business object data changes are selected
+     *
+     * @return the list of unique partition values sorted in ascending order, where each entry contains primary and all sub-partition values up to the maximum
+     * partition levels allowed by business object data registration - with partition values for the relative partitions not registered passed as nulls
+     */
+    List<List<String>> getPartitionValuesChangedSince(BusinessObjectDefinitionEntity businessObjectDefinitionEntity, String businessObjectFormatUsage,
+        FileTypeEntity fileTypeEntity, Integer businessObjectFormatVersion, List<StorageEntity> storageEntities, StoragePlatformEntity storagePlatformEntity,
+        Timestamp changedSinceTime);
+
     /**
      * Retrieves a list of storage units that belong to S3 storage, and has a final destroy on timestamp < current time, has a DISABLED status, and associated
      * BData has a DELETED status. The returned list is ordered by the "finalDestroyOn" timestamp of the S3 storage units, starting with an S3 storage unit that
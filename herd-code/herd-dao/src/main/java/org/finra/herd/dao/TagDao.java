@@ -60,6 +60,17 @@ public interface TagDao extends BaseJpaDao
      */
     public List<TagEntity> getTags();
 
+    /**
+     * Gets a chunk of tag entities registered in the system with ids greater than the specified id. The tags are sorted by id, so the id of the last tag in a
+     * chunk can be used to get the next chunk without having the database skip over the tags already retrieved.
+     *
+     * @param lastId the id of the last tag retrieved in the previous chunk, may be null to get the first chunk
+     * @param maxResult the maximum number of results to retrieve
+     *
+     * @return the list of tag entities
+     */
+    public List<TagEntity> getTagsAfterId(Long lastId, int maxResult);
+
     /**
      * Gets a list of tag entities by a list of ids
      *
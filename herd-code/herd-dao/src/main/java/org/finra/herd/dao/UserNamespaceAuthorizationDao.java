@@ -67,4 +67,13 @@ public interface UserNamespaceAuthorizationDao extends BaseJpaDao
      * @return the list of user namespace authorizations
      */
     List<UserNamespaceAuthorizationEntity> getUserNamespaceAuthorizationsByNamespace(String namespace);
+
+    /**
+     * Gets the current version of the data the namespace authorizations of the users are built from. The version is built from the row count and the latest
+     * update timestamp of the user namespace authorization, user and namespace tables, so it changes whenever any herd node changes the namespace
+     * authorizations.
+     *
+     * @return the user namespace authorization version
+     */
+    String getUserNamespaceAuthorizationVersion();
 }
@@ -26,6 +26,8 @@ import net.sf.ehcache.config.CacheConfiguration;
 import org.apache.commons.configuration.ConfigurationConverter;
 import org.apache.commons.configuration.DatabaseConfiguration;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.cache.internal.StandardQueryCache;
+import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,6 +63,7 @@ import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.EmrClusterCacheKey;
 import org.finra.herd.model.dto.EmrClusterCacheTimestamps;
 import org.finra.herd.model.jpa.ConfigurationEntity;
+import org.finra.herd.model.jpa.HibernateCacheRegions;
 
 /**
  * DAO Spring module configuration.
@@ -123,6 +126,16 @@ public class DaoSpringModuleConfig implements CachingConfigurer
      */
     public static final String TRANSPORT_CLIENT_CACHE_NAME = "transport_client_cache";
 
+    /**
+     * The user namespace authorization cache name.
+     */
+    public static final String USER_NAMESPACE_AUTHORIZATION_CACHE_NAME = "user_namespace_authorization_cache";
+
+    /**
+     * The parsed velocity template cache name.
+     */
+    public static final String VELOCITY_TEMPLATE_CACHE_NAME = "velocity_template_cache";
+
     /**
      * The JPA entity manager factory.
      *
@@ -131,6 +144,9 @@ public class DaoSpringModuleConfig implements CachingConfigurer
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory()
     {
+        // Make sure the shared EH Cache manager is created first, so the Hibernate second-level cache regions get created from our configuration.
+        ehCacheManager();
+
         // Create the entity manager factory against our data source.
         LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
         entityManagerFactory.setDataSource(getHerdDataSource());
@@ -235,9 +251,14 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         properties.setProperty(ConfigurationValue.HIBERNATE_DIALECT.getKey(), hibernateDialect);
         LOGGER.info("hibernateDialect={}", properties.getProperty(ConfigurationValue.HIBERNATE_DIALECT.getKey()));
         properties.setProperty("hibernate.query.substitutions", "true='Y', false='N', yes='Y', no='N'");
-        properties.setProperty("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.EhCacheRegionFactory");
-        properties.setProperty("hibernate.cache.use_query_cache", "false");
-        properties.setProperty("hibernate.cache.use_second_level_cache", "false");
+
+        // Set the second-level and query cache configuration. The region factory uses the shared EH Cache manager singleton, so the cache regions are
+        // configured along with the herd cache.
+        String secondLevelCacheEnabled = configurationHelper.getBooleanProperty(ConfigurationValue.HIBERNATE_SECOND_LEVEL_CACHE_ENABLED).toString();
+        properties.setProperty("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.SingletonEhCacheRegionFactory");
+        properties.setProperty("hibernate.cache.use_query_cache", secondLevelCacheEnabled);
+        properties.setProperty("hibernate.cache.use_second_level_cache", secondLevelCacheEnabled);
+        LOGGER.info("hibernateSecondLevelCacheEnabled={}", secondLevelCacheEnabled);
 
         // Set hibernate batch configs
         String hibernateBatchSize = configurationHelper.getProperty(ConfigurationValue.HIBERNATE_BATCH_SIZE);
@@ -357,9 +378,67 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         net.sf.ehcache.config.Configuration config = new net.sf.ehcache.config.Configuration();
         config.addCache(cacheConfiguration);
 
+        // Add the Hibernate second-level cache regions for the reference data entities and their alternate key lookups.
+        config.addCache(getHibernateCacheRegionConfiguration(HibernateCacheRegions.REFERENCE_DATA,
+            configurationHelper.getProperty(ConfigurationValue.REFERENCE_DATA_CACHE_TIME_TO_LIVE_SECONDS, Long.class),
+            configurationHelper.getProperty(ConfigurationValue.REFERENCE_DATA_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class)));
+        config.addCache(getHibernateCacheRegionConfiguration(HibernateCacheRegions.REFERENCE_DATA_QUERY,
+            configurationHelper.getProperty(ConfigurationValue.REFERENCE_DATA_QUERY_CACHE_TIME_TO_LIVE_SECONDS, Long.class),
+            configurationHelper.getProperty(ConfigurationValue.REFERENCE_DATA_QUERY_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class)));
+
+        // Add the cache for the namespace authorizations built per user.
+        CacheConfiguration userNamespaceAuthorizationCacheConfiguration = new CacheConfiguration();
+        userNamespaceAuthorizationCacheConfiguration.setName(USER_NAMESPACE_AUTHORIZATION_CACHE_NAME);
+        userNamespaceAuthorizationCacheConfiguration
+            .setTimeToLiveSeconds(configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS, Long.class));
+        userNamespaceAuthorizationCacheConfiguration.setMaxEntriesLocalHeap(
+            configurationHelper.getProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class));
+        userNamespaceAuthorizationCacheConfiguration
+            .setMemoryStoreEvictionPolicy(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MEMORY_STORE_EVICTION_POLICY));
+        config.addCache(userNamespaceAuthorizationCacheConfiguration);
+
+        // Add the cache for the parsed velocity templates. A template is keyed by its text, so the cached entries never go stale and only need to be bounded.
+        CacheConfiguration velocityTemplateCacheConfiguration = new CacheConfiguration();
+        velocityTemplateCacheConfiguration.setName(VELOCITY_TEMPLATE_CACHE_NAME);
+        velocityTemplateCacheConfiguration.setEternal(true);
+        velocityTemplateCacheConfiguration
+            .setMaxEntriesLocalHeap(configurationHelper.getProperty(ConfigurationValue.VELOCITY_TEMPLATE_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class));
+        velocityTemplateCacheConfiguration
+            .setMemoryStoreEvictionPolicy(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MEMORY_STORE_EVICTION_POLICY));
+        config.addCache(velocityTemplateCacheConfiguration);
+
+        // Add the standard Hibernate query cache regions. The update timestamps must never expire before the cached query results they protect.
+        config.addCache(getHibernateCacheRegionConfiguration(StandardQueryCache.class.getName(),
+            configurationHelper.getProperty(ConfigurationValue.REFERENCE_DATA_QUERY_CACHE_TIME_TO_LIVE_SECONDS, Long.class),
+            configurationHelper.getProperty(ConfigurationValue.REFERENCE_DATA_QUERY_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class)));
+        CacheConfiguration updateTimestampsCacheConfiguration = new CacheConfiguration();
+        updateTimestampsCacheConfiguration.setName(UpdateTimestampsCache.REGION_NAME);
+        updateTimestampsCacheConfiguration.setEternal(true);
+        updateTimestampsCacheConfiguration.setMaxEntriesLocalHeap(0);
+        config.addCache(updateTimestampsCacheConfiguration);
+
         return net.sf.ehcache.CacheManager.create(config);
     }
 
+    /**
+     * Gets an EH Cache configuration for a Hibernate second-level cache region.
+     *
+     * @param regionName the name of the cache region
+     * @param timeToLiveSeconds the time to live of the cache region elements in seconds
+     * @param maxElementsInMemory the max elements in memory of the cache region
+     *
+     * @return the EH Cache configuration
+     */
+    private CacheConfiguration getHibernateCacheRegionConfiguration(String regionName, Long timeToLiveSeconds, Integer maxElementsInMemory)
+    {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        cacheConfiguration.setName(regionName);
+        cacheConfiguration.setTimeToLiveSeconds(timeToLiveSeconds);
+        cacheConfiguration.setMaxEntriesLocalHeap(maxElementsInMemory);
+        cacheConfiguration.setMemoryStoreEvictionPolicy(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MEMORY_STORE_EVICTION_POLICY));
+        return cacheConfiguration;
+    }
+
     @Bean
     @Override
     public CacheManager cacheManager()
@@ -29,6 +29,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class JsonHelper
 {
+    /**
+     * The object mapper shared by all calls. An object mapper is thread safe once configured and expensive to create, since it caches the serializers and
+     * deserializers it builds for each type.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     /**
      * Gets key value from the specified JSON object. The method throws an exception, when specified key does not exist.
      *
@@ -68,13 +74,11 @@ public class JsonHelper
      */
     public String objectToJson(Object object) throws IllegalStateException
     {
-        ObjectMapper mapper = new ObjectMapper();
-
         StringWriter stringWriter = new StringWriter();
 
         try
         {
-            mapper.writeValue(stringWriter, object);
+            OBJECT_MAPPER.writeValue(stringWriter, object);
         }
         catch (IOException e)
         {
@@ -95,8 +99,7 @@ public class JsonHelper
      */
     public <T> List<T> unmarshallJsonToListOfObjects(Class<T> classType, String jsonContent) throws IOException
     {
-        ObjectMapper objectMapper = new ObjectMapper();
-        return objectMapper.readValue(jsonContent, objectMapper.getTypeFactory().constructCollectionType(List.class, classType));
+        return OBJECT_MAPPER.readValue(jsonContent, OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, classType));
     }
 
     /**
@@ -110,6 +113,6 @@ public class JsonHelper
      */
     public <T> T unmarshallJsonToObject(Class<T> classType, String jsonContent) throws IOException
     {
-        return new ObjectMapper().readValue(jsonContent, classType);
+        return OBJECT_MAPPER.readValue(jsonContent, classType);
     }
 }
@@ -18,6 +18,8 @@ package org.finra.herd.dao.helper;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -44,6 +46,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class XmlHelper
 {
+    /**
+     * The JAXB contexts keyed by the class they were created for. A JAXB context is thread safe and expensive to create, so it is only created once per
+     * class, while the marshallers and unmarshallers that are cheap to create, but not thread safe, are created from it per call.
+     */
+    private final ConcurrentMap<Class<?>, JAXBContext> jaxbContexts = new ConcurrentHashMap<>();
+
     @Autowired
     private HerdCharacterEscapeHandler herdCharacterEscapeHandler;
 
@@ -74,8 +82,7 @@ public class XmlHelper
      */
     public String objectToXml(Object obj, boolean formatted) throws JAXBException
     {
-        JAXBContext requestContext = JAXBContext.newInstance(obj.getClass());
-        Marshaller requestMarshaller = requestContext.createMarshaller();
+        Marshaller requestMarshaller = getJaxbContext(obj.getClass()).createMarshaller();
 
         if (formatted)
         {
@@ -106,11 +113,37 @@ public class XmlHelper
     @SuppressWarnings("unchecked")
     public <T> T unmarshallXmlToObject(Class<T> classType, String xmlString) throws JAXBException
     {
-        JAXBContext context = JAXBContext.newInstance(classType);
-        Unmarshaller un = context.createUnmarshaller();
+        Unmarshaller un = getJaxbContext(classType).createUnmarshaller();
         return (T) un.unmarshal(IOUtils.toInputStream(xmlString, StandardCharsets.UTF_8));
     }
 
+    /**
+     * Gets a JAXB context for the specified class. The JAXB context gets created on the first request and is reused afterwards.
+     *
+     * @param classType the class to be bound by the JAXB context
+     *
+     * @return the JAXB context
+     *
+     * @throws JAXBException if the JAXB context could not be created
+     */
+    JAXBContext getJaxbContext(Class<?> classType) throws JAXBException
+    {
+        JAXBContext jaxbContext = jaxbContexts.get(classType);
+
+        if (jaxbContext == null)
+        {
+            // Two threads might create a context for the same class at the same time, in which case the first one stored in the map wins.
+            jaxbContext = JAXBContext.newInstance(classType);
+            JAXBContext existingJaxbContext = jaxbContexts.putIfAbsent(classType, jaxbContext);
+            if (existingJaxbContext != null)
+            {
+                jaxbContext = existingJaxbContext;
+            }
+        }
+
+        return jaxbContext;
+    }
+
     /**
      * Reformat xml string to indented "pretty printed" view
      *
@@ -23,14 +23,20 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import javax.persistence.CascadeType;
 import javax.persistence.OneToMany;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 import javax.persistence.metamodel.SingularAttribute;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -42,6 +48,7 @@ import org.finra.herd.dao.helper.HerdDaoSecurityHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.jpa.AuditableEntity;
+import org.finra.herd.model.jpa.AuditableEntity_;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity_;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
@@ -298,17 +305,30 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
      * @param businessObjectDataEntity the business object data entity that appears in the from clause
      * @param partitionFilters the list of partition filter to be used to select business object data instances. Each partition filter contains a list of
      * primary and sub-partition values in the right order up to the maximum partition levels allowed by business object data registration - with partition
-     * values for the relative partitions not to be used for selection passed as nulls.
+     * values for the relative partitions not to be used for selection passed as nulls. Partition filters that specify a value for only one partition level are
+     * collapsed into a single "in" clause per partition level instead of being "or"ed together one by one.
      *
      * @return the query restriction predicate
      */
     protected Predicate getQueryRestrictionOnPartitionValues(CriteriaBuilder builder, From<?, BusinessObjectDataEntity> businessObjectDataEntity,
         List<List<String>> partitionFilters)
     {
+        // Collect partition values from the partition filters that specify only one partition level, grouped by that partition level.
+        Map<Integer, List<String>> singleLevelPartitionValues = new TreeMap<>();
+
         // Create a query restriction as per specified primary and/or sub-partition values.
         Predicate predicate = null;
         for (List<String> partitionFilter : partitionFilters)
         {
+            // Get the only partition level specified by this partition filter, if any.
+            Integer singlePartitionLevel = getSinglePartitionLevel(partitionFilter);
+            if (singlePartitionLevel != null)
+            {
+                singleLevelPartitionValues.computeIfAbsent(singlePartitionLevel, partitionLevel -> new ArrayList<>())
+                    .add(partitionFilter.get(singlePartitionLevel));
+                continue;
+            }
+
             // Add restriction for each partition level if the relative partition value is specified in the partition filter.
             Predicate partitionRestriction = null;
             for (int partitionLevel = 0; partitionLevel < BusinessObjectDataEntity.MAX_SUBPARTITIONS + 1; partitionLevel++)
@@ -325,9 +345,45 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
             predicate = (predicate == null ? partitionRestriction : builder.or(predicate, partitionRestriction));
         }
 
+        // Add an "in" clause restriction for each partition level that has single level partition filters.
+        for (Map.Entry<Integer, List<String>> entry : singleLevelPartitionValues.entrySet())
+        {
+            Predicate partitionRestriction =
+                getPredicateForInClause(builder, businessObjectDataEntity.get(BUSINESS_OBJECT_DATA_PARTITIONS.get(entry.getKey())), entry.getValue());
+            predicate = (predicate == null ? partitionRestriction : builder.or(predicate, partitionRestriction));
+        }
+
         return predicate;
     }
 
+    /**
+     * Gets the partition level of the only partition value specified in the partition filter.
+     *
+     * @param partitionFilter the partition filter that contains a list of primary and sub-partition values with the partition values for the relative
+     * partitions not to be used for selection passed as nulls
+     *
+     * @return the partition level or null if the partition filter specifies none or more than one partition value
+     */
+    private Integer getSinglePartitionLevel(List<String> partitionFilter)
+    {
+        Integer singlePartitionLevel = null;
+
+        for (int partitionLevel = 0; partitionLevel < BusinessObjectDataEntity.MAX_SUBPARTITIONS + 1; partitionLevel++)
+        {
+            if (StringUtils.isNotBlank(partitionFilter.get(partitionLevel)))
+            {
+                if (singlePartitionLevel != null)
+                {
+                    return null;
+                }
+
+                singlePartitionLevel = partitionLevel;
+            }
+        }
+
+        return singlePartitionLevel;
+    }
+
     /**
      * TODO This method may be bdata specific. Consider creating new abstract class to group all bdata related DAO. Builds a query restriction predicate for the
      * sub-query business object data entity as per partition values from the specified main query business object data entity.
@@ -429,6 +485,42 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
         return builder.and(predicates.toArray(new Predicate[predicates.size()]));
     }
 
+    /**
+     * Gets the current version of the data stored in the specified tables. The version is built from the row count and the latest update timestamp of every
+     * table, so it changes whenever an entity of one of the specified classes is created, updated or deleted by any herd node.
+     *
+     * @param entityClasses the auditable entity classes to build the version from
+     *
+     * @return the data version
+     */
+    protected String getEntityVersion(List<Class<? extends AuditableEntity>> entityClasses)
+    {
+        StringBuilder entityVersion = new StringBuilder();
+
+        for (Class<? extends AuditableEntity> entityClass : entityClasses)
+        {
+            // Create the criteria builder and a tuple style criteria query.
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+
+            // The criteria root is the auditable entity.
+            Root<? extends AuditableEntity> entityRoot = criteria.from(entityClass);
+
+            // Get the row count and the latest update timestamp.
+            Expression<Long> rowCount = builder.count(entityRoot);
+            Expression<Timestamp> maxUpdatedOn = builder.greatest(entityRoot.get(AuditableEntity_.updatedOn));
+
+            // Add the select clause.
+            criteria.multiselect(rowCount, maxUpdatedOn);
+
+            // Run the query and add the result to the version.
+            Tuple tuple = entityManager.createQuery(criteria).getSingleResult();
+            entityVersion.append(entityClass.getSimpleName()).append(':').append(tuple.get(rowCount)).append(':').append(tuple.get(maxUpdatedOn)).append(';');
+        }
+
+        return entityVersion.toString();
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
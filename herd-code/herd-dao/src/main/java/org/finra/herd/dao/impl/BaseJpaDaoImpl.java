@@ -29,6 +29,7 @@ import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 
 import org.apache.commons.lang3.Validate;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
@@ -37,6 +38,7 @@ import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BaseJpaDao;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.ConfigurationEntity;
+import org.finra.herd.model.jpa.HibernateCacheRegions;
 
 /**
  * A generic JPA DAO that can be used directly or as a base class for more specialized DAO's.
@@ -192,6 +194,27 @@ public class BaseJpaDaoImpl implements BaseJpaDao
         return resultList.size() == 1 ? resultList.get(0) : null;
     }
 
+    /**
+     * Executes query against the reference data query cache, validates if result list contains no more than one record and returns the query result. This should
+     * only be used for the alternate key lookups of the entities cached in the {@link HibernateCacheRegions#REFERENCE_DATA} region.
+     *
+     * @param <T> The type of the root entity class
+     * @param criteria the criteria select query to be executed
+     * @param message the exception message to use if the query returns fails
+     *
+     * @return the query result or null if 0 records were selected
+     */
+    protected <T> T executeCacheableSingleResultQuery(CriteriaQuery<T> criteria, String message)
+    {
+        List<T> resultList = entityManager.createQuery(criteria).setHint(QueryHints.HINT_CACHEABLE, true)
+            .setHint(QueryHints.HINT_CACHE_REGION, HibernateCacheRegions.REFERENCE_DATA_QUERY).getResultList();
+
+        // Validate that the query returned no more than one record.
+        Validate.isTrue(resultList.size() < 2, message);
+
+        return resultList.size() == 1 ? resultList.get(0) : null;
+    }
+
     /**
      * Gets an "in" clause predicate for a list of values. This will take care of breaking the list of values into a group of sub-lists where each sub-list is
      * placed in a separate "in" clause and all "in" clauses are "or"ed together. The size of each sub-list is obtained through an environment configuration.
@@ -17,15 +17,14 @@ package org.finra.herd.dao.impl;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
@@ -34,8 +33,11 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.criteria.Subquery;
 import javax.persistence.metamodel.SingularAttribute;
 
 import com.google.common.collect.Lists;
@@ -98,6 +100,11 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(BusinessObjectDataDaoImpl.class);
 
+    /**
+     * The escape character used in "like" patterns built from the user input.
+     */
+    private static final char LIKE_ESCAPE_CHARACTER = '\\';
+
     @Autowired
     private BusinessObjectDefinitionDao businessObjectDefinitionDao;
 
@@ -659,6 +666,7 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
      * Create search restrictions per specified business object data search key.
      *
      * @param builder the criteria builder
+     * @param criteria the criteria query that is used to create subqueries
      * @param businessObjectDataEntityRoot the root business object data entity
      * @param businessObjectFormatEntityJoin the join with the business object format table
      * @param businessObjectDataSearchKey the business object data search key
@@ -668,9 +676,10 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
      *
      * @return the search restrictions
      */
-    private Predicate getQueryPredicateBySearchKey(CriteriaBuilder builder, Root<BusinessObjectDataEntity> businessObjectDataEntityRoot,
-        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin, BusinessObjectDataSearchKey businessObjectDataSearchKey,
-        Map<String, Integer> partitionKeyToPartitionLevelMap, BusinessObjectDefinitionEntity businessObjectDefinitionEntity, FileTypeEntity fileTypeEntity)
+    private Predicate getQueryPredicateBySearchKey(CriteriaBuilder builder, CriteriaQuery<?> criteria,
+        Root<BusinessObjectDataEntity> businessObjectDataEntityRoot, Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin,
+        BusinessObjectDataSearchKey businessObjectDataSearchKey, Map<String, Integer> partitionKeyToPartitionLevelMap,
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity, FileTypeEntity fileTypeEntity)
     {
         // Create restriction on business object definition.
         Predicate predicate =
@@ -708,7 +717,8 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         if (CollectionUtils.isNotEmpty(businessObjectDataSearchKey.getAttributeValueFilters()))
         {
             predicate =
-                addAttributeValueFiltersToPredicate(businessObjectDataSearchKey.getAttributeValueFilters(), businessObjectDataEntityRoot, builder, predicate);
+                addAttributeValueFiltersToPredicate(businessObjectDataSearchKey.getAttributeValueFilters(), criteria, businessObjectDataEntityRoot, builder,
+                    predicate);
         }
 
         // If specified, add restrictions per registration date range filter.
@@ -783,8 +793,9 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         // Add standard restrictions to the query. (i.e. the standard where clauses).
         try
         {
-            criteria.where(getQueryPredicateBySearchKey(builder, businessObjectDataEntityRoot, businessObjectFormatEntityJoin, businessObjectDataSearchKey,
-                partitionKeyToPartitionLevelMap, businessObjectDefinitionEntity, fileTypeEntity));
+            criteria.where(
+                getQueryPredicateBySearchKey(builder, criteria, businessObjectDataEntityRoot, businessObjectFormatEntityJoin, businessObjectDataSearchKey,
+                    partitionKeyToPartitionLevelMap, businessObjectDefinitionEntity, fileTypeEntity));
         }
         catch (IllegalArgumentException ex)
         {
@@ -822,7 +833,7 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
     {
         // Create the criteria builder and the criteria.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<BusinessObjectDataEntity> criteria = builder.createQuery(BusinessObjectDataEntity.class);
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
 
         // The criteria root is the business object data.
         Root<BusinessObjectDataEntity> businessObjectDataEntityRoot = criteria.from(BusinessObjectDataEntity.class);
@@ -858,8 +869,9 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         Predicate predicate;
         try
         {
-            predicate = getQueryPredicateBySearchKey(builder, businessObjectDataEntityRoot, businessObjectFormatEntityJoin, businessObjectDataSearchKey,
-                partitionKeyToPartitionLevelMap, businessObjectDefinitionEntity, fileTypeEntity);
+            predicate =
+                getQueryPredicateBySearchKey(builder, criteria, businessObjectDataEntityRoot, businessObjectFormatEntityJoin, businessObjectDataSearchKey,
+                    partitionKeyToPartitionLevelMap, businessObjectDefinitionEntity, fileTypeEntity);
         }
         catch (IllegalArgumentException ex)
         {
@@ -882,17 +894,91 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         orderBy.add(builder.desc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.version)));
 
         // Add all clauses for the query.
-        criteria.select(businessObjectDataEntityRoot).where(predicate).orderBy(orderBy);
+        criteria.multiselect(getBusinessObjectDataSearchSelections(businessObjectDataEntityRoot, businessObjectFormatEntityJoin)).where(predicate)
+            .orderBy(orderBy);
 
-        // Run the query to get a list of business object data entities.
-        List<BusinessObjectDataEntity> businessObjectDataEntities =
-            entityManager.createQuery(criteria).setFirstResult(pageSize * (pageNum - 1)).setMaxResults(pageSize).getResultList();
+        // Run the query to get a list of tuples back.
+        List<Tuple> tuples = entityManager.createQuery(criteria).setFirstResult(pageSize * (pageNum - 1)).setMaxResults(pageSize).getResultList();
+
+        // If the registration date range filter is applied then include the created on date in the business object data included in the response message.
+        boolean includeCreatedOnDate = businessObjectDataSearchKey.getRegistrationDateRangeFilter() != null;
+
+        // Crete the result list of business object data.
+        return getQueryResultListFromTupleList(tuples, businessObjectDefinitionEntity, businessObjectDataSearchKey.getAttributeValueFilters(),
+            includeCreatedOnDate);
+    }
+
+    @Override
+    public List<BusinessObjectData> searchBusinessObjectDataAfterId(BusinessObjectDataSearchKey businessObjectDataSearchKey,
+        Map<String, Integer> partitionKeyToPartitionLevelMap, Long lastBusinessObjectDataId, Integer maxResults)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+
+        // The criteria root is the business object data.
+        Root<BusinessObjectDataEntity> businessObjectDataEntityRoot = criteria.from(BusinessObjectDataEntity.class);
+
+        // Namespace and business object definition are required parameters, so fetch the relative business object definition entity to optimize the main query.
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity = businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(
+            new BusinessObjectDefinitionKey(businessObjectDataSearchKey.getNamespace(), businessObjectDataSearchKey.getBusinessObjectDefinitionName()));
+
+        // If specified business object definition does not exist, then return an empty result list.
+        if (businessObjectDefinitionEntity == null)
+        {
+            return Collections.emptyList();
+        }
+
+        // If file type is specified, fetch the relative entity to optimize the main query.
+        FileTypeEntity fileTypeEntity = null;
+        if (StringUtils.isNotBlank(businessObjectDataSearchKey.getBusinessObjectFormatFileType()))
+        {
+            fileTypeEntity = fileTypeDao.getFileTypeByCode(businessObjectDataSearchKey.getBusinessObjectFormatFileType());
+
+            // If specified file type does not exist, then return an empty result list.
+            if (fileTypeEntity == null)
+            {
+                return Collections.emptyList();
+            }
+        }
+
+        // Join to the other tables we can filter on.
+        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin =
+            businessObjectDataEntityRoot.join(BusinessObjectDataEntity_.businessObjectFormat);
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate predicate;
+        try
+        {
+            predicate =
+                getQueryPredicateBySearchKey(builder, criteria, businessObjectDataEntityRoot, businessObjectFormatEntityJoin, businessObjectDataSearchKey,
+                    partitionKeyToPartitionLevelMap, businessObjectDefinitionEntity, fileTypeEntity);
+        }
+        catch (IllegalArgumentException ex)
+        {
+            // This exception means that there are no records found for the query, thus return an empty result list.
+            return Collections.emptyList();
+        }
+
+        // Seek past the last business object data returned on the previous page.
+        if (lastBusinessObjectDataId != null)
+        {
+            predicate = builder.and(predicate, builder.greaterThan(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id), lastBusinessObjectDataId));
+        }
+
+        // Add all clauses for the query. We order by the primary key, since it is unique and not nullable, which is required for keyset pagination.
+        criteria.multiselect(getBusinessObjectDataSearchSelections(businessObjectDataEntityRoot, businessObjectFormatEntityJoin)).where(predicate)
+            .orderBy(builder.asc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id)));
+
+        // Run the query to get a list of tuples back.
+        List<Tuple> tuples = entityManager.createQuery(criteria).setMaxResults(maxResults).getResultList();
 
         // If the registration date range filter is applied then include the created on date in the business object data included in the response message.
         boolean includeCreatedOnDate = businessObjectDataSearchKey.getRegistrationDateRangeFilter() != null;
 
         // Crete the result list of business object data.
-        return getQueryResultListFromEntityList(businessObjectDataEntities, businessObjectDataSearchKey.getAttributeValueFilters(), includeCreatedOnDate);
+        return getQueryResultListFromTupleList(tuples, businessObjectDefinitionEntity, businessObjectDataSearchKey.getAttributeValueFilters(),
+            includeCreatedOnDate);
     }
 
     /**
@@ -1108,34 +1194,43 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
     }
 
     /**
-     * Adds attribute value filters to the query predicate.
+     * Adds attribute value filters to the query predicate. Each attribute value filter is added as an "exists" subquery on the business object data attribute
+     * table, so matching attributes do not multiply the business object data rows returned by the main query.
      *
      * @param attributeValueFilters the list of attribute value filters, not empty
+     * @param criteria the criteria query that is used to create the subqueries
      * @param businessObjectDataEntityRoot the criteria root which is a business object data entity
      * @param builder the criteria builder
      * @param predicate the query predicate to be updated, not null
      *
      * @return the updated query predicate
      */
-    private Predicate addAttributeValueFiltersToPredicate(final List<AttributeValueFilter> attributeValueFilters,
+    private Predicate addAttributeValueFiltersToPredicate(final List<AttributeValueFilter> attributeValueFilters, final CriteriaQuery<?> criteria,
         final Root<BusinessObjectDataEntity> businessObjectDataEntityRoot, final CriteriaBuilder builder, Predicate predicate)
     {
         for (AttributeValueFilter attributeValueFilter : attributeValueFilters)
         {
-            Join<BusinessObjectDataEntity, BusinessObjectDataAttributeEntity> dataAttributeEntity =
-                businessObjectDataEntityRoot.join(BusinessObjectDataEntity_.attributes);
+            Subquery<Long> subquery = criteria.subquery(Long.class);
+            Root<BusinessObjectDataAttributeEntity> businessObjectDataAttributeEntityRoot = subquery.from(BusinessObjectDataAttributeEntity.class);
+
+            Predicate subqueryPredicate =
+                builder.equal(businessObjectDataAttributeEntityRoot.get(BusinessObjectDataAttributeEntity_.businessObjectData), businessObjectDataEntityRoot);
 
             if (!StringUtils.isEmpty(attributeValueFilter.getAttributeName()))
             {
-                predicate = builder
-                    .and(predicate, builder.equal(dataAttributeEntity.get(BusinessObjectDataAttributeEntity_.name), attributeValueFilter.getAttributeName()));
+                subqueryPredicate = builder.and(subqueryPredicate,
+                    builder.equal(businessObjectDataAttributeEntityRoot.get(BusinessObjectDataAttributeEntity_.name), attributeValueFilter.getAttributeName()));
             }
 
             if (!StringUtils.isEmpty(attributeValueFilter.getAttributeValue()))
             {
-                predicate = builder
-                    .and(predicate, builder.equal(dataAttributeEntity.get(BusinessObjectDataAttributeEntity_.value), attributeValueFilter.getAttributeValue()));
+                subqueryPredicate = builder.and(subqueryPredicate, builder
+                    .equal(businessObjectDataAttributeEntityRoot.get(BusinessObjectDataAttributeEntity_.value), attributeValueFilter.getAttributeValue()));
             }
+
+            subquery.select(businessObjectDataAttributeEntityRoot.get(BusinessObjectDataAttributeEntity_.id)).where(subqueryPredicate);
+
+            predicate = builder.and(predicate, builder.exists(subquery));
         }
 
         return predicate;
@@ -1183,139 +1278,191 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
     }
 
     /**
-     * Gets a query result list from an entity list.
+     * Gets the list of columns selected by the business object data search queries. Only the columns needed to build the search results are selected, so the
+     * business object data entities along with their relationships are not loaded into the persistence context.
+     *
+     * @param businessObjectDataEntityRoot the root business object data entity
+     * @param businessObjectFormatEntityJoin the join with the business object format table
+     *
+     * @return the list of selections
+     */
+    private List<Selection<?>> getBusinessObjectDataSearchSelections(Root<BusinessObjectDataEntity> businessObjectDataEntityRoot,
+        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin)
+    {
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id).alias(BusinessObjectDataEntity_.id.getName()));
+        for (SingularAttribute<BusinessObjectDataEntity, String> businessObjectDataPartition : BUSINESS_OBJECT_DATA_PARTITIONS)
+        {
+            selections.add(businessObjectDataEntityRoot.get(businessObjectDataPartition).alias(businessObjectDataPartition.getName()));
+        }
+        selections.add(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.version).alias(BusinessObjectDataEntity_.version.getName()));
+        selections.add(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.latestVersion).alias(BusinessObjectDataEntity_.latestVersion.getName()));
+        selections.add(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.statusCode).alias(BusinessObjectDataEntity_.statusCode.getName()));
+        selections.add(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.createdOn).alias(BusinessObjectDataEntity_.createdOn.getName()));
+        selections.add(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.usage).alias(BusinessObjectFormatEntity_.usage.getName()));
+        selections.add(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.fileTypeCode).alias(BusinessObjectFormatEntity_.fileTypeCode.getName()));
+        selections.add(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.businessObjectFormatVersion)
+            .alias(BusinessObjectFormatEntity_.businessObjectFormatVersion.getName()));
+        selections.add(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.partitionKey).alias(BusinessObjectFormatEntity_.partitionKey.getName()));
+        return selections;
+    }
+
+    /**
+     * Gets a query result list from a list of tuples selected per {@link #getBusinessObjectDataSearchSelections(Root, Join)}.
      *
-     * @param entityArray entity array from query
-     * @param attributeValueList attribute value list
+     * @param tuples the list of tuples returned by the query
+     * @param businessObjectDefinitionEntity the business object definition entity that all business object data belong to
+     * @param attributeValueFilters the attribute value filters used to select the attributes to be returned, may be null
      * @param includeCreatedOnDate boolean parameter to determine if the business object data should include the created on date
      *
      * @return the list of business object data
      */
-    private List<BusinessObjectData> getQueryResultListFromEntityList(List<BusinessObjectDataEntity> entityArray, List<AttributeValueFilter> attributeValueList,
-        boolean includeCreatedOnDate)
+    private List<BusinessObjectData> getQueryResultListFromTupleList(List<Tuple> tuples, BusinessObjectDefinitionEntity businessObjectDefinitionEntity,
+        List<AttributeValueFilter> attributeValueFilters, boolean includeCreatedOnDate)
     {
         List<BusinessObjectData> businessObjectDataList = new ArrayList<>();
-        Set<Long> businessObjectIdSet = new HashSet<>();
-        for (BusinessObjectDataEntity dataEntity : entityArray)
+        for (Tuple tuple : tuples)
         {
-            //need to skip the same data entity
-            if (businessObjectIdSet.contains(dataEntity.getId()))
-            {
-                continue;
-            }
             BusinessObjectData businessObjectData = new BusinessObjectData();
-            businessObjectIdSet.add(dataEntity.getId());
-            businessObjectData.setId(dataEntity.getId());
-            businessObjectData.setPartitionValue(dataEntity.getPartitionValue());
-            businessObjectData.setVersion(dataEntity.getVersion());
-            businessObjectData.setLatestVersion(dataEntity.getLatestVersion());
-            BusinessObjectFormatEntity formatEntity = dataEntity.getBusinessObjectFormat();
-            businessObjectData.setNamespace(formatEntity.getBusinessObjectDefinition().getNamespace().getCode());
-            businessObjectData.setBusinessObjectDefinitionName(formatEntity.getBusinessObjectDefinition().getName());
-            businessObjectData.setBusinessObjectFormatUsage(formatEntity.getUsage());
-            businessObjectData.setBusinessObjectFormatFileType(formatEntity.getFileType().getCode());
-            businessObjectData.setBusinessObjectFormatVersion(formatEntity.getBusinessObjectFormatVersion());
-            businessObjectData.setPartitionKey(formatEntity.getPartitionKey());
-            businessObjectData.setStatus(dataEntity.getStatus().getCode());
+            businessObjectData.setId(tuple.get(BusinessObjectDataEntity_.id.getName(), Long.class));
+            businessObjectData.setPartitionValue(tuple.get(BusinessObjectDataEntity_.partitionValue.getName(), String.class));
+            businessObjectData.setVersion(tuple.get(BusinessObjectDataEntity_.version.getName(), Integer.class));
+            businessObjectData.setLatestVersion(tuple.get(BusinessObjectDataEntity_.latestVersion.getName(), Boolean.class));
+            businessObjectData.setNamespace(businessObjectDefinitionEntity.getNamespace().getCode());
+            businessObjectData.setBusinessObjectDefinitionName(businessObjectDefinitionEntity.getName());
+            businessObjectData.setBusinessObjectFormatUsage(tuple.get(BusinessObjectFormatEntity_.usage.getName(), String.class));
+            businessObjectData.setBusinessObjectFormatFileType(tuple.get(BusinessObjectFormatEntity_.fileTypeCode.getName(), String.class));
+            businessObjectData.setBusinessObjectFormatVersion(tuple.get(BusinessObjectFormatEntity_.businessObjectFormatVersion.getName(), Integer.class));
+            businessObjectData.setPartitionKey(tuple.get(BusinessObjectFormatEntity_.partitionKey.getName(), String.class));
+            businessObjectData.setStatus(tuple.get(BusinessObjectDataEntity_.statusCode.getName(), String.class));
 
             List<String> subpartitions = new ArrayList<>();
-            if (dataEntity.getPartitionValue2() != null)
-            {
-                subpartitions.add(dataEntity.getPartitionValue2());
-            }
-            if (dataEntity.getPartitionValue3() != null)
-            {
-                subpartitions.add(dataEntity.getPartitionValue3());
-            }
-            if (dataEntity.getPartitionValue4() != null)
-            {
-                subpartitions.add(dataEntity.getPartitionValue4());
-            }
-            if (dataEntity.getPartitionValue5() != null)
+            for (SingularAttribute<BusinessObjectDataEntity, String> businessObjectDataPartition : BUSINESS_OBJECT_DATA_PARTITIONS
+                .subList(1, BUSINESS_OBJECT_DATA_PARTITIONS.size()))
             {
-                subpartitions.add(dataEntity.getPartitionValue5());
+                String subPartitionValue = tuple.get(businessObjectDataPartition.getName(), String.class);
+                if (subPartitionValue != null)
+                {
+                    subpartitions.add(subPartitionValue);
+                }
             }
             if (subpartitions.size() > 0)
             {
                 businessObjectData.setSubPartitionValues(subpartitions);
             }
 
-            //add attribute name and values in the request to the response
-            if (attributeValueList != null && !attributeValueList.isEmpty())
-            {
-                Collection<BusinessObjectDataAttributeEntity> dataAttributeCollection = dataEntity.getAttributes();
-                List<Attribute> attributeList = new ArrayList<>();
-                for (BusinessObjectDataAttributeEntity attributeEntity : dataAttributeCollection)
-                {
-                    Attribute attribute = new Attribute(attributeEntity.getName(), attributeEntity.getValue());
-                    if (shouldIncludeAttributeInResponse(attributeEntity, attributeValueList) && !attributeList.contains(attribute))
-                    {
-                        attributeList.add(attribute);
-                    }
-                }
-                businessObjectData.setAttributes(attributeList);
-            }
-
             if (includeCreatedOnDate)
             {
-                businessObjectData.setCreatedOn(HerdDateUtils.getXMLGregorianCalendarValue(dataEntity.getCreatedOn()));
+                businessObjectData.setCreatedOn(
+                    HerdDateUtils.getXMLGregorianCalendarValue(tuple.get(BusinessObjectDataEntity_.createdOn.getName(), Timestamp.class)));
             }
 
             businessObjectDataList.add(businessObjectData);
         }
 
+        //add attribute name and values in the request to the response
+        if (CollectionUtils.isNotEmpty(attributeValueFilters) && CollectionUtils.isNotEmpty(businessObjectDataList))
+        {
+            Map<Long, List<Attribute>> businessObjectDataAttributes = getBusinessObjectDataAttributesMatchingAttributeValueFilters(
+                businessObjectDataList.stream().map(BusinessObjectData::getId).collect(Collectors.toList()), attributeValueFilters);
+
+            for (BusinessObjectData businessObjectData : businessObjectDataList)
+            {
+                businessObjectData.setAttributes(businessObjectDataAttributes.getOrDefault(businessObjectData.getId(), new ArrayList<>()));
+            }
+        }
+
         return businessObjectDataList;
     }
 
     /**
-     * Checks if the attribute should be returned based on the attribute value query list if attribute name supplied, match attribute name case in sensitive if
-     * attribute value supplied, match attribute value case sensitive with contain logic if both attribute name and value supplied, match both.
+     * Selects business object data attributes that should be returned in the search response as per the attribute value filters. An attribute is returned if
+     * its name matches the attribute name case insensitive when only the attribute name is supplied, if its value contains the attribute value case sensitive
+     * when only the attribute value is supplied, or if both match when both attribute name and value are supplied. The matching is done by the database, so
+     * only the requested attributes get loaded.
      *
-     * @param attributeEntity the database attribute entity
-     * @param attributeQueryList the attribute query list
+     * @param businessObjectDataIds the list of business object data ids, not empty
+     * @param attributeValueFilters the list of attribute value filters, not empty
      *
-     * @return true for returning in response; false for not
+     * @return the map of business object data ids to the lists of matching attributes ordered by attribute name
      */
-    private boolean shouldIncludeAttributeInResponse(BusinessObjectDataAttributeEntity attributeEntity, List<AttributeValueFilter> attributeQueryList)
+    private Map<Long, List<Attribute>> getBusinessObjectDataAttributesMatchingAttributeValueFilters(List<Long> businessObjectDataIds,
+        List<AttributeValueFilter> attributeValueFilters)
     {
-        String attributeName = attributeEntity.getName();
-        String attributeValue = attributeEntity.getValue();
+        // Create the criteria builder and a tuple style criteria query.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+
+        // The criteria root is the business object data attribute.
+        Root<BusinessObjectDataAttributeEntity> businessObjectDataAttributeEntityRoot = criteria.from(BusinessObjectDataAttributeEntity.class);
+
+        // Get the columns to select. The business object data id is read from the foreign key column, so no join to the business object data table is needed.
+        Path<Long> businessObjectDataIdColumn =
+            businessObjectDataAttributeEntityRoot.get(BusinessObjectDataAttributeEntity_.businessObjectData).get(BusinessObjectDataEntity_.id);
+        Path<String> attributeNameColumn = businessObjectDataAttributeEntityRoot.get(BusinessObjectDataAttributeEntity_.name);
+        Path<String> attributeValueColumn = businessObjectDataAttributeEntityRoot.get(BusinessObjectDataAttributeEntity_.value);
 
-        for (AttributeValueFilter valueFiler : attributeQueryList)
+        // Build the restrictions per attribute value filters. Filters with neither attribute name nor attribute value do not select any attributes.
+        List<Predicate> attributeValueFilterPredicates = new ArrayList<>();
+        for (AttributeValueFilter attributeValueFilter : attributeValueFilters)
         {
-            String queryAttributeName = valueFiler.getAttributeName();
-            String queryAttributeValue = valueFiler.getAttributeValue();
-            Boolean matchAttributeName = false;
-            Boolean matchAttributeValue = false;
+            List<Predicate> predicates = new ArrayList<>();
 
-            if (attributeName != null && attributeName.equalsIgnoreCase(queryAttributeName))
+            if (!StringUtils.isEmpty(attributeValueFilter.getAttributeName()))
             {
-                matchAttributeName = true;
+                predicates.add(builder.equal(builder.upper(attributeNameColumn), attributeValueFilter.getAttributeName().toUpperCase()));
             }
 
-            if (attributeValue != null && queryAttributeValue != null && attributeValue.contains(queryAttributeValue))
+            if (!StringUtils.isEmpty(attributeValueFilter.getAttributeValue()))
             {
-                matchAttributeValue = true;
+                predicates.add(
+                    builder.like(attributeValueColumn, "%" + escapeLikePattern(attributeValueFilter.getAttributeValue()) + "%", LIKE_ESCAPE_CHARACTER));
             }
 
-            if (!StringUtils.isEmpty(queryAttributeName) && !StringUtils.isEmpty(queryAttributeValue))
-            {
-                if (matchAttributeName && matchAttributeValue)
-                {
-                    return true;
-                }
-            }
-            else if (!StringUtils.isEmpty(queryAttributeName) && matchAttributeName)
+            if (!predicates.isEmpty())
             {
-                return true;
+                attributeValueFilterPredicates.add(builder.and(predicates.toArray(new Predicate[predicates.size()])));
             }
-            else if (!StringUtils.isEmpty(queryAttributeValue) && matchAttributeValue)
+        }
+
+        // Return no attributes if none of the filters can select an attribute.
+        if (attributeValueFilterPredicates.isEmpty())
+        {
+            return new HashMap<>();
+        }
+
+        // Add all clauses for the query.
+        criteria.multiselect(businessObjectDataIdColumn, attributeNameColumn, attributeValueColumn)
+            .where(builder.and(getPredicateForInClause(builder, businessObjectDataIdColumn, businessObjectDataIds),
+                builder.or(attributeValueFilterPredicates.toArray(new Predicate[attributeValueFilterPredicates.size()]))))
+            .orderBy(builder.asc(attributeNameColumn));
+
+        // Run the query and group the selected attributes by business object data id.
+        Map<Long, List<Attribute>> businessObjectDataAttributes = new HashMap<>();
+        for (Tuple tuple : entityManager.createQuery(criteria).getResultList())
+        {
+            List<Attribute> attributes = businessObjectDataAttributes.computeIfAbsent(tuple.get(businessObjectDataIdColumn), id -> new ArrayList<>());
+            Attribute attribute = new Attribute(tuple.get(attributeNameColumn), tuple.get(attributeValueColumn));
+            if (!attributes.contains(attribute))
             {
-                return true;
+                attributes.add(attribute);
             }
         }
 
-        return false;
+        return businessObjectDataAttributes;
+    }
+
+    /**
+     * Escapes the special characters of a "like" pattern, so the specified text is matched literally.
+     *
+     * @param text the text to escape
+     *
+     * @return the escaped text
+     */
+    private String escapeLikePattern(String text)
+    {
+        return text.replace(String.valueOf(LIKE_ESCAPE_CHARACTER), String.valueOf(LIKE_ESCAPE_CHARACTER) + LIKE_ESCAPE_CHARACTER)
+            .replace("%", LIKE_ESCAPE_CHARACTER + "%").replace("_", LIKE_ESCAPE_CHARACTER + "_");
     }
 
     @Override
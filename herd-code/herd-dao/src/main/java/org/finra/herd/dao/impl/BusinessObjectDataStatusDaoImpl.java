@@ -45,6 +45,6 @@ public class BusinessObjectDataStatusDaoImpl extends AbstractHerdDao implements
 
         criteria.select(businessObjectDataStatus).where(businessObjectDataStatusCodeRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one business object data status with code \"%s\".", code));
+        return executeCacheableSingleResultQuery(criteria, String.format("Found more than one business object data status with code \"%s\".", code));
     }
 }
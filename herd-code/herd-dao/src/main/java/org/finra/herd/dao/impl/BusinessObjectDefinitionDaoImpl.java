@@ -93,6 +93,30 @@ public class BusinessObjectDefinitionDaoImpl extends AbstractHerdDao implements
         return query.getResultList();
     }
 
+    @Override
+    public List<BusinessObjectDefinitionEntity> getAllBusinessObjectDefinitionsAfterId(Long lastId, int maxResult)
+    {
+        // Create the criteria builder and a tuple style criteria query.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDefinitionEntity> criteria = builder.createQuery(BusinessObjectDefinitionEntity.class);
+
+        // The criteria root is the business object definition.
+        Root<BusinessObjectDefinitionEntity> businessObjectDefinitionEntityRoot = criteria.from(BusinessObjectDefinitionEntity.class);
+
+        // Get the columns.
+        Path<Long> businessObjectDefinitionIdColumn = businessObjectDefinitionEntityRoot.get(BusinessObjectDefinitionEntity_.id);
+
+        // Add all clauses to the query. If the last id is specified, select only the entities that follow it.
+        criteria.select(businessObjectDefinitionEntityRoot).orderBy(builder.asc(businessObjectDefinitionIdColumn));
+        if (lastId != null)
+        {
+            criteria.where(builder.greaterThan(businessObjectDefinitionIdColumn, lastId));
+        }
+
+        // Execute the query and return the results.
+        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+    }
+
     @Override
     public List<BusinessObjectDefinitionEntity> getAllBusinessObjectDefinitionsByIds(List<Long> ids)
     {
@@ -25,9 +25,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.amazonaws.services.elasticmapreduce.AmazonElasticMapReduceClient;
 import com.amazonaws.services.elasticmapreduce.model.ActionOnFailure;
@@ -143,6 +149,21 @@ public class EmrDaoImpl implements EmrDao
     @Autowired
     private Map<String, EmrClusterCacheTimestamps> emrClusterCacheTimestampsMap;
 
+    /**
+     * The locks that guard the EMR cluster cache reloads, one per AWS account id.
+     */
+    private final ConcurrentMap<String, ReentrantLock> emrClusterCacheLocks = new ConcurrentHashMap<>();
+
+    /**
+     * The number of EMR cluster lookups served from the EMR cluster cache.
+     */
+    private final AtomicLong emrClusterCacheHitCount = new AtomicLong();
+
+    /**
+     * The number of EMR cluster lookups that required a reload of the EMR cluster cache.
+     */
+    private final AtomicLong emrClusterCacheMissCount = new AtomicLong();
+
     @Autowired
     private EmrHelper emrHelper;
 
@@ -197,10 +218,8 @@ public class EmrDaoImpl implements EmrDao
     }
 
     @Override
-    public synchronized ClusterSummary getActiveEmrClusterByNameAndAccountId(String clusterName, String accountId, AwsParamsDto awsParams)
+    public ClusterSummary getActiveEmrClusterByNameAndAccountId(String clusterName, String accountId, AwsParamsDto awsParams)
     {
-        LOGGER.info("Entering synchronized method.");
-
         // Initialize a cluster summary to null for the case that the cluster is not found in the list.
         ClusterSummary clusterSummary = null;
 
@@ -217,139 +236,221 @@ public class EmrDaoImpl implements EmrDao
 
             LOGGER.info("EMR cluster cache key. emrClusterCacheKey=\"{}\"", emrClusterCacheKey.toString());
 
-            // First check to see if this cluster id is stored locally in the EMR Cluster Cache.
-            // If the EMR cluster cache does contain the cluster key use the id found in the EMR cluster cache.
-            // Else the EMR cluster cache does not contain the cluster key then move on to do a list cluster.
-            if (emrClusterCache.containsKey(emrClusterCacheKey))
+            // First check to see if this cluster id is stored locally in the EMR Cluster Cache. The cache is thread safe, so this check does not need a lock.
+            clusterSummary = getActiveEmrClusterFromCache(emrClusterCache, emrClusterCacheKey, clusterName, awsParams);
+            if (clusterSummary != null)
+            {
+                LOGGER.info("EMR cluster cache hit. emrClusterName=\"{}\" emrClusterCacheHitCount={} emrClusterCacheMissCount={}", clusterName.toUpperCase(),
+                    emrClusterCacheHitCount.incrementAndGet(), emrClusterCacheMissCount.get());
+                return clusterSummary;
+            }
+
+            LOGGER.info("EMR cluster cache miss. emrClusterName=\"{}\" emrClusterCacheHitCount={} emrClusterCacheMissCount={}", clusterName.toUpperCase(),
+                emrClusterCacheHitCount.get(), emrClusterCacheMissCount.incrementAndGet());
+
+            // Only one thread per account lists the clusters at a time, so the lookups for the other accounts are not blocked by this one.
+            LocalDateTime lockRequestTime = LocalDateTime.now(ZoneId.systemDefault());
+            long lockRequestNanoTime = System.nanoTime();
+            ReentrantLock emrClusterCacheLock = getEmrClusterCacheLockByAccountId(accountId);
+            emrClusterCacheLock.lock();
+            try
             {
-                // Get the cluster id value from the EMR cluster cache with the cluster name key.
-                String clusterId = emrClusterCache.get(emrClusterCacheKey);
-
-                // Retrieve the cluster status to validate the cluster.
-                Cluster cluster = getEmrClusterById(clusterId, awsParams);
-                ClusterStatus clusterStatus = cluster == null ? null : cluster.getStatus();
-                String status = clusterStatus == null ? null : clusterStatus.getState();
-                LOGGER.info("Found the EMR cluster name in the EMR cluster cache. emrClusterName=\"{}\" emrClusterId=\"{}\" emrClusterStatus=\"{}\"",
-                    clusterName.toUpperCase(), clusterId, status);
-
-                // If the status is not null and the status is in one of the active EMR cluster states,
-                // then return the cluster summary with the cluster id from the EMR cluster cache.
-                // Else remove the cluster from the EMR cluster cache and then move on to do a list cluster.
-                if (status != null && Arrays.asList(getActiveEmrClusterStates()).contains(status))
+                LOGGER.info("Acquired the EMR cluster cache lock. accountId=\"{}\" emrClusterCacheLockWaitTimeMillis={}", accountId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lockRequestNanoTime));
+
+                // Get the EMR cluster cache timeout values.
+                EmrClusterCacheTimestamps emrClusterCacheTimestamps = getEmrClusterCacheTimestampsByAccountId(accountId);
+
+                // If another thread started a reload of this cache after this thread requested the lock, then that reload already picked up all the active
+                // clusters this thread would find, so check the cache again instead of making another list cluster request.
+                LocalDateTime lastDeltaUpdate = emrClusterCacheTimestamps.getLastDeltaUpdate();
+                if (lastDeltaUpdate != null && !lastDeltaUpdate.isBefore(lockRequestTime))
                 {
-                    LOGGER.info("Exiting synchronized block.");
-                    return new ClusterSummary().withId(clusterId).withName(clusterName).withStatus(clusterStatus);
+                    LOGGER.info("The EMR cluster cache was reloaded while waiting for the lock. emrClusterName=\"{}\" lastDeltaUpdate=\"{}\"",
+                        clusterName.toUpperCase(), lastDeltaUpdate);
+                    clusterSummary = getActiveEmrClusterFromCache(emrClusterCache, emrClusterCacheKey, clusterName, awsParams);
                 }
                 else
                 {
-                    LOGGER.info("Removing cluster from EMR cluster cache. emrClusterName=\"{}\" emrClusterId=\"{}\" emrClusterStatus=\"{}\"",
-                        clusterName.toUpperCase(), clusterId, status);
+                    LOGGER.info("The cluster name was not in the cluster cache. Make a list cluster request to find the cluster id. emrClusterName=\"{}\"",
+                        clusterName.toUpperCase());
 
-                    // Remove the cluster from the cache.
-                    emrClusterCache.remove(emrClusterCacheKey);
+                    clusterSummary = reloadEmrClusterCache(emrClusterCache, emrClusterCacheTimestamps, clusterName, accountId, awsParams);
                 }
             }
+            finally
+            {
+                emrClusterCacheLock.unlock();
+            }
+        }
 
-            LOGGER.info("The cluster name was not in the cluster cache. Make a list cluster request to find the cluster id. emrClusterName=\"{}\"",
-                clusterName.toUpperCase());
+        LOGGER.info("Returning clusterSummary=\"{}\"", clusterSummary == null ? null : clusterSummary.toString());
 
-            // Get the EMR cluster cache timeout values.
-            EmrClusterCacheTimestamps emrClusterCacheTimestamps = getEmrClusterCacheTimestampsByAccountId(accountId);
-            LocalDateTime lastFullReload = emrClusterCacheTimestamps.getLastFullReload();
-            LocalDateTime lastDeltaUpdate = emrClusterCacheTimestamps.getLastDeltaUpdate();
+        LOGGER.debug("State of cache after calling getActiveEmrClusterByNameAndAccountId. emrClusterCache=\"{}\" emrClusterCacheContents=\"{}\"",
+            System.identityHashCode(emrClusterCache), emrClusterCache.toString());
 
-            // New cache timeout values.
-            LocalDateTime newLastFullReload;
-            LocalDateTime newLastDeltaUpdate;
+        return clusterSummary;
+    }
 
-            // Default the created after date to null for the full update case.
-            Date createdAfter = null;
+    /**
+     * Gets an active EMR cluster from the EMR cluster cache. The cached cluster id is validated by retrieving the cluster status. If the cluster is no longer
+     * in one of the active EMR cluster states, it is removed from the EMR cluster cache.
+     *
+     * @param emrClusterCache the EMR cluster cache for the account
+     * @param emrClusterCacheKey the EMR cluster cache key
+     * @param clusterName the cluster name
+     * @param awsParams the AWS related parameters for access/secret keys and proxy details
+     *
+     * @return the cluster summary or null if the cluster is not in the EMR cluster cache or it is not active
+     */
+    private ClusterSummary getActiveEmrClusterFromCache(Map<EmrClusterCacheKey, String> emrClusterCache, EmrClusterCacheKey emrClusterCacheKey,
+        String clusterName, AwsParamsDto awsParams)
+    {
+        // Get the cluster id value from the EMR cluster cache with the cluster name key.
+        String clusterId = emrClusterCache.get(emrClusterCacheKey);
+        if (clusterId == null)
+        {
+            return null;
+        }
 
-            // If the last delta update is null, or the last full reload is null, or the if the difference between the current time and the lastFullReload is
-            // greater than FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES, then do a full reload.
-            if (lastDeltaUpdate == null || lastFullReload == null ||
-                Duration.between(lastFullReload, LocalDateTime.now(ZoneId.systemDefault())).toMinutes() > FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES)
-            {
-                // Set the new last full reload time to the current time.
-                newLastFullReload = LocalDateTime.now(ZoneId.systemDefault());
+        // Retrieve the cluster status to validate the cluster.
+        Cluster cluster = getEmrClusterById(clusterId, awsParams);
+        ClusterStatus clusterStatus = cluster == null ? null : cluster.getStatus();
+        String status = clusterStatus == null ? null : clusterStatus.getState();
+        LOGGER.info("Found the EMR cluster name in the EMR cluster cache. emrClusterName=\"{}\" emrClusterId=\"{}\" emrClusterStatus=\"{}\"",
+            clusterName.toUpperCase(), clusterId, status);
+
+        // If the status is not null and the status is in one of the active EMR cluster states,
+        // then return the cluster summary with the cluster id from the EMR cluster cache.
+        // Else remove the cluster from the EMR cluster cache.
+        if (status != null && Arrays.asList(getActiveEmrClusterStates()).contains(status))
+        {
+            return new ClusterSummary().withId(clusterId).withName(clusterName).withStatus(clusterStatus);
+        }
 
-                // Clear the EMR cluster cache
-                emrClusterCache.clear();
+        LOGGER.info("Removing cluster from EMR cluster cache. emrClusterName=\"{}\" emrClusterId=\"{}\" emrClusterStatus=\"{}\"", clusterName.toUpperCase(),
+            clusterId, status);
 
-                LOGGER.info("EMR cluster cache cleared. Starting a full reload of the EMR cluster cache. " +
-                        "newLastFullReload=\"{}\" lastFullReload=\"{}\" emrClusterCache=\"{}\"", newLastFullReload, lastFullReload,
-                    System.identityHashCode(emrClusterCache));
-            }
-            else
-            {
-                // Set the created after date to the last delta update minus the delta update safety buffer time.
-                createdAfter = Date.from(lastDeltaUpdate.minusMinutes(DELTA_UPDATE_BUFFER_IN_MINUTES).atZone(ZoneId.systemDefault()).toInstant());
+        // Remove the cluster from the cache, unless another thread already replaced it with a new cluster id.
+        emrClusterCache.remove(emrClusterCacheKey, clusterId);
 
-                // Keep the last full reload the same.
-                newLastFullReload = lastFullReload;
+        return null;
+    }
 
-                LOGGER.info("Beginning a delta reload of the EMR cluster cache. lastFullReload=\"{}\" lastDeltaUpdate=\"{}\"", lastFullReload, lastDeltaUpdate);
-            }
+    /**
+     * Reloads the EMR cluster cache for an account by listing the active EMR clusters. A full reload is done when the cache was never loaded or the last full
+     * reload is too old, otherwise only the clusters created since the last delta update are listed. This method must be called while holding the EMR cluster
+     * cache lock for the account.
+     *
+     * @param emrClusterCache the EMR cluster cache for the account
+     * @param emrClusterCacheTimestamps the EMR cluster cache timestamps for the account
+     * @param clusterName the cluster name to look for
+     * @param accountId the account id
+     * @param awsParams the AWS related parameters for access/secret keys and proxy details
+     *
+     * @return the cluster summary of the active cluster with the specified name or null if the cluster was not found
+     */
+    private ClusterSummary reloadEmrClusterCache(Map<EmrClusterCacheKey, String> emrClusterCache, EmrClusterCacheTimestamps emrClusterCacheTimestamps,
+        String clusterName, String accountId, AwsParamsDto awsParams)
+    {
+        // Initialize a cluster summary to null for the case that the cluster is not found in the list.
+        ClusterSummary clusterSummary = null;
 
-            // Set the new last delta update to the current time.
-            newLastDeltaUpdate = LocalDateTime.now(ZoneId.systemDefault());
+        // Get the EMR cluster cache timeout values.
+        LocalDateTime lastFullReload = emrClusterCacheTimestamps.getLastFullReload();
+        LocalDateTime lastDeltaUpdate = emrClusterCacheTimestamps.getLastDeltaUpdate();
 
-            LOGGER
-                .info("The new last delta update is newLastDeltaUpdate=\"{}\" and the created after is createdAfter=\"{}\"", newLastDeltaUpdate, createdAfter);
+        // New cache timeout values.
+        LocalDateTime newLastFullReload;
+        LocalDateTime newLastDeltaUpdate;
 
-            /**
-             * Call AWSOperations for ListClusters API. Need to list all the active clusters that are in
-             * BOOTSTRAPPING/RUNNING/STARTING/WAITING states
-             */
-            ListClustersRequest listClustersRequest = new ListClustersRequest().withClusterStates(getActiveEmrClusterStates());
+        // Default the created after date to null for the full update case.
+        Date createdAfter = null;
+
+        // If the last delta update is null, or the last full reload is null, or the if the difference between the current time and the lastFullReload is
+        // greater than FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES, then do a full reload.
+        boolean fullReload = lastDeltaUpdate == null || lastFullReload == null ||
+            Duration.between(lastFullReload, LocalDateTime.now(ZoneId.systemDefault())).toMinutes() > FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES;
+        if (fullReload)
+        {
+            // Set the new last full reload time to the current time.
+            newLastFullReload = LocalDateTime.now(ZoneId.systemDefault());
+
+            LOGGER.info("Starting a full reload of the EMR cluster cache. newLastFullReload=\"{}\" lastFullReload=\"{}\" emrClusterCache=\"{}\"",
+                newLastFullReload, lastFullReload, System.identityHashCode(emrClusterCache));
+        }
+        else
+        {
+            // Set the created after date to the last delta update minus the delta update safety buffer time.
+            createdAfter = Date.from(lastDeltaUpdate.minusMinutes(DELTA_UPDATE_BUFFER_IN_MINUTES).atZone(ZoneId.systemDefault()).toInstant());
+
+            // Keep the last full reload the same.
+            newLastFullReload = lastFullReload;
+
+            LOGGER.info("Beginning a delta reload of the EMR cluster cache. lastFullReload=\"{}\" lastDeltaUpdate=\"{}\"", lastFullReload, lastDeltaUpdate);
+        }
+
+        // Set the new last delta update to the current time.
+        newLastDeltaUpdate = LocalDateTime.now(ZoneId.systemDefault());
+
+        LOGGER.info("The new last delta update is newLastDeltaUpdate=\"{}\" and the created after is createdAfter=\"{}\"", newLastDeltaUpdate, createdAfter);
 
+        // Keep track of the listed clusters, so the clusters that are no longer active can be removed from the cache after a full reload.
+        Set<EmrClusterCacheKey> listedEmrClusterCacheKeys = new HashSet<>();
+
+        /**
+         * Call AWSOperations for ListClusters API. Need to list all the active clusters that are in
+         * BOOTSTRAPPING/RUNNING/STARTING/WAITING states
+         */
+        ListClustersRequest listClustersRequest = new ListClustersRequest().withClusterStates(getActiveEmrClusterStates());
+
+        /**
+         * ListClusterRequest returns only 50 clusters at a time. However, this returns a marker
+         * that can be used for subsequent calls to listClusters to get all the clusters
+         */
+        String markerForListClusters = listClustersRequest.getMarker();
+
+        // Loop through all the available clusters and look for the given cluster id
+        do
+        {
             /**
-             * ListClusterRequest returns only 50 clusters at a time. However, this returns a marker
-             * that can be used for subsequent calls to listClusters to get all the clusters
+             * Call AWSOperations for ListClusters API.
+             * Need to include the Marker returned by the previous iteration
              */
-            String markerForListClusters = listClustersRequest.getMarker();
+            ListClustersResult clusterResult = emrOperations
+                .listEmrClusters(getEmrClient(awsParams), listClustersRequest.withMarker(markerForListClusters).withCreatedAfter(createdAfter));
 
-            // Loop through all the available clusters and look for the given cluster id
-            do
+            // Loop through all the active clusters returned by AWS
+            for (ClusterSummary clusterInstance : clusterResult.getClusters())
             {
-                /**
-                 * Call AWSOperations for ListClusters API.
-                 * Need to include the Marker returned by the previous iteration
-                 */
-                ListClustersResult clusterResult = emrOperations
-                    .listEmrClusters(getEmrClient(awsParams), listClustersRequest.withMarker(markerForListClusters).withCreatedAfter(createdAfter));
-
-                // Loop through all the active clusters returned by AWS
-                for (ClusterSummary clusterInstance : clusterResult.getClusters())
-                {
-                    LOGGER
-                        .info("Adding EMR cluster to the EMR Cluster Cache. emrClusterName=\"{}\" emrClusterId=\"{}\"", clusterInstance.getName().toUpperCase(),
-                            clusterInstance.getId());
+                LOGGER.info("Adding EMR cluster to the EMR Cluster Cache. emrClusterName=\"{}\" emrClusterId=\"{}\"", clusterInstance.getName().toUpperCase(),
+                    clusterInstance.getId());
 
-                    // Add this cluster instance to the EMR cluster cache.
-                    emrClusterCache.put(new EmrClusterCacheKey(clusterInstance.getName().toUpperCase(), accountId), clusterInstance.getId());
+                // Add this cluster instance to the EMR cluster cache.
+                EmrClusterCacheKey emrClusterCacheKey = new EmrClusterCacheKey(clusterInstance.getName().toUpperCase(), accountId);
+                emrClusterCache.put(emrClusterCacheKey, clusterInstance.getId());
+                listedEmrClusterCacheKeys.add(emrClusterCacheKey);
 
-                    // If the cluster name matches, then set the clusterSummary to the clusterInstance
-                    if (StringUtils.isNotBlank(clusterInstance.getName()) && clusterInstance.getName().equalsIgnoreCase(clusterName))
-                    {
-                        clusterSummary = clusterInstance;
-                    }
+                // If the cluster name matches, then set the clusterSummary to the clusterInstance
+                if (StringUtils.isNotBlank(clusterInstance.getName()) && clusterInstance.getName().equalsIgnoreCase(clusterName))
+                {
+                    clusterSummary = clusterInstance;
                 }
-                markerForListClusters = clusterResult.getMarker();
             }
-            while (markerForListClusters != null);
-
-            // Update the cluster cache timestamps
-            emrClusterCacheTimestamps.setLastFullReload(newLastFullReload);
-            emrClusterCacheTimestamps.setLastDeltaUpdate(newLastDeltaUpdate);
+            markerForListClusters = clusterResult.getMarker();
         }
+        while (markerForListClusters != null);
 
-        LOGGER.info("Returning clusterSummary=\"{}\"", clusterSummary == null ? null : clusterSummary.toString());
-
-        LOGGER.debug("State of cache after calling getActiveEmrClusterByNameAndAccountId. emrClusterCache=\"{}\" emrClusterCacheContents=\"{}\"",
-            System.identityHashCode(emrClusterCache), emrClusterCache.toString());
+        // On a full reload, drop the clusters that are no longer active. The cache is not cleared up front, so the lock-free lookups keep finding the active
+        // clusters while the reload is in progress.
+        if (fullReload)
+        {
+            emrClusterCache.keySet().retainAll(listedEmrClusterCacheKeys);
+        }
 
-        LOGGER.info("Exiting synchronized method.");
+        // Update the cluster cache timestamps
+        emrClusterCacheTimestamps.setLastFullReload(newLastFullReload);
+        emrClusterCacheTimestamps.setLastDeltaUpdate(newLastDeltaUpdate);
 
         return clusterSummary;
     }
@@ -562,8 +663,13 @@ public class EmrDaoImpl implements EmrDao
         {
             emrClusterCache = new ConcurrentHashMap<>();
 
-            // Add the new cache to the EMR cluster cache map
-            emrClusterCacheMap.put(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCache);
+            // Add the new cache to the EMR cluster cache map, unless another thread already added one.
+            Map<EmrClusterCacheKey, String> existingEmrClusterCache =
+                emrClusterCacheMap.putIfAbsent(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCache);
+            if (existingEmrClusterCache != null)
+            {
+                return existingEmrClusterCache;
+            }
 
             LOGGER.info("Adding a new EMR cluster cache for accountId=\"{}\"", accountId);
         }
@@ -591,9 +697,13 @@ public class EmrDaoImpl implements EmrDao
         {
             emrClusterCacheTimestamps = new EmrClusterCacheTimestamps(null, null);
 
-            // Add the new cache timestamps dto object to the EMR cluster cache timestamps map.
-            emrClusterCacheTimestampsMap
-                .put(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCacheTimestamps);
+            // Add the new cache timestamps dto object to the EMR cluster cache timestamps map, unless another thread already added one.
+            EmrClusterCacheTimestamps existingEmrClusterCacheTimestamps = emrClusterCacheTimestampsMap
+                .putIfAbsent(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCacheTimestamps);
+            if (existingEmrClusterCacheTimestamps != null)
+            {
+                return existingEmrClusterCacheTimestamps;
+            }
 
             LOGGER.info("Adding a new EMR cluster cache timestamps dto for accountId=\"{}\"", accountId);
         }
@@ -601,6 +711,20 @@ public class EmrDaoImpl implements EmrDao
         return emrClusterCacheTimestamps;
     }
 
+    /**
+     * Gets the lock that guards the reloads of the EMR cluster cache for an account id. There is one lock per account id, so the reloads for different
+     * accounts do not block each other.
+     *
+     * @param accountId The account id that is used as the key to obtain the lock.
+     *
+     * @return the EMR cluster cache lock.
+     */
+    private ReentrantLock getEmrClusterCacheLockByAccountId(String accountId)
+    {
+        return emrClusterCacheLocks.computeIfAbsent(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId,
+            key -> new ReentrantLock());
+    }
+
 
     /**
      * Creates an instance fleet configuration that describes the EC2 instances and instance configurations for clusters that use this feature.
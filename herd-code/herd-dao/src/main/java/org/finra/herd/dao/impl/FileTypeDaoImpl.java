@@ -49,7 +49,7 @@ public class FileTypeDaoImpl extends AbstractHerdDao implements FileTypeDao
 
         criteria.select(fileType).where(fileTypeCodeRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one file type with code \"%s\".", code));
+        return executeCacheableSingleResultQuery(criteria, String.format("Found more than one file type with code \"%s\".", code));
     }
 
     @Override
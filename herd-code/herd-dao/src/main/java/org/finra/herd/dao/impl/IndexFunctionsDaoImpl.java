@@ -26,8 +26,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.elasticsearch.action.admin.indices.alias.Alias;
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -96,9 +99,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Build the index request.
         IndexRequest indexRequest = new IndexRequest(indexName).id(id).source(json, XContentType.JSON);
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the create index document request.
             IndexResponse indexResponse = restHighLevelClient.index(indexRequest, RequestOptions.DEFAULT);
 
@@ -123,9 +128,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Create the get response object.
         GetResponse getResponse;
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the get request.
             getResponse = restHighLevelClient.get(getRequest, RequestOptions.DEFAULT);
         }
@@ -154,9 +161,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Create the index exists boolean flag.
         boolean isIndexExists;
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the get index request.
             isIndexExists = restHighLevelClient.indices().exists(getIndexRequest, RequestOptions.DEFAULT);
         }
@@ -178,9 +187,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Build the delete index request
         DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest(indexName);
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Call the Elasticsearch REST client to delete the index and receive the response.
             AcknowledgedResponse acknowledgedResponse = restHighLevelClient.indices().delete(deleteIndexRequest, RequestOptions.DEFAULT);
 
@@ -205,9 +216,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Create the get response object.
         GetResponse getResponse;
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the get request.
             getResponse = restHighLevelClient.get(getRequest, RequestOptions.DEFAULT);
         }
@@ -246,9 +259,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
 
         List<String> allIndices = getAliases(indexName);
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             for (String index : allIndices)
             {
                 // Prepare a bulk request
@@ -286,9 +301,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         createIndexRequest.mapping(mapping, XContentType.JSON);
         createIndexRequest.alias(new Alias(alias));
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the create index request.
             CreateIndexResponse createIndexResponse = restHighLevelClient.indices().create(createIndexRequest, RequestOptions.DEFAULT);
 
@@ -310,9 +327,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Build the delete request.
         DeleteRequest deleteRequest = new DeleteRequest(indexName, id);
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the delete request.
             DeleteResponse deleteResponse = restHighLevelClient.delete(deleteRequest, RequestOptions.DEFAULT);
 
@@ -334,9 +353,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
 
         List<String> allIndices = getAliases(indexName);
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // For each index in the list of indices.
             for (String index : allIndices)
             {
@@ -375,9 +396,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Create the count response object.
         CountResponse countResponse;
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the count request.
             countResponse = restHighLevelClient.count(countRequest, RequestOptions.DEFAULT);
         }
@@ -409,9 +432,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         searchSourceBuilder.query(QueryBuilders.matchAllQuery());
         searchRequest.source(searchSourceBuilder);
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the search request.
             SearchResponse searchResponse = restHighLevelClient.search(searchRequest, RequestOptions.DEFAULT);
 
@@ -466,9 +491,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
 
         List<String> allIndices = getAliases(indexName);
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             for (String index : allIndices)
             {
                 // Prepare a bulk request
@@ -495,6 +522,100 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         }
     }
 
+    @Override
+    public int bulkIndexDocuments(final String indexName, final Map<String, String> documentMap)
+    {
+        LOGGER.info("Bulk indexing Elasticsearch documents, indexName={}, documentCount={}.", indexName, documentMap.size());
+
+        // Prepare a bulk request.
+        BulkRequest bulkRequest = new BulkRequest();
+
+        // For each document prepare an insert request and add it to the bulk request.
+        documentMap.forEach((id, jsonString) -> bulkRequest.add(new IndexRequest(indexName).id(id).source(jsonString, XContentType.JSON)));
+
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        BulkResponse bulkResponse;
+        try
+        {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
+            // Make the bulk request.
+            bulkResponse = restHighLevelClient.bulk(bulkRequest, RequestOptions.DEFAULT);
+        }
+        catch (final IOException ioException)
+        {
+            LOGGER.error("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+
+            throw new ElasticsearchRestClientException("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+        }
+
+        // Count the documents that were indexed successfully.
+        int indexedDocumentCount = documentMap.size();
+
+        // If there are failures log them.
+        if (bulkResponse.hasFailures())
+        {
+            LOGGER.error("Bulk response error={}.", bulkResponse.buildFailureMessage());
+
+            for (BulkItemResponse bulkItemResponse : bulkResponse.getItems())
+            {
+                if (bulkItemResponse.isFailed())
+                {
+                    indexedDocumentCount--;
+                }
+            }
+        }
+
+        return indexedDocumentCount;
+    }
+
+    @Override
+    public void refreshIndex(final String indexName)
+    {
+        LOGGER.info("Refreshing Elasticsearch index, indexName={}.", indexName);
+
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
+        {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
+            // Make the refresh index request.
+            restHighLevelClient.indices().refresh(new RefreshRequest(indexName), RequestOptions.DEFAULT);
+        }
+        catch (final IOException ioException)
+        {
+            LOGGER.error("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+
+            throw new ElasticsearchRestClientException("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+        }
+    }
+
+    @Override
+    public void updateIndexSettings(final String indexName, final Settings settings)
+    {
+        LOGGER.info("Updating Elasticsearch index settings, indexName={}, settings={}.", indexName, settings);
+
+        // Build the update settings request.
+        UpdateSettingsRequest updateSettingsRequest = new UpdateSettingsRequest(indexName).settings(settings);
+
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
+        {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
+            // Make the update settings request.
+            AcknowledgedResponse acknowledgedResponse = restHighLevelClient.indices().putSettings(updateSettingsRequest, RequestOptions.DEFAULT);
+
+            LOGGER.info("Updated Elasticsearch index settings, indexName={}, isAcknowledged={}.", indexName, acknowledgedResponse.isAcknowledged());
+        }
+        catch (final IOException ioException)
+        {
+            LOGGER.error("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+
+            throw new ElasticsearchRestClientException("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+        }
+    }
+
     @Override
     public Settings getIndexSettings(final String indexName)
     {
@@ -506,9 +627,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Create a get settings reponse object.
         GetSettingsResponse getSettingsResponse;
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the get settings request.
             getSettingsResponse = restHighLevelClient.indices().getSettings(request, RequestOptions.DEFAULT);
         }
@@ -540,9 +663,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Create a get alias response object.
         GetAliasesResponse getAliasesResponse;
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Make the get aliases request.
             getAliasesResponse = restHighLevelClient.indices().getAlias(getAliasesRequest, RequestOptions.DEFAULT);
         }
@@ -315,9 +315,11 @@ public class IndexSearchDaoImpl implements IndexSearchDao
         // Create a search response object.
         SearchResponse searchResponse;
 
-        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
-        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        // Get the shared Elasticsearch REST high level client. The client is pooled and long-lived, so it must not be closed here.
+        try
         {
+            final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
             // Retrieve the indexSearch response
             searchResponse = restHighLevelClient.search(searchRequest, RequestOptions.DEFAULT);
         }
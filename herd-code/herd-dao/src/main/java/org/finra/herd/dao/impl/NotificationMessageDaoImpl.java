@@ -15,12 +15,16 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import javax.persistence.LockModeType;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.stereotype.Repository;
 
 import org.finra.herd.dao.NotificationMessageDao;
@@ -52,4 +56,56 @@ public class NotificationMessageDaoImpl extends AbstractHerdDao implements Notif
         // Return the result.
         return resultList.size() > 0 ? resultList.get(0) : null;
     }
+
+    @Override
+    public List<Long> getOldestNotificationMessageIds(Long lastNotificationMessageId, int maxResults)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+
+        // The criteria root is the notification message.
+        Root<NotificationMessageEntity> notificationMessageEntity = criteria.from(NotificationMessageEntity.class);
+
+        // Add the select clause.
+        criteria.select(notificationMessageEntity.get(NotificationMessageEntity_.id));
+
+        // Skip notification messages that were already processed by the caller.
+        if (lastNotificationMessageId != null)
+        {
+            criteria.where(builder.greaterThan(notificationMessageEntity.get(NotificationMessageEntity_.id), lastNotificationMessageId));
+        }
+
+        // Add the order by clause, since we want to select the oldest notification messages (messages with the smallest sequence generated ids).
+        criteria.orderBy(builder.asc(notificationMessageEntity.get(NotificationMessageEntity_.id)));
+
+        // Execute the query and ask it to return only the requested number of records.
+        return entityManager.createQuery(criteria).setMaxResults(maxResults).getResultList();
+    }
+
+    @Override
+    public List<NotificationMessageEntity> getNotificationMessagesForUpdateSkipLocked(List<Long> notificationMessageIds)
+    {
+        // Return an empty list if no notification message ids are specified.
+        if (notificationMessageIds.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<NotificationMessageEntity> criteria = builder.createQuery(NotificationMessageEntity.class);
+
+        // The criteria root is the notification message.
+        Root<NotificationMessageEntity> notificationMessageEntity = criteria.from(NotificationMessageEntity.class);
+
+        // Add the select, where, and order by clauses.
+        criteria.select(notificationMessageEntity).where(notificationMessageEntity.get(NotificationMessageEntity_.id).in(notificationMessageIds))
+            .orderBy(builder.asc(notificationMessageEntity.get(NotificationMessageEntity_.id)));
+
+        // Execute the query with a pessimistic write lock, skipping rows that are already locked by another transaction. The row locking is done in a query
+        // that does not use paging, since "select for update" can not be combined with paging on all supported databases.
+        return entityManager.createQuery(criteria).setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint(AvailableSettings.JPA_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED).getResultList();
+    }
 }
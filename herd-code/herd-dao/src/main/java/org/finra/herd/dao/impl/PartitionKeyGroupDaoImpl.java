@@ -55,7 +55,7 @@ public class PartitionKeyGroupDaoImpl extends AbstractHerdDao implements Partiti
 
         criteria.select(partitionKeyGroupEntity).where(partitionKeyGroupRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one \"%s\" partition key group.", partitionKeyGroupName));
+        return executeCacheableSingleResultQuery(criteria, String.format("Found more than one \"%s\" partition key group.", partitionKeyGroupName));
     }
 
     @Override
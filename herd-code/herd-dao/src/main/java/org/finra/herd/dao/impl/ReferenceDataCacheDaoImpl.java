@@ -0,0 +1,71 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Repository;
+
+import org.finra.herd.dao.ReferenceDataCacheDao;
+import org.finra.herd.model.jpa.AuditableEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.model.jpa.FileTypeEntity;
+import org.finra.herd.model.jpa.HibernateCacheRegions;
+import org.finra.herd.model.jpa.NamespaceEntity;
+import org.finra.herd.model.jpa.PartitionKeyGroupEntity;
+import org.finra.herd.model.jpa.StorageAttributeEntity;
+import org.finra.herd.model.jpa.StorageEntity;
+import org.finra.herd.model.jpa.StorageEntity_;
+import org.finra.herd.model.jpa.StoragePlatformEntity;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
+
+@Repository
+public class ReferenceDataCacheDaoImpl extends AbstractHerdDao implements ReferenceDataCacheDao
+{
+    /**
+     * The entity classes cached in the {@link HibernateCacheRegions#REFERENCE_DATA} second-level cache region.
+     */
+    public static final List<Class<? extends AuditableEntity>> REFERENCE_DATA_ENTITY_CLASSES = Collections.unmodifiableList(Arrays
+        .asList(BusinessObjectDataStatusEntity.class, FileTypeEntity.class, NamespaceEntity.class, PartitionKeyGroupEntity.class,
+            StorageAttributeEntity.class, StorageEntity.class, StoragePlatformEntity.class, StorageUnitStatusEntity.class));
+
+    @Override
+    public void evictReferenceDataCache()
+    {
+        // Get the Hibernate second-level cache.
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+
+        // Evict the reference data entities along with the cached storage attribute collections.
+        for (Class<? extends AuditableEntity> entityClass : REFERENCE_DATA_ENTITY_CLASSES)
+        {
+            cache.evictEntityRegion(entityClass);
+        }
+        cache.evictCollectionRegion(StorageEntity.class.getName() + "." + StorageEntity_.attributes.getName());
+
+        // Evict the results of the alternate key lookups.
+        cache.evictQueryRegion(HibernateCacheRegions.REFERENCE_DATA_QUERY);
+    }
+
+    @Override
+    public String getReferenceDataVersion()
+    {
+        return getEntityVersion(REFERENCE_DATA_ENTITY_CLASSES);
+    }
+}
@@ -25,10 +25,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.amazonaws.AmazonClientException;
@@ -48,6 +57,8 @@ import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.GlacierJobParameters;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
 import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
@@ -85,6 +96,7 @@ import com.amazonaws.services.s3control.model.JobProgressSummary;
 import com.amazonaws.services.s3control.model.JobStatus;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClientBuilder;
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -101,9 +113,12 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
 import org.finra.herd.core.HerdDateUtils;
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.core.helper.MethodMetricsHelper;
 import org.finra.herd.dao.AwsS3ClientFactory;
 import org.finra.herd.dao.S3Dao;
 import org.finra.herd.dao.S3Operations;
+import org.finra.herd.dao.S3TransferExecutorFactory;
 import org.finra.herd.dao.exception.S3BatchJobIncompleteException;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
@@ -112,9 +127,11 @@ import org.finra.herd.dao.helper.S3BatchHelper;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.dto.BatchJobConfigDto;
 import org.finra.herd.model.dto.BatchJobManifestDto;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 
 /**
@@ -125,12 +142,27 @@ import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 @Repository
 public class S3DaoImpl implements S3Dao
 {
+    /**
+     * The name of the counter of the bytes transferred by the S3 transfer managers. Its rate is the S3 transfer throughput in bytes per second.
+     */
+    public static final String TRANSFERRED_BYTES_COUNTER = "s3_transfer_transferred_bytes";
+
     private static final long DEFAULT_SLEEP_INTERVAL_MILLIS = 100;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(S3DaoImpl.class);
 
     private static final int MAX_KEYS_PER_DELETE_REQUEST = 1000;
 
+    /**
+     * The maximum number of attempts of a per-key S3 operation throttled by S3 with a "503 Slow Down" response.
+     */
+    private static final int MAX_SLOW_DOWN_ATTEMPTS = 5;
+
+    /**
+     * The backoff before the first retry of a per-key S3 operation throttled by S3. The backoff doubles with every subsequent retry.
+     */
+    private static final long DEFAULT_SLOW_DOWN_BACKOFF_MILLIS = 1000;
+
     private static final List<JobStatus> FINAL_BATCH_PROCESSING_STATES =
         Arrays.asList(JobStatus.Complete, JobStatus.Failed, JobStatus.Cancelled, JobStatus.Suspended);
 
@@ -143,17 +175,34 @@ public class S3DaoImpl implements S3Dao
     @Autowired
     private S3BatchHelper batchHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private JavaPropertiesHelper javaPropertiesHelper;
 
     @Autowired
     private JsonHelper jsonHelper;
 
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
     @Autowired
     private S3Operations s3Operations;
 
+    @Autowired
+    private S3TransferExecutorFactory s3TransferExecutorFactory;
+
     private long sleepIntervalsMillis = DEFAULT_SLEEP_INTERVAL_MILLIS;
 
+    private long slowDownBackoffMillis = DEFAULT_SLOW_DOWN_BACKOFF_MILLIS;
+
+    /**
+     * The token buckets limiting the rate of the S3 object tagging requests, keyed by the S3 bucket name. They are shared by all the tagging operations, so
+     * the concurrent storage policy transitions and destroys of business object data stored in the same S3 bucket do not exceed the configured rate.
+     */
+    private final Map<String, RateLimiter> s3TaggingRateLimiters = new ConcurrentHashMap<>();
+
     @Override
     public int abortMultipartUploads(S3FileTransferRequestParamsDto params, Date thresholdDate)
     {
@@ -208,8 +257,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the Amazon S3 client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client pool.
+            awsS3ClientFactory.releaseAmazonS3Client(s3Client);
         }
 
         return abortedMultipartUploadsCount;
@@ -303,7 +352,7 @@ public class S3DaoImpl implements S3Dao
                 }
                 finally
                 {
-                    s3Client.shutdown();
+                    awsS3ClientFactory.releaseAmazonS3Client(s3Client);
                 }
             }
         }
@@ -342,7 +391,7 @@ public class S3DaoImpl implements S3Dao
                 }
                 finally
                 {
-                    s3Client.shutdown();
+                    awsS3ClientFactory.releaseAmazonS3Client(s3Client);
                 }
             }
         }
@@ -420,7 +469,7 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            s3.shutdown();
+            awsS3ClientFactory.releaseAmazonS3Client(s3);
         }
     }
 
@@ -446,8 +495,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client pool.
+            awsS3ClientFactory.releaseAmazonS3Client(s3Client);
         }
     }
 
@@ -467,7 +516,7 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            s3Client.shutdown();
+            awsS3ClientFactory.releaseAmazonS3Client(s3Client);
         }
     }
 
@@ -506,8 +555,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client pool.
+            awsS3ClientFactory.releaseAmazonS3Client(s3Client);
         }
 
         return s3KeyPrefixEmpty;
@@ -568,13 +617,101 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client pool.
+            awsS3ClientFactory.releaseAmazonS3Client(s3Client);
         }
 
         return s3ObjectSummaries;
     }
 
+    @Override
+    public void streamDirectory(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers,
+        Consumer<S3ObjectSummaryDto> s3ObjectConsumer)
+    {
+        LOGGER.info("Streaming S3 objects matching S3 key prefix... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" maxThreads={}", params.getS3KeyPrefix(),
+            params.getS3BucketName(), params.getMaxThreads());
+
+        Assert.isTrue(!isRootKeyPrefix(params.getS3KeyPrefix()), "Listing of S3 objects from root directory is not allowed.");
+
+        AmazonS3Client s3Client = awsS3ClientFactory.getAmazonS3Client(params);
+
+        // Pass on only the key, the size and the storage class of the S3 objects, so the S3 object summaries can be garbage collected with their listing
+        // page. The storage class strings are interned to be shared. The consumer is called under a lock, since the sub-prefixes might get listed in parallel.
+        Object consumerLock = new Object();
+        AtomicLong s3ObjectCount = new AtomicLong();
+        Consumer<S3ObjectSummary> s3ObjectSummaryConsumer = s3ObjectSummary -> {
+            // Ignore 0 byte objects that represent S3 directories.
+            if (!(ignoreZeroByteDirectoryMarkers && s3ObjectSummary.getKey().endsWith("/") && s3ObjectSummary.getSize() == 0L))
+            {
+                synchronized (consumerLock)
+                {
+                    s3ObjectConsumer.accept(new S3ObjectSummaryDto(s3ObjectSummary.getKey(), s3ObjectSummary.getSize(),
+                        s3ObjectSummary.getStorageClass() != null ? s3ObjectSummary.getStorageClass().intern() : null));
+                    s3ObjectCount.incrementAndGet();
+                }
+            }
+        };
+
+        try
+        {
+            ListObjectsV2Request listObjectsV2Request = new ListObjectsV2Request().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix());
+
+            if (params.getMaxThreads() == null || params.getMaxThreads() <= 1)
+            {
+                listObjectsV2(s3Client, listObjectsV2Request, s3ObjectSummaryConsumer);
+            }
+            else
+            {
+                // List the S3 objects right under the S3 key prefix and then list the sub-prefixes (e.g. the partition directories) in parallel.
+                // A listing request is kept per sub-prefix, so a listing retried after S3 throttling resumes after the last consumed page.
+                List<String> subPrefixes = listObjectsV2(s3Client, listObjectsV2Request.withDelimiter("/"), s3ObjectSummaryConsumer);
+                Map<String, ListObjectsV2Request> subPrefixListObjectsV2Requests = new ConcurrentHashMap<>();
+
+                try
+                {
+                    performS3KeyOperations(subPrefixes, params.getMaxThreads(), subPrefix -> listObjectsV2(s3Client, subPrefixListObjectsV2Requests
+                        .computeIfAbsent(subPrefix, key -> new ListObjectsV2Request().withBucketName(params.getS3BucketName()).withPrefix(key)),
+                        s3ObjectSummaryConsumer));
+                }
+                catch (S3KeyOperationException e)
+                {
+                    // Let the listing failures and the failures reported by the consumer go through the same handling as on the calling thread.
+                    Exception exception = e.getS3KeyOperationCause();
+                    if (exception instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) exception;
+                    }
+
+                    throw new IllegalStateException(
+                        String.format("Failed to list keys with prefix \"%s\" from bucket \"%s\". Reason: %s", e.getS3Key(), params.getS3BucketName(),
+                            exception.getMessage()), exception);
+                }
+            }
+        }
+        catch (AmazonS3Exception amazonS3Exception)
+        {
+            if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(amazonS3Exception.getErrorCode()))
+            {
+                throw new IllegalArgumentException("The specified bucket '" + params.getS3BucketName() + "' does not exist.", amazonS3Exception);
+            }
+            throw new IllegalStateException("Error accessing S3", amazonS3Exception);
+        }
+        catch (AmazonClientException e)
+        {
+            throw new IllegalStateException(
+                String.format("Failed to list keys with prefix \"%s\" from bucket \"%s\". Reason: %s", params.getS3KeyPrefix(), params.getS3BucketName(),
+                    e.getMessage()), e);
+        }
+        finally
+        {
+            // Release the Amazon S3 client back to the client pool.
+            awsS3ClientFactory.releaseAmazonS3Client(s3Client);
+        }
+
+        LOGGER.info("Streamed S3 objects matching S3 key prefix. s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3ObjectCount={}", params.getS3KeyPrefix(),
+            params.getS3BucketName(), s3ObjectCount.get());
+    }
+
     @Override
     public List<S3VersionSummary> listVersions(final S3FileTransferRequestParamsDto params)
     {
@@ -615,8 +752,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client pool.
+            awsS3ClientFactory.releaseAmazonS3Client(s3Client);
         }
 
         return s3VersionSummaries;
@@ -625,8 +762,8 @@ public class S3DaoImpl implements S3Dao
     @Override
     public void restoreObjects(final S3FileTransferRequestParamsDto params, int expirationInDays, String archiveRetrievalOption)
     {
-        LOGGER.info("Restoring a list of objects in S3... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={}", params.getS3KeyPrefix(),
-            params.getS3BucketName(), params.getFiles().size());
+        LOGGER.info("Restoring a list of objects in S3... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={} maxThreads={}", params.getS3KeyPrefix(),
+            params.getS3BucketName(), params.getFiles().size(), params.getMaxThreads());
 
         if (CollectionUtils.isEmpty(params.getFiles()))
         {
@@ -641,63 +778,40 @@ public class S3DaoImpl implements S3Dao
             // Create an S3 client.
             AmazonS3Client s3Client = awsS3ClientFactory.getAmazonS3Client(params);
 
-            // Create a restore object request.
-            RestoreObjectRequest requestRestore = new RestoreObjectRequest(params.getS3BucketName(), null, expirationInDays);
             // Make Bulk the default archive retrieval option if the option is not provided
-            requestRestore.setGlacierJobParameters(
-                new GlacierJobParameters().withTier(StringUtils.isNotEmpty(archiveRetrievalOption) ? archiveRetrievalOption : Tier.Bulk.toString()));
+            String tier = StringUtils.isNotEmpty(archiveRetrievalOption) ? archiveRetrievalOption : Tier.Bulk.toString();
 
             try
             {
-                for (File file : params.getFiles())
-                {
-                    key = file.getPath().replaceAll("\\\\", "/");
-                    ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), key, s3Client);
-
-                    // Request a restore for objects that are not already being restored.
-                    if (BooleanUtils.isNotTrue(objectMetadata.getOngoingRestore()))
-                    {
-                        requestRestore.setKey(key);
-
-                        try
-                        {
-                            // Try the S3 restore operation on this file.
-                            s3Operations.restoreObject(requestRestore, s3Client);
-                        }
-                        catch (AmazonS3Exception amazonS3Exception)
-                        {
-                            // If this exception has a status code of 409, log the information and continue to the next file.
-                            if (amazonS3Exception.getStatusCode() == HttpStatus.SC_CONFLICT)
-                            {
-                                LOGGER.info("Restore already in progress for file with s3Key=\"{}\".", key);
-                            }
-                            // Else, we need to propagate the exception to the next level of try/catch block.
-                            else
-                            {
-                                throw new Exception(amazonS3Exception);
-                            }
-                        }
-                    }
-                }
+                performS3KeyOperations(getS3Keys(params), params.getMaxThreads(),
+                    s3Key -> restoreObject(params.getS3BucketName(), s3Key, expirationInDays, tier, s3Client));
             }
             finally
             {
-                s3Client.shutdown();
+                awsS3ClientFactory.releaseAmazonS3Client(s3Client);
             }
         }
         catch (Exception e)
         {
-            if (StringUtils.contains(e.getMessage(), "Retrieval option is not supported by this storage class"))
+            // Report the S3 key the restore request failed for along with the underlying exception.
+            Exception exception = e;
+            if (e instanceof S3KeyOperationException)
+            {
+                key = ((S3KeyOperationException) e).getS3Key();
+                exception = ((S3KeyOperationException) e).getS3KeyOperationCause();
+            }
+
+            if (StringUtils.contains(exception.getMessage(), "Retrieval option is not supported by this storage class"))
             {
                 throw new IllegalArgumentException(
                     String.format("Failed to initiate a restore request for \"%s\" key in \"%s\" bucket. Reason: %s", key, params.getS3BucketName(),
-                        e.getMessage()), e);
+                        exception.getMessage()), exception);
             }
             else
             {
                 throw new IllegalStateException(
                     String.format("Failed to initiate a restore request for \"%s\" key in \"%s\" bucket. Reason: %s", key, params.getS3BucketName(),
-                        e.getMessage()), e);
+                        exception.getMessage()), exception);
             }
         }
     }
@@ -714,7 +828,7 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            s3Client.shutdown();
+            awsS3ClientFactory.releaseAmazonS3Client(s3Client);
         }
     }
 
@@ -993,14 +1107,12 @@ public class S3DaoImpl implements S3Dao
     @Override
     public void validateGlacierS3FilesRestored(S3FileTransferRequestParamsDto params) throws RuntimeException
     {
-        LOGGER.info("Checking for already restored Glacier or DeepArchive storage class objects... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={}",
-            params.getS3KeyPrefix(), params.getS3BucketName(), params.getFiles().size());
+        LOGGER.info(
+            "Checking for already restored Glacier or DeepArchive storage class objects... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={} maxThreads={}",
+            params.getS3KeyPrefix(), params.getS3BucketName(), params.getFiles().size(), params.getMaxThreads());
 
         if (!CollectionUtils.isEmpty(params.getFiles()))
         {
-            // Initialize a key value pair for the error message in the catch block.
-            String key = params.getFiles().get(0).getPath().replaceAll("\\\\", "/");
-
             try
             {
                 // Create an S3 client.
@@ -1008,30 +1120,35 @@ public class S3DaoImpl implements S3Dao
 
                 try
                 {
-                    for (File file : params.getFiles())
-                    {
-                        key = file.getPath().replaceAll("\\\\", "/");
-                        ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), key, s3Client);
+                    performS3KeyOperations(getS3Keys(params), params.getMaxThreads(), s3Key -> {
+                        ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), s3Key, s3Client);
 
                         // Fail if a not already restored object is detected.
                         if (BooleanUtils.isNotFalse(objectMetadata.getOngoingRestore()))
                         {
                             throw new IllegalArgumentException(
-                                String.format("Archived S3 file \"%s\" is not restored. StorageClass {%s}, OngoingRestore flag {%s}, S3 bucket name {%s}", key,
-                                    objectMetadata.getStorageClass(), objectMetadata.getOngoingRestore(), params.getS3BucketName()));
+                                String.format("Archived S3 file \"%s\" is not restored. StorageClass {%s}, OngoingRestore flag {%s}, S3 bucket name {%s}",
+                                    s3Key, objectMetadata.getStorageClass(), objectMetadata.getOngoingRestore(), params.getS3BucketName()));
                         }
-                    }
+                    });
                 }
                 finally
                 {
-                    s3Client.shutdown();
+                    awsS3ClientFactory.releaseAmazonS3Client(s3Client);
                 }
             }
-            catch (AmazonServiceException e)
+            catch (S3KeyOperationException e)
             {
+                // Propagate the validation failures as is. Report the S3 key the restore status check failed for along with the other failures.
+                Exception exception = e.getS3KeyOperationCause();
+                if (exception instanceof RuntimeException && !(exception instanceof AmazonServiceException))
+                {
+                    throw (RuntimeException) exception;
+                }
+
                 throw new IllegalStateException(
-                    String.format("Fail to check restore status for \"%s\" key in \"%s\" bucket. Reason: %s", key, params.getS3BucketName(), e.getMessage()),
-                    e);
+                    String.format("Fail to check restore status for \"%s\" key in \"%s\" bucket. Reason: %s", e.getS3Key(), params.getS3BucketName(),
+                        exception.getMessage()), exception);
             }
         }
     }
@@ -1358,8 +1475,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client pool.
+            awsS3ClientFactory.releaseAmazonS3Client(s3Client);
         }
     }
 
@@ -1450,6 +1567,89 @@ public class S3DaoImpl implements S3Dao
         }
     }
 
+    /**
+     * Returns the S3 keys of all the files in the parameters.
+     *
+     * @param params the parameters
+     *
+     * @return the list of S3 keys
+     */
+    private List<String> getS3Keys(S3FileTransferRequestParamsDto params)
+    {
+        return params.getFiles().stream().map(file -> file.getPath().replaceAll("\\\\", "/")).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the token bucket that limits the rate of the S3 object tagging requests sent to the specified S3 bucket. The rate of an existing token bucket is
+     * updated when the configured rate changes.
+     *
+     * @param s3BucketName the S3 bucket name
+     *
+     * @return the token bucket, or null if the rate of the S3 object tagging requests is not limited
+     */
+    private RateLimiter getS3TaggingRateLimiter(String s3BucketName)
+    {
+        double permitsPerSecond = configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Double.class);
+        if (permitsPerSecond <= 0)
+        {
+            return null;
+        }
+
+        RateLimiter rateLimiter = s3TaggingRateLimiters.computeIfAbsent(s3BucketName, key -> RateLimiter.create(permitsPerSecond));
+        if (rateLimiter.getRate() != permitsPerSecond)
+        {
+            rateLimiter.setRate(permitsPerSecond);
+        }
+
+        return rateLimiter;
+    }
+
+    /**
+     * Checks whether the specified exception, or one of its causes, is an S3 "503 Slow Down" response asking to reduce the request rate.
+     *
+     * @param exception the exception
+     *
+     * @return true if S3 throttled the request, false otherwise
+     */
+    private boolean isSlowDown(Throwable exception)
+    {
+        for (Throwable throwable = exception; throwable != null; throwable = throwable.getCause())
+        {
+            if (throwable instanceof AmazonServiceException && ((AmazonServiceException) throwable).getStatusCode() == HttpStatus.SC_SERVICE_UNAVAILABLE)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Lists the S3 objects page by page using the version 2 of the list objects API and passes them to the consumer. The continuation token of the listing
+     * request is advanced after every page.
+     *
+     * @param s3Client the S3 client
+     * @param listObjectsV2Request the listing request
+     * @param s3ObjectSummaryConsumer the consumer of the listed S3 objects
+     *
+     * @return the common prefixes rolled up by the delimiter of the listing request, if any
+     */
+    private List<String> listObjectsV2(AmazonS3Client s3Client, ListObjectsV2Request listObjectsV2Request, Consumer<S3ObjectSummary> s3ObjectSummaryConsumer)
+    {
+        List<String> commonPrefixes = new ArrayList<>();
+        ListObjectsV2Result listObjectsV2Result;
+
+        do
+        {
+            listObjectsV2Result = s3Operations.listObjectsV2(listObjectsV2Request, s3Client);
+            listObjectsV2Result.getObjectSummaries().forEach(s3ObjectSummaryConsumer);
+            commonPrefixes.addAll(listObjectsV2Result.getCommonPrefixes());
+            listObjectsV2Request.setContinuationToken(listObjectsV2Result.getNextContinuationToken());
+        }
+        while (listObjectsV2Result.isTruncated());
+
+        return commonPrefixes;
+    }
 
     /**
      * Logs the given MultiObjectDeleteException.
@@ -1510,6 +1710,169 @@ public class S3DaoImpl implements S3Dao
         }
     }
 
+    /**
+     * Performs the specified operation on the specified S3 keys. When more than one max thread is specified, the S3 keys are processed concurrently on the
+     * shared S3 transfer thread pool with at most max threads operations in flight. The first failure stops the processing of the remaining S3 keys.
+     *
+     * @param s3Keys the S3 keys
+     * @param maxThreads the maximum number of concurrent operations, may be null
+     * @param s3KeyOperation the operation to perform on every S3 key
+     *
+     * @throws S3KeyOperationException if the operation fails for an S3 key
+     */
+    private void performS3KeyOperations(List<String> s3Keys, Integer maxThreads, S3KeyOperation s3KeyOperation) throws S3KeyOperationException
+    {
+        performS3KeyOperations(s3Keys, maxThreads, null, s3KeyOperation);
+    }
+
+    /**
+     * Performs the specified operation on the specified S3 keys. When more than one max thread is specified, the S3 keys are processed concurrently on the
+     * shared S3 transfer thread pool with at most max threads operations in flight. The first failure stops the processing of the remaining S3 keys. The
+     * permit acquirer is called on the calling thread before the operation on an S3 key gets started, so waiting for the permits never holds up a thread of
+     * the shared S3 transfer thread pool.
+     *
+     * @param s3Keys the S3 keys
+     * @param maxThreads the maximum number of concurrent operations, may be null
+     * @param s3KeyPermitAcquirer the acquirer of the permits needed by the operation on an S3 key, may be null
+     * @param s3KeyOperation the operation to perform on every S3 key
+     *
+     * @throws S3KeyOperationException if the operation fails for an S3 key
+     */
+    private void performS3KeyOperations(List<String> s3Keys, Integer maxThreads, Consumer<String> s3KeyPermitAcquirer, S3KeyOperation s3KeyOperation)
+        throws S3KeyOperationException
+    {
+        if (s3Keys.isEmpty())
+        {
+            return;
+        }
+
+        int threadCount = maxThreads == null ? 1 : Math.max(maxThreads, 1);
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(threadCount);
+
+        // Process the S3 keys on the calling thread when no concurrency is requested.
+        if (threadCount == 1 || s3Keys.size() == 1)
+        {
+            for (String s3Key : s3Keys)
+            {
+                if (s3KeyPermitAcquirer != null)
+                {
+                    s3KeyPermitAcquirer.accept(s3Key);
+                }
+                performS3KeyOperation(s3Key, s3KeyOperation, concurrencyLimiter);
+            }
+            return;
+        }
+
+        ExecutorService executorService = s3TransferExecutorFactory.getTransferExecutorService(threadCount);
+        AtomicReference<S3KeyOperationException> failure = new AtomicReference<>();
+        String s3Key = s3Keys.get(0);
+
+        try
+        {
+            // Keep submitting the S3 keys while the concurrency limit allows, so the S3 requests are pipelined.
+            for (int i = 0; i < s3Keys.size() && failure.get() == null; i++)
+            {
+                s3Key = s3Keys.get(i);
+                if (s3KeyPermitAcquirer != null)
+                {
+                    s3KeyPermitAcquirer.accept(s3Key);
+                }
+                concurrencyLimiter.acquire();
+
+                final String currentS3Key = s3Key;
+                try
+                {
+                    executorService.execute(() -> {
+                        try
+                        {
+                            if (failure.get() == null)
+                            {
+                                performS3KeyOperation(currentS3Key, s3KeyOperation, concurrencyLimiter);
+                            }
+                        }
+                        catch (S3KeyOperationException e)
+                        {
+                            failure.compareAndSet(null, e);
+                        }
+                        finally
+                        {
+                            concurrencyLimiter.release();
+                        }
+                    });
+                }
+                catch (RejectedExecutionException e)
+                {
+                    concurrencyLimiter.release();
+                    throw new S3KeyOperationException(s3Key, e);
+                }
+            }
+
+            // Wait for the operations in flight.
+            concurrencyLimiter.awaitIdle();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new S3KeyOperationException(s3Key, e));
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+
+        if (failure.get() != null)
+        {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Performs the specified operation on a single S3 key. An operation throttled by S3 is retried with an exponential backoff after halving the concurrency
+     * limit, while a successful operation lets the concurrency limit grow back. The backoff is jittered, so the throttled operations do not retry in lockstep.
+     *
+     * @param s3Key the S3 key
+     * @param s3KeyOperation the operation to perform
+     * @param concurrencyLimiter the concurrency limiter shared by the operations on all the S3 keys
+     *
+     * @throws S3KeyOperationException if the operation fails
+     */
+    private void performS3KeyOperation(String s3Key, S3KeyOperation s3KeyOperation, AdaptiveConcurrencyLimiter concurrencyLimiter)
+        throws S3KeyOperationException
+    {
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                s3KeyOperation.perform(s3Key);
+                concurrencyLimiter.onSuccess();
+                return;
+            }
+            catch (Exception e)
+            {
+                if (attempt >= MAX_SLOW_DOWN_ATTEMPTS || !isSlowDown(e))
+                {
+                    throw new S3KeyOperationException(s3Key, e);
+                }
+
+                int concurrencyLimit = concurrencyLimiter.onSlowDown();
+                long exponentialBackoffMillis = slowDownBackoffMillis << (attempt - 1);
+                long backoffMillis = exponentialBackoffMillis / 2 + ThreadLocalRandom.current().nextLong(exponentialBackoffMillis / 2 + 1);
+                LOGGER.warn("S3 throttled the request. Retrying after a backoff. s3Key=\"{}\" attempt={} backoffMillis={} concurrencyLimit={}", s3Key,
+                    attempt, backoffMillis, concurrencyLimit);
+
+                try
+                {
+                    Thread.sleep(backoffMillis);
+                }
+                catch (InterruptedException interruptedException)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new S3KeyOperationException(s3Key, interruptedException);
+                }
+            }
+        }
+    }
+
     /**
      * Performs a file/directory transfer.
      *
@@ -1605,6 +1968,8 @@ public class S3DaoImpl implements S3Dao
                 results.setTotalFilesTransferred((long) listDirectory(params).size());
             }
 
+            methodMetricsHelper.incrementCounter(TRANSFERRED_BYTES_COUNTER, results.getTotalBytesTransferred());
+
             // Return the results.
             return results;
         }
@@ -1652,7 +2017,86 @@ public class S3DaoImpl implements S3Dao
     }
 
     /**
-     * Tags S3 versions with the specified S3 object tag.
+     * Initiates a restore of a single S3 object, unless the object is already being restored.
+     *
+     * @param s3BucketName the S3 bucket name
+     * @param s3Key the S3 key
+     * @param expirationInDays the time, in days, between when an object is restored to the bucket and when it expires
+     * @param tier the archive retrieval tier
+     * @param s3Client the S3 client
+     *
+     * @throws Exception if the restore request fails
+     */
+    private void restoreObject(String s3BucketName, String s3Key, int expirationInDays, String tier, AmazonS3Client s3Client) throws Exception
+    {
+        ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(s3BucketName, s3Key, s3Client);
+
+        // Request a restore for objects that are not already being restored.
+        if (BooleanUtils.isNotTrue(objectMetadata.getOngoingRestore()))
+        {
+            // Create a restore object request.
+            RestoreObjectRequest requestRestore = new RestoreObjectRequest(s3BucketName, s3Key, expirationInDays);
+            requestRestore.setGlacierJobParameters(new GlacierJobParameters().withTier(tier));
+
+            try
+            {
+                // Try the S3 restore operation on this file.
+                s3Operations.restoreObject(requestRestore, s3Client);
+            }
+            catch (AmazonS3Exception amazonS3Exception)
+            {
+                // If this exception has a status code of 409, log the information and continue to the next file.
+                if (amazonS3Exception.getStatusCode() == HttpStatus.SC_CONFLICT)
+                {
+                    LOGGER.info("Restore already in progress for file with s3Key=\"{}\".", s3Key);
+                }
+                // Else, we need to propagate the exception to the next level of try/catch block.
+                else
+                {
+                    throw new Exception(amazonS3Exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tags a single S3 version with the specified S3 object tag, keeping all other tags of the S3 version.
+     *
+     * @param s3BucketName the S3 bucket name
+     * @param s3VersionSummary the S3 version to be tagged
+     * @param tag the S3 object tag
+     * @param s3Client the S3 client used to retrieve the current tags
+     * @param s3ObjectTaggerClient the S3 client used to update the tags
+     */
+    private void tagVersion(String s3BucketName, S3VersionSummary s3VersionSummary, Tag tag, AmazonS3Client s3Client, AmazonS3Client s3ObjectTaggerClient)
+    {
+        // Retrieve the current tagging information for the S3 version.
+        GetObjectTaggingResult getObjectTaggingResult = s3Operations
+            .getObjectTagging(new GetObjectTaggingRequest(s3BucketName, s3VersionSummary.getKey(), s3VersionSummary.getVersionId()), s3Client);
+
+        // Update the list of tags to include the specified S3 object tag.
+        List<Tag> updatedTags = new ArrayList<>();
+        updatedTags.add(tag);
+        if (CollectionUtils.isNotEmpty(getObjectTaggingResult.getTagSet()))
+        {
+            for (Tag currentTag : getObjectTaggingResult.getTagSet())
+            {
+                if (!StringUtils.equals(tag.getKey(), currentTag.getKey()))
+                {
+                    updatedTags.add(currentTag);
+                }
+            }
+        }
+
+        // Update tagging information for the S3 version.
+        s3Operations.setObjectTagging(
+            new SetObjectTaggingRequest(s3BucketName, s3VersionSummary.getKey(), s3VersionSummary.getVersionId(), new ObjectTagging(updatedTags)),
+            s3ObjectTaggerClient);
+    }
+
+    /**
+     * Tags S3 versions with the specified S3 object tag. The S3 keys are tagged concurrently, up to the maximum number of threads specified in the S3 file
+     * transfer request parameters, and the rate of the S3 object tagging requests sent to the S3 bucket is limited by a token bucket.
      *
      * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. This set of parameters contains the S3 bucket name
      * @param s3ObjectTaggerRoleParamsDto    the S3 objects tagger role parameters DTO
@@ -1665,6 +2109,9 @@ public class S3DaoImpl implements S3Dao
         // Initialize an S3 version for the error message in the catch block.
         S3VersionSummary currentS3VersionSummary = s3VersionSummaries.get(0);
 
+        // Keep track of the S3 version being tagged for every S3 key, so a failure is reported along with the S3 version it occurred for.
+        Map<String, S3VersionSummary> s3VersionSummariesInProgress = new ConcurrentHashMap<>();
+
         // Amazon S3 client to access S3 objects.
         AmazonS3Client s3Client = null;
 
@@ -1698,54 +2145,66 @@ public class S3DaoImpl implements S3Dao
             // Create an S3 client for S3 object tagging.
             s3ObjectTaggerClient = awsS3ClientFactory.getAmazonS3Client(s3FileTransferRequestParamsDto, credentialsProvider);
 
-            // Create a get object tagging request.
-            GetObjectTaggingRequest getObjectTaggingRequest = new GetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), null, null);
-
-            // Create a set object tagging request.
-            SetObjectTaggingRequest setObjectTaggingRequest = new SetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), null, null, null);
-
-            for (S3VersionSummary s3VersionSummary : s3VersionSummaries)
-            {
-                // Set the current S3 version summary.
-                currentS3VersionSummary = s3VersionSummary;
-
-                // Retrieve the current tagging information for the S3 version.
-                getObjectTaggingRequest.setKey(s3VersionSummary.getKey());
-                getObjectTaggingRequest.setVersionId(s3VersionSummary.getVersionId());
-                GetObjectTaggingResult getObjectTaggingResult = s3Operations.getObjectTagging(getObjectTaggingRequest, s3Client);
-
-                // Update the list of tags to include the specified S3 object tag.
-                List<Tag> updatedTags = new ArrayList<>();
-                updatedTags.add(tag);
-                if (CollectionUtils.isNotEmpty(getObjectTaggingResult.getTagSet()))
-                {
-                    for (Tag currentTag : getObjectTaggingResult.getTagSet())
+            // Get the token bucket that limits the rate of the S3 object tagging requests sent to the S3 bucket.
+            RateLimiter rateLimiter = getS3TaggingRateLimiter(s3FileTransferRequestParamsDto.getS3BucketName());
+
+            // Group the S3 versions by S3 key, so all versions of an S3 key are tagged one after another by the same S3 key operation.
+            Map<String, List<S3VersionSummary>> s3VersionSummariesByKey = s3VersionSummaries.stream()
+                .collect(Collectors.groupingBy(S3VersionSummary::getKey, LinkedHashMap::new, Collectors.toList()));
+
+            // Log the tagging progress about every 10 percent of the S3 versions.
+            int s3VersionCount = s3VersionSummaries.size();
+            long progressReportInterval = Math.max(s3VersionCount / 10, 1);
+            AtomicLong taggedS3VersionCount = new AtomicLong();
+
+            // Tagging an S3 version takes two S3 requests, so the permits for all versions of an S3 key are acquired before the S3 key gets tagged. A tagging
+            // retried after S3 throttling is not charged again, since its pace is already set by the slow down backoff.
+            Consumer<String> s3KeyPermitAcquirer =
+                rateLimiter == null ? null : s3Key -> rateLimiter.acquire(2 * s3VersionSummariesByKey.get(s3Key).size());
+
+            final AmazonS3Client finalS3Client = s3Client;
+            final AmazonS3Client finalS3ObjectTaggerClient = s3ObjectTaggerClient;
+            performS3KeyOperations(new ArrayList<>(s3VersionSummariesByKey.keySet()), s3FileTransferRequestParamsDto.getMaxThreads(), s3KeyPermitAcquirer,
+                s3Key -> {
+                    List<S3VersionSummary> s3KeyVersionSummaries = s3VersionSummariesByKey.get(s3Key);
+                    for (S3VersionSummary s3VersionSummary : s3KeyVersionSummaries)
                     {
-                        if (!StringUtils.equals(tag.getKey(), currentTag.getKey()))
-                        {
-                            updatedTags.add(currentTag);
-                        }
+                        s3VersionSummariesInProgress.put(s3Key, s3VersionSummary);
+                        tagVersion(s3FileTransferRequestParamsDto.getS3BucketName(), s3VersionSummary, tag, finalS3Client, finalS3ObjectTaggerClient);
                     }
-                }
 
-                // Update tagging information for the S3 version.
-                setObjectTaggingRequest.setKey(s3VersionSummary.getKey());
-                setObjectTaggingRequest.setVersionId(s3VersionSummary.getVersionId());
-                setObjectTaggingRequest.setTagging(new ObjectTagging(updatedTags));
-                s3Operations.setObjectTagging(setObjectTaggingRequest, s3ObjectTaggerClient);
-            }
+                    // A retried S3 key operation tags all the versions of the S3 key again, so the progress is only counted once the S3 key is done.
+                    long previousCount = taggedS3VersionCount.getAndAdd(s3KeyVersionSummaries.size());
+                    long currentCount = previousCount + s3KeyVersionSummaries.size();
+                    if (currentCount / progressReportInterval > previousCount / progressReportInterval || currentCount == s3VersionCount)
+                    {
+                        LOGGER.info("Tagging versions in S3... s3BucketName=\"{}\" s3KeyPrefix=\"{}\" taggedS3VersionCount={} s3VersionCount={}",
+                            s3FileTransferRequestParamsDto.getS3BucketName(), s3FileTransferRequestParamsDto.getS3KeyPrefix(), currentCount, s3VersionCount);
+                    }
+                });
         }
         catch (Exception e)
         {
+            // Report the S3 version the tagging failed for along with the underlying exception.
+            Exception exception = e;
+            if (e instanceof S3KeyOperationException)
+            {
+                exception = ((S3KeyOperationException) e).getS3KeyOperationCause();
+                if (s3VersionSummariesInProgress.containsKey(((S3KeyOperationException) e).getS3Key()))
+                {
+                    currentS3VersionSummary = s3VersionSummariesInProgress.get(((S3KeyOperationException) e).getS3Key());
+                }
+            }
+
             throw new IllegalStateException(
                 String.format("Failed to tag S3 object with \"%s\" key and \"%s\" version id in \"%s\" bucket. Reason: %s", currentS3VersionSummary.getKey(),
-                    currentS3VersionSummary.getVersionId(), s3FileTransferRequestParamsDto.getS3BucketName(), e.getMessage()), e);
+                    currentS3VersionSummary.getVersionId(), s3FileTransferRequestParamsDto.getS3BucketName(), exception.getMessage()), exception);
         }
         finally
         {
             if (s3Client != null)
             {
-                s3Client.shutdown();
+                awsS3ClientFactory.releaseAmazonS3Client(s3Client);
             }
 
             if (securityTokenService != null)
@@ -1755,7 +2214,7 @@ public class S3DaoImpl implements S3Dao
 
             if (s3ObjectTaggerClient != null)
             {
-                s3ObjectTaggerClient.shutdown();
+                awsS3ClientFactory.releaseAmazonS3Client(s3ObjectTaggerClient);
             }
         }
     }
@@ -1773,4 +2232,129 @@ public class S3DaoImpl implements S3Dao
          */
         Transfer performTransfer(TransferManager transferManager);
     }
+
+    /**
+     * A concurrency limit that adapts to the S3 request rate limits. The limit is halved on every S3 "503 Slow Down" response and grows back by one, up to
+     * the maximum, after as many successful operations as the current limit. All the methods of this class are thread safe.
+     */
+    private static class AdaptiveConcurrencyLimiter
+    {
+        private final int maxConcurrencyLimit;
+
+        private int concurrencyLimit;
+
+        private int inFlightCount;
+
+        private int successCount;
+
+        AdaptiveConcurrencyLimiter(int maxConcurrencyLimit)
+        {
+            this.maxConcurrencyLimit = maxConcurrencyLimit;
+            this.concurrencyLimit = maxConcurrencyLimit;
+        }
+
+        /**
+         * Waits until the number of operations in flight is below the concurrency limit and registers a new operation in flight.
+         *
+         * @throws InterruptedException if the current thread is interrupted while waiting
+         */
+        synchronized void acquire() throws InterruptedException
+        {
+            while (inFlightCount >= concurrencyLimit)
+            {
+                wait();
+            }
+            inFlightCount++;
+        }
+
+        /**
+         * Unregisters a completed operation in flight.
+         */
+        synchronized void release()
+        {
+            inFlightCount--;
+            notifyAll();
+        }
+
+        /**
+         * Waits until there are no operations in flight.
+         *
+         * @throws InterruptedException if the current thread is interrupted while waiting
+         */
+        synchronized void awaitIdle() throws InterruptedException
+        {
+            while (inFlightCount > 0)
+            {
+                wait();
+            }
+        }
+
+        /**
+         * Records a successful operation, raising the concurrency limit by one after a run of successful operations.
+         */
+        synchronized void onSuccess()
+        {
+            successCount++;
+            if (concurrencyLimit < maxConcurrencyLimit && successCount >= concurrencyLimit)
+            {
+                concurrencyLimit++;
+                successCount = 0;
+                notifyAll();
+            }
+        }
+
+        /**
+         * Records an operation throttled by S3, halving the concurrency limit.
+         *
+         * @return the new concurrency limit
+         */
+        synchronized int onSlowDown()
+        {
+            concurrencyLimit = Math.max(concurrencyLimit / 2, 1);
+            successCount = 0;
+            return concurrencyLimit;
+        }
+    }
+
+    /**
+     * An S3 operation performed on a single S3 key.
+     */
+    @FunctionalInterface
+    private interface S3KeyOperation
+    {
+        /**
+         * Performs the operation on the specified S3 key.
+         *
+         * @param s3Key the S3 key
+         *
+         * @throws Exception if the operation fails
+         */
+        void perform(String s3Key) throws Exception;
+    }
+
+    /**
+     * The failure of an S3 operation performed on a single S3 key.
+     */
+    private static class S3KeyOperationException extends Exception
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final String s3Key;
+
+        S3KeyOperationException(String s3Key, Exception cause)
+        {
+            super(cause);
+            this.s3Key = s3Key;
+        }
+
+        String getS3Key()
+        {
+            return s3Key;
+        }
+
+        Exception getS3KeyOperationCause()
+        {
+            return (Exception) getCause();
+        }
+    }
 }
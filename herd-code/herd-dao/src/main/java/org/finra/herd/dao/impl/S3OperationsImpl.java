@@ -30,6 +30,8 @@ import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
 import com.amazonaws.services.s3.model.MultipartUploadListing;
 import com.amazonaws.services.s3.model.ObjectListing;
@@ -124,6 +126,12 @@ public class S3OperationsImpl implements S3Operations
         return s3Client.listObjects(listObjectsRequest);
     }
 
+    @Override
+    public ListObjectsV2Result listObjectsV2(ListObjectsV2Request listObjectsV2Request, AmazonS3 s3Client)
+    {
+        return s3Client.listObjectsV2(listObjectsV2Request);
+    }
+
     @Override
     public VersionListing listVersions(ListVersionsRequest listVersionsRequest, AmazonS3 s3Client)
     {
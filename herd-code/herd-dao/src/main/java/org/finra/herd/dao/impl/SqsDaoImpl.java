@@ -15,11 +15,14 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +33,7 @@ import org.finra.herd.dao.SqsDao;
 import org.finra.herd.dao.SqsOperations;
 import org.finra.herd.model.dto.AwsParamsDto;
 import org.finra.herd.model.dto.MessageHeader;
+import org.finra.herd.model.dto.NotificationMessage;
 
 /**
  * The SQS DAO implementation.
@@ -45,6 +49,32 @@ public class SqsDaoImpl implements SqsDao
 
     @Override
     public SendMessageResult sendMessage(AwsParamsDto awsParamsDto, String queueName, String messageText, List<MessageHeader> messageHeaders)
+    {
+        return sqsOperations.sendMessage(queueName, messageText, getMessageAttributes(messageHeaders), awsClientFactory.getAmazonSQSClient(awsParamsDto));
+    }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, Map<String, NotificationMessage> notificationMessages)
+    {
+        List<SendMessageBatchRequestEntry> sendMessageBatchRequestEntries = new ArrayList<>();
+
+        for (Map.Entry<String, NotificationMessage> entry : notificationMessages.entrySet())
+        {
+            sendMessageBatchRequestEntries.add(new SendMessageBatchRequestEntry().withId(entry.getKey()).withMessageBody(entry.getValue().getMessageText())
+                .withMessageAttributes(getMessageAttributes(entry.getValue().getMessageHeaders())));
+        }
+
+        return sqsOperations.sendMessageBatch(queueName, sendMessageBatchRequestEntries, awsClientFactory.getAmazonSQSClient(awsParamsDto));
+    }
+
+    /**
+     * Converts a list of message headers to SQS message attributes.
+     *
+     * @param messageHeaders the optional list of message headers
+     *
+     * @return the map of SQS message attributes or null if no message headers are specified
+     */
+    private Map<String, MessageAttributeValue> getMessageAttributes(List<MessageHeader> messageHeaders)
     {
         Map<String, MessageAttributeValue> messageAttributes = null;
 
@@ -58,6 +88,6 @@ public class SqsDaoImpl implements SqsDao
             }
         }
 
-        return sqsOperations.sendMessage(queueName, messageText, messageAttributes, awsClientFactory.getAmazonSQSClient(awsParamsDto));
+        return messageAttributes;
     }
 }
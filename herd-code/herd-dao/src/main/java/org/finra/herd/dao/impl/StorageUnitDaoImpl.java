@@ -18,10 +18,13 @@ package org.finra.herd.dao.impl;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
 import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -31,6 +34,7 @@ import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 import javax.persistence.metamodel.SingularAttribute;
 import javax.xml.datatype.XMLGregorianCalendar;
 
@@ -172,6 +176,36 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         return entityManager.createQuery(criteria).getResultList();
     }
 
+    @Override
+    public List<List<String>> getPartitionValuesChangedSince(BusinessObjectDefinitionEntity businessObjectDefinitionEntity, String businessObjectFormatUsage,
+        FileTypeEntity fileTypeEntity, Integer businessObjectFormatVersion, List<StorageEntity> storageEntities, StoragePlatformEntity storagePlatformEntity,
+        Timestamp changedSinceTime)
+    {
+        // Use a tree set to merge the results of both queries into a sorted list of unique partition values.
+        Comparator<String> partitionValueComparator = Comparator.nullsFirst(Comparator.naturalOrder());
+        Set<List<String>> results = new TreeSet<>((partitionValues1, partitionValues2) ->
+        {
+            for (int i = 0; i < BUSINESS_OBJECT_DATA_PARTITIONS.size(); i++)
+            {
+                int result = partitionValueComparator.compare(partitionValues1.get(i), partitionValues2.get(i));
+                if (result != 0)
+                {
+                    return result;
+                }
+            }
+            return 0;
+        });
+
+        // Select the changed business object data and the business object data with changed storage units using two separate queries rather than a single
+        // query with a disjunction, so each query can use the index on the "updated on" column of its table.
+        results.addAll(getPartitionValuesChangedSince(businessObjectDefinitionEntity, businessObjectFormatUsage, fileTypeEntity, businessObjectFormatVersion,
+            storageEntities, storagePlatformEntity, changedSinceTime, false));
+        results.addAll(getPartitionValuesChangedSince(businessObjectDefinitionEntity, businessObjectFormatUsage, fileTypeEntity, businessObjectFormatVersion,
+            storageEntities, storagePlatformEntity, changedSinceTime, true));
+
+        return new ArrayList<>(results);
+    }
+
     @Override
     public List<StorageUnitEntity> getS3StorageUnitsToCleanup(int maxResult)
     {
@@ -742,6 +776,77 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         return storageUnitAvailabilityDtos;
     }
 
+    /**
+     * Retrieves the partition values of business object data that have storage units in the specified storage and were changed since the specified time. The
+     * change is detected on either business object data or storage unit "updated on" timestamp as per specified flag.
+     *
+     * @param businessObjectDefinitionEntity the business object definition entity
+     * @param businessObjectFormatUsage the business object format usage (case-insensitive)
+     * @param fileTypeEntity the file type entity
+     * @param businessObjectFormatVersion the optional business object format version
+     * @param storageEntities the optional list of storage entities where business object data storage units should be looked for
+     * @param storagePlatformEntity the optional storage platform entity. It is ignored when the list of storage entities is not empty
+     * @param changedSinceTime the time since when business object data changes are selected
+     * @param selectByStorageUnitUpdatedOn specifies whether to select by storage unit "updated on" timestamp instead of business object data one
+     *
+     * @return the list of unique partition values, where each entry contains primary and all sub-partition values
+     */
+    private List<List<String>> getPartitionValuesChangedSince(BusinessObjectDefinitionEntity businessObjectDefinitionEntity, String businessObjectFormatUsage,
+        FileTypeEntity fileTypeEntity, Integer businessObjectFormatVersion, List<StorageEntity> storageEntities, StoragePlatformEntity storagePlatformEntity,
+        Timestamp changedSinceTime, boolean selectByStorageUnitUpdatedOn)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+
+        // The criteria root is the storage unit.
+        Root<StorageUnitEntity> storageUnitEntityRoot = criteria.from(StorageUnitEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<StorageUnitEntity, BusinessObjectDataEntity> businessObjectDataEntityJoin = storageUnitEntityRoot.join(StorageUnitEntity_.businessObjectData);
+        Join<StorageUnitEntity, StorageEntity> storageEntityJoin = storageUnitEntityRoot.join(StorageUnitEntity_.storage);
+        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin =
+            businessObjectDataEntityJoin.join(BusinessObjectDataEntity_.businessObjectFormat);
+
+        // Create standard restriction based on the business object format alternate key values including business object format version, if it is specified.
+        Predicate queryRestriction =
+            getQueryRestriction(builder, businessObjectFormatEntityJoin, businessObjectDefinitionEntity, businessObjectFormatUsage, fileTypeEntity,
+                businessObjectFormatVersion);
+
+        // Add restriction on storage.
+        queryRestriction =
+            builder.and(queryRestriction, getQueryRestrictionOnStorage(builder, storageEntityJoin, storageEntities, storagePlatformEntity, null));
+
+        // Add restriction on the "updated on" timestamp, that is also set when the entity gets created.
+        Path<Timestamp> updatedOnColumn = selectByStorageUnitUpdatedOn ? storageUnitEntityRoot.get(StorageUnitEntity_.updatedOn) :
+            businessObjectDataEntityJoin.get(BusinessObjectDataEntity_.updatedOn);
+        queryRestriction = builder.and(queryRestriction, builder.greaterThanOrEqualTo(updatedOnColumn, changedSinceTime));
+
+        // Select the primary and all sub-partition values.
+        List<Selection<?>> partitionValueColumns = new ArrayList<>();
+        for (SingularAttribute<BusinessObjectDataEntity, String> businessObjectDataPartition : BUSINESS_OBJECT_DATA_PARTITIONS)
+        {
+            partitionValueColumns.add(businessObjectDataEntityJoin.get(businessObjectDataPartition));
+        }
+
+        // Add the clauses for the query.
+        criteria.multiselect(partitionValueColumns).distinct(true).where(queryRestriction);
+
+        // Run the query and build a list of partition values from the returned tuples.
+        List<List<String>> results = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(criteria).getResultList())
+        {
+            List<String> partitionValues = new ArrayList<>();
+            for (int i = 0; i < partitionValueColumns.size(); i++)
+            {
+                partitionValues.add(tuple.get(i, String.class));
+            }
+            results.add(partitionValues);
+        }
+
+        return results;
+    }
+
     /**
      * Returns all partition values from the specified business object data key as a list of strings.
      *
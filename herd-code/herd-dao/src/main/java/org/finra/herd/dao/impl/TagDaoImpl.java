@@ -144,6 +144,30 @@ public class TagDaoImpl extends AbstractHerdDao implements TagDao
         return entityManager.createQuery(criteria).getResultList();
     }
 
+    @Override
+    public List<TagEntity> getTagsAfterId(Long lastId, int maxResult)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TagEntity> criteria = builder.createQuery(TagEntity.class);
+
+        // The criteria root is the tag entity.
+        Root<TagEntity> tagEntityRoot = criteria.from(TagEntity.class);
+
+        // Get the columns.
+        Path<Long> tagIdColumn = tagEntityRoot.get(TagEntity_.id);
+
+        // Add all clauses to the query. If the last id is specified, select only the tags that follow it.
+        criteria.select(tagEntityRoot).orderBy(builder.asc(tagIdColumn));
+        if (lastId != null)
+        {
+            criteria.where(builder.greaterThan(tagIdColumn, lastId));
+        }
+
+        // Run the query to get the results.
+        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+    }
+
     @Override
     public List<TagEntity> getTagsByIds(List<Long> ids)
     {
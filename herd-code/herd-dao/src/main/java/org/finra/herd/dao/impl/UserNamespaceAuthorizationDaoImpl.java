@@ -16,6 +16,8 @@
 package org.finra.herd.dao.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import javax.persistence.criteria.CriteriaBuilder;
@@ -29,13 +31,21 @@ import org.springframework.stereotype.Repository;
 
 import org.finra.herd.dao.UserNamespaceAuthorizationDao;
 import org.finra.herd.model.api.xml.UserNamespaceAuthorizationKey;
+import org.finra.herd.model.jpa.AuditableEntity;
 import org.finra.herd.model.jpa.NamespaceEntity;
+import org.finra.herd.model.jpa.UserEntity;
 import org.finra.herd.model.jpa.UserNamespaceAuthorizationEntity;
 import org.finra.herd.model.jpa.UserNamespaceAuthorizationEntity_;
 
 @Repository
 public class UserNamespaceAuthorizationDaoImpl extends AbstractHerdDao implements UserNamespaceAuthorizationDao
 {
+    /**
+     * The entity classes the namespace authorizations of the users are built from.
+     */
+    private static final List<Class<? extends AuditableEntity>> USER_NAMESPACE_AUTHORIZATION_ENTITY_CLASSES =
+        Collections.unmodifiableList(Arrays.asList(NamespaceEntity.class, UserEntity.class, UserNamespaceAuthorizationEntity.class));
+
     @Override
     public List<String> getUserIdsWithWriteOrWriteDescriptiveContentPermissionsByNamespace(NamespaceEntity namespaceEntity)
     {
@@ -160,4 +170,10 @@ public class UserNamespaceAuthorizationDaoImpl extends AbstractHerdDao implement
         // Execute the query and return the result list.
         return entityManager.createQuery(criteria).getResultList();
     }
+
+    @Override
+    public String getUserNamespaceAuthorizationVersion()
+    {
+        return getEntityVersion(USER_NAMESPACE_AUTHORIZATION_ENTITY_CLASSES);
+    }
 }
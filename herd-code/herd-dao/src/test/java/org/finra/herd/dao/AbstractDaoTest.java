@@ -643,6 +643,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final Integer MAX_RESULTS_1 = 1;
 
+    public static final Integer MAX_THREADS = 4;
+
     public static final String MESSAGE_DESTINATION = "UT_MessageDestination_1_" + RANDOM_SUFFIX;
 
     public static final String MESSAGE_DESTINATION_2 = "UT_MessageDestination_2_" + RANDOM_SUFFIX;
@@ -770,6 +772,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final BigDecimal NO_BID_PRICE = null;
 
+    public static final XMLGregorianCalendar NO_CHANGED_SINCE_TIME = null;
+
     public static final String NO_CHARGE_CODE = null;
 
     public static final List<SchemaColumn> NO_COLUMNS = null;
@@ -794,6 +798,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final Boolean NO_ENABLE_HIT_HIGHLIGHTING = false;
 
+    public static final String NO_ERROR_MESSAGE = null;
+
     public static final StoragePlatformEntity NO_EXCLUDED_STORAGE_PLATFORM_ENTITY = null;
 
     public static final String NO_EXCLUDED_STORAGE_PLATFORM_TYPE = null;
@@ -1065,6 +1071,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String S3_VERSION_ID = "UT_S3_Version_ID_" + RANDOM_SUFFIX;
 
+    public static final String S3_VERSION_ID_2 = "UT_S3_Version_ID_2_" + RANDOM_SUFFIX;
+
     public static final String SCHEMA_COLLECTION_ITEMS_DELIMITER_COMMA = ",";
 
     public static final String SCHEMA_COLLECTION_ITEMS_DELIMITER_PIPE = "|";
@@ -1127,10 +1135,14 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String SEARCH_INDEX_DOCUMENT_ID = "UT_SearchIndexDocumentId_1_" + RANDOM_SUFFIX;
 
+    public static final String SEARCH_INDEX_DOCUMENT_ID_2 = "UT_SearchIndexDocumentId_2_" + RANDOM_SUFFIX;
+
     public static final int SEARCH_INDEX_DOCUMENT_ID_INT = 1;
 
     public static final String SEARCH_INDEX_DOCUMENT_JSON = "UT_SearchIndexDocumentJson_1_" + RANDOM_SUFFIX;
 
+    public static final String SEARCH_INDEX_DOCUMENT_JSON_2 = "UT_SearchIndexDocumentJson_2_" + RANDOM_SUFFIX;
+
     public static final String SEARCH_INDEX_ID = "UT_SearchIndexId_1_" + RANDOM_SUFFIX;
 
     public static final String SEARCH_INDEX_JSON_STRING = "UT_SearchIndexJsonString_" + RANDOM_SUFFIX;
@@ -1148,6 +1160,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
     public static final String SEARCH_INDEX_SETTINGS_JSON =
         "{\"analysis\":{\"filter\":{\"field_ngram_filter\":{\"type\":\"edgeNGram\",\"min_gram\":1,\"max_gram\":16,\"side\":\"front\"}}}}";
 
+    public static final String SEARCH_INDEX_REFRESH_INTERVAL = "30s";
+
     public static final String SEARCH_INDEX_STATUS = "UT_SearchIndexStatus_1_" + RANDOM_SUFFIX;
 
     public static final String SEARCH_INDEX_STATUS_2 = "UT_SearchIndexStatus_2_" + RANDOM_SUFFIX;
@@ -1669,6 +1683,9 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
     @Autowired
     protected PartitionKeyGroupDaoTestHelper partitionKeyGroupDaoTestHelper;
 
+    @Autowired
+    protected ReferenceDataCacheDao referenceDataCacheDao;
+
     @Autowired
     protected RetentionTypeDao retentionTypeDao;
 
@@ -0,0 +1,172 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.core.helper.MethodMetricsHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+
+public class AwsS3ClientFactoryTest extends AbstractDaoTest
+{
+    @Autowired
+    private AwsS3ClientFactory awsS3ClientFactory;
+
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
+    @Before
+    public void before()
+    {
+        // Start each test with an empty S3 client pool.
+        awsS3ClientFactory.shutdownAmazonS3ClientPool();
+    }
+
+    @Test
+    public void testGetAmazonS3ClientPoolHitMiss()
+    {
+        long reusedClientCount = methodMetricsHelper.getCounter(AwsS3ClientFactory.REUSED_CLIENTS_COUNTER);
+
+        // Get an Amazon S3 client and give it back.
+        AmazonS3Client amazonS3Client = awsS3ClientFactory.getAmazonS3Client(
+            createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN, HTTP_PROXY_HOST));
+        awsS3ClientFactory.releaseAmazonS3Client(amazonS3Client);
+
+        // Confirm a pool hit for the same parameters.
+        AmazonS3Client pooledAmazonS3Client = awsS3ClientFactory.getAmazonS3Client(
+            createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN, HTTP_PROXY_HOST));
+        assertSame(amazonS3Client, pooledAmazonS3Client);
+        awsS3ClientFactory.releaseAmazonS3Client(pooledAmazonS3Client);
+        assertEquals(reusedClientCount + 1, methodMetricsHelper.getCounter(AwsS3ClientFactory.REUSED_CLIENTS_COUNTER));
+
+        // Confirm a pool miss due to AWS credentials.
+        AmazonS3Client otherAmazonS3Client = awsS3ClientFactory.getAmazonS3Client(
+            createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY_2, AWS_ASSUMED_ROLE_SECRET_KEY_2, AWS_ASSUMED_ROLE_SESSION_TOKEN_2,
+                HTTP_PROXY_HOST));
+        assertNotSame(amazonS3Client, otherAmazonS3Client);
+        awsS3ClientFactory.releaseAmazonS3Client(otherAmazonS3Client);
+
+        // Confirm a pool miss due to http proxy information.
+        AmazonS3Client proxyAmazonS3Client = awsS3ClientFactory.getAmazonS3Client(
+            createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN, HTTP_PROXY_HOST_2));
+        assertNotSame(amazonS3Client, proxyAmazonS3Client);
+        awsS3ClientFactory.releaseAmazonS3Client(proxyAmazonS3Client);
+
+        // Validate the pool size.
+        assertEquals(3, awsS3ClientFactory.getAmazonS3ClientPoolSize());
+    }
+
+    @Test
+    public void testGetAmazonS3ClientPoolMaxSize() throws Exception
+    {
+        // Override configuration to keep one client in the pool.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_CLIENT_POOL_MAX_SIZE.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            long shutdownClientCount = methodMetricsHelper.getCounter(AwsS3ClientFactory.SHUTDOWN_CLIENTS_COUNTER);
+
+            // Lease a client and then a client for other credentials that pushes the first client out of the pool.
+            AmazonS3Client amazonS3Client = awsS3ClientFactory.getAmazonS3Client(
+                createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN,
+                    HTTP_PROXY_HOST));
+            AmazonS3Client otherAmazonS3Client = awsS3ClientFactory.getAmazonS3Client(
+                createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY_2, AWS_ASSUMED_ROLE_SECRET_KEY_2, AWS_ASSUMED_ROLE_SESSION_TOKEN_2,
+                    HTTP_PROXY_HOST));
+            assertEquals(1, awsS3ClientFactory.getAmazonS3ClientPoolSize());
+
+            // Validate that the leased client is not shut down until it is given back.
+            assertEquals(shutdownClientCount, methodMetricsHelper.getCounter(AwsS3ClientFactory.SHUTDOWN_CLIENTS_COUNTER));
+            awsS3ClientFactory.releaseAmazonS3Client(amazonS3Client);
+            assertEquals(shutdownClientCount + 1, methodMetricsHelper.getCounter(AwsS3ClientFactory.SHUTDOWN_CLIENTS_COUNTER));
+
+            // Validate that the pooled client stays alive when given back.
+            awsS3ClientFactory.releaseAmazonS3Client(otherAmazonS3Client);
+            assertEquals(shutdownClientCount + 1, methodMetricsHelper.getCounter(AwsS3ClientFactory.SHUTDOWN_CLIENTS_COUNTER));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGetAmazonS3ClientPoolDisabled() throws Exception
+    {
+        // Override configuration to disable the pool.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_CLIENT_POOL_MAX_SIZE.getKey(), 0);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            long shutdownClientCount = methodMetricsHelper.getCounter(AwsS3ClientFactory.SHUTDOWN_CLIENTS_COUNTER);
+
+            // Get two clients for the same parameters.
+            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto =
+                createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN, HTTP_PROXY_HOST);
+            AmazonS3Client amazonS3Client = awsS3ClientFactory.getAmazonS3Client(s3FileTransferRequestParamsDto);
+            AmazonS3Client otherAmazonS3Client = awsS3ClientFactory.getAmazonS3Client(s3FileTransferRequestParamsDto);
+
+            // Validate that the clients are not pooled and are shut down when given back.
+            assertNotSame(amazonS3Client, otherAmazonS3Client);
+            assertEquals(0, awsS3ClientFactory.getAmazonS3ClientPoolSize());
+            awsS3ClientFactory.releaseAmazonS3Client(amazonS3Client);
+            awsS3ClientFactory.releaseAmazonS3Client(otherAmazonS3Client);
+            assertEquals(shutdownClientCount + 2, methodMetricsHelper.getCounter(AwsS3ClientFactory.SHUTDOWN_CLIENTS_COUNTER));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    /**
+     * Creates an S3 file transfer request parameters DTO with the specified credentials and HTTP proxy host.
+     *
+     * @param awsAccessKeyId the AWS access key id
+     * @param awsSecretKey the AWS secret key
+     * @param sessionToken the session token
+     * @param httpProxyHost the HTTP proxy host
+     *
+     * @return the S3 file transfer request parameters DTO
+     */
+    private S3FileTransferRequestParamsDto createS3FileTransferRequestParamsDto(String awsAccessKeyId, String awsSecretKey, String sessionToken,
+        String httpProxyHost)
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setAwsAccessKeyId(awsAccessKeyId);
+        s3FileTransferRequestParamsDto.setAwsSecretKey(awsSecretKey);
+        s3FileTransferRequestParamsDto.setSessionToken(sessionToken);
+        s3FileTransferRequestParamsDto.setHttpProxyHost(httpProxyHost);
+        s3FileTransferRequestParamsDto.setHttpProxyPort(HTTP_PROXY_PORT);
+        s3FileTransferRequestParamsDto.setAwsRegionName(AWS_REGION_NAME_US_EAST_1);
+        return s3FileTransferRequestParamsDto;
+    }
+}
@@ -45,6 +45,7 @@ import org.junit.Test;
 
 import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.dao.impl.AbstractHerdDao;
+import org.finra.herd.model.api.xml.Attribute;
 import org.finra.herd.model.api.xml.AttributeValueFilter;
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
@@ -1357,6 +1358,47 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         assertTrue(result.size() == 0);
     }
 
+    @Test
+    public void testBusinessObjectDataSearchAfterId()
+    {
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, null, DATA_VERSION,
+                true, "VALID");
+
+        BusinessObjectDataEntity businessObjectDataEntity2 = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE_2, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, null,
+                DATA_VERSION, true, "VALID");
+
+        BusinessObjectDataSearchKey businessObjectDataSearchKey = new BusinessObjectDataSearchKey();
+        businessObjectDataSearchKey.setNamespace(NAMESPACE);
+        businessObjectDataSearchKey.setBusinessObjectDefinitionName(BDEF_NAME);
+
+        // Test getting the first page.
+        List<BusinessObjectData> result =
+            businessObjectDataDao.searchBusinessObjectDataAfterId(businessObjectDataSearchKey, NO_PARTITION_KEY_TO_LEVEL_MAPPINGS, null, 1);
+
+        assertEquals(1, result.size());
+        assertEquals(businessObjectDataEntity.getId().longValue(), result.get(0).getId());
+
+        // Test getting the second page by seeking past the last business object data returned on the first page.
+        result = businessObjectDataDao
+            .searchBusinessObjectDataAfterId(businessObjectDataSearchKey, NO_PARTITION_KEY_TO_LEVEL_MAPPINGS, businessObjectDataEntity.getId(), 1);
+
+        assertEquals(1, result.size());
+        assertEquals(businessObjectDataEntity2.getId().longValue(), result.get(0).getId());
+
+        // Test getting a page after the last business object data.
+        result = businessObjectDataDao
+            .searchBusinessObjectDataAfterId(businessObjectDataSearchKey, NO_PARTITION_KEY_TO_LEVEL_MAPPINGS, businessObjectDataEntity2.getId(), 1);
+
+        assertEquals(0, result.size());
+
+        // Test getting a larger page than there are results.
+        result = businessObjectDataDao.searchBusinessObjectDataAfterId(businessObjectDataSearchKey, NO_PARTITION_KEY_TO_LEVEL_MAPPINGS, null, 3);
+
+        assertEquals(2, result.size());
+    }
+
     @Test
     public void testBusinessObjectDataSearchWithSearchWithBdefKey()
     {
@@ -2781,6 +2823,39 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testBusinessObjectDataSearchWithAttributeValueFiltersResponseCheckMatchLikePatternCharacters()
+    {
+        // Create and persist attributes for the business object data with values that contain "like" pattern special characters.
+        BusinessObjectDataAttributeEntity businessObjectDataAttributeEntity = businessObjectDataAttributeDaoTestHelper
+            .createBusinessObjectDataAttributeEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, null,
+                DATA_VERSION, ATTRIBUTE_NAME_1_MIXED_CASE, "%");
+
+        businessObjectDataAttributeDaoTestHelper
+            .createBusinessObjectDataAttributeEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, null,
+                DATA_VERSION, ATTRIBUTE_NAME_2_MIXED_CASE, "A%_B");
+
+        businessObjectDataAttributeDaoTestHelper
+            .createBusinessObjectDataAttributeEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, null,
+                DATA_VERSION, ATTRIBUTE_NAME_3_MIXED_CASE, "AB");
+
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataAttributeEntity.getBusinessObjectData();
+
+        BusinessObjectDataSearchKey businessObjectDataSearchKey = new BusinessObjectDataSearchKey();
+        businessObjectDataSearchKey.setAttributeValueFilters(Collections.singletonList(new AttributeValueFilter(null, "%")));
+        businessObjectDataSearchKey.setNamespace(businessObjectDataEntity.getBusinessObjectFormat().getBusinessObjectDefinition().getNamespace().getCode());
+        businessObjectDataSearchKey.setBusinessObjectDefinitionName(businessObjectDataEntity.getBusinessObjectFormat().getBusinessObjectDefinition().getName());
+
+        List<BusinessObjectData> result =
+            businessObjectDataDao.searchBusinessObjectData(businessObjectDataSearchKey, NO_PARTITION_KEY_TO_LEVEL_MAPPINGS, DEFAULT_PAGE_NUMBER,
+                DEFAULT_PAGE_SIZE);
+
+        // Validate that only the attributes that literally contain the attribute value are returned.
+        assertEquals(1, result.size());
+        assertEquals(Arrays.asList(new Attribute(ATTRIBUTE_NAME_1_MIXED_CASE, "%"), new Attribute(ATTRIBUTE_NAME_2_MIXED_CASE, "A%_B")),
+            result.get(0).getAttributes());
+    }
+
     @Test
     public void testBusinessObjectDataSearchWithLatestValidFilter()
     {
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import com.google.common.collect.ImmutableSet;
@@ -145,6 +146,29 @@ public class BusinessObjectDefinitionDaoTest extends AbstractDaoTest
         assertEquals(businessObjectDefinitionEntities.subList(1, 2), businessObjectDefinitionDao.getAllBusinessObjectDefinitions(1, 1));
     }
 
+    @Test
+    public void testGetAllBusinessObjectDefinitionsAfterId()
+    {
+        // Create and persist two business object definition entities.
+        List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities =
+            businessObjectDefinitionDaoTestHelper.createExpectedBusinessObjectDefinitionEntities();
+
+        // Sort the business object definition entities by id.
+        List<BusinessObjectDefinitionEntity> sortedBusinessObjectDefinitionEntities = new ArrayList<>(businessObjectDefinitionEntities);
+        sortedBusinessObjectDefinitionEntities.sort(Comparator.comparing(BusinessObjectDefinitionEntity::getId));
+
+        // Get the first chunk of business object definitions when maximum number of results is set to 1.
+        assertEquals(sortedBusinessObjectDefinitionEntities.subList(0, 1), businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(null, 1));
+
+        // Get the next chunk of business object definitions.
+        assertEquals(sortedBusinessObjectDefinitionEntities.subList(1, 2),
+            businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(sortedBusinessObjectDefinitionEntities.get(0).getId(), 1));
+
+        // Get the chunk that follows the last business object definition.
+        assertEquals(new ArrayList<>(),
+            businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(sortedBusinessObjectDefinitionEntities.get(1).getId(), 1));
+    }
+
     @Test
     public void testGetAllBusinessObjectDefinitionsByIds()
     {
@@ -0,0 +1,93 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * This class tests the functionality of the shared Elasticsearch REST high level client factory.
+ */
+public class ElasticsearchRestHighLevelClientFactoryTest
+{
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @InjectMocks
+    private ElasticsearchRestHighLevelClientFactory elasticsearchRestHighLevelClientFactory;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        // Mock the configuration values used to build the client.
+        when(configurationHelper.getPropertyAsString(any(ConfigurationValue.class)))
+            .thenAnswer(invocation -> String.valueOf(((ConfigurationValue) invocation.getArgument(0)).getDefaultValue()));
+        when(configurationHelper.getProperty(any(ConfigurationValue.class)))
+            .thenAnswer(invocation -> String.valueOf(((ConfigurationValue) invocation.getArgument(0)).getDefaultValue()));
+        when(configurationHelper.getProperty(any(ConfigurationValue.class), eq(Integer.class)))
+            .thenAnswer(invocation -> ((ConfigurationValue) invocation.getArgument(0)).getDefaultValue());
+    }
+
+    @After
+    public void after()
+    {
+        elasticsearchRestHighLevelClientFactory.destroy();
+    }
+
+    @Test
+    public void testGetRestHighLevelClient()
+    {
+        // Get the client twice.
+        RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
+        // Validate that the same shared client is returned.
+        assertNotNull(restHighLevelClient);
+        assertSame(restHighLevelClient, elasticsearchRestHighLevelClientFactory.getRestHighLevelClient());
+    }
+
+    @Test
+    public void testGetRestHighLevelClientConfigurationChanged()
+    {
+        // Get the client.
+        RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+
+        // Change the maximum number of pooled connections.
+        when(configurationHelper.getPropertyAsString(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL)).thenReturn("200");
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL, Integer.class)).thenReturn(200);
+
+        // Validate that a new client is built for the new configuration and then reused.
+        RestHighLevelClient newRestHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient();
+        assertNotSame(restHighLevelClient, newRestHighLevelClient);
+        assertSame(newRestHighLevelClient, elasticsearchRestHighLevelClientFactory.getRestHighLevelClient());
+    }
+}
@@ -37,8 +37,11 @@ import java.util.Set;
 
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -112,7 +115,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
         verify(restHighLevelClient).index(any(IndexRequest.class), eq(RequestOptions.DEFAULT));
         verify(indexResponse).status();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, indexResponse, restHighLevelClient);
     }
 
@@ -156,7 +158,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(getResponse).getSourceAsString();
         verify(restHighLevelClient).index(any(IndexRequest.class), eq(RequestOptions.DEFAULT));
         verify(indexResponse).status();
-        verify(restHighLevelClient, times(2)).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, getResponse, indexResponse, restHighLevelClient);
     }
 
@@ -186,7 +187,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(getResponse).getSourceAsString();
         verify(restHighLevelClient).index(any(IndexRequest.class), eq(RequestOptions.DEFAULT));
         verify(indexResponse).status();
-        verify(restHighLevelClient, times(2)).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, getResponse, indexResponse, restHighLevelClient);
     }
 
@@ -209,7 +209,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
         verify(restHighLevelClient).get(any(GetRequest.class), eq(RequestOptions.DEFAULT));
         verify(getResponse).getSourceAsString();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, getResponse, restHighLevelClient);
     }
 
@@ -247,7 +246,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
         verify(restHighLevelClient).get(any(GetRequest.class), eq(RequestOptions.DEFAULT));
         verify(getResponse).getSourceAsString();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, getResponse, restHighLevelClient);
     }
 
@@ -271,7 +269,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
         verify(restHighLevelClient).get(any(GetRequest.class), eq(RequestOptions.DEFAULT));
         verify(getResponse).getSourceAsString();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, getResponse, restHighLevelClient);
     }
 
@@ -295,7 +292,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
         verify(restHighLevelClient).get(any(GetRequest.class), eq(RequestOptions.DEFAULT));
         verify(getResponse).getSourceAsString();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, getResponse, restHighLevelClient);
     }
 
@@ -319,7 +315,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
         verify(restHighLevelClient).get(any(GetRequest.class), eq(RequestOptions.DEFAULT));
         verify(getResponse).getSourceAsString();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, getResponse, restHighLevelClient);
     }
 
@@ -357,7 +352,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
         verify(restHighLevelClient).indices();
         verify(indicesClient).exists(any(GetIndexRequest.class), eq(RequestOptions.DEFAULT));
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, indicesClient, restHighLevelClient);
     }
 
@@ -399,7 +393,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(restHighLevelClient).indices();
         verify(indicesClient).delete(any(DeleteIndexRequest.class), eq(RequestOptions.DEFAULT));
         verify(acknowledgedResponse).isAcknowledged();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(acknowledgedResponse, elasticsearchRestHighLevelClientFactory, indicesClient, restHighLevelClient);
     }
 
@@ -441,7 +434,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(restHighLevelClient).indices();
         verify(indicesClient).create(any(CreateIndexRequest.class), eq(RequestOptions.DEFAULT));
         verify(createIndexResponse).isAcknowledged();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, createIndexResponse, indicesClient, restHighLevelClient);
     }
 
@@ -499,7 +491,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(indicesClient).getAlias(any(GetAliasesRequest.class), eq(RequestOptions.DEFAULT));
         verify(getAliasesResponse).getAliases();
         verify(bulkResponse).hasFailures();
-        verify(restHighLevelClient, times(2)).close();
         verifyNoMoreInteractions(bulkResponse, elasticsearchRestHighLevelClientFactory, getAliasesResponse, indicesClient, restHighLevelClient);
     }
 
@@ -543,7 +534,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(getAliasesResponse).getAliases();
         verify(bulkResponse).hasFailures();
         verify(bulkResponse).buildFailureMessage();
-        verify(restHighLevelClient, times(2)).close();
         verifyNoMoreInteractions(bulkResponse, elasticsearchRestHighLevelClientFactory, getAliasesResponse, indicesClient, restHighLevelClient);
     }
 
@@ -617,7 +607,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
         verify(restHighLevelClient).delete(any(DeleteRequest.class), eq(RequestOptions.DEFAULT));
         verify(deleteResponse).status();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, deleteResponse, restHighLevelClient);
     }
 
@@ -673,7 +662,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(indicesClient).getAlias(any(GetAliasesRequest.class), eq(RequestOptions.DEFAULT));
         verify(getAliasesResponse).getAliases();
         verify(bulkResponse).hasFailures();
-        verify(restHighLevelClient, times(2)).close();
         verifyNoMoreInteractions(bulkResponse, elasticsearchRestHighLevelClientFactory, getAliasesResponse, indicesClient, restHighLevelClient);
     }
 
@@ -717,7 +705,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(getAliasesResponse).getAliases();
         verify(bulkResponse).hasFailures();
         verify(bulkResponse).buildFailureMessage();
-        verify(restHighLevelClient, times(2)).close();
         verifyNoMoreInteractions(bulkResponse, elasticsearchRestHighLevelClientFactory, getAliasesResponse, indicesClient, restHighLevelClient);
     }
 
@@ -771,7 +758,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
         verify(restHighLevelClient).count(any(CountRequest.class), eq(RequestOptions.DEFAULT));
         verify(countResponse).getCount();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, countResponse, restHighLevelClient);
     }
 
@@ -829,7 +815,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(searchResponse).getScrollId();
         verify(searchHits, times(2)).getHits();
         verify(clearScrollResponse).isSucceeded();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, clearScrollResponse, searchResponse, searchHits, restHighLevelClient);
     }
 
@@ -863,7 +848,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(searchResponse).getScrollId();
         verify(searchHits).getHits();
         verify(clearScrollResponse).isSucceeded();
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, clearScrollResponse, searchResponse, searchHits, restHighLevelClient);
     }
 
@@ -919,7 +903,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(indicesClient).getAlias(any(GetAliasesRequest.class), eq(RequestOptions.DEFAULT));
         verify(getAliasesResponse).getAliases();
         verify(bulkResponse).hasFailures();
-        verify(restHighLevelClient, times(2)).close();
         verifyNoMoreInteractions(bulkResponse, elasticsearchRestHighLevelClientFactory, getAliasesResponse, indicesClient, restHighLevelClient);
     }
 
@@ -963,7 +946,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(getAliasesResponse).getAliases();
         verify(bulkResponse).hasFailures();
         verify(bulkResponse).buildFailureMessage();
-        verify(restHighLevelClient, times(2)).close();
         verifyNoMoreInteractions(bulkResponse, elasticsearchRestHighLevelClientFactory, getAliasesResponse, indicesClient, restHighLevelClient);
     }
 
@@ -997,6 +979,167 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         indexFunctionsDao.updateIndexDocuments(SEARCH_INDEX_NAME, documentMap);
     }
 
+    @Test
+    public void testBulkIndexDocumentsFunction() throws Exception
+    {
+        // Build mocks
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+        BulkResponse bulkResponse = mock(BulkResponse.class);
+
+        // Create objects needed for the test.
+        Map<String, String> documentMap = new HashMap<>();
+        documentMap.put(SEARCH_INDEX_DOCUMENT_ID, SEARCH_INDEX_DOCUMENT_JSON);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(bulkResponse);
+        when(bulkResponse.hasFailures()).thenReturn(false);
+
+        // Call the method under test
+        int indexedDocumentCount = indexFunctionsDao.bulkIndexDocuments(SEARCH_INDEX_NAME, documentMap);
+        assertThat("The indexedDocumentCount is not correct.", indexedDocumentCount, is(equalTo(1)));
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient).bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+        verify(bulkResponse).hasFailures();
+        verifyNoMoreInteractions(bulkResponse, elasticsearchRestHighLevelClientFactory, restHighLevelClient);
+    }
+
+    @Test
+    public void testBulkIndexDocumentsFunctionWithFailures() throws Exception
+    {
+        // Build mocks
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+        BulkResponse bulkResponse = mock(BulkResponse.class);
+        BulkItemResponse bulkItemResponse = mock(BulkItemResponse.class);
+        BulkItemResponse failedBulkItemResponse = mock(BulkItemResponse.class);
+
+        // Create objects needed for the test.
+        Map<String, String> documentMap = new HashMap<>();
+        documentMap.put(SEARCH_INDEX_DOCUMENT_ID, SEARCH_INDEX_DOCUMENT_JSON);
+        documentMap.put(SEARCH_INDEX_DOCUMENT_ID_2, SEARCH_INDEX_DOCUMENT_JSON_2);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(bulkResponse);
+        when(bulkResponse.hasFailures()).thenReturn(true);
+        when(bulkResponse.buildFailureMessage()).thenReturn(ERROR_MESSAGE);
+        when(bulkResponse.getItems()).thenReturn(new BulkItemResponse[] {bulkItemResponse, failedBulkItemResponse});
+        when(bulkItemResponse.isFailed()).thenReturn(false);
+        when(failedBulkItemResponse.isFailed()).thenReturn(true);
+
+        // Call the method under test
+        int indexedDocumentCount = indexFunctionsDao.bulkIndexDocuments(SEARCH_INDEX_NAME, documentMap);
+        assertThat("The indexedDocumentCount is not correct.", indexedDocumentCount, is(equalTo(1)));
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient).bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+        verify(bulkResponse).hasFailures();
+        verify(bulkResponse).buildFailureMessage();
+        verify(bulkResponse).getItems();
+        verify(bulkItemResponse).isFailed();
+        verify(failedBulkItemResponse).isFailed();
+        verifyNoMoreInteractions(bulkItemResponse, bulkResponse, elasticsearchRestHighLevelClientFactory, failedBulkItemResponse, restHighLevelClient);
+    }
+
+    @Test(expected = ElasticsearchRestClientException.class)
+    public void testBulkIndexDocumentsFunctionThrowsElasticsearchRestClientException() throws Exception
+    {
+        // Build mocks
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Create objects needed for the test.
+        Map<String, String> documentMap = new HashMap<>();
+        documentMap.put(SEARCH_INDEX_DOCUMENT_ID, SEARCH_INDEX_DOCUMENT_JSON);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT))).thenThrow(new IOException());
+
+        // Call the method under test
+        indexFunctionsDao.bulkIndexDocuments(SEARCH_INDEX_NAME, documentMap);
+    }
+
+    @Test
+    public void testRefreshIndexFunction() throws Exception
+    {
+        // Build mocks
+        IndicesClient indicesClient = mock(IndicesClient.class);
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.indices()).thenReturn(indicesClient);
+
+        // Call the method under test
+        indexFunctionsDao.refreshIndex(SEARCH_INDEX_NAME);
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient).indices();
+        verify(indicesClient).refresh(any(RefreshRequest.class), eq(RequestOptions.DEFAULT));
+        verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, indicesClient, restHighLevelClient);
+    }
+
+    @Test(expected = ElasticsearchRestClientException.class)
+    public void testRefreshIndexFunctionThrowsElasticsearchRestClientException() throws Exception
+    {
+        // Build mocks
+        IndicesClient indicesClient = mock(IndicesClient.class);
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.refresh(any(RefreshRequest.class), eq(RequestOptions.DEFAULT))).thenThrow(new IOException());
+
+        // Call the method under test
+        indexFunctionsDao.refreshIndex(SEARCH_INDEX_NAME);
+    }
+
+    @Test
+    public void testUpdateIndexSettingsFunction() throws Exception
+    {
+        // Build mocks
+        AcknowledgedResponse acknowledgedResponse = mock(AcknowledgedResponse.class);
+        IndicesClient indicesClient = mock(IndicesClient.class);
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.putSettings(any(UpdateSettingsRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(acknowledgedResponse);
+        when(acknowledgedResponse.isAcknowledged()).thenReturn(true);
+
+        // Call the method under test
+        indexFunctionsDao.updateIndexSettings(SEARCH_INDEX_NAME, Settings.builder().put("index.number_of_replicas", 0).build());
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient).indices();
+        verify(indicesClient).putSettings(any(UpdateSettingsRequest.class), eq(RequestOptions.DEFAULT));
+        verify(acknowledgedResponse).isAcknowledged();
+        verifyNoMoreInteractions(acknowledgedResponse, elasticsearchRestHighLevelClientFactory, indicesClient, restHighLevelClient);
+    }
+
+    @Test(expected = ElasticsearchRestClientException.class)
+    public void testUpdateIndexSettingsFunctionThrowsElasticsearchRestClientException() throws Exception
+    {
+        // Build mocks
+        IndicesClient indicesClient = mock(IndicesClient.class);
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.putSettings(any(UpdateSettingsRequest.class), eq(RequestOptions.DEFAULT))).thenThrow(new IOException());
+
+        // Call the method under test
+        indexFunctionsDao.updateIndexSettings(SEARCH_INDEX_NAME, Settings.builder().put("index.number_of_replicas", 0).build());
+    }
+
     @Test
     public void testGetIndexSettings() throws Exception
     {
@@ -1025,7 +1168,6 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         verify(indicesClient).getSettings(any(GetSettingsRequest.class), eq(RequestOptions.DEFAULT));
         verify(getSettingsResponse).getIndexToSettings();
         verify(immutableOpenMap).get(SEARCH_INDEX_NAME);
-        verify(restHighLevelClient).close();
         verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory, indicesClient, getSettingsResponse, immutableOpenMap, restHighLevelClient);
     }
 
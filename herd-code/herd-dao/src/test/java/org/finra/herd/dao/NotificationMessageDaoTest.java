@@ -18,6 +18,7 @@ package org.finra.herd.dao;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,6 +28,27 @@ import org.finra.herd.model.jpa.NotificationMessageEntity;
 
 public class NotificationMessageDaoTest extends AbstractDaoTest
 {
+    @Test
+    public void testGetNotificationMessagesForUpdateSkipLocked()
+    {
+        // Create database entries required for testing.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays
+            .asList(notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE_2, MESSAGE_DESTINATION_2, MESSAGE_TEXT_2),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT_2));
+
+        // Select and lock notification messages by their ids.
+        assertEquals(Arrays.asList(notificationMessageEntities.get(0), notificationMessageEntities.get(2)), notificationMessageDao
+            .getNotificationMessagesForUpdateSkipLocked(Arrays.asList(notificationMessageEntities.get(2).getId(), notificationMessageEntities.get(0).getId())));
+    }
+
+    @Test
+    public void testGetNotificationMessagesForUpdateSkipLockedNoIds()
+    {
+        // Try to select and lock notification messages without specifying any ids.
+        assertEquals(new ArrayList<>(), notificationMessageDao.getNotificationMessagesForUpdateSkipLocked(new ArrayList<>()));
+    }
+
     @Test
     public void testGetOldestNotificationMessage()
     {
@@ -48,4 +70,32 @@ public class NotificationMessageDaoTest extends AbstractDaoTest
         // Try to retrieve the oldest notification message from an empty table.
         assertNull(notificationMessageDao.getOldestNotificationMessage());
     }
+
+    @Test
+    public void testGetOldestNotificationMessageIds()
+    {
+        // Create database entries required for testing.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays
+            .asList(notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE_2, MESSAGE_DESTINATION_2, MESSAGE_TEXT_2),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT_2));
+
+        // Retrieve ids of a batch of the oldest notification messages.
+        assertEquals(Arrays.asList(notificationMessageEntities.get(0).getId(), notificationMessageEntities.get(1).getId()),
+            notificationMessageDao.getOldestNotificationMessageIds(null, 2));
+
+        // Retrieve ids of the next batch of the oldest notification messages.
+        assertEquals(Arrays.asList(notificationMessageEntities.get(2).getId()),
+            notificationMessageDao.getOldestNotificationMessageIds(notificationMessageEntities.get(1).getId(), 2));
+
+        // Retrieve ids of notification messages after the last notification message.
+        assertEquals(new ArrayList<>(), notificationMessageDao.getOldestNotificationMessageIds(notificationMessageEntities.get(2).getId(), 2));
+    }
+
+    @Test
+    public void testGetOldestNotificationMessageIdsQueueIsEmpty()
+    {
+        // Try to retrieve ids of a batch of the oldest notification messages from an empty table.
+        assertEquals(new ArrayList<>(), notificationMessageDao.getOldestNotificationMessageIds(null, 10));
+    }
 }
@@ -0,0 +1,67 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import javax.persistence.Cache;
+
+import org.junit.Test;
+
+import org.finra.herd.model.jpa.NamespaceEntity;
+
+public class ReferenceDataCacheDaoTest extends AbstractDaoTest
+{
+    @Test
+    public void testEvictReferenceDataCache()
+    {
+        // Create a namespace entity.
+        namespaceDaoTestHelper.createNamespaceEntity(NAMESPACE);
+
+        // Retrieve the namespace entity using the alternate key lookup.
+        assertNotNull(namespaceDao.getNamespaceByCd(NAMESPACE));
+
+        // Evict the reference data cache.
+        referenceDataCacheDao.evictReferenceDataCache();
+
+        // Validate that the namespace entity is not in the second-level cache.
+        Cache cache = referenceDataCacheDao.getEntityManager().getEntityManagerFactory().getCache();
+        assertFalse(cache.contains(NamespaceEntity.class, NAMESPACE));
+
+        // Validate that the namespace entity can still be retrieved.
+        assertEquals(NAMESPACE, namespaceDao.getNamespaceByCd(NAMESPACE).getCode());
+    }
+
+    @Test
+    public void testGetReferenceDataVersion()
+    {
+        // Get the reference data version.
+        String referenceDataVersion = referenceDataCacheDao.getReferenceDataVersion();
+        assertNotNull(referenceDataVersion);
+
+        // Validate that the version does not change while the reference data is not changed.
+        assertEquals(referenceDataVersion, referenceDataCacheDao.getReferenceDataVersion());
+
+        // Create a namespace entity.
+        namespaceDaoTestHelper.createNamespaceEntity(NAMESPACE);
+
+        // Validate that the version is changed.
+        assertNotEquals(referenceDataVersion, referenceDataCacheDao.getReferenceDataVersion());
+    }
+}
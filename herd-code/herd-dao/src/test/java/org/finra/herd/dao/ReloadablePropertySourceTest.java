@@ -16,11 +16,21 @@
 package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
@@ -203,6 +213,131 @@ public class ReloadablePropertySourceTest extends AbstractDaoTest
         verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_2);
     }
 
+    @Test
+    public void testGetPropertyNotifiesPropertiesChangeListeners() throws Exception
+    {
+        // Get a reloadable property source that loads properties from the configuration every time a property is read.
+        ReloadablePropertySource reloadablePropertySource = getNewReloadablePropertiesSource(0L);
+
+        // Register a listener that records the names of the changed properties.
+        List<Set<String>> changedPropertyNamesList = new ArrayList<>();
+        reloadablePropertySource.addPropertiesChangeListener(changedPropertyNamesList::add);
+
+        // Read the value which should be the same as what we placed in initially. No properties changed, so the listener should not be notified.
+        verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_1);
+        assertTrue(changedPropertyNamesList.isEmpty());
+
+        // Update the value from value 1 to value 2.
+        updatePropertyToValue2();
+
+        // Read the value which should be the updated value and validate that the listener was notified about the changed property.
+        assertEquals(TEST_VALUE_2, reloadablePropertySource.getProperty(TEST_KEY));
+        assertEquals(Collections.singletonList(Collections.singleton(TEST_KEY)), changedPropertyNamesList);
+
+        // Validate that the property source exposes the latest snapshot of the properties.
+        assertEquals(TEST_VALUE_2, reloadablePropertySource.getSource().get(TEST_KEY));
+        assertTrue(reloadablePropertySource.containsProperty(TEST_KEY));
+    }
+
+    @Test
+    public void testGetPropertyBackgroundRefresh() throws Exception
+    {
+        // Create a configuration that holds value 2 and blocks reading its properties until released, counting the reloads.
+        CountDownLatch reloadStarted = new CountDownLatch(1);
+        CountDownLatch reloadReleased = new CountDownLatch(1);
+        AtomicInteger reloadCount = new AtomicInteger();
+        BaseConfiguration configuration = new BaseConfiguration()
+        {
+            @Override
+            public Iterator<String> getKeys()
+            {
+                reloadCount.incrementAndGet();
+                reloadStarted.countDown();
+                try
+                {
+                    reloadReleased.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getKeys();
+            }
+        };
+        configuration.addProperty(TEST_KEY, TEST_VALUE_2);
+
+        // Get a reloadable property source that loads properties from the configuration in the background after a configured interval. It starts with the
+        // initial value 1.
+        ReloadablePropertySource reloadablePropertySource = getNewReloadablePropertiesSource(REFRESH_INTERVAL_SECS, configuration);
+
+        // Register a listener that gets notified once the new snapshot of the properties is in place.
+        CountDownLatch propertiesChanged = new CountDownLatch(1);
+        reloadablePropertySource.addPropertiesChangeListener(changedPropertyNames -> propertiesChanged.countDown());
+
+        // Expire the refresh interval. The read schedules a background reload and returns the previous value without waiting for the blocked reload.
+        reloadablePropertySource.lastRefreshTime = 0;
+        assertEquals(TEST_VALUE_1, reloadablePropertySource.getProperty(TEST_KEY));
+        assertTrue(reloadStarted.await(10, TimeUnit.SECONDS));
+
+        // While the background reload is in progress, the reads keep returning the previous value and do not schedule another reload.
+        assertEquals(TEST_VALUE_1, reloadablePropertySource.getProperty(TEST_KEY));
+        assertEquals(TEST_VALUE_1, reloadablePropertySource.getProperty(TEST_KEY));
+
+        // Let the background reload complete and wait for the new snapshot of the properties to be put in place.
+        reloadReleased.countDown();
+        assertTrue(propertiesChanged.await(10, TimeUnit.SECONDS));
+
+        // Validate that the new value is returned and that the properties were reloaded only once.
+        assertEquals(TEST_VALUE_2, reloadablePropertySource.getProperty(TEST_KEY));
+        assertEquals(1, reloadCount.get());
+    }
+
+    @Test
+    public void testGetPropertyBackgroundRefreshFailure() throws Exception
+    {
+        // Create a configuration that fails to read its properties, counting the reloads.
+        AtomicInteger reloadCount = new AtomicInteger();
+        BaseConfiguration configuration = new BaseConfiguration()
+        {
+            @Override
+            public Iterator<String> getKeys()
+            {
+                reloadCount.incrementAndGet();
+                throw new IllegalStateException("test exception");
+            }
+        };
+
+        // Get a reloadable property source that loads properties from the configuration in the background after a configured interval. The property source
+        // signals once a reload attempt is over.
+        CountDownLatch reloadAttempted = new CountDownLatch(1);
+        ReloadablePropertySource reloadablePropertySource =
+            new ReloadablePropertySource(ReloadablePropertySource.class.getName(), cloneProperties(properties), configuration, REFRESH_INTERVAL_SECS)
+            {
+                @Override
+                protected synchronized void refreshProperties()
+                {
+                    try
+                    {
+                        super.refreshProperties();
+                    }
+                    finally
+                    {
+                        reloadAttempted.countDown();
+                    }
+                }
+            };
+
+        // Expire the refresh interval. The read schedules a background reload and returns the previous value.
+        reloadablePropertySource.lastRefreshTime = 0;
+        assertEquals(TEST_VALUE_1, reloadablePropertySource.getProperty(TEST_KEY));
+        assertTrue(reloadAttempted.await(10, TimeUnit.SECONDS));
+
+        // Validate that the failed reload kept the previous value and that the next reload is not due before the refresh interval elapses again.
+        assertNotEquals(0, reloadablePropertySource.lastRefreshTime);
+        assertEquals(TEST_VALUE_1, reloadablePropertySource.getProperty(TEST_KEY));
+        assertEquals(1, reloadCount.get());
+    }
+
     /**
      * Asserts that when a property is requested from the configruation, and it fires an error event (ex. Database is not available), the previously stored
      * values are not cleared.
@@ -42,6 +42,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 
@@ -62,6 +63,8 @@ import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
 import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
@@ -106,6 +109,7 @@ import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 
 /**
@@ -2693,6 +2697,114 @@ public class S3DaoTest extends AbstractDaoTest
         assertFalse(s3Dao.s3FileExists(params));
     }
 
+    @Test
+    public void testStreamDirectory()
+    {
+        // Put S3 files right under the S3 key prefix and in two sub-directories along with a zero byte directory marker.
+        String s3KeyPrefix = TEST_S3_KEY_PREFIX + "/";
+        List<S3ObjectSummaryDto> expectedS3Objects = Arrays
+            .asList(new S3ObjectSummaryDto(s3KeyPrefix + "file", 1L, null), new S3ObjectSummaryDto(s3KeyPrefix + "partition=1/file", 2L, null),
+                new S3ObjectSummaryDto(s3KeyPrefix + "partition=2/file", 3L, null),
+                new S3ObjectSummaryDto(s3KeyPrefix + "partition=2/sub-partition=1/file", 4L, null));
+        for (S3ObjectSummaryDto s3Object : expectedS3Objects)
+        {
+            s3Operations.putObject(
+                new PutObjectRequest(S3_BUCKET_NAME, s3Object.getKey(), new ByteArrayInputStream(new byte[(int) s3Object.getSize()]), null), null);
+        }
+        s3Operations.putObject(new PutObjectRequest(S3_BUCKET_NAME, s3KeyPrefix + "partition=2/", new ByteArrayInputStream(new byte[0]), null), null);
+
+        // Stream the S3 objects on the calling thread and then with the sub-directories listed in parallel.
+        for (Integer maxThreads : Arrays.asList(null, 4))
+        {
+            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+            s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+            s3FileTransferRequestParamsDto.setS3KeyPrefix(s3KeyPrefix);
+            s3FileTransferRequestParamsDto.setMaxThreads(maxThreads);
+
+            List<S3ObjectSummaryDto> s3Objects = new ArrayList<>();
+            s3Dao.streamDirectory(s3FileTransferRequestParamsDto, true, s3Objects::add);
+
+            // Validate the results. The order of the S3 objects is not guaranteed.
+            assertEquals(expectedS3Objects.size(), s3Objects.size());
+            assertEquals(new HashSet<>(expectedS3Objects), new HashSet<>(s3Objects));
+        }
+    }
+
+    @Test
+    public void testStreamDirectoryAssertTruncatedResult()
+    {
+        S3Operations originalS3Operations = (S3Operations) ReflectionTestUtils.getField(s3Dao, "s3Operations");
+        S3Operations mockS3Operations = mock(S3Operations.class);
+        ReflectionTestUtils.setField(s3Dao, "s3Operations", mockS3Operations);
+
+        try
+        {
+            String s3BucketName = "s3BucketName";
+            String s3KeyPrefix = "s3KeyPrefix";
+
+            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+            s3FileTransferRequestParamsDto.setS3BucketName(s3BucketName);
+            s3FileTransferRequestParamsDto.setS3KeyPrefix(s3KeyPrefix);
+
+            when(mockS3Operations.listObjectsV2(any(), any())).then(new Answer<ListObjectsV2Result>()
+            {
+                @Override
+                public ListObjectsV2Result answer(InvocationOnMock invocation) throws Throwable
+                {
+                    ListObjectsV2Request listObjectsV2Request = invocation.getArgument(0);
+                    assertEquals(s3BucketName, listObjectsV2Request.getBucketName());
+                    assertEquals(s3KeyPrefix, listObjectsV2Request.getPrefix());
+                    String continuationToken = listObjectsV2Request.getContinuationToken();
+
+                    ListObjectsV2Result listObjectsV2Result = new ListObjectsV2Result();
+                    S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+                    if (continuationToken == null)
+                    {
+                        s3ObjectSummary.setKey("directory/path/");
+                        s3ObjectSummary.setSize(0L);
+                        listObjectsV2Result.setNextContinuationToken("continuationToken");
+                        listObjectsV2Result.setTruncated(true);
+                    }
+                    else
+                    {
+                        assertEquals("continuationToken", continuationToken);
+                        s3ObjectSummary.setKey("key");
+                        s3ObjectSummary.setSize(1024L);
+                        s3ObjectSummary.setStorageClass(StorageClass.Glacier.toString());
+                    }
+                    listObjectsV2Result.getObjectSummaries().add(s3ObjectSummary);
+                    return listObjectsV2Result;
+                }
+            });
+
+            List<S3ObjectSummaryDto> s3Objects = new ArrayList<>();
+            s3Dao.streamDirectory(s3FileTransferRequestParamsDto, true, s3Objects::add);
+            assertEquals(Collections.singletonList(new S3ObjectSummaryDto("key", 1024L, StorageClass.Glacier.toString())), s3Objects);
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(s3Dao, "s3Operations", originalS3Operations);
+        }
+    }
+
+    @Test
+    public void testStreamDirectoryNoSuchBucket()
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(MockS3OperationsImpl.MOCK_S3_BUCKET_NAME_NO_SUCH_BUCKET_EXCEPTION);
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX);
+
+        try
+        {
+            s3Dao.streamDirectory(s3FileTransferRequestParamsDto, true, s3Object -> fail());
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("The specified bucket '" + MockS3OperationsImpl.MOCK_S3_BUCKET_NAME_NO_SUCH_BUCKET_EXCEPTION + "' does not exist.", e.getMessage());
+        }
+    }
+
     @Test
     public void testTagObjects()
     {
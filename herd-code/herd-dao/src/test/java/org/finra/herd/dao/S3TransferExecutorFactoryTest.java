@@ -0,0 +1,135 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.core.helper.MethodMetricsHelper;
+
+public class S3TransferExecutorFactoryTest extends AbstractDaoTest
+{
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
+    @Autowired
+    private S3TransferExecutorFactory s3TransferExecutorFactory;
+
+    @After
+    public void after()
+    {
+        // Leave no threads behind.
+        s3TransferExecutorFactory.shutdownSharedThreadPool();
+    }
+
+    @Test
+    public void testGetTransferExecutorServiceMaxThreads() throws Exception
+    {
+        long activeTransferCount = methodMetricsHelper.getGauge(S3TransferExecutorFactory.ACTIVE_TRANSFERS_GAUGE);
+
+        // Get a transfer executor service limited to two concurrent tasks.
+        ExecutorService executorService = s3TransferExecutorFactory.getTransferExecutorService(2);
+        assertEquals(activeTransferCount + 1, methodMetricsHelper.getGauge(S3TransferExecutorFactory.ACTIVE_TRANSFERS_GAUGE));
+
+        // Submit four tasks that wait for a latch while keeping track of the maximum number of concurrent tasks.
+        CountDownLatch startedLatch = new CountDownLatch(2);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger concurrentTaskCount = new AtomicInteger();
+        AtomicInteger maxConcurrentTaskCount = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+        {
+            futures.add(executorService.submit(() -> {
+                maxConcurrentTaskCount.accumulateAndGet(concurrentTaskCount.incrementAndGet(), Math::max);
+                startedLatch.countDown();
+                latch.await();
+                concurrentTaskCount.decrementAndGet();
+                return null;
+            }));
+        }
+
+        // Validate that the tasks over the limit are queued once the first two tasks are running.
+        assertTrue(startedLatch.await(10, TimeUnit.SECONDS));
+        assertEquals(2, methodMetricsHelper.getGauge(S3TransferExecutorFactory.QUEUED_PARTS_GAUGE));
+
+        // Let the tasks complete and validate that no more than two tasks ran at once.
+        latch.countDown();
+        for (Future<?> future : futures)
+        {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(2, maxConcurrentTaskCount.get());
+        assertEquals(0, methodMetricsHelper.getGauge(S3TransferExecutorFactory.QUEUED_PARTS_GAUGE));
+
+        // Shut down the transfer executor service and validate that it is no longer active.
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(activeTransferCount, methodMetricsHelper.getGauge(S3TransferExecutorFactory.ACTIVE_TRANSFERS_GAUGE));
+    }
+
+    @Test
+    public void testGetTransferExecutorServiceShutdownNow() throws Exception
+    {
+        // Get two transfer executor services limited to one concurrent task.
+        ExecutorService executorService = s3TransferExecutorFactory.getTransferExecutorService(1);
+        ExecutorService otherExecutorService = s3TransferExecutorFactory.getTransferExecutorService(1);
+
+        // Submit a blocking task and a queued task to the first transfer executor service.
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        executorService.submit(() -> {
+            startedLatch.countDown();
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return null;
+        });
+        executorService.submit(() -> null);
+        assertTrue(startedLatch.await(10, TimeUnit.SECONDS));
+
+        // Shut down the first transfer executor service and validate that the queued task is returned and the blocking task is interrupted.
+        assertEquals(1, executorService.shutdownNow().size());
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Validate that the first transfer executor service rejects new tasks.
+        try
+        {
+            executorService.submit(() -> null);
+            fail();
+        }
+        catch (RejectedExecutionException e)
+        {
+            assertEquals("The S3 transfer executor service is shut down.", e.getMessage());
+        }
+
+        // Validate that the other transfer executor service still runs its tasks on the shared thread pool.
+        assertEquals("result", otherExecutorService.submit(() -> "result").get(10, TimeUnit.SECONDS));
+        assertFalse(otherExecutorService.isShutdown());
+        otherExecutorService.shutdownNow();
+    }
+}
@@ -18,12 +18,20 @@ package org.finra.herd.dao;
 import static org.junit.Assert.assertEquals;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 import org.junit.Test;
 
 import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.dao.impl.MockSqsOperationsImpl;
 import org.finra.herd.model.dto.MessageHeader;
+import org.finra.herd.model.dto.NotificationMessage;
+import org.finra.herd.model.jpa.MessageTypeEntity;
 
 /**
  * This class tests the functionality of DAO for Amazon AWS SQS.
@@ -48,4 +56,26 @@ public class SqsDaoTest extends AbstractDaoTest
             new AwsParamsDto(NO_AWS_ACCESS_KEY, NO_AWS_SECRET_KEY, NO_SESSION_TOKEN, NO_HTTP_PROXY_HOST, NO_HTTP_PROXY_PORT, AWS_REGION_NAME_US_EAST_1),
             AWS_SNS_TOPIC_ARN, MESSAGE_TEXT, Collections.singletonList(new MessageHeader(KEY, VALUE))));
     }
+
+    @Test
+    public void testSendMessageBatch()
+    {
+        // Create notification messages keyed by batch entry ids, where the second message is set to fail.
+        Map<String, NotificationMessage> notificationMessages = new LinkedHashMap<>();
+        notificationMessages.put("1", new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT,
+            Collections.singletonList(new MessageHeader(KEY, VALUE))));
+        notificationMessages.put("2", new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME,
+            MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_FAILED_MESSAGE_TEXT, NO_MESSAGE_HEADERS));
+
+        // Send a batch of SQS messages.
+        SendMessageBatchResult result = sqsDao.sendMessageBatch(
+            new AwsParamsDto(NO_AWS_ACCESS_KEY, NO_AWS_SECRET_KEY, NO_SESSION_TOKEN, NO_HTTP_PROXY_HOST, NO_HTTP_PROXY_PORT, AWS_REGION_NAME_US_EAST_1),
+            AWS_SQS_QUEUE_NAME, notificationMessages);
+
+        // Validate the results.
+        assertEquals(Collections.singletonList(new SendMessageBatchResultEntry().withId("1").withMessageId(MESSAGE_ID)), result.getSuccessful());
+        assertEquals(Collections.singletonList(
+            new BatchResultErrorEntry().withId("2").withCode("InternalError").withMessage("test batch entry failure").withSenderFault(false)),
+            result.getFailed());
+    }
 }
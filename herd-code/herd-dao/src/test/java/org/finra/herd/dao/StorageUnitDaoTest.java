@@ -172,6 +172,64 @@ public class StorageUnitDaoTest extends AbstractDaoTest
             storageUnitDao.getLatestVersionStorageUnitsByStoragePlatformAndFileType(STORAGE_PLATFORM_CODE, FORMAT_FILE_TYPE_CODE));
     }
 
+    @Test
+    public void testGetPartitionValuesChangedSince()
+    {
+        // Create storage units for business object data registered with and without sub-partition values.
+        StorageUnitEntity storageUnitEntity1 = storageUnitDaoTestHelper.createStorageUnitEntity(STORAGE_NAME,
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION), STORAGE_UNIT_STATUS);
+        StorageUnitEntity storageUnitEntity2 = storageUnitDaoTestHelper.createStorageUnitEntity(STORAGE_NAME,
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                NO_SUBPARTITION_VALUES, DATA_VERSION), STORAGE_UNIT_STATUS);
+
+        // Get the entities required to select the changed partition values.
+        BusinessObjectFormatEntity businessObjectFormatEntity = storageUnitEntity1.getBusinessObjectData().getBusinessObjectFormat();
+        List<StorageEntity> storageEntities = Collections.singletonList(storageUnitEntity1.getStorage());
+
+        // Build the expected partition values.
+        List<String> partitionValues1 = Lists.newArrayList(PARTITION_VALUE);
+        partitionValues1.addAll(SUBPARTITION_VALUES);
+        List<String> partitionValues2 = Arrays.asList(PARTITION_VALUE_2, null, null, null, null);
+
+        // Retrieve the partition values changed since yesterday.
+        Timestamp currentTime = new Timestamp(System.currentTimeMillis());
+        Timestamp yesterday = HerdDateUtils.addDays(currentTime, -1);
+        assertEquals(Arrays.asList(partitionValues1, partitionValues2), storageUnitDao
+            .getPartitionValuesChangedSince(businessObjectFormatEntity.getBusinessObjectDefinition(), FORMAT_USAGE_CODE,
+                businessObjectFormatEntity.getFileType(), FORMAT_VERSION, storageEntities, null, yesterday));
+
+        // Update both business object data and storage units to be last updated two days ago.
+        Timestamp twoDaysAgo = HerdDateUtils.addDays(currentTime, -2);
+        for (StorageUnitEntity storageUnitEntity : Arrays.asList(storageUnitEntity1, storageUnitEntity2))
+        {
+            storageUnitEntity.setUpdatedOn(twoDaysAgo);
+            storageUnitEntity.getBusinessObjectData().setUpdatedOn(twoDaysAgo);
+        }
+
+        // Validate that no partition values get selected now.
+        assertEquals(0, storageUnitDao
+            .getPartitionValuesChangedSince(businessObjectFormatEntity.getBusinessObjectDefinition(), FORMAT_USAGE_CODE,
+                businessObjectFormatEntity.getFileType(), FORMAT_VERSION, storageEntities, null, yesterday).size());
+
+        // Update the first storage unit and the second business object data.
+        storageUnitEntity1.setUpdatedOn(currentTime);
+        storageUnitEntity2.getBusinessObjectData().setUpdatedOn(currentTime);
+
+        // Validate that both partition values get selected again. Test case insensitivity of the business object format usage.
+        assertEquals(Arrays.asList(partitionValues1, partitionValues2), storageUnitDao
+            .getPartitionValuesChangedSince(businessObjectFormatEntity.getBusinessObjectDefinition(), FORMAT_USAGE_CODE.toLowerCase(),
+                businessObjectFormatEntity.getFileType(), NO_FORMAT_VERSION, storageEntities, null, yesterday));
+
+        // Try to retrieve the partition values using invalid input parameters.
+        assertEquals(0, storageUnitDao
+            .getPartitionValuesChangedSince(businessObjectFormatEntity.getBusinessObjectDefinition(), I_DO_NOT_EXIST,
+                businessObjectFormatEntity.getFileType(), FORMAT_VERSION, storageEntities, null, yesterday).size());
+        assertEquals(0, storageUnitDao
+            .getPartitionValuesChangedSince(businessObjectFormatEntity.getBusinessObjectDefinition(), FORMAT_USAGE_CODE,
+                businessObjectFormatEntity.getFileType(), FORMAT_VERSION_2, storageEntities, null, yesterday).size());
+    }
+
     @Test
     public void testGetS3StorageUnitsToCleanup()
     {
@@ -593,6 +651,77 @@ public class StorageUnitDaoTest extends AbstractDaoTest
         assertTrue(CollectionUtils.isEmpty(results));
     }
 
+    @Test
+    public void testGetStorageUnitsByPartitionFiltersPrimaryPartitionValuesOnly()
+    {
+        // Create database entities required for testing.
+        List<StorageUnitEntity> expectedStorageUnits = businessObjectDataAvailabilityTestHelper
+            .createDatabaseEntitiesForBusinessObjectDataAvailabilityTesting(null, new ArrayList<>(), new ArrayList<>(),
+                BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, SUBPARTITION_VALUES, ALLOW_DUPLICATE_BUSINESS_OBJECT_DATA, STORAGE_NAMES);
+
+        // Create a list of expected storage unit availability DTOs.
+        List<StorageUnitAvailabilityDto> expectedStorageUnitAvailabilityDtos = new ArrayList<>();
+        for (StorageUnitEntity storageUnitEntity : expectedStorageUnits)
+        {
+            expectedStorageUnitAvailabilityDtos.add(new StorageUnitAvailabilityDto(storageUnitEntity.getId(),
+                new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
+                    storageUnitEntity.getBusinessObjectData().getPartitionValue(), SUBPARTITION_VALUES, storageUnitEntity.getBusinessObjectData().getVersion()),
+                storageUnitEntity.getStorage().getName(), storageUnitEntity.getDirectoryPath(), storageUnitEntity.getBusinessObjectData().getStatus().getCode(),
+                StorageUnitStatusEntity.ENABLED, STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET, null, null));
+        }
+
+        // Get business object definition entity.
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity =
+            businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(new BusinessObjectDefinitionKey(NAMESPACE, BDEF_NAME));
+        assertNotNull(businessObjectDefinitionEntity);
+
+        // Get file type entity.
+        FileTypeEntity fileTypeEntity = fileTypeDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE);
+        assertNotNull(fileTypeEntity);
+
+        // Get a list of storage entities.
+        List<StorageEntity> storageEntities = new ArrayList<>();
+        for (String storageName : STORAGE_NAMES)
+        {
+            storageEntities.add(storageDao.getStorageByName(storageName));
+        }
+
+        // Build a list of partition filters that specify only primary partition values, large enough to cause executing the select queries in chunks.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        for (int i = 0; i < AbstractHerdDao.MAX_PARTITION_FILTERS_PER_REQUEST; i++)
+        {
+            partitionFilters.add(Arrays.asList(String.format("%s-%s", PARTITION_VALUE, i), null, null, null, null));
+        }
+        for (String partitionValue : UNSORTED_PARTITION_VALUES)
+        {
+            partitionFilters.add(Arrays.asList(partitionValue, null, null, null, null));
+        }
+
+        // Retrieve "available" storage units per specified parameters.
+        List<StorageUnitAvailabilityDto> results = storageUnitDao
+            .getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, FORMAT_USAGE_CODE, fileTypeEntity, FORMAT_VERSION, partitionFilters,
+                DATA_VERSION, NO_BDATA_STATUS_ENTITY, storageEntities, NO_STORAGE_PLATFORM_ENTITY, NO_EXCLUDED_STORAGE_PLATFORM_ENTITY,
+                SELECT_ONLY_AVAILABLE_STORAGE_UNITS, NO_AS_OF_TIME);
+
+        // Validate the results.
+        assertEquals(expectedStorageUnitAvailabilityDtos, results);
+
+        // Mix partition filters that specify only primary partition values with the ones that also specify a sub-partition value.
+        for (int i = 0; i < partitionFilters.size(); i += 2)
+        {
+            partitionFilters.set(i, Arrays.asList(partitionFilters.get(i).get(0), SUBPARTITION_VALUES.get(0), null, null, null));
+        }
+
+        // Retrieve "available" storage units per specified parameters.
+        results = storageUnitDao
+            .getStorageUnitsByPartitionFilters(businessObjectDefinitionEntity, FORMAT_USAGE_CODE, fileTypeEntity, FORMAT_VERSION, partitionFilters,
+                DATA_VERSION, NO_BDATA_STATUS_ENTITY, storageEntities, NO_STORAGE_PLATFORM_ENTITY, NO_EXCLUDED_STORAGE_PLATFORM_ENTITY,
+                SELECT_ONLY_AVAILABLE_STORAGE_UNITS, NO_AS_OF_TIME);
+
+        // Validate the results.
+        assertEquals(expectedStorageUnitAvailabilityDtos, results);
+    }
+
     @Test
     public void testGetStorageUnitsByPartitionFiltersNotEnabledStorageUnitStatus()
     {
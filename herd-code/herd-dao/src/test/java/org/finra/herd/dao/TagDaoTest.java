@@ -21,6 +21,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import org.junit.Ignore;
@@ -122,6 +123,27 @@ public class TagDaoTest extends AbstractDaoTest
         assertEquals(Arrays.asList(tagEntities.get(3), tagEntities.get(2), tagEntities.get(1), tagEntities.get(0)), tagDao.getTags());
     }
 
+    @Test
+    public void testGetTagsAfterId()
+    {
+        // Create a tag type entity.
+        TagTypeEntity tagTypeEntity = tagTypeDaoTestHelper.createTagTypeEntity(TAG_TYPE, TAG_TYPE_DISPLAY_NAME, TAG_TYPE_ORDER, TAG_TYPE_DESCRIPTION);
+
+        // Create three root tag entities with tag display name in reverse order.
+        List<TagEntity> tagEntities = Arrays.asList(tagDaoTestHelper.createTagEntity(tagTypeEntity, TAG_CODE, TAG_DISPLAY_NAME_3, TAG_DESCRIPTION),
+            tagDaoTestHelper.createTagEntity(tagTypeEntity, TAG_CODE_2, TAG_DISPLAY_NAME_2, TAG_DESCRIPTION_2),
+            tagDaoTestHelper.createTagEntity(tagTypeEntity, TAG_CODE_3, TAG_DISPLAY_NAME, TAG_DESCRIPTION_3));
+
+        // Sort the tag entities by id.
+        List<TagEntity> sortedTagEntities = new ArrayList<>(tagEntities);
+        sortedTagEntities.sort(Comparator.comparing(TagEntity::getId));
+
+        // Get the tags in chunks of two tags sorted by id.
+        assertEquals(sortedTagEntities.subList(0, 2), tagDao.getTagsAfterId(null, 2));
+        assertEquals(sortedTagEntities.subList(2, 3), tagDao.getTagsAfterId(sortedTagEntities.get(1).getId(), 2));
+        assertEquals(new ArrayList<>(), tagDao.getTagsAfterId(sortedTagEntities.get(2).getId(), 2));
+    }
+
     @Test
     public void testGetTagsByIds()
     {
@@ -16,6 +16,8 @@
 package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
 import java.util.ArrayList;
@@ -174,4 +176,22 @@ public class UserNamespaceAuthorizationDaoTest extends AbstractDaoTest
             assertEquals(0, result.size());
         }
     }
+
+    @Test
+    public void testGetUserNamespaceAuthorizationVersion()
+    {
+        // Get the user namespace authorization version.
+        String userNamespaceAuthorizationVersion = userNamespaceAuthorizationDao.getUserNamespaceAuthorizationVersion();
+        assertNotNull(userNamespaceAuthorizationVersion);
+
+        // Validate that the version does not change while the user namespace authorizations are not changed.
+        assertEquals(userNamespaceAuthorizationVersion, userNamespaceAuthorizationDao.getUserNamespaceAuthorizationVersion());
+
+        // Create a user namespace authorization entity.
+        userNamespaceAuthorizationDaoTestHelper
+            .createUserNamespaceAuthorizationEntity(new UserNamespaceAuthorizationKey(USER_ID, NAMESPACE), SUPPORTED_NAMESPACE_PERMISSIONS);
+
+        // Validate that the version is changed.
+        assertNotEquals(userNamespaceAuthorizationVersion, userNamespaceAuthorizationDao.getUserNamespaceAuthorizationVersion());
+    }
 }
@@ -16,6 +16,7 @@
 package org.finra.herd.dao.helper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,13 @@ public class XmlHelperTest extends AbstractDaoTest
     @Autowired
     private XmlHelper xmlHelper;
 
+    @Test
+    public void testGetJaxbContext() throws Exception
+    {
+        // Validate that the JAXB context gets created once per class and then reused.
+        assertSame(xmlHelper.getJaxbContext(BuildInformation.class), xmlHelper.getJaxbContext(BuildInformation.class));
+    }
+
     @Test
     public void testObjectToXml() throws Exception
     {
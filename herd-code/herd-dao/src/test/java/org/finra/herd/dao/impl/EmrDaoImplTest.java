@@ -441,6 +441,32 @@ public class EmrDaoImplTest extends AbstractDaoTest
         getActiveEmrClusterByNameAndAccountIdClusterNameIsInCache(null, null);
     }
 
+    @Test
+    public void testGetActiveEmrClusterByNameWhenEmrClusterCacheReloadedWhileWaitingForLock()
+    {
+        // Create an AWS parameters DTO.
+        AwsParamsDto awsParamsDto =
+            new AwsParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN, HTTP_PROXY_HOST, HTTP_PROXY_PORT,
+                AWS_REGION_NAME_US_EAST_1);
+
+        // Create an EMR cluster cache timestamps dto for a reload that started after the lookup requested the lock.
+        LocalDateTime lastFullReload = LocalDateTime.now().plusMinutes(1);
+        LocalDateTime lastDeltaUpdate = LocalDateTime.now().plusMinutes(1);
+        EmrClusterCacheTimestamps emrClusterCacheTimestamps = new EmrClusterCacheTimestamps(lastFullReload, lastDeltaUpdate);
+
+        // Mock the external calls.
+        when(emrClusterCacheTimestampsMap.get(EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY)).thenReturn(emrClusterCacheTimestamps);
+
+        // Call the method under test.
+        ClusterSummary result = emrDaoImpl.getActiveEmrClusterByNameAndAccountId(EMR_CLUSTER_NAME, null, awsParamsDto);
+
+        // Verify that no list cluster request was made, since the reload done by the other thread did not find the cluster.
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertNull(result);
+    }
+
     private void getActiveEmrClusterByNameAndAccountIdClusterNameIsInCache(Cluster cluster, String accountId)
     {
         // Create an AWS parameters DTO.
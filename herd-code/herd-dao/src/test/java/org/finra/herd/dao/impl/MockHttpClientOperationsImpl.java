@@ -50,6 +50,8 @@ import org.finra.herd.dao.helper.XmlHelper;
 import org.finra.herd.model.api.xml.Attribute;
 import org.finra.herd.model.api.xml.AwsCredential;
 import org.finra.herd.model.api.xml.BusinessObjectData;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionResponse;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateResponse;
@@ -163,6 +165,11 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
                 checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION);
                 buildSearchBusinessObjectDataResponse(response, uri);
             }
+            else if (uri.getPath().equals("/herd-app/rest/businessObjectData/destroyCollection"))
+            {
+                checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION);
+                buildDestroyBusinessObjectDataCollectionResponse(response, uri);
+            }
             else if (uri.getPath().startsWith("/herd-app/rest/businessObjectData/destroy"))
             {
                 checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION);
@@ -430,6 +437,24 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
         response.setEntity(getHttpEntity(businessObjectData));
     }
 
+    /**
+     * Builds a business object data destroy collection response.
+     *
+     * @param response the response.
+     * @param uri the URI of the incoming request.
+     *
+     * @throws JAXBException if a JAXB error occurred.
+     */
+    private void buildDestroyBusinessObjectDataCollectionResponse(MockCloseableHttpResponse response, URI uri) throws JAXBException
+    {
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey("testNamespace", "testBusinessObjectDefinitionName", "testBusinessObjectFormatUsage", "testBusinessObjectFormatFileType",
+                9, "primaryPartitionValue", null, 5);
+        List<BusinessObjectDataDestroyResult> businessObjectDataDestroyResults = new ArrayList<>();
+        businessObjectDataDestroyResults.add(new BusinessObjectDataDestroyResult(businessObjectDataKey, "DELETED", null));
+        response.setEntity(getHttpEntity(new BusinessObjectDataDestroyCollectionResponse(businessObjectDataDestroyResults)));
+    }
+
     /**
      * Builds a business object data storage files create response.
      *
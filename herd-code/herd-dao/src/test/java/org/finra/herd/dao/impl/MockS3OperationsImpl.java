@@ -28,8 +28,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Future;
 
@@ -48,6 +50,8 @@ import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
 import com.amazonaws.services.s3.model.MultipartUpload;
 import com.amazonaws.services.s3.model.MultipartUploadListing;
@@ -520,6 +524,70 @@ public class MockS3OperationsImpl implements S3Operations
         return objectListing;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * If the bucket does not exist, returns a listing with an empty list. If a prefix is specified in listObjectsV2Request, only keys starting with the prefix
+     * will be returned. If a delimiter is specified, keys that contain the delimiter after the prefix are rolled up into common prefixes. The listing is never
+     * truncated.
+     */
+    @Override
+    public ListObjectsV2Result listObjectsV2(ListObjectsV2Request listObjectsV2Request, AmazonS3 s3Client)
+    {
+        LOGGER.debug("listObjectsV2(): listObjectsV2Request.getBucketName() = " + listObjectsV2Request.getBucketName());
+
+        String bucketName = listObjectsV2Request.getBucketName();
+
+        if (MOCK_S3_BUCKET_NAME_NO_SUCH_BUCKET_EXCEPTION.equals(bucketName))
+        {
+            AmazonS3Exception amazonS3Exception = new AmazonS3Exception(MOCK_S3_BUCKET_NAME_NO_SUCH_BUCKET_EXCEPTION);
+            amazonS3Exception.setErrorCode("NoSuchBucket");
+            throw amazonS3Exception;
+        }
+
+        ListObjectsV2Result listObjectsV2Result = new ListObjectsV2Result();
+        listObjectsV2Result.setBucketName(bucketName);
+        listObjectsV2Result.setPrefix(listObjectsV2Request.getPrefix());
+        listObjectsV2Result.setDelimiter(listObjectsV2Request.getDelimiter());
+
+        String prefix = StringUtils.defaultString(listObjectsV2Request.getPrefix());
+        String delimiter = listObjectsV2Request.getDelimiter();
+        Set<String> commonPrefixes = new LinkedHashSet<>();
+
+        MockS3Bucket mockS3Bucket = mockS3Buckets.get(bucketName);
+        if (mockS3Bucket != null)
+        {
+            for (MockS3Object mockS3Object : mockS3Bucket.getObjects().values())
+            {
+                String s3ObjectKey = mockS3Object.getKey();
+                if (s3ObjectKey.startsWith(prefix))
+                {
+                    int delimiterIndex = StringUtils.isEmpty(delimiter) ? -1 : s3ObjectKey.indexOf(delimiter, prefix.length());
+                    if (delimiterIndex >= 0)
+                    {
+                        commonPrefixes.add(s3ObjectKey.substring(0, delimiterIndex + delimiter.length()));
+                    }
+                    else
+                    {
+                        S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+                        s3ObjectSummary.setBucketName(bucketName);
+                        s3ObjectSummary.setKey(s3ObjectKey);
+                        s3ObjectSummary.setSize(mockS3Object.getData().length);
+                        s3ObjectSummary
+                            .setStorageClass(mockS3Object.getObjectMetadata() != null ? mockS3Object.getObjectMetadata().getStorageClass() : null);
+
+                        listObjectsV2Result.getObjectSummaries().add(s3ObjectSummary);
+                    }
+                }
+            }
+        }
+
+        listObjectsV2Result.setCommonPrefixes(new ArrayList<>(commonPrefixes));
+        listObjectsV2Result.setKeyCount(listObjectsV2Result.getObjectSummaries().size() + commonPrefixes.size());
+
+        return listObjectsV2Result;
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -15,11 +15,16 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.util.List;
 import java.util.Map;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 import org.finra.herd.dao.AbstractDaoTest;
@@ -30,6 +35,8 @@ import org.finra.herd.dao.SqsOperations;
  */
 public class MockSqsOperationsImpl implements SqsOperations
 {
+    public static final String MOCK_SQS_BATCH_ENTRY_FAILED_MESSAGE_TEXT = "mock_sqs_batch_entry_failed_message_text";
+
     public static final String MOCK_SQS_QUEUE_NOT_FOUND_NAME = "mock_sqs_queue_not_found_name";
 
     @Override
@@ -52,4 +59,34 @@ public class MockSqsOperationsImpl implements SqsOperations
         // Nothing else to do in the normal case since our unit tests aren't reading messages once they have been published.
         return new SendMessageResult().withMessageId(AbstractDaoTest.MESSAGE_ID);
     }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(String queueName, List<SendMessageBatchRequestEntry> sendMessageBatchRequestEntries, AmazonSQS amazonSQS)
+    {
+        // Throw an illegal state exception for a specific queue name for testing purposes.
+        if (queueName.equals(MOCK_SQS_QUEUE_NOT_FOUND_NAME))
+        {
+            throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName));
+        }
+
+        SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+
+        for (SendMessageBatchRequestEntry sendMessageBatchRequestEntry : sendMessageBatchRequestEntries)
+        {
+            // Fail a batch entry with a specific message text for testing purposes.
+            if (MOCK_SQS_BATCH_ENTRY_FAILED_MESSAGE_TEXT.equals(sendMessageBatchRequestEntry.getMessageBody()))
+            {
+                sendMessageBatchResult.getFailed().add(
+                    new BatchResultErrorEntry().withId(sendMessageBatchRequestEntry.getId()).withCode("InternalError").withMessage("test batch entry failure")
+                        .withSenderFault(false));
+            }
+            else
+            {
+                sendMessageBatchResult.getSuccessful()
+                    .add(new SendMessageBatchResultEntry().withId(sendMessageBatchRequestEntry.getId()).withMessageId(AbstractDaoTest.MESSAGE_ID));
+            }
+        }
+
+        return sendMessageBatchResult;
+    }
 }
@@ -33,8 +33,13 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.ClientConfiguration;
@@ -82,17 +87,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.LogLevel;
+import org.finra.herd.core.helper.MethodMetricsHelper;
 import org.finra.herd.dao.AbstractDaoTest;
 import org.finra.herd.dao.AwsS3ClientFactory;
 import org.finra.herd.dao.S3Operations;
+import org.finra.herd.dao.S3TransferExecutorFactory;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.dao.helper.S3BatchHelper;
 import org.finra.herd.model.dto.BatchJobConfigDto;
 import org.finra.herd.model.dto.BatchJobManifestDto;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 
@@ -116,12 +126,18 @@ public class S3DaoImplTest extends AbstractDaoTest
     @Mock
     private S3BatchHelper batchHelper;
 
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private JavaPropertiesHelper javaPropertiesHelper;
 
     @Mock
     private JsonHelper jsonHelper;
 
+    @Mock
+    private MethodMetricsHelper methodMetricsHelper;
+
     @InjectMocks
     private S3DaoImpl s3DaoImpl;
 
@@ -131,6 +147,9 @@ public class S3DaoImplTest extends AbstractDaoTest
     @Mock
     private AmazonS3Client s3Client;
 
+    @Mock
+    private S3TransferExecutorFactory s3TransferExecutorFactory;
+
     @Before
     public void before()
     {
@@ -186,7 +205,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(awsS3ClientFactory, times(2)).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
         verify(s3Operations).listVersions(any(ListVersionsRequest.class), any(AmazonS3Client.class));
         verify(s3Operations).deleteObjects(any(DeleteObjectsRequest.class), any(AmazonS3Client.class));
-        verify(s3Client, times(2)).shutdown();
+        verify(awsS3ClientFactory, times(2)).releaseAmazonS3Client(s3Client);
         verifyNoMoreInteractionsHelper();
     }
 
@@ -251,7 +270,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         // Verify the external calls.
         verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
         verify(s3Operations).listVersions(any(ListVersionsRequest.class), any(AmazonS3Client.class));
-        verify(s3Client).shutdown();
+        verify(awsS3ClientFactory).releaseAmazonS3Client(s3Client);
         verifyNoMoreInteractionsHelper();
     }
 
@@ -343,6 +362,18 @@ public class S3DaoImplTest extends AbstractDaoTest
         runTagVersionsTest();
     }
 
+    @Test
+    public void testTagVersionsMaxThreads()
+    {
+        runTagVersionsMaxThreadsTest(0.0);
+    }
+
+    @Test
+    public void testTagVersionsMaxThreadsRateLimited()
+    {
+        runTagVersionsMaxThreadsTest(100.0);
+    }
+
     @Test
     public void testTagVersionsNoS3VersionSummaries()
     {
@@ -391,6 +422,60 @@ public class S3DaoImplTest extends AbstractDaoTest
         verifyNoMoreInteractionsHelper();
     }
 
+    @Test
+    public void testTagVersionsWithS3ExceptionSlowDown()
+    {
+        // Create an S3 file transfer request parameters DTO to access S3 objects.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setAwsRegionName(AWS_REGION_NAME_US_EAST_1);
+
+        // Create an S3 object tagger role parameters DTO.
+        S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto =
+            new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS);
+
+        // Create an S3 version summary.
+        S3VersionSummary s3VersionSummary = new S3VersionSummary();
+        s3VersionSummary.setKey(S3_KEY);
+        s3VersionSummary.setVersionId(S3_VERSION_ID);
+
+        // Create an S3 object tag.
+        Tag tag = new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE);
+
+        // Create mock of the s3 client used specifically for tagging
+        AmazonS3Client taggerS3client = mock(AmazonS3Client.class);
+
+        // Create an Amazon S3 Exception returned when S3 throttles the requests.
+        AmazonS3Exception amazonS3Exception = new AmazonS3Exception("Slow Down");
+        amazonS3Exception.setStatusCode(HttpStatus.SC_SERVICE_UNAVAILABLE);
+
+        // Keep the backoff short.
+        ReflectionTestUtils.setField(s3DaoImpl, "slowDownBackoffMillis", 1L);
+
+        // Mock the external calls.
+        when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class))).thenReturn(s3Client);
+        when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class))).thenReturn(taggerS3client);
+        when(awsHelper.getClientConfiguration(s3FileTransferRequestParamsDto)).thenReturn(new ClientConfiguration());
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Double.class)).thenReturn(100.0);
+        when(s3Operations.getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(new GetObjectTaggingResult(null));
+        when(s3Operations.setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenThrow(amazonS3Exception)
+            .thenReturn(new SetObjectTaggingResult());
+
+        // Call the method under test.
+        s3DaoImpl.tagVersions(s3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, Collections.singletonList(s3VersionSummary), tag);
+
+        // Verify the external calls. The throttled tagging request is retried.
+        verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
+        verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class));
+        verify(awsHelper).getClientConfiguration(s3FileTransferRequestParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Double.class);
+        verify(s3Operations, times(2)).getObjectTagging(any(GetObjectTaggingRequest.class), eq(s3Client));
+        verify(s3Operations, times(2)).setObjectTagging(any(SetObjectTaggingRequest.class), eq(taggerS3client));
+        verify(awsS3ClientFactory).releaseAmazonS3Client(s3Client);
+        verify(awsS3ClientFactory).releaseAmazonS3Client(taggerS3client);
+        verifyNoMoreInteractionsHelper();
+    }
+
     @Test
     public void testTagVersionsWithLoggerLevelSetToInfo()
     {
@@ -457,6 +542,91 @@ public class S3DaoImplTest extends AbstractDaoTest
         testRestoreObjectsWithS3Exception(OTHER_EXCEPTION_MESSAGE, HttpStatus.SC_METHOD_FAILURE);
     }
 
+    @Test
+    public void testRestoreObjectsMaxThreads()
+    {
+        // Create an S3 file transfer request parameters DTO to restore three S3 objects using two threads.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX);
+        s3FileTransferRequestParamsDto.setFiles(Arrays.asList(new File(S3_KEY), new File(S3_KEY_2), new File(TEST_FILE)));
+        s3FileTransferRequestParamsDto.setMaxThreads(2);
+
+        // Create an Object Metadata
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setOngoingRestore(false);
+
+        // Create an executor service to run the restore requests.
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        ArgumentCaptor<RestoreObjectRequest> requestStoreCaptor = ArgumentCaptor.forClass(RestoreObjectRequest.class);
+
+        // Mock the external calls.
+        when(awsS3ClientFactory.getAmazonS3Client(s3FileTransferRequestParamsDto)).thenReturn(s3Client);
+        when(s3TransferExecutorFactory.getTransferExecutorService(2)).thenReturn(executorService);
+        when(s3Operations.getObjectMetadata(eq(S3_BUCKET_NAME), anyString(), eq(s3Client))).thenReturn(objectMetadata);
+
+        // Call the method under test.
+        s3DaoImpl.restoreObjects(s3FileTransferRequestParamsDto, EXPIRATION_IN_DAYS, Tier.Standard.toString());
+
+        // Verify the external calls.
+        verify(awsS3ClientFactory).getAmazonS3Client(s3FileTransferRequestParamsDto);
+        verify(s3TransferExecutorFactory).getTransferExecutorService(2);
+        verify(s3Operations).getObjectMetadata(S3_BUCKET_NAME, S3_KEY, s3Client);
+        verify(s3Operations).getObjectMetadata(S3_BUCKET_NAME, S3_KEY_2, s3Client);
+        verify(s3Operations).getObjectMetadata(S3_BUCKET_NAME, TEST_FILE, s3Client);
+        verify(s3Operations, times(3)).restoreObject(requestStoreCaptor.capture(), eq(s3Client));
+        verify(awsS3ClientFactory).releaseAmazonS3Client(s3Client);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that every S3 object got its own restore request and that the executor service is shut down.
+        Set<String> restoredS3Keys = new HashSet<>();
+        for (RestoreObjectRequest restoreObjectRequest : requestStoreCaptor.getAllValues())
+        {
+            assertEquals(S3_BUCKET_NAME, restoreObjectRequest.getBucketName());
+            assertEquals(Tier.Standard.toString(), restoreObjectRequest.getGlacierJobParameters().getTier());
+            restoredS3Keys.add(restoreObjectRequest.getKey());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(S3_KEY, S3_KEY_2, TEST_FILE)), restoredS3Keys);
+        assertTrue(executorService.isShutdown());
+    }
+
+    @Test
+    public void testRestoreObjectsWithS3ExceptionSlowDown()
+    {
+        // Create an S3 file transfer request parameters DTO to access S3 objects.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX);
+        s3FileTransferRequestParamsDto.setFiles(Collections.singletonList(new File(TEST_FILE)));
+
+        // Create an Object Metadata
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setOngoingRestore(false);
+
+        // Create an Amazon S3 Exception returned when S3 throttles the requests.
+        AmazonS3Exception amazonS3Exception = new AmazonS3Exception("Slow Down");
+        amazonS3Exception.setStatusCode(HttpStatus.SC_SERVICE_UNAVAILABLE);
+
+        // Keep the backoff short.
+        ReflectionTestUtils.setField(s3DaoImpl, "slowDownBackoffMillis", 1L);
+
+        // Mock the external calls.
+        when(awsS3ClientFactory.getAmazonS3Client(s3FileTransferRequestParamsDto)).thenReturn(s3Client);
+        when(s3Operations.getObjectMetadata(S3_BUCKET_NAME, TEST_FILE, s3Client)).thenReturn(objectMetadata);
+        doThrow(amazonS3Exception).doNothing().when(s3Operations).restoreObject(any(RestoreObjectRequest.class), eq(s3Client));
+
+        // Call the method under test.
+        s3DaoImpl.restoreObjects(s3FileTransferRequestParamsDto, EXPIRATION_IN_DAYS, Tier.Standard.toString());
+
+        // Verify the external calls. The throttled restore request is retried.
+        verify(awsS3ClientFactory).getAmazonS3Client(s3FileTransferRequestParamsDto);
+        verify(s3Operations, times(2)).getObjectMetadata(S3_BUCKET_NAME, TEST_FILE, s3Client);
+        verify(s3Operations, times(2)).restoreObject(any(RestoreObjectRequest.class), eq(s3Client));
+        verify(awsS3ClientFactory).releaseAmazonS3Client(s3Client);
+        verifyNoMoreInteractionsHelper();
+    }
+
     @Test
     public void testCreateBatchRestoreJobComplete()
     {
@@ -1849,7 +2019,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
         verify(s3Operations).getObjectMetadata(anyString(), anyString(), any(AmazonS3Client.class));
         verify(s3Operations).restoreObject(any(RestoreObjectRequest.class), any(AmazonS3Client.class));
-        verify(s3Client).shutdown();
+        verify(awsS3ClientFactory).releaseAmazonS3Client(s3Client);
         verifyNoMoreInteractionsHelper();
     }
 
@@ -1898,7 +2068,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
         verify(s3Operations).getObjectMetadata(anyString(), anyString(), any(AmazonS3Client.class));
         verify(s3Operations).restoreObject(any(RestoreObjectRequest.class), any(AmazonS3Client.class));
-        verify(s3Client).shutdown();
+        verify(awsS3ClientFactory).releaseAmazonS3Client(s3Client);
         verifyNoMoreInteractionsHelper();
     }
 
@@ -1936,6 +2106,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class))).thenReturn(s3Client);
         when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class))).thenReturn(taggerS3client);
         when(awsHelper.getClientConfiguration(s3FileTransferRequestParamsDto)).thenReturn(clientConfiguration);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Double.class)).thenReturn(100.0);
         when(s3Operations.getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(getObjectTaggingResult);
         when(s3Operations.setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(setObjectTaggingResult);
 
@@ -1946,12 +2117,92 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
         verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class));
         verify(awsHelper).getClientConfiguration(s3FileTransferRequestParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Double.class);
         verify(s3Operations).getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class));
         verify(s3Operations).setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class));
-        verify(s3Client).shutdown();
+        verify(awsS3ClientFactory).releaseAmazonS3Client(s3Client);
+        verify(awsS3ClientFactory).releaseAmazonS3Client(taggerS3client);
         verifyNoMoreInteractionsHelper();
     }
 
+    /**
+     * Tags S3 versions of two S3 keys using two threads.
+     *
+     * @param permitsPerSecond the maximum number of S3 object tagging requests per second, 0 or less to disable the rate limit
+     */
+    private void runTagVersionsMaxThreadsTest(double permitsPerSecond)
+    {
+        // Create an S3 file transfer request parameters DTO to tag S3 versions of two S3 keys using two threads.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setAwsRegionName(AWS_REGION_NAME_US_EAST_1);
+        s3FileTransferRequestParamsDto.setMaxThreads(2);
+
+        // Create an S3 object tagger role parameters DTO.
+        S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto =
+            new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS);
+
+        // Create S3 version summaries for two versions of the first S3 key and a single version of the second S3 key.
+        List<S3VersionSummary> s3VersionSummaries = new ArrayList<>();
+        for (String[] keyAndVersionId : new String[][] {{S3_KEY, S3_VERSION_ID}, {S3_KEY, S3_VERSION_ID_2}, {S3_KEY_2, S3_VERSION_ID}})
+        {
+            S3VersionSummary s3VersionSummary = new S3VersionSummary();
+            s3VersionSummary.setKey(keyAndVersionId[0]);
+            s3VersionSummary.setVersionId(keyAndVersionId[1]);
+            s3VersionSummaries.add(s3VersionSummary);
+        }
+
+        // Create an S3 object tag.
+        Tag tag = new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE);
+
+        // Create mock of the s3 client used specifically for tagging
+        AmazonS3Client taggerS3client = mock(AmazonS3Client.class);
+
+        // Create an executor service to run the tagging requests.
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        ArgumentCaptor<SetObjectTaggingRequest> setObjectTaggingRequestCaptor = ArgumentCaptor.forClass(SetObjectTaggingRequest.class);
+
+        // Mock the external calls.
+        when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class))).thenReturn(s3Client);
+        when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class))).thenReturn(taggerS3client);
+        when(awsHelper.getClientConfiguration(s3FileTransferRequestParamsDto)).thenReturn(new ClientConfiguration());
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Double.class)).thenReturn(permitsPerSecond);
+        when(s3TransferExecutorFactory.getTransferExecutorService(2)).thenReturn(executorService);
+        when(s3Operations.getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class)))
+            .thenReturn(new GetObjectTaggingResult(Collections.singletonList(new Tag(S3_OBJECT_TAG_KEY_2, S3_OBJECT_TAG_VALUE_2))));
+        when(s3Operations.setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(new SetObjectTaggingResult());
+
+        // Call the method under test.
+        s3DaoImpl.tagVersions(s3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, s3VersionSummaries, tag);
+
+        // Verify the external calls.
+        verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
+        verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class));
+        verify(awsHelper).getClientConfiguration(s3FileTransferRequestParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Double.class);
+        verify(s3TransferExecutorFactory).getTransferExecutorService(2);
+        verify(s3Operations, times(3)).getObjectTagging(any(GetObjectTaggingRequest.class), eq(s3Client));
+        verify(s3Operations, times(3)).setObjectTagging(setObjectTaggingRequestCaptor.capture(), eq(taggerS3client));
+        verify(awsS3ClientFactory).releaseAmazonS3Client(s3Client);
+        verify(awsS3ClientFactory).releaseAmazonS3Client(taggerS3client);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that every S3 version got tagged keeping its other tags and that the executor service is shut down.
+        Set<String> taggedS3Versions = new HashSet<>();
+        for (SetObjectTaggingRequest setObjectTaggingRequest : setObjectTaggingRequestCaptor.getAllValues())
+        {
+            assertEquals(S3_BUCKET_NAME, setObjectTaggingRequest.getBucketName());
+            assertEquals(2, setObjectTaggingRequest.getTagging().getTagSet().size());
+            assertEquals(S3_OBJECT_TAG_VALUE, setObjectTaggingRequest.getTagging().getTagSet().get(0).getValue());
+            assertEquals(S3_OBJECT_TAG_VALUE_2, setObjectTaggingRequest.getTagging().getTagSet().get(1).getValue());
+            taggedS3Versions.add(setObjectTaggingRequest.getKey() + "/" + setObjectTaggingRequest.getVersionId());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(S3_KEY + "/" + S3_VERSION_ID, S3_KEY + "/" + S3_VERSION_ID_2, S3_KEY_2 + "/" + S3_VERSION_ID)),
+            taggedS3Versions);
+        assertTrue(executorService.isShutdown());
+    }
+
     private void runTagVersionsTest()
     {
         // Create an S3 file transfer request parameters DTO to access S3 objects.
@@ -1987,6 +2238,7 @@ public class S3DaoImplTest extends AbstractDaoTest
         when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class))).thenReturn(s3Client);
         when(awsS3ClientFactory.getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class))).thenReturn(taggerS3client);
         when(awsHelper.getClientConfiguration(s3FileTransferRequestParamsDto)).thenReturn(clientConfiguration);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Double.class)).thenReturn(100.0);
         when(s3Operations.getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(getObjectTaggingResult);
         when(s3Operations.setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(setObjectTaggingResult);
 
@@ -1997,9 +2249,11 @@ public class S3DaoImplTest extends AbstractDaoTest
         verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class));
         verify(awsS3ClientFactory).getAmazonS3Client(any(S3FileTransferRequestParamsDto.class), any(AWSCredentialsProvider.class));
         verify(awsHelper).getClientConfiguration(s3FileTransferRequestParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET, Double.class);
         verify(s3Operations).getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class));
         verify(s3Operations).setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class));
-        verify(s3Client).shutdown();
+        verify(awsS3ClientFactory).releaseAmazonS3Client(s3Client);
+        verify(awsS3ClientFactory).releaseAmazonS3Client(taggerS3client);
         verifyNoMoreInteractionsHelper();
     }
 
@@ -2008,6 +2262,7 @@ public class S3DaoImplTest extends AbstractDaoTest
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(awsS3ClientFactory, awsHelper, batchHelper, javaPropertiesHelper, jsonHelper, s3Operations, s3Client);
+        verifyNoMoreInteractions(awsS3ClientFactory, awsHelper, batchHelper, configurationHelper, javaPropertiesHelper, jsonHelper, s3Operations, s3Client,
+            s3TransferExecutorFactory);
     }
 }
@@ -129,6 +129,41 @@ public enum ConfigurationValue
      */
     S3_ENDPOINT("s3.endpoint", null),
 
+    /**
+     * The maximum number of Amazon S3 clients kept in the shared S3 client pool. The least recently used clients are closed once the maximum is exceeded. A
+     * value of 0 disables the pool, so a new S3 client is created for each S3 operation. The default is 64.
+     */
+    S3_CLIENT_POOL_MAX_SIZE("s3.client.pool.max.size", 64),
+
+    /**
+     * The time in seconds a pooled Amazon S3 client created with session credentials is reused for. It should not exceed the lifetime of the session
+     * credentials passed to herd. The default is 900 seconds, the minimum lifetime of AWS STS session credentials.
+     */
+    S3_CLIENT_POOL_SESSION_CREDENTIALS_TTL_SECS("s3.client.pool.session.credentials.ttl.secs", 900),
+
+    /**
+     * The time in seconds a pooled Amazon S3 client created with a refreshing credentials provider is reused for. The default is 3600 seconds.
+     */
+    S3_CLIENT_POOL_TTL_SECS("s3.client.pool.ttl.secs", 3600),
+
+    /**
+     * The maximum number of threads of the transfer executor shared by all the S3 transfer managers of this JVM. It bounds the total number of concurrent S3
+     * transfer tasks and should be well above the maximum threads of a single transfer. The default is 64.
+     */
+    S3_TRANSFER_EXECUTOR_MAX_THREADS("s3.transfer.executor.max.threads", 64),
+
+    /**
+     * The maximum number of concurrent tasks of an S3 transfer that does not specify its maximum threads. The default is 10, the thread pool size used by the
+     * AWS transfer manager by default.
+     */
+    S3_TRANSFER_EXECUTOR_DEFAULT_TRANSFER_THREADS("s3.transfer.executor.default.transfer.threads", 10),
+
+    /**
+     * The maximum number of tasks of a single S3 transfer waiting for one of its threads. Once reached, the caller submitting the transfer tasks is blocked
+     * until the transfer catches up. The default is 1000.
+     */
+    S3_TRANSFER_EXECUTOR_MAX_QUEUED_TASKS_PER_TRANSFER("s3.transfer.executor.max.queued.tasks.per.transfer", 1000),
+
     /**
      * The HTTP proxy hostname. This is optional and there is no default.
      */
@@ -196,6 +231,14 @@ public enum ConfigurationValue
      */
     JMS_PUBLISHING_JOB_CRON_EXPRESSION("jms.publishing.job.cron.expression", "0 0/5 * * * ?"),
 
+    /**
+     * The maximum number of notification messages to be claimed from the database queue and published in a single transaction by the "jmsPublishing" system
+     * job. When set to a value greater than zero, the job drains the queue in batches, skipping rows locked by other herd nodes and continuing past individual
+     * publishing failures. The maximum allowed value is 1000. The default is 0, which means that messages are published one at a time and the job stops at the
+     * first failure.
+     */
+    JMS_PUBLISHING_JOB_BATCH_SIZE("jms.publishing.job.batch.size", 0),
+
     /**
      * The cron expression to schedule "relationalTableSchemaUpdate" system job.  Default is to run this system job every night at 8 AM.
      */
@@ -429,6 +472,30 @@ public enum ConfigurationValue
      */
     AVAILABILITY_DDL_MAX_PARTITION_VALUES("availability.ddl.max.partition.values", null),
 
+    /**
+     * The number of partition filters whose storage units are selected and written out at a time when streaming the business object data DDL. This bounds the
+     * memory used to generate the DDL for a large number of partitions.
+     */
+    DDL_STREAM_PARTITION_FILTERS_PAGE_SIZE("ddl.stream.partition.filters.page.size", 1000),
+
+    /**
+     * The maximum number of threads, including the request thread, used to match registered storage files against the expected Hive sub-directories when
+     * discovering unregistered sub-partitions for DDL or partitions generation.
+     */
+    DDL_SUB_PARTITION_DISCOVERY_THREADS("ddl.sub.partition.discovery.threads", 4),
+
+    /**
+     * The number of threads in the thread pool dedicated to the discovery of unregistered sub-partitions, shared by all DDL and partitions generation requests.
+     * Changing this value requires a server restart.
+     */
+    DDL_SUB_PARTITION_DISCOVERY_THREAD_POOL_SIZE("ddl.sub.partition.discovery.thread.pool.size", 8),
+
+    /**
+     * The queue capacity of the thread pool dedicated to the discovery of unregistered sub-partitions. When the queue is full, the rejected work is done by the
+     * request thread instead. The default of 0 means work is only handed off to idle threads. Changing this value requires a server restart.
+     */
+    DDL_SUB_PARTITION_DISCOVERY_THREAD_POOL_QUEUE_CAPACITY("ddl.sub.partition.discovery.thread.pool.queue.capacity", 0),
+
     /**
      * The chunk size to use when creating database "in" clauses. The default chunk size to use for "in" clauses is 1000. For Oracle specifically, "in" clauses
      * can't be greater than 1000 or a SQL error will be thrown.
@@ -611,6 +678,22 @@ public enum ConfigurationValue
      */
     USER_NAMESPACE_AUTHORIZATION_ENABLED("user.namespace.authorization.enabled", "false"),
 
+    /**
+     * Indicates whether the namespace authorizations built for a user are cached. The cached namespace authorizations are evicted when they are changed by
+     * this herd node, and a periodic check evicts them when they are changed by another herd node. The default is false.
+     */
+    USER_NAMESPACE_AUTHORIZATION_CACHE_ENABLED("user.namespace.authorization.cache.enabled", "false"),
+
+    /**
+     * The time to live in seconds of the cached user namespace authorizations. This value is only read on start-up.
+     */
+    USER_NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS("user.namespace.authorization.cache.time.to.live.seconds", 300L),
+
+    /**
+     * The max number of users whose namespace authorizations are cached. This value is only read on start-up.
+     */
+    USER_NAMESPACE_AUTHORIZATION_CACHE_MAX_ELEMENTS_IN_MEMORY("user.namespace.authorization.cache.max.elements.in.memory", 10000),
+
     /**
      * Indicates whether the namespace IAM role authorization is enabled
      */
@@ -692,6 +775,39 @@ public enum ConfigurationValue
      */
     HERD_CACHE_MEMORY_STORE_EVICTION_POLICY("herd.cache.memory.store.eviction.policy", "LRU"),
 
+    /**
+     * Determines whether the Hibernate second-level and query caches are enabled for the reference data entities. This value is only read on start-up. The
+     * default is true.
+     */
+    HIBERNATE_SECOND_LEVEL_CACHE_ENABLED("hibernate.second.level.cache.enabled", "true"),
+
+    /**
+     * The time to live in seconds of the reference data entity cache region. This also bounds how stale an entity can be on a herd node when it was updated
+     * outside of herd.
+     */
+    REFERENCE_DATA_CACHE_TIME_TO_LIVE_SECONDS("reference.data.cache.time.to.live.seconds", 300L),
+
+    /**
+     * The max elements in memory of the reference data entity cache region.
+     */
+    REFERENCE_DATA_CACHE_MAX_ELEMENTS_IN_MEMORY("reference.data.cache.max.elements.in.memory", 10000),
+
+    /**
+     * The time to live in seconds of the reference data query cache region.
+     */
+    REFERENCE_DATA_QUERY_CACHE_TIME_TO_LIVE_SECONDS("reference.data.query.cache.time.to.live.seconds", 300L),
+
+    /**
+     * The max elements in memory of the reference data query cache region.
+     */
+    REFERENCE_DATA_QUERY_CACHE_MAX_ELEMENTS_IN_MEMORY("reference.data.query.cache.max.elements.in.memory", 10000),
+
+    /**
+     * The max number of parsed velocity templates kept in memory, so the S3 key prefix and notification message templates are not re-parsed on every
+     * evaluation. This value is only read on start-up.
+     */
+    VELOCITY_TEMPLATE_CACHE_MAX_ELEMENTS_IN_MEMORY("velocity.template.cache.max.elements.in.memory", 1000),
+
     /**
      * The default value for EC2 node IAM profile name when creating EMR cluster.
      */
@@ -717,6 +833,11 @@ public enum ConfigurationValue
      */
     BUSINESS_OBJECT_DATA_GET_ALL_MAX_RESULT_COUNT("business.object.data.get.all.max.result.count", 1_000),
 
+    /**
+     * The maximum number of business object data keys that can be specified in a single business object data destroy collection request.
+     */
+    BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_MAX_KEYS("business.object.data.destroy.collection.max.keys", 100),
+
     /**
      * The default page size for business object data search
      */
@@ -905,6 +1026,34 @@ public enum ConfigurationValue
      */
     ELASTICSEARCH_TAG_SPOT_CHECK_MOST_RECENT_NUMBER("elasticsearch.tag.spot.check.most.recent.number", 10),
 
+    /**
+     * The maximum size in bytes of the documents sent in a single Elasticsearch bulk request when building a search index
+     */
+    ELASTICSEARCH_REINDEX_BULK_REQUEST_MAX_BYTES("elasticsearch.reindex.bulk.request.max.bytes", 5242880),
+
+    /**
+     * The maximum number of Elasticsearch bulk requests in flight at a time when building a search index
+     */
+    ELASTICSEARCH_REINDEX_BULK_REQUEST_THREADS("elasticsearch.reindex.bulk.request.threads", 4),
+
+    /**
+     * The number of threads in the thread pool dedicated to the Elasticsearch bulk requests, shared by all search index builds. Changing this value requires a
+     * server restart.
+     */
+    ELASTICSEARCH_REINDEX_BULK_REQUEST_THREAD_POOL_SIZE("elasticsearch.reindex.bulk.request.thread.pool.size", 8),
+
+    /**
+     * The queue capacity of the thread pool dedicated to the Elasticsearch bulk requests. When the queue is full, the rejected bulk request is sent by the
+     * search index build thread instead. The default of 0 means bulk requests are only handed off to idle threads. Changing this value requires a server
+     * restart.
+     */
+    ELASTICSEARCH_REINDEX_BULK_REQUEST_THREAD_POOL_QUEUE_CAPACITY("elasticsearch.reindex.bulk.request.thread.pool.queue.capacity", 0),
+
+    /**
+     * The refresh interval of a search index while it is being built. The index is built with no replicas, which are restored once the index is built
+     */
+    ELASTICSEARCH_REINDEX_REFRESH_INTERVAL("elasticsearch.reindex.refresh.interval", "30s"),
+
     /**
      * The elasticsearch search domain rest client hostname
      */
@@ -945,6 +1094,28 @@ public enum ConfigurationValue
      */
     ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT("elasticsearch.rest.high.level.client.socket.timeout", 600000),
 
+    /*
+     * The maximum number of pooled connections held by the shared Elasticsearch rest client.
+     */
+    ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL("elasticsearch.rest.high.level.client.max.connections.total", 100),
+
+    /*
+     * The maximum number of pooled connections per route held by the shared Elasticsearch rest client. Since the client connects to a single Elasticsearch
+     * domain endpoint, this usually matches the total maximum number of connections.
+     */
+    ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_PER_ROUTE("elasticsearch.rest.high.level.client.max.connections.per.route", 100),
+
+    /*
+     * The number of I/O reactor dispatch threads used by the shared Elasticsearch rest client. Zero means use the number of available processors.
+     */
+    ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_IO_THREAD_COUNT("elasticsearch.rest.high.level.client.io.thread.count", 0),
+
+    /*
+     * The maximum time in milliseconds an idle pooled connection of the shared Elasticsearch rest client is kept alive. This should be lower than the idle
+     * timeout of the Elasticsearch domain load balancer, so the client never reuses a connection the server side already closed.
+     */
+    ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_KEEP_ALIVE("elasticsearch.rest.high.level.client.keep.alive", 60000),
+
     /**
      * The search index update queue name
      */
@@ -955,6 +1126,19 @@ public enum ConfigurationValue
      */
     SEARCH_INDEX_UPDATE_JMS_LISTENER_ENABLED("search.index.update.jms.listener.enabled", "true"),
 
+    /**
+     * The time window in milliseconds over which the search index update messages are coalesced by document id before being applied as bulk updates. The
+     * JMS listener threads wait for the window, so a message is only acknowledged once its updates are applied. A value of 0 disables coalescing, so each
+     * message is applied as soon as it is received. The default is 500 milliseconds.
+     */
+    SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLISECONDS("search.index.update.coalescing.window.milliseconds", 500),
+
+    /**
+     * The maximum number of pending coalesced search index document updates. When reached, the pending updates are applied without waiting for the coalescing
+     * window to elapse. The default is 500.
+     */
+    SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS("search.index.update.coalescing.max.pending.documents", 500),
+
     /**
      * The name of the Credstash table where credentials are stored.
      */
@@ -1064,6 +1248,42 @@ public enum ConfigurationValue
      */
     S3_BATCH_RESTORE_BACKOFF_PERIOD("s3.batch.restore.backoffPeriod", 30000),
 
+    /**
+     * The maximum number of S3 objects processed concurrently when initiating a restore or checking the restore status of business object data. The
+     * concurrency is lowered automatically while S3 throttles the requests. The default is 10.
+     */
+    S3_RESTORE_MAX_CONCURRENCY("s3.restore.max.concurrency", 10),
+
+    /**
+     * The number of S3 files above which a business object data restore is initiated using S3 Batch Operations even if batch mode is not requested. The
+     * default is 0, which means the restore never switches to batch mode automatically.
+     */
+    S3_RESTORE_BATCH_MODE_FILE_COUNT_THRESHOLD("s3.restore.batch.mode.file.count.threshold", 0),
+
+    /**
+     * The maximum number of S3 objects tagged concurrently during a storage policy transition or a business object data destroy. The concurrency is lowered
+     * automatically while S3 throttles the requests. The default is 10.
+     */
+    S3_TAGGING_MAX_CONCURRENCY("s3.tagging.max.concurrency", 10),
+
+    /**
+     * The maximum number of S3 object tagging requests per second sent by herd to a single S3 bucket. A value of 0 or less disables the rate limit. The
+     * default is 500.
+     */
+    S3_TAGGING_MAX_REQUESTS_PER_SECOND_PER_BUCKET("s3.tagging.max.requests.per.second.per.bucket", 500.0),
+
+    /**
+     * The maximum number of S3 key sub-prefixes (e.g. sub-partition directories) listed concurrently when listing the S3 files of business object data. A
+     * value of 1 or less lists the S3 files sequentially. The default is 4.
+     */
+    S3_DIRECTORY_LISTING_MAX_THREADS("s3.directory.listing.max.threads", 4),
+
+    /**
+     * The number of S3 object versions above which a business object data destroy tags the S3 object versions using S3 Batch Operations even if batch mode is
+     * not requested. The default is 0, which means the destroy never switches to batch mode automatically.
+     */
+    S3_TAGGING_BATCH_MODE_VERSION_COUNT_THRESHOLD("s3.tagging.batch.mode.version.count.threshold", 0),
+
     /**
      * The business object format attribute name for the relational database schema name. The default is "relational.schema.name".
      */
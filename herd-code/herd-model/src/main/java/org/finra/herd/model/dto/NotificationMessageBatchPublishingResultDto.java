@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.model.dto;
+
+/**
+ * Data transfer object that describes the outcome of publishing a batch of notification messages from the database queue.
+ */
+public class NotificationMessageBatchPublishingResultDto
+{
+    /**
+     * The number of notification messages that failed to publish and were left in the database queue.
+     */
+    private int failedMessageCount;
+
+    /**
+     * The id of the last notification message selected from the database queue, or the id passed in by the caller if the queue had no more messages.
+     */
+    private Long lastNotificationMessageId;
+
+    /**
+     * The number of notification messages that were published and removed from the database queue.
+     */
+    private int publishedMessageCount;
+
+    /**
+     * The number of notification messages selected from the database queue, including the ones skipped because they were locked by another herd node.
+     */
+    private int selectedMessageCount;
+
+    /**
+     * Default constructor.
+     */
+    public NotificationMessageBatchPublishingResultDto()
+    {
+        // Empty constructor
+    }
+
+    /**
+     * Fully-initialising value constructor.
+     *
+     * @param lastNotificationMessageId the id of the last notification message selected from the database queue
+     * @param selectedMessageCount the number of notification messages selected from the database queue
+     * @param publishedMessageCount the number of notification messages that were published
+     * @param failedMessageCount the number of notification messages that failed to publish
+     */
+    public NotificationMessageBatchPublishingResultDto(Long lastNotificationMessageId, int selectedMessageCount, int publishedMessageCount,
+        int failedMessageCount)
+    {
+        this.lastNotificationMessageId = lastNotificationMessageId;
+        this.selectedMessageCount = selectedMessageCount;
+        this.publishedMessageCount = publishedMessageCount;
+        this.failedMessageCount = failedMessageCount;
+    }
+
+    public int getFailedMessageCount()
+    {
+        return failedMessageCount;
+    }
+
+    public void setFailedMessageCount(int failedMessageCount)
+    {
+        this.failedMessageCount = failedMessageCount;
+    }
+
+    public Long getLastNotificationMessageId()
+    {
+        return lastNotificationMessageId;
+    }
+
+    public void setLastNotificationMessageId(Long lastNotificationMessageId)
+    {
+        this.lastNotificationMessageId = lastNotificationMessageId;
+    }
+
+    public int getPublishedMessageCount()
+    {
+        return publishedMessageCount;
+    }
+
+    public void setPublishedMessageCount(int publishedMessageCount)
+    {
+        this.publishedMessageCount = publishedMessageCount;
+    }
+
+    public int getSelectedMessageCount()
+    {
+        return selectedMessageCount;
+    }
+
+    public void setSelectedMessageCount(int selectedMessageCount)
+    {
+        this.selectedMessageCount = selectedMessageCount;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass())
+        {
+            return false;
+        }
+
+        NotificationMessageBatchPublishingResultDto that = (NotificationMessageBatchPublishingResultDto) object;
+
+        if (failedMessageCount != that.failedMessageCount)
+        {
+            return false;
+        }
+        if (publishedMessageCount != that.publishedMessageCount)
+        {
+            return false;
+        }
+        if (selectedMessageCount != that.selectedMessageCount)
+        {
+            return false;
+        }
+        return lastNotificationMessageId != null ? lastNotificationMessageId.equals(that.lastNotificationMessageId) : that.lastNotificationMessageId == null;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int result = failedMessageCount;
+        result = 31 * result + (lastNotificationMessageId != null ? lastNotificationMessageId.hashCode() : 0);
+        result = 31 * result + publishedMessageCount;
+        result = 31 * result + selectedMessageCount;
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "NotificationMessageBatchPublishingResultDto{" +
+            "failedMessageCount=" + failedMessageCount +
+            ", lastNotificationMessageId=" + lastNotificationMessageId +
+            ", publishedMessageCount=" + publishedMessageCount +
+            ", selectedMessageCount=" + selectedMessageCount +
+            '}';
+    }
+}
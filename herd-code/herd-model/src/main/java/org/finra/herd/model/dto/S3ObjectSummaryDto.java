@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.model.dto;
+
+/**
+ * Data transfer object that carries the key, the size and the storage class of an S3 object reported by an S3 listing. It is a compact counterpart of the S3
+ * object summary used when streaming large listings, so the bucket name, owner and ETag of every listed S3 object are not kept in memory.
+ */
+public class S3ObjectSummaryDto
+{
+    /**
+     * The S3 object key.
+     */
+    private final String key;
+
+    /**
+     * The S3 object size in bytes.
+     */
+    private final long size;
+
+    /**
+     * The S3 object storage class.
+     */
+    private final String storageClass;
+
+    /**
+     * Fully-initialising value constructor.
+     *
+     * @param key the S3 object key
+     * @param size the S3 object size in bytes
+     * @param storageClass the S3 object storage class
+     */
+    public S3ObjectSummaryDto(String key, long size, String storageClass)
+    {
+        this.key = key;
+        this.size = size;
+        this.storageClass = storageClass;
+    }
+
+    public String getKey()
+    {
+        return key;
+    }
+
+    public long getSize()
+    {
+        return size;
+    }
+
+    public String getStorageClass()
+    {
+        return storageClass;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass())
+        {
+            return false;
+        }
+
+        S3ObjectSummaryDto that = (S3ObjectSummaryDto) object;
+
+        if (size != that.size)
+        {
+            return false;
+        }
+        if (key != null ? !key.equals(that.key) : that.key != null)
+        {
+            return false;
+        }
+        return storageClass != null ? storageClass.equals(that.storageClass) : that.storageClass == null;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int result = key != null ? key.hashCode() : 0;
+        result = 31 * result + (int) (size ^ (size >>> 32));
+        result = 31 * result + (storageClass != null ? storageClass.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "S3ObjectSummaryDto{" +
+            "key='" + key + '\'' +
+            ", size=" + size +
+            ", storageClass='" + storageClass + '\'' +
+            '}';
+    }
+}
@@ -64,6 +64,8 @@ public class SecurityFunctions
 
     public static final String FN_BUSINESS_OBJECT_DATA_DELETE = "FN_BUSINESS_OBJECT_DATA_DELETE";
 
+    public static final String FN_BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_POST = "FN_BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_POST";
+
     public static final String FN_BUSINESS_OBJECT_DATA_DESTROY_POST = "FN_BUSINESS_OBJECT_DATA_DESTROY_POST";
 
     public static final String FN_BUSINESS_OBJECT_DATA_DOWNLOAD_CREDENTIAL_GET = "FN_BUSINESS_OBJECT_DATA_DOWNLOAD_CREDENTIAL_GET";
@@ -72,6 +74,8 @@ public class SecurityFunctions
 
     public static final String FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_POST = "FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_POST";
 
+    public static final String FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_STREAM_POST = "FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_STREAM_POST";
+
     public static final String FN_BUSINESS_OBJECT_DATA_GENERATE_PARTITIONS_POST = "FN_BUSINESS_OBJECT_DATA_GENERATE_PARTITIONS_POST";
 
     public static final String FN_BUSINESS_OBJECT_DATA_GET = "FN_BUSINESS_OBJECT_DATA_GET";
@@ -323,6 +327,8 @@ public class SecurityFunctions
 
     public static final String FN_JOB_DEFINITIONS_PUT = "FN_JOB_DEFINITIONS_PUT";
 
+    public static final String FN_METRICS_GET = "FN_METRICS_GET";
+
     public static final String FN_NAMESPACES_ALL_GET = "FN_NAMESPACES_ALL_GET";
 
     public static final String FN_NAMESPACES_DELETE = "FN_NAMESPACES_DELETE";
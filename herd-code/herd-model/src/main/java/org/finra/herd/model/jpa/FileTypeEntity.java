@@ -20,11 +20,15 @@ import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * A file type.
  */
 @Table(name = "file_type_cd_lk")
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.REFERENCE_DATA)
 public class FileTypeEntity extends AuditableEntity
 {
     /**
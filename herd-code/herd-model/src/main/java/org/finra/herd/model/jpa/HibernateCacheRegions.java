@@ -0,0 +1,37 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.model.jpa;
+
+/**
+ * The Hibernate second-level cache regions used by the herd entities and queries.
+ */
+public final class HibernateCacheRegions
+{
+    /**
+     * The cache region that holds the read-mostly reference data entities (e.g. namespaces, storages, file types and statuses).
+     */
+    public static final String REFERENCE_DATA = "herd_reference_data";
+
+    /**
+     * The query cache region that holds the results of the alternate key lookups of the reference data entities.
+     */
+    public static final String REFERENCE_DATA_QUERY = "herd_reference_data_query";
+
+    private HibernateCacheRegions()
+    {
+        // Prevent classes from instantiating.
+    }
+}
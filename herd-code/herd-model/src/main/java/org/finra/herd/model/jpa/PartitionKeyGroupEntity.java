@@ -26,12 +26,15 @@ import javax.persistence.OrderBy;
 import javax.persistence.Table;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A partition key group.
  */
 @Table(name = PartitionKeyGroupEntity.TABLE_NAME)
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.REFERENCE_DATA)
 public class PartitionKeyGroupEntity extends AuditableEntity
 {
     /**
@@ -25,12 +25,15 @@ import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Attribute associated with a storage.
  */
 @Table(name = StorageAttributeEntity.TABLE_NAME)
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.REFERENCE_DATA)
 public class StorageAttributeEntity extends AuditableEntity
 {
     /**
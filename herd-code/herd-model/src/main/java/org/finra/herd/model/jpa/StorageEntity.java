@@ -28,12 +28,15 @@ import javax.persistence.OrderBy;
 import javax.persistence.Table;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A storage.
  */
 @Table(name = StorageEntity.TABLE_NAME)
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.REFERENCE_DATA)
 public class StorageEntity extends AuditableEntity
 {
     /**
@@ -75,6 +78,7 @@ public class StorageEntity extends AuditableEntity
     @JsonManagedReference
     @OneToMany(mappedBy = "storage", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("name")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.REFERENCE_DATA)
     private Collection<StorageAttributeEntity> attributes;
 
     public String getName()
@@ -20,6 +20,8 @@ import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Type;
 
 /**
@@ -27,6 +29,7 @@ import org.hibernate.annotations.Type;
  */
 @Table(name = "strge_unit_stts_cd_lk")
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.REFERENCE_DATA)
 public class StorageUnitStatusEntity extends AuditableEntity
 {
     // List of common statuses
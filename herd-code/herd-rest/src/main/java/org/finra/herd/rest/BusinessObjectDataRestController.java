@@ -15,6 +15,9 @@
  */
 package org.finra.herd.rest;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -23,7 +26,10 @@ import javax.servlet.http.HttpServletResponse;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -44,6 +50,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataDownloadCredential;
 import org.finra.herd.model.api.xml.BusinessObjectDataInvalidateUnregisteredRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataInvalidateUnregisteredResponse;
@@ -78,6 +86,14 @@ import org.finra.herd.ui.constants.UiConstants;
 @Api(tags = "Business Object Data")
 public class BusinessObjectDataRestController extends HerdBaseController
 {
+    /**
+     * The comment that ends a streamed DDL when the DDL generation fails after a part of the DDL was already sent. The error message follows the marker on the
+     * same line.
+     */
+    public static final String DDL_STREAM_ERROR_MARKER = "-- ERROR: The DDL generation failed and the DDL is incomplete.";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BusinessObjectDataRestController.class);
+
     @Autowired
     private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
 
@@ -374,6 +390,24 @@ public class BusinessObjectDataRestController extends HerdBaseController
                 businessObjectDataVersion), batchMode);
     }
 
+    /**
+     * Initiates destruction process for a collection of existing business object data. Each business object data is destroyed independently, so the response
+     * reports the resulting status or the error message for every requested business object data key. This endpoint to be used to delete records that are
+     * selected and approved for destruction as per retention information specified for the relative business object format. <p> Requires WRITE permission on
+     * ALL namespaces </p>
+     *
+     * @param businessObjectDataDestroyCollectionRequest the business object data destroy collection request
+     *
+     * @return the business object data destroy collection response
+     */
+    @RequestMapping(value = "/businessObjectData/destroyCollection", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_POST)
+    public BusinessObjectDataDestroyCollectionResponse destroyBusinessObjectDataCollection(
+        @RequestBody BusinessObjectDataDestroyCollectionRequest businessObjectDataDestroyCollectionRequest)
+    {
+        return businessObjectDataService.destroyBusinessObjectDataCollection(businessObjectDataDestroyCollectionRequest);
+    }
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
      * specified storage. <p> Requires READ permission on namespace </p>
@@ -389,6 +423,49 @@ public class BusinessObjectDataRestController extends HerdBaseController
         return businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest);
     }
 
+    /**
+     * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage. The DDL is streamed as plain text while it gets generated, so the DDL for a very large number of partitions is never held in memory.
+     * An error that occurs before any part of the DDL was sent is returned as a regular error response. Since the HTTP status can not be changed once the DDL
+     * started streaming, an error that occurs afterwards ends the DDL with a "-- ERROR: The DDL generation failed and the DDL is incomplete." comment line
+     * followed by the error message, so clients must check the last line of the DDL for this marker. <p> Requires READ permission on namespace </p>
+     *
+     * @param businessObjectDataDdlRequest the business object data DDL request
+     * @param httpServletResponse the HTTP servlet response to stream the DDL to
+     *
+     * @throws IOException if the HTTP servlet response could not be written to
+     */
+    @RequestMapping(value = "/businessObjectData/generateDdlStream", method = RequestMethod.POST, consumes = {"application/xml", "application/json"},
+        produces = MediaType.TEXT_PLAIN_VALUE)
+    @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_STREAM_POST)
+    public void generateBusinessObjectDataDdlStream(@RequestBody BusinessObjectDataDdlRequest businessObjectDataDdlRequest,
+        HttpServletResponse httpServletResponse) throws IOException
+    {
+        httpServletResponse.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        httpServletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = httpServletResponse.getWriter();
+
+        try
+        {
+            businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest, writer);
+        }
+        catch (RuntimeException e)
+        {
+            // Discard the buffered part of the DDL and let the error be returned as an error response, if nothing was sent yet.
+            if (!httpServletResponse.isCommitted())
+            {
+                httpServletResponse.resetBuffer();
+                throw e;
+            }
+
+            // Otherwise, end the DDL with the error marker, so the client can tell the DDL is incomplete.
+            LOGGER.error("Failed to generate the DDL after a part of it was streamed. businessObjectDataDdlRequest={}", businessObjectDataDdlRequest, e);
+            writer.write('\n' + DDL_STREAM_ERROR_MARKER + ' ' + String.valueOf(e.getMessage()).replaceAll("\\s+", " ") + '\n');
+        }
+
+        httpServletResponse.flushBuffer();
+    }
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a collection of business object data in the specified
      * storage. <p> Requires READ permission on ALL namespaces </p>
@@ -792,12 +869,17 @@ public class BusinessObjectDataRestController extends HerdBaseController
      * returned. For the first page, this value would be "1"</li> <li>Paging-PageSize - the HTTP header for the current page size limit. This is based on what
      * is specified in the request "pageSize" query parameter</li> <li>Paging-TotalRecordsOnPage - the HTTP header for the total number of records returned on
      * the current page. This could be less than the "pageSize" query parameter on the last page of data</li> <li>Paging-TotalRecordCount - the HTTP header for
-     * the total number of records that would be returned across all pages. This is basically a "select count" query</li> </ul> </p>
+     * the total number of records that would be returned across all pages. This is basically a "select count" query</li> </ul> </p> <p> When the "pageToken"
+     * query parameter is specified, keyset pagination is used instead: results are ordered by business object data id, the Paging-PageNum,
+     * Paging-PageCount and Paging-TotalRecordCount HTTP headers are not returned, and the response contains a "nextPageToken" element when more results
+     * exist. Keyset pagination can not be used with page numbers or along with the latest valid version filter, and its page size can not exceed the maximum
+     * number of business object data search results. </p>
      *
      * @param pageNum the page number. If this parameter is specified, results contain the appropriate page that is specified. Page numbers are one-based - that
      * is the first page number is one. Default value is 1
      * @param pageSize the page size. If pageSize parameter is specified, results contain that number of business object data (unless it is the end of the
      * result set). Default value is 1000
+     * @param pageToken the "nextPageToken" returned with the previous page of results. Specify an empty value to get the first page using keyset pagination
      * @param businessObjectDataSearchRequest the business object data search request
      * @param httpServletResponse the HTTP servlet response
      *
@@ -806,15 +888,22 @@ public class BusinessObjectDataRestController extends HerdBaseController
     @RequestMapping(value = "/businessObjectData/search", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
     @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_SEARCH_POST)
     public BusinessObjectDataSearchResult searchBusinessObjectData(@RequestParam(value = "pageNum", required = false) Integer pageNum,
-        @RequestParam(value = "pageSize", required = false) Integer pageSize, @RequestBody BusinessObjectDataSearchRequest businessObjectDataSearchRequest,
-        HttpServletResponse httpServletResponse)
+        @RequestParam(value = "pageSize", required = false) Integer pageSize, @RequestParam(value = "pageToken", required = false) String pageToken,
+        @RequestBody BusinessObjectDataSearchRequest businessObjectDataSearchRequest, HttpServletResponse httpServletResponse)
     {
         // Search business object data.
         BusinessObjectDataSearchResultPagingInfoDto businessObjectDataSearchResultPagingInfoDto =
-            businessObjectDataService.searchBusinessObjectData(pageNum, pageSize, businessObjectDataSearchRequest);
+            businessObjectDataService.searchBusinessObjectData(pageNum, pageSize, pageToken, businessObjectDataSearchRequest);
 
         // Add HTTP headers to HTTP servlet response per paging information.
-        addPagingHttpHeaders(httpServletResponse, businessObjectDataSearchResultPagingInfoDto);
+        if (pageToken != null)
+        {
+            addKeysetPagingHttpHeaders(httpServletResponse, businessObjectDataSearchResultPagingInfoDto);
+        }
+        else
+        {
+            addPagingHttpHeaders(httpServletResponse, businessObjectDataSearchResultPagingInfoDto);
+        }
 
         // Create and return the HTTP response.
         return businessObjectDataSearchResultPagingInfoDto.getBusinessObjectDataSearchResult();
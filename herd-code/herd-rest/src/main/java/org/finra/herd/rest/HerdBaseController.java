@@ -108,6 +108,20 @@ public abstract class HerdBaseController
         httpServletResponse.setHeader(HTTP_HEADER_PAGING_MAX_RESULTS_PER_PAGE, String.valueOf(pagingInfo.getMaxResultsPerPage()));
     }
 
+    /**
+     * Sets HTTP headers to HTTP servlet response per specified keyset paging information. The page number, page count and total record count are not
+     * computed with keyset pagination, so their headers are not returned.
+     *
+     * @param httpServletResponse the HTTP servlet response
+     * @param pagingInfo the keyset paging information DTO
+     */
+    protected void addKeysetPagingHttpHeaders(HttpServletResponse httpServletResponse, PagingInfoDto pagingInfo)
+    {
+        httpServletResponse.setHeader(HTTP_HEADER_PAGING_PAGE_SIZE, String.valueOf(pagingInfo.getPageSize()));
+        httpServletResponse.setHeader(HTTP_HEADER_PAGING_TOTAL_RECORDS_ON_PAGE, String.valueOf(pagingInfo.getTotalRecordsOnPage()));
+        httpServletResponse.setHeader(HTTP_HEADER_PAGING_MAX_RESULTS_PER_PAGE, String.valueOf(pagingInfo.getMaxResultsPerPage()));
+    }
+
     /**
      * Parses a date-time from the given text, returning a new DateTime.
      *
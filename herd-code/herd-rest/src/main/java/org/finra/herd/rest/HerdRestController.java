@@ -18,6 +18,7 @@ package org.finra.herd.rest;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.finra.herd.core.helper.MethodMetricsHelper;
 import org.finra.herd.model.api.xml.BuildInformation;
 import org.finra.herd.model.api.xml.TimeoutValidationResponse;
 import org.finra.herd.model.dto.SecurityFunctions;
@@ -40,6 +42,10 @@ public class HerdRestController extends HerdBaseController
 {
     @Autowired
     private BuildInformation buildInformation;
+
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
     private final static Integer MAX_WAIT_FOR_SECONDS = 1800;
 
     /**
@@ -55,6 +61,20 @@ public class HerdRestController extends HerdBaseController
         return buildInformation;
     }
 
+    /**
+     * Gets the latency histograms, error counts and in-flight counts of the herd service, DAO and external operations methods called on this herd node in the
+     * Prometheus text exposition format.
+     *
+     * @return the metrics in the Prometheus text exposition format
+     */
+    @ApiOperation(value = "Gets the method metrics of this herd node in the Prometheus text format")
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET, produces = MediaType.TEXT_PLAIN_VALUE)
+    @Secured(SecurityFunctions.FN_METRICS_GET)
+    public String getMetrics()
+    {
+        return methodMetricsHelper.getPrometheusMetrics();
+    }
+
     /**
      * Validates infrastructure timeouts.
      * @param waitForSeconds number of seconds to wait that falls between 0 and 1800 inclusively
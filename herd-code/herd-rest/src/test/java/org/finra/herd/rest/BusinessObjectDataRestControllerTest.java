@@ -16,11 +16,18 @@
 package org.finra.herd.rest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,6 +42,7 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
 
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.model.api.xml.Attribute;
@@ -49,6 +57,9 @@ import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionResponse;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionResponse;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDownloadCredential;
 import org.finra.herd.model.api.xml.BusinessObjectDataInvalidateUnregisteredRequest;
@@ -268,6 +279,38 @@ public class BusinessObjectDataRestControllerTest extends AbstractRestTest
         assertEquals(businessObjectData, result);
     }
 
+    @Test
+    public void testDestroyBusinessObjectDataCollection()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Create a business object data destroy collection request.
+        BusinessObjectDataDestroyCollectionRequest businessObjectDataDestroyCollectionRequest =
+            new BusinessObjectDataDestroyCollectionRequest(Collections.singletonList(businessObjectDataKey), BATCH_DESTROY_MODE);
+
+        // Create a business object data destroy collection response.
+        BusinessObjectDataDestroyCollectionResponse businessObjectDataDestroyCollectionResponse = new BusinessObjectDataDestroyCollectionResponse(
+            Collections.singletonList(new BusinessObjectDataDestroyResult(businessObjectDataKey, BDATA_STATUS, NO_ERROR_MESSAGE)));
+
+        // Mock the external calls.
+        when(businessObjectDataService.destroyBusinessObjectDataCollection(businessObjectDataDestroyCollectionRequest))
+            .thenReturn(businessObjectDataDestroyCollectionResponse);
+
+        // Call the method under test.
+        BusinessObjectDataDestroyCollectionResponse result =
+            businessObjectDataRestController.destroyBusinessObjectDataCollection(businessObjectDataDestroyCollectionRequest);
+
+        // Verify the external calls.
+        verify(businessObjectDataService).destroyBusinessObjectDataCollection(businessObjectDataDestroyCollectionRequest);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(businessObjectDataDestroyCollectionResponse, result);
+    }
+
     @Test
     public void testGenerateBusinessObjectDataDdl()
     {
@@ -291,6 +334,107 @@ public class BusinessObjectDataRestControllerTest extends AbstractRestTest
         assertEquals(businessObjectDataDdl, result);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataDdlStream() throws IOException
+    {
+        // Create a business object data ddl request.
+        BusinessObjectDataDdlRequest businessObjectDataDdlRequest = new BusinessObjectDataDdlRequest();
+
+        // Create a mock HTTP servlet response along with its writer.
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+        PrintWriter printWriter = new PrintWriter(new StringWriter());
+
+        // Mock the external calls.
+        when(httpServletResponse.getWriter()).thenReturn(printWriter);
+
+        // Call the method under test.
+        businessObjectDataRestController.generateBusinessObjectDataDdlStream(businessObjectDataDdlRequest, httpServletResponse);
+
+        // Verify the external calls.
+        verify(httpServletResponse).setContentType(MediaType.TEXT_PLAIN_VALUE);
+        verify(httpServletResponse).setCharacterEncoding(StandardCharsets.UTF_8.name());
+        verify(httpServletResponse).getWriter();
+        verify(businessObjectDataService).generateBusinessObjectDataDdl(businessObjectDataDdlRequest, printWriter);
+        verify(httpServletResponse).flushBuffer();
+        verifyNoMoreInteractions(httpServletResponse);
+        verifyNoMoreInteractionsHelper();
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlStreamErrorAfterResponseCommitted() throws IOException
+    {
+        // Create a business object data ddl request.
+        BusinessObjectDataDdlRequest businessObjectDataDdlRequest = new BusinessObjectDataDdlRequest();
+
+        // Create a mock HTTP servlet response along with its writer.
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+        StringWriter stringWriter = new StringWriter();
+        PrintWriter printWriter = new PrintWriter(stringWriter);
+
+        // Mock the external calls. The DDL generation fails after a part of the DDL was sent.
+        when(httpServletResponse.getWriter()).thenReturn(printWriter);
+        when(httpServletResponse.isCommitted()).thenReturn(true);
+        doThrow(new IllegalStateException(ERROR_MESSAGE + "\n" + ERROR_MESSAGE)).when(businessObjectDataService)
+            .generateBusinessObjectDataDdl(businessObjectDataDdlRequest, printWriter);
+
+        // Call the method under test.
+        businessObjectDataRestController.generateBusinessObjectDataDdlStream(businessObjectDataDdlRequest, httpServletResponse);
+
+        // Verify the external calls.
+        verify(httpServletResponse).setContentType(MediaType.TEXT_PLAIN_VALUE);
+        verify(httpServletResponse).setCharacterEncoding(StandardCharsets.UTF_8.name());
+        verify(httpServletResponse).getWriter();
+        verify(businessObjectDataService).generateBusinessObjectDataDdl(businessObjectDataDdlRequest, printWriter);
+        verify(httpServletResponse).isCommitted();
+        verify(httpServletResponse).flushBuffer();
+        verifyNoMoreInteractions(httpServletResponse);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that the DDL ends with the error marker followed by the error message on the same line.
+        printWriter.flush();
+        assertEquals("\n" + BusinessObjectDataRestController.DDL_STREAM_ERROR_MARKER + " " + ERROR_MESSAGE + " " + ERROR_MESSAGE + "\n",
+            stringWriter.toString());
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlStreamErrorBeforeResponseCommitted() throws IOException
+    {
+        // Create a business object data ddl request.
+        BusinessObjectDataDdlRequest businessObjectDataDdlRequest = new BusinessObjectDataDdlRequest();
+
+        // Create a mock HTTP servlet response along with its writer.
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+        PrintWriter printWriter = new PrintWriter(new StringWriter());
+
+        // Mock the external calls. The DDL generation fails before any part of the DDL was sent.
+        IllegalArgumentException exception = new IllegalArgumentException(ERROR_MESSAGE);
+        when(httpServletResponse.getWriter()).thenReturn(printWriter);
+        when(httpServletResponse.isCommitted()).thenReturn(false);
+        doThrow(exception).when(businessObjectDataService).generateBusinessObjectDataDdl(businessObjectDataDdlRequest, printWriter);
+
+        // Try to call the method under test.
+        try
+        {
+            businessObjectDataRestController.generateBusinessObjectDataDdlStream(businessObjectDataDdlRequest, httpServletResponse);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Validate that the error is propagated to be returned as an error response.
+            assertSame(exception, e);
+        }
+
+        // Verify the external calls.
+        verify(httpServletResponse).setContentType(MediaType.TEXT_PLAIN_VALUE);
+        verify(httpServletResponse).setCharacterEncoding(StandardCharsets.UTF_8.name());
+        verify(httpServletResponse).getWriter();
+        verify(businessObjectDataService).generateBusinessObjectDataDdl(businessObjectDataDdlRequest, printWriter);
+        verify(httpServletResponse).isCommitted();
+        verify(httpServletResponse).resetBuffer();
+        verifyNoMoreInteractions(httpServletResponse);
+        verifyNoMoreInteractionsHelper();
+    }
+
     @Test
     public void testGenerateBusinessObjectDataPartitions()
     {
@@ -678,15 +822,15 @@ public class BusinessObjectDataRestControllerTest extends AbstractRestTest
         HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
 
         // Mock the external calls.
-        when(businessObjectDataService.searchBusinessObjectData(PAGE_NUMBER_ONE, PAGE_SIZE_ONE_THOUSAND, businessObjectDataSearchRequest))
+        when(businessObjectDataService.searchBusinessObjectData(PAGE_NUMBER_ONE, PAGE_SIZE_ONE_THOUSAND, NO_PAGE_TOKEN, businessObjectDataSearchRequest))
             .thenReturn(businessObjectDataSearchResultPagingInfoDto);
 
         // Call the method under test.
         BusinessObjectDataSearchResult result = businessObjectDataRestController
-            .searchBusinessObjectData(PAGE_NUMBER_ONE, PAGE_SIZE_ONE_THOUSAND, businessObjectDataSearchRequest, httpServletResponse);
+            .searchBusinessObjectData(PAGE_NUMBER_ONE, PAGE_SIZE_ONE_THOUSAND, NO_PAGE_TOKEN, businessObjectDataSearchRequest, httpServletResponse);
 
         // Verify the external calls.
-        verify(businessObjectDataService).searchBusinessObjectData(PAGE_NUMBER_ONE, PAGE_SIZE_ONE_THOUSAND, businessObjectDataSearchRequest);
+        verify(businessObjectDataService).searchBusinessObjectData(PAGE_NUMBER_ONE, PAGE_SIZE_ONE_THOUSAND, NO_PAGE_TOKEN, businessObjectDataSearchRequest);
         verifyNoMoreInteractionsHelper();
 
         // Verify interactions with the mocked objects.
@@ -702,6 +846,42 @@ public class BusinessObjectDataRestControllerTest extends AbstractRestTest
         assertEquals(businessObjectDataSearchResultPagingInfoDto.getBusinessObjectDataSearchResult(), result);
     }
 
+    @Test
+    public void testSearchBusinessObjectDataWithPageToken()
+    {
+        // Create a business object data search request.
+        BusinessObjectDataSearchRequest businessObjectDataSearchRequest = new BusinessObjectDataSearchRequest();
+
+        // Create a business object data search response with keyset paging information, that has no page number, page count, and total record count.
+        BusinessObjectDataSearchResultPagingInfoDto businessObjectDataSearchResultPagingInfoDto =
+            new BusinessObjectDataSearchResultPagingInfoDto(null, Long.valueOf(PAGE_SIZE_ONE_THOUSAND), null, TOTAL_RECORDS_ON_PAGE, null,
+                MAX_RESULTS_PER_PAGE, new BusinessObjectDataSearchResult(new ArrayList<>(), PAGE_TOKEN));
+
+        // Create a mocked HTTP servlet response.
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+
+        // Mock the external calls.
+        when(businessObjectDataService.searchBusinessObjectData(null, PAGE_SIZE_ONE_THOUSAND, PAGE_TOKEN, businessObjectDataSearchRequest))
+            .thenReturn(businessObjectDataSearchResultPagingInfoDto);
+
+        // Call the method under test.
+        BusinessObjectDataSearchResult result = businessObjectDataRestController
+            .searchBusinessObjectData(null, PAGE_SIZE_ONE_THOUSAND, PAGE_TOKEN, businessObjectDataSearchRequest, httpServletResponse);
+
+        // Verify the external calls.
+        verify(businessObjectDataService).searchBusinessObjectData(null, PAGE_SIZE_ONE_THOUSAND, PAGE_TOKEN, businessObjectDataSearchRequest);
+        verifyNoMoreInteractionsHelper();
+
+        // Verify that only the paging headers with values are set.
+        verify(httpServletResponse).setHeader(HerdBaseController.HTTP_HEADER_PAGING_PAGE_SIZE, String.valueOf(PAGE_SIZE_ONE_THOUSAND));
+        verify(httpServletResponse).setHeader(HerdBaseController.HTTP_HEADER_PAGING_TOTAL_RECORDS_ON_PAGE, String.valueOf(TOTAL_RECORDS_ON_PAGE));
+        verify(httpServletResponse).setHeader(HerdBaseController.HTTP_HEADER_PAGING_MAX_RESULTS_PER_PAGE, String.valueOf(MAX_RESULTS_PER_PAGE));
+        verifyNoMoreInteractions(httpServletResponse);
+
+        // Validate the results.
+        assertEquals(businessObjectDataSearchResultPagingInfoDto.getBusinessObjectDataSearchResult(), result);
+    }
+
     @Test
     public void testUpdateBusinessObjectDataAttributes()
     {
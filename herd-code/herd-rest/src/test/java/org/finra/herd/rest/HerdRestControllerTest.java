@@ -18,6 +18,9 @@ package org.finra.herd.rest;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,6 +32,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.core.helper.MethodMetricsHelper;
 import org.finra.herd.model.api.xml.BuildInformation;
 import org.finra.herd.model.api.xml.TimeoutValidationResponse;
 
@@ -43,6 +47,9 @@ public class HerdRestControllerTest extends AbstractRestTest
     @InjectMocks
     private HerdRestController herdRestController;
 
+    @Mock
+    private MethodMetricsHelper methodMetricsHelper;
+
     @Before
     public void before()
     {
@@ -59,6 +66,23 @@ public class HerdRestControllerTest extends AbstractRestTest
         assertEquals(buildInformation, result);
     }
 
+    @Test
+    public void testGetMetrics()
+    {
+        // Mock the external calls.
+        when(methodMetricsHelper.getPrometheusMetrics()).thenReturn(STRING_VALUE);
+
+        // Call the method under test.
+        String result = herdRestController.getMetrics();
+
+        // Verify the external calls.
+        verify(methodMetricsHelper).getPrometheusMetrics();
+        verifyNoMoreInteractions(methodMetricsHelper);
+
+        // Validate the results.
+        assertEquals(STRING_VALUE, result);
+    }
+
     @Test
     public void testGetTimeoutValidation() throws InterruptedException
     {
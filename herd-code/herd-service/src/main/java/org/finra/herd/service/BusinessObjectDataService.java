@@ -15,6 +15,8 @@
  */
 package org.finra.herd.service;
 
+import java.io.Writer;
+
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataAttributesUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailability;
@@ -26,6 +28,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataInvalidateUnregisteredRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataInvalidateUnregisteredResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
@@ -99,6 +103,16 @@ public interface BusinessObjectDataService
      */
     BusinessObjectData destroyBusinessObjectData(BusinessObjectDataKey businessObjectDataKey, Boolean batchMode);
 
+    /**
+     * Initiates destruction process for a collection of existing business object data. Each business object data is destroyed independently, so a failure to
+     * destroy one business object data does not prevent the rest of the collection from being destroyed.
+     *
+     * @param request the business object data destroy collection request
+     *
+     * @return the business object data destroy collection response that contains one destroy result per requested business object data key
+     */
+    BusinessObjectDataDestroyCollectionResponse destroyBusinessObjectDataCollection(BusinessObjectDataDestroyCollectionRequest request);
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
      * specified storage. This method starts a new transaction.
@@ -109,6 +123,15 @@ public interface BusinessObjectDataService
      */
     BusinessObjectDataDdl generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest businessObjectDataDdlRequest);
 
+    /**
+     * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage, and streams it to the specified writer as it gets generated. This method starts a new transaction.
+     *
+     * @param businessObjectDataDdlRequest the business object data DDL request
+     * @param writer the writer to stream the DDL to
+     */
+    void generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest businessObjectDataDdlRequest, Writer writer);
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a collection of business object data in the specified
      * storages. This method starts a new transaction.
@@ -219,6 +242,22 @@ public interface BusinessObjectDataService
      */
     BusinessObjectDataSearchResultPagingInfoDto searchBusinessObjectData(Integer pageNum, Integer pageSize, BusinessObjectDataSearchRequest request);
 
+    /**
+     * Search business object data based on the request. When a page token is specified, keyset pagination is used instead of page numbers: the results are
+     * ordered by business object data id, the total record count is not computed, and the search result contains a token to get the next page of results.
+     *
+     * @param pageNum if pageNum parameter is specified, results contain the appropriate page specified. Page numbers are one-based - that is the first page
+     * number is one. Must not be specified together with a page token.
+     * @param pageSize if pageSize parameter is specified, results contain that number of business object data (unless it is the end of the result set).
+     * @param pageToken the token returned with the previous page of results, may be blank to get the first page using keyset pagination or null to use page
+     * numbers
+     * @param request search request
+     *
+     * @return business data search result with the paging information
+     */
+    BusinessObjectDataSearchResultPagingInfoDto searchBusinessObjectData(Integer pageNum, Integer pageSize, String pageToken,
+        BusinessObjectDataSearchRequest request);
+
     /**
      * Updates attributes for business object data.
      *
@@ -16,6 +16,7 @@
 package org.finra.herd.service;
 
 import org.finra.herd.model.dto.NotificationMessage;
+import org.finra.herd.model.dto.NotificationMessageBatchPublishingResultDto;
 
 /**
  * A service that publishes notification messages.
@@ -42,4 +43,16 @@ public interface NotificationMessagePublishingService
      * @return true if notification message was successfully published and false otherwise
      */
     public boolean publishOldestNotificationMessageFromDatabaseQueue();
+
+    /**
+     * Publishes and removes from the database queue a batch of the oldest notification messages. Only messages with ids greater than the specified
+     * notification message id are selected. Messages locked by another herd node are skipped, and messages that fail to publish are left in the database
+     * queue.
+     *
+     * @param lastNotificationMessageId the id of the last notification message already processed by the caller, may be null
+     * @param maxMessages the maximum number of notification messages to select from the database queue
+     *
+     * @return the result of publishing the batch of notification messages
+     */
+    public NotificationMessageBatchPublishingResultDto publishOldestNotificationMessagesFromDatabaseQueue(Long lastNotificationMessageId, int maxMessages);
 }
@@ -16,12 +16,14 @@
 package org.finra.herd.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 
 /**
  * A service for Amazon AWS S3.
@@ -125,6 +127,17 @@ public interface S3Service
      */
     List<S3ObjectSummary> listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
 
+    /**
+     * Streams all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name) to the specified consumer without holding the listing in memory.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 objects to get
+     * listed. More than one max thread lets the sub-prefixes get listed in parallel.
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories.
+     * @param s3ObjectConsumer the consumer of the listed S3 objects represented by their keys, sizes and storage classes
+     */
+    void streamDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers,
+        Consumer<S3ObjectSummaryDto> s3ObjectConsumer);
+
     /**
      * Uploads a local directory of files into S3.
      *
@@ -15,20 +15,18 @@
 */
 package org.finra.herd.service.advice;
 
-import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang3.time.StopWatch;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import org.finra.herd.core.HerdDateUtils;
-import org.finra.herd.core.SuppressLogging;
+import org.finra.herd.core.helper.MethodMetricsHelper;
 
 @Component
 @Aspect
@@ -38,8 +36,11 @@ public class StopWatchAdvice extends AbstractServiceAdvice
     // The logger name is purposefully using the legacy name of "StopWatchAdvice" due to external monitoring depending on the legacy name.
     private static final Logger LOGGER = LoggerFactory.getLogger("org.finra.herd.core.StopWatchAdvice");
 
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
     /**
-     * Around advice that logs methods times for all service methods.
+     * Around advice that records the metrics and logs methods times for all service methods.
      *
      * @param pjp the proceeding join point.
      *
@@ -49,41 +50,31 @@ public class StopWatchAdvice extends AbstractServiceAdvice
     @Around("serviceMethods()")
     public Object logMethodTime(ProceedingJoinPoint pjp) throws Throwable
     {
-        // Get the target class being called.
-        Class<?> targetClass = pjp.getTarget().getClass();
+        // Get the metrics of the target method. The metrics also cache whether the class or method is suppressing logging.
+        MethodMetricsHelper.MethodMetrics methodMetrics = methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.SERVICE_METHOD_CATEGORY, pjp);
 
-        // Get the target method being called.
-        MethodSignature targetMethodSignature = (MethodSignature) pjp.getSignature();
-        Method targetMethod = targetMethodSignature.getMethod();
-        if (targetMethod.getDeclaringClass().isInterface())
+        // Proceed to the join point (i.e. call the method and let it return) while recording the method metrics.
+        long startTime = methodMetrics.start();
+        Object returnValue;
+        try
         {
-            // Get the underlying implementation if we are given an interface.
-            targetMethod = pjp.getTarget().getClass().getMethod(pjp.getSignature().getName(), targetMethod.getParameterTypes());
+            returnValue = pjp.proceed();
         }
-
-        // Only keep a stop watch if the class and method aren't suppressing logging and the log level is info.
-        if ((AnnotationUtils.findAnnotation(targetClass, SuppressLogging.class) == null) &&
-            (AnnotationUtils.findAnnotation(targetMethod, SuppressLogging.class) == null) && (LOGGER.isInfoEnabled()))
+        catch (Throwable e)
         {
-            // Start the stop watch.
-            StopWatch stopWatch = new StopWatch();
-            stopWatch.start();
-
-            // Proceed to the join point (i.e. call the method and let it return).
-            Object returnValue = pjp.proceed();
-
-            // Log the duration.
-            long durationMilliseconds = stopWatch.getTime();
-            LOGGER.info("javaMethod=\"{}.{}\" javaMethodDurationTimeInMilliseconds={} javaMethodDurationTimeFormatted=\"{}\"", targetClass.getName(),
-                targetMethodSignature.getName(), durationMilliseconds, HerdDateUtils.formatDuration(durationMilliseconds));
-
-            // Return the method return value.
-            return returnValue;
+            methodMetrics.stop(startTime, true);
+            throw e;
         }
-        else
+        long durationMilliseconds = TimeUnit.NANOSECONDS.toMillis(methodMetrics.stop(startTime, false));
+
+        // Only log the duration if the class and method aren't suppressing logging and the log level is info.
+        if (!methodMetrics.isSuppressLogging() && LOGGER.isInfoEnabled())
         {
-            // Invoke the method normally.
-            return pjp.proceed();
+            LOGGER.info("javaMethod=\"{}.{}\" javaMethodDurationTimeInMilliseconds={} javaMethodDurationTimeFormatted=\"{}\"", methodMetrics.getClassName(),
+                methodMetrics.getMethodName(), durationMilliseconds, HerdDateUtils.formatDuration(durationMilliseconds));
         }
+
+        // Return the method return value.
+        return returnValue;
     }
 }
@@ -65,6 +65,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
@@ -176,6 +177,44 @@ public class ServiceSpringModuleConfig
         return taskExecutor;
     }
 
+    /**
+     * The task executor dedicated to the discovery of unregistered sub-partitions. Its queue is bounded, so work it rejects can be done by the request thread
+     * instead of waiting behind the other asynchronous tasks.
+     *
+     * @return the sub-partition discovery task executor
+     */
+    @Bean
+    public AsyncTaskExecutor ddlSubPartitionDiscoveryTaskExecutor()
+    {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        int poolSize = configurationHelper.getProperty(ConfigurationValue.DDL_SUB_PARTITION_DISCOVERY_THREAD_POOL_SIZE, Integer.class);
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor
+            .setQueueCapacity(configurationHelper.getProperty(ConfigurationValue.DDL_SUB_PARTITION_DISCOVERY_THREAD_POOL_QUEUE_CAPACITY, Integer.class));
+        taskExecutor.setThreadNamePrefix("ddlSubPartitionDiscovery-");
+        return taskExecutor;
+    }
+
+    /**
+     * The task executor dedicated to the Elasticsearch bulk requests sent while building a search index. Its queue is bounded, so a bulk request it rejects
+     * can be sent by the search index build thread, which itself runs on the core asynchronous task executor, instead of waiting behind other tasks there.
+     *
+     * @return the search index bulk request task executor
+     */
+    @Bean
+    public AsyncTaskExecutor searchIndexBulkRequestTaskExecutor()
+    {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        int poolSize = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_THREAD_POOL_SIZE, Integer.class);
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor
+            .setQueueCapacity(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_THREAD_POOL_QUEUE_CAPACITY, Integer.class));
+        taskExecutor.setThreadNamePrefix("searchIndexBulkRequest-");
+        return taskExecutor;
+    }
+
     /**
      * Returns an Activiti Async executor that uses our configured task executor.
      *
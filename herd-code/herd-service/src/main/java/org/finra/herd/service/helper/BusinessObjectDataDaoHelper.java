@@ -25,7 +25,6 @@ import java.util.Map;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -1040,7 +1039,7 @@ public class BusinessObjectDataDaoHelper
                 params = getFileValidationParams(storageEntity, expectedS3KeyPrefix, storageUnitEntity, validatePathPrefix);
 
                 // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-                actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3Service.listDirectory(params, true));
+                actualS3Keys = storageFileHelper.getStorageFilesMapFromS3(params);
             }
 
             // If the validate path prefix flag is configured, ensure that there are no storage files already registered in this
@@ -1170,15 +1169,15 @@ public class BusinessObjectDataDaoHelper
         // Since S3 key prefix represents the directory, we add a trailing '/' character to it, unless it is already present.
         params.setS3KeyPrefix(StringUtils.appendIfMissing(s3KeyPrefix, "/"));
         // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-        List<S3ObjectSummary> s3ObjectSummaries = s3Service.listDirectory(params, true);
+        Map<String, StorageFile> storageFiles = storageFileHelper.getStorageFilesMapFromS3(params);
 
         // Fail registration if no storage files were discovered.
-        if (CollectionUtils.isEmpty(s3ObjectSummaries))
+        if (storageFiles.isEmpty())
         {
             throw new ObjectNotFoundException(String.format("Found no files at \"s3://%s/%s\" location.", params.getS3BucketName(), params.getS3KeyPrefix()));
         }
 
-        return storageFileHelper.createStorageFilesFromS3ObjectSummaries(s3ObjectSummaries);
+        return new ArrayList<>(storageFiles.values());
     }
 
     /**
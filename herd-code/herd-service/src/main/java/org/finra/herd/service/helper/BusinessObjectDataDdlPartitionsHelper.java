@@ -24,9 +24,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -37,10 +40,16 @@ import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.core.HerdStringUtils;
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.StorageFileDao;
@@ -73,6 +82,8 @@ import org.finra.herd.model.jpa.StoragePlatformEntity;
 @Component
 public class BusinessObjectDataDdlPartitionsHelper
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BusinessObjectDataDdlPartitionsHelper.class);
+
     /**
      * The partition key value for business object data without partitioning.
      */
@@ -116,6 +127,9 @@ public class BusinessObjectDataDdlPartitionsHelper
     @Autowired
     private ConfigurationHelper configurationHelper;
 
+    @Autowired
+    private AsyncTaskExecutor ddlSubPartitionDiscoveryTaskExecutor;
+
     @Autowired
     private S3KeyPrefixHelper s3KeyPrefixHelper;
 
@@ -176,15 +190,13 @@ public class BusinessObjectDataDdlPartitionsHelper
      * @param businessObjectDataStatusEntity the business object data status for available business object data
      * @param storageNames the list of storage names
      * @param requestedStorageEntities the list of storage entities per storage names specified in the request
-     * @param cachedStorageEntities the map of storage names in upper case to the relative storage entities
-     * @param cachedS3BucketNames the map of storage names in upper case to the relative S3 bucket names
+     * @param lookupCache the cache of values already looked up while processing this or the other requests within the same service call
      *
      * @return the generateDDL and generatePartitions Wrapper class object
      */
     protected GenerateDdlRequestWrapper buildGenerateDdlPartitionsWrapper(BusinessObjectDataDdlRequest request,
         BusinessObjectFormatEntity businessObjectFormatEntity, CustomDdlEntity customDdlEntity, BusinessObjectDataStatusEntity businessObjectDataStatusEntity,
-        List<String> storageNames, List<StorageEntity> requestedStorageEntities, Map<String, StorageEntity> cachedStorageEntities,
-        Map<String, String> cachedS3BucketNames)
+        List<String> storageNames, List<StorageEntity> requestedStorageEntities, DdlPartitionsLookupCache lookupCache)
     {
         // Get business object format key from the request.
         BusinessObjectFormatKey businessObjectFormatKey =
@@ -222,8 +234,7 @@ public class BusinessObjectDataDdlPartitionsHelper
         generateDdlRequest.includeSingleLocation = request.isIncludeSingleLocation();
         generateDdlRequest.isPartitioned = isPartitioned;
         generateDdlRequest.partitionFilters = partitionFilters;
-        generateDdlRequest.cachedS3BucketNames = cachedS3BucketNames;
-        generateDdlRequest.cachedStorageEntities = cachedStorageEntities;
+        generateDdlRequest.lookupCache = lookupCache;
         generateDdlRequest.storageNames = storageNames;
         generateDdlRequest.requestedStorageEntities = requestedStorageEntities;
         generateDdlRequest.suppressScanForUnregisteredSubPartitions = request.isSuppressScanForUnregisteredSubPartitions();
@@ -232,6 +243,7 @@ public class BusinessObjectDataDdlPartitionsHelper
         generateDdlRequest.tableName = request.getTableName();
         generateDdlRequest.asOfTime = request.getAsOfTime();
         generateDdlRequest.suppressQuotesInNumericTypePartitionValues = request.isSuppressQuotesInNumericTypePartitionValues();
+        generateDdlRequest.changedSinceTime = request.getChangedSinceTime();
 
         // getOutputFormat == null, means it's used in generatePartitions request since getOutputFormat must not be null for generateDDL request
         if (request.getOutputFormat() == null)
@@ -373,21 +385,63 @@ public class BusinessObjectDataDdlPartitionsHelper
         return storageUnitAvailabilityDtos;
     }
 
+    /**
+     * Gets the partition filters for the business object data changed since the time specified in the generate DDL request. Only the request partition
+     * filters that select at least one changed business object data are returned, so the delta DDL drops and adds back the same partitions the full DDL would
+     * generate for those partition filters.
+     *
+     * @param generateDdlRequest the generate DDL request wrapper object
+     *
+     * @return the list of changed partition filters in the order of the relative partition values
+     */
+    public List<List<String>> getChangedPartitionFilters(GenerateDdlRequestWrapper generateDdlRequest)
+    {
+        // Get storage platform entity for S3 storage platform type.
+        StoragePlatformEntity s3StoragePlatformEntity = storagePlatformHelper.getStoragePlatformEntity(StoragePlatformEntity.S3);
+
+        // Retrieve the partition values of the business object data changed since the specified time in the requested or all S3 storage entities.
+        List<List<String>> changedPartitionValuesList = storageUnitDao
+            .getPartitionValuesChangedSince(generateDdlRequest.businessObjectFormatEntity.getBusinessObjectDefinition(),
+                generateDdlRequest.businessObjectFormatEntity.getUsage(), generateDdlRequest.businessObjectFormatEntity.getFileType(),
+                generateDdlRequest.businessObjectFormatVersion, generateDdlRequest.requestedStorageEntities, s3StoragePlatformEntity,
+                HerdDateUtils.convertToTimestamp(generateDdlRequest.changedSinceTime));
+
+        // All request partition filters specify partition values for the same partition columns, so we use the first one as a sample.
+        Set<List<String>> partitionFilters = new HashSet<>(generateDdlRequest.partitionFilters);
+        List<String> samplePartitionFilter = generateDdlRequest.partitionFilters.get(0);
+
+        // Build the partition filter for each set of changed partition values and keep it, if it is one of the request partition filters.
+        Set<List<String>> changedPartitionFilters = new LinkedHashSet<>();
+        for (List<String> changedPartitionValues : changedPartitionValuesList)
+        {
+            List<String> partitionFilter = new ArrayList<>();
+            for (int i = 0; i < samplePartitionFilter.size(); i++)
+            {
+                partitionFilter.add(samplePartitionFilter.get(i) != null ? changedPartitionValues.get(i) : null);
+            }
+
+            if (partitionFilters.contains(partitionFilter))
+            {
+                changedPartitionFilters.add(partitionFilter);
+            }
+        }
+
+        return new ArrayList<>(changedPartitionFilters);
+    }
+
     /**
      * Adds the relative "alter table add partition" statements for each storage unit entity. Please note that each request partition value might result in
      * multiple available storage unit entities (subpartitions).
      *
      * @param generateDdlRequest the generate ddl request wrapper object
-     * @param sb the string builder to be updated with the "alter table add partition" statements
+     * @param ddlWriter the DDL writer to be updated with the "alter table add partition" statements, its alter table statements must be already started
      * @param partitions the list to store business object data partitions
      * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
      * @param businessObjectFormatForSchema the business object format to be used for schema
-     * @param ifNotExistsOption specifies if generated DDL contains "if not exists" option
      * @param storageUnitAvailabilityDtos the list of storage unit availability DTOs
      */
-    public void processStorageUnitsForGenerateDdlPartitions(GenerateDdlRequestWrapper generateDdlRequest, StringBuilder sb, List<Partition> partitions,
-        HashMap<String, String> replacements, BusinessObjectFormat businessObjectFormatForSchema, String ifNotExistsOption,
-        List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtos)
+    public void processStorageUnitsForGenerateDdlPartitions(GenerateDdlRequestWrapper generateDdlRequest, DdlWriter ddlWriter, List<Partition> partitions,
+        HashMap<String, String> replacements, BusinessObjectFormat businessObjectFormatForSchema, List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtos)
     {
         // If flag is not set to suppress scan for unregistered sub-partitions, retrieve all storage
         // file paths for the relative storage units loaded in a multi-valued map for easy access.
@@ -395,33 +449,20 @@ public class BusinessObjectDataDdlPartitionsHelper
             BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions) ? new ArrayListValuedHashMap<>() :
                 storageFileDao.getStorageFilePathsByStorageUnitIds(storageUnitHelper.getStorageUnitIds(storageUnitAvailabilityDtos));
 
-        // Crete a map of storage names in upper case to their relative S3 key prefix velocity templates.
-        Map<String, String> s3KeyPrefixVelocityTemplates = new HashMap<>();
-
-        // Crete a map of business object format keys to their relative business object format instances.
-        Map<BusinessObjectFormatKey, BusinessObjectFormat> businessObjectFormats = new HashMap<>();
-
         // Get data provider for the business object definition.
         BusinessObjectDefinitionEntity businessObjectDefinitionEntity = businessObjectDefinitionDaoHelper.getBusinessObjectDefinitionEntity(
             new BusinessObjectDefinitionKey(businessObjectFormatForSchema.getNamespace(), businessObjectFormatForSchema.getBusinessObjectDefinitionName()));
         String dataProviderName = businessObjectDefinitionEntity.getDataProvider().getName();
 
-        // Generate the beginning of the alter table statement.
-        String alterTableFirstToken = null;
-        if (!generateDdlRequest.isGeneratePartitionsRequest)
-        {
-            alterTableFirstToken = String.format("ALTER TABLE `%s` ADD %s", generateDdlRequest.tableName, ifNotExistsOption).trim();
-        }
-
-        // Process all available business object data instances.
-        List<String> addPartitionStatements = new ArrayList<>();
+        // Collect what is needed to discover and add Hive partitions for each available business object data instance.
+        List<HivePartitionsSource> hivePartitionsSources = new ArrayList<>();
         for (StorageUnitAvailabilityDto storageUnitAvailabilityDto : storageUnitAvailabilityDtos)
         {
             // Get storage name in upper case for this storage unit.
             String upperCaseStorageName = storageUnitAvailabilityDto.getStorageName().toUpperCase();
 
             // Get storage entity for this storage unit.
-            StorageEntity storageEntity = getStorageEntity(upperCaseStorageName, generateDdlRequest.cachedStorageEntities);
+            StorageEntity storageEntity = getStorageEntity(upperCaseStorageName, generateDdlRequest.lookupCache.getStorageEntities());
 
             // Get business object data key for this business object data.
             BusinessObjectDataKey businessObjectDataKey = storageUnitAvailabilityDto.getBusinessObjectDataKey();
@@ -430,10 +471,13 @@ public class BusinessObjectDataDdlPartitionsHelper
             BusinessObjectFormatKey businessObjectFormatKey = businessObjectFormatHelper.getBusinessObjectFormatKey(businessObjectDataKey);
 
             // Retrieve s3 key prefix velocity template for this storage.
-            String s3KeyPrefixVelocityTemplate = getS3KeyPrefixVelocityTemplate(upperCaseStorageName, storageEntity, s3KeyPrefixVelocityTemplates);
+            String s3KeyPrefixVelocityTemplate =
+                getS3KeyPrefixVelocityTemplate(upperCaseStorageName, storageEntity, generateDdlRequest.lookupCache.getS3KeyPrefixVelocityTemplates());
 
             // Retrieve business object format for this business object data.
-            BusinessObjectFormat businessObjectFormat = getBusinessObjectFormat(businessObjectFormatKey, businessObjectFormats);
+            BusinessObjectFormat businessObjectFormat =
+                getBusinessObjectFormat(businessObjectFormatKey, generateDdlRequest.lookupCache.getBusinessObjectFormatEntities(),
+                    generateDdlRequest.lookupCache.getBusinessObjectFormats());
 
             // Build the expected S3 key prefix for this storage unit.
             String s3KeyPrefix = s3KeyPrefixHelper.buildS3KeyPrefix(s3KeyPrefixVelocityTemplate, dataProviderName, businessObjectFormat, businessObjectDataKey,
@@ -519,9 +563,10 @@ public class BusinessObjectDataDdlPartitionsHelper
             }
 
             // Retrieve the s3 bucket name.
-            String s3BucketName = getS3BucketName(upperCaseStorageName, storageEntity, generateDdlRequest.cachedS3BucketNames);
+            String s3BucketName = getS3BucketName(upperCaseStorageName, storageEntity, generateDdlRequest.lookupCache.getS3BucketNames());
 
-            // For partitioned table, add the relative partitions to the generated DDL.
+            // For partitioned table, validate the business object data partition values and get the pattern to discover its Hive partitions.
+            Pattern hivePathPattern = null;
             if (generateDdlRequest.isPartitioned)
             {
                 // If flag is set to suppress scan for unregistered sub-partitions, validate that the number of primary and sub-partition values specified for
@@ -558,9 +603,34 @@ public class BusinessObjectDataDdlPartitionsHelper
                     .subList(1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()),
                         businessObjectFormatForSchema.getSchema().getPartitions().size());
 
-                // Get and process Hive partitions.
-                for (HivePartitionDto hivePartition : getHivePartitions(businessObjectDataKey, autoDiscoverableSubPartitionColumns, s3KeyPrefix,
-                    storageFilePaths, storageUnitAvailabilityDto.getStorageName()))
+                // Get the pattern to match storage files against the expected Hive sub-directories, compiling it only once per set of columns.
+                hivePathPattern = getHivePathPattern(autoDiscoverableSubPartitionColumns, generateDdlRequest.lookupCache.getHivePathPatterns());
+            }
+
+            // Keep the values needed to add the Hive partitions for this storage unit.
+            hivePartitionsSources.add(
+                new HivePartitionsSource(businessObjectDataKey, businessObjectFormat, hivePathPattern, s3BucketName, s3KeyPrefix, storageFilePaths,
+                    storageUnitAvailabilityDto.getStorageName()));
+        }
+
+        // For partitioned table, get Hive partitions for all storage units. Storage files are scanned in parallel, unless flag is set to suppress scan for
+        // unregistered sub-partitions, in which case each storage unit has a single storage directory path to match.
+        List<List<HivePartitionDto>> hivePartitionsList = generateDdlRequest.isPartitioned ?
+            getHivePartitions(hivePartitionsSources, BooleanUtils.isNotTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions)) : new ArrayList<>();
+
+        // Add the relative partitions to the generated DDL in the order of the storage units.
+        for (int sourceIndex = 0; sourceIndex < hivePartitionsSources.size(); sourceIndex++)
+        {
+            HivePartitionsSource hivePartitionsSource = hivePartitionsSources.get(sourceIndex);
+            BusinessObjectFormat businessObjectFormat = hivePartitionsSource.businessObjectFormat;
+            String s3BucketName = hivePartitionsSource.s3BucketName;
+            String s3KeyPrefix = hivePartitionsSource.s3KeyPrefix;
+
+            // For partitioned table, add the relative partitions to the generated DDL.
+            if (generateDdlRequest.isPartitioned)
+            {
+                // Process Hive partitions.
+                for (HivePartitionDto hivePartition : hivePartitionsList.get(sourceIndex))
                 {
                     if (!generateDdlRequest.isGeneratePartitionsRequest)
                     {
@@ -589,17 +659,17 @@ public class BusinessObjectDataDdlPartitionsHelper
                         addPartitionStatement.append(String.format(") LOCATION 's3n://%s/%s%s'", s3BucketName, s3KeyPrefix,
                             StringUtils.isNotBlank(hivePartition.getPath()) ? hivePartition.getPath() : ""));
 
-                        // Add this add partition statement to the list.
-                        addPartitionStatements.add(addPartitionStatement.toString());
-
-                        // If flag is set to include single table location and this is the first partition in the list, then set value for
+                        // If flag is set to include single table location and this is the first partition in the DDL, then set value for
                         // partitioned table custom DDL token based on this partition bucket name and first level S3 key prefix.
-                        if (addPartitionStatements.size() == 1 && BooleanUtils.isTrue(generateDdlRequest.includeSingleLocation))
+                        if (ddlWriter.getAlterTablePartitionCount() == 0 && BooleanUtils.isTrue(generateDdlRequest.includeSingleLocation))
                         {
                             // Set value for partitioned table location custom DDL token based on S3 bucket name and first level S3 key prefix.
                             String tableLocation = String.format("s3n://%s/%s", s3BucketName, HerdStringUtils.getFirstLevelPrefix(s3KeyPrefix));
                             replacements.put(PARTITIONED_TABLE_LOCATION_CUSTOM_DDL_TOKEN, tableLocation);
                         }
+
+                        // Add this add partition statement to the alter table statements.
+                        ddlWriter.appendAlterTablePartition(addPartitionStatement.toString());
                     }
                     else
                     {
@@ -640,43 +710,6 @@ public class BusinessObjectDataDdlPartitionsHelper
                 }
             }
         }
-
-        // Add all add partition statements to the main string builder.
-        if (CollectionUtils.isNotEmpty(addPartitionStatements))
-        {
-            // Get the size on the list.
-            int listSize = CollectionUtils.size(addPartitionStatements);
-
-            // Append partition statements in chunks as determined by the optionally specified maximum number of partitions in combined alter table statement.
-            int chunkSize = generateDdlRequest.combinedAlterTableMaxPartitions != null ? generateDdlRequest.combinedAlterTableMaxPartitions :
-                BooleanUtils.isTrue(generateDdlRequest.combineMultiplePartitionsInSingleAlterTable) ? listSize : 1;
-
-            // Add a blank line before the first alter table statement.
-            sb.append('\n');
-
-            // Loop through each chunk until we have reached the end of the list.
-            for (int i = 0; i < listSize; i += chunkSize)
-            {
-                // If we are combining multiple partitions into single alter table statement, add an extra blank line as a separator between the chunks.
-                if (BooleanUtils.isTrue(generateDdlRequest.combineMultiplePartitionsInSingleAlterTable) && i > 0)
-                {
-                    sb.append('\n');
-                }
-
-                // Add first token for alter table statement.
-                sb.append(alterTableFirstToken);
-
-                // Add end-of-line along with an indent if we are combining multiple partitions
-                // into single alter table statement or one space character otherwise.
-                sb.append(BooleanUtils.isTrue(generateDdlRequest.combineMultiplePartitionsInSingleAlterTable) ? "\n    " : " ");
-
-                // Add all statements in this chunk.
-                sb.append(StringUtils.join(addPartitionStatements.subList(i, Math.min(listSize, i + chunkSize)), chunkSize > 1 ? "\n    " : ""));
-
-                // Complete this alter table statement.
-                sb.append(";\n");
-            }
-        }
     }
 
     /**
@@ -894,23 +927,27 @@ public class BusinessObjectDataDdlPartitionsHelper
      * Gets a business object format for the specified business  object format key. The method memorizes the responses for performance reasons.
      *
      * @param businessObjectFormatKey the business object format key
+     * @param businessObjectFormatEntities the map of business object keys to their relative business object format entities
      * @param businessObjectFormats the map of business object keys to their relative business object format instances
      *
      * @return the business object format
      */
     private BusinessObjectFormat getBusinessObjectFormat(BusinessObjectFormatKey businessObjectFormatKey,
+        Map<BusinessObjectFormatKey, BusinessObjectFormatEntity> businessObjectFormatEntities,
         Map<BusinessObjectFormatKey, BusinessObjectFormat> businessObjectFormats)
     {
         BusinessObjectFormat businessObjectFormat;
 
-        // If business object format was already retrieved, use it. Otherwise, retrieve and store it in the map.
+        // If business object format was already retrieved, use it.
         if (businessObjectFormats.containsKey(businessObjectFormatKey))
         {
             businessObjectFormat = businessObjectFormats.get(businessObjectFormatKey);
         }
+        // Otherwise, create it from the business object format entity, reusing the entity if it was already retrieved, and store it in the map.
         else
         {
-            BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoHelper.getBusinessObjectFormatEntity(businessObjectFormatKey);
+            BusinessObjectFormatEntity businessObjectFormatEntity =
+                businessObjectFormatEntities.computeIfAbsent(businessObjectFormatKey, businessObjectFormatDaoHelper::getBusinessObjectFormatEntity);
             businessObjectFormat = businessObjectFormatHelper.createBusinessObjectFormatFromEntity(businessObjectFormatEntity);
             businessObjectFormats.put(businessObjectFormatKey, businessObjectFormat);
         }
@@ -947,6 +984,103 @@ public class BusinessObjectDataDdlPartitionsHelper
         return s3BucketName;
     }
 
+    /**
+     * Gets the lists of Hive partitions for the specified storage units. When requested, storage files of the storage units are matched in parallel, split
+     * into a bounded number of batches, with the first batch processed by the calling thread. The other batches run on the dedicated sub-partition discovery
+     * task executor, and a batch it rejects because it is busy is processed by the calling thread as well.
+     *
+     * @param hivePartitionsSources the list of storage unit values needed to discover Hive partitions
+     * @param parallel specifies whether storage files of the storage units can be matched in parallel
+     *
+     * @return the list of Hive partition lists, one per storage unit in the order of the storage units
+     */
+    private List<List<HivePartitionDto>> getHivePartitions(List<HivePartitionsSource> hivePartitionsSources, boolean parallel)
+    {
+        long startTimeMillis = System.currentTimeMillis();
+
+        // Split the storage units into batches, one per thread.
+        int threadCount = parallel ?
+            Math.max(1, Math.min(configurationHelper.getProperty(ConfigurationValue.DDL_SUB_PARTITION_DISCOVERY_THREADS, Integer.class),
+                hivePartitionsSources.size())) : 1;
+        int batchSize = Math.max(1, (hivePartitionsSources.size() + threadCount - 1) / threadCount);
+
+        // Submit all batches but the first one for asynchronous processing.
+        List<Future<List<List<HivePartitionDto>>>> futures = new ArrayList<>();
+        for (int fromIndex = batchSize; fromIndex < hivePartitionsSources.size(); fromIndex += batchSize)
+        {
+            List<HivePartitionsSource> batch = hivePartitionsSources.subList(fromIndex, Math.min(fromIndex + batchSize, hivePartitionsSources.size()));
+            try
+            {
+                futures.add(ddlSubPartitionDiscoveryTaskExecutor.submit(() -> getHivePartitionsForBatch(batch)));
+            }
+            catch (TaskRejectedException e)
+            {
+                futures.add(new AsyncResult<>(getHivePartitionsForBatch(batch)));
+            }
+        }
+
+        // Process the first batch in the calling thread and then collect the results of the other batches in order.
+        List<List<HivePartitionDto>> hivePartitionsList =
+            new ArrayList<>(getHivePartitionsForBatch(hivePartitionsSources.subList(0, Math.min(batchSize, hivePartitionsSources.size()))));
+        for (Future<List<List<HivePartitionDto>>> future : futures)
+        {
+            try
+            {
+                hivePartitionsList.addAll(future.get());
+            }
+            catch (ExecutionException e)
+            {
+                // Rethrow the original exception, so validation failures are reported the same way as when processed by the calling thread.
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("Failed to discover Hive partitions.", e.getCause());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while discovering Hive partitions.", e);
+            }
+        }
+
+        // Log the metrics of this Hive partitions discovery.
+        int storageFileCount = 0;
+        for (HivePartitionsSource hivePartitionsSource : hivePartitionsSources)
+        {
+            storageFileCount += hivePartitionsSource.storageFilePaths.size();
+        }
+        int hivePartitionCount = 0;
+        for (List<HivePartitionDto> hivePartitions : hivePartitionsList)
+        {
+            hivePartitionCount += hivePartitions.size();
+        }
+        LOGGER.info("Discovered Hive partitions. storageUnitCount={} storageFileCount={} hivePartitionCount={} threadCount={} elapsedTimeMillis={}",
+            hivePartitionsSources.size(), storageFileCount, hivePartitionCount, (hivePartitionsSources.size() + batchSize - 1) / batchSize,
+            System.currentTimeMillis() - startTimeMillis);
+
+        return hivePartitionsList;
+    }
+
+    /**
+     * Gets the lists of Hive partitions for a batch of storage units. This method does not access the database, so it is safe to call it from any thread.
+     *
+     * @param hivePartitionsSources the batch of storage unit values needed to discover Hive partitions
+     *
+     * @return the list of Hive partition lists, one per storage unit in the order of the storage units
+     */
+    private List<List<HivePartitionDto>> getHivePartitionsForBatch(List<HivePartitionsSource> hivePartitionsSources)
+    {
+        List<List<HivePartitionDto>> hivePartitionsList = new ArrayList<>();
+        for (HivePartitionsSource hivePartitionsSource : hivePartitionsSources)
+        {
+            hivePartitionsList.add(
+                getHivePartitions(hivePartitionsSource.businessObjectDataKey, hivePartitionsSource.hivePathPattern, hivePartitionsSource.s3KeyPrefix,
+                    hivePartitionsSource.storageFilePaths, hivePartitionsSource.storageName));
+        }
+        return hivePartitionsList;
+    }
+
     /**
      * Gets a list of Hive partitions. For single level partitioning, no auto-discovery of sub-partitions (sub-directories) is needed - the business object data
      * will be represented by a single Hive partition instance. For multiple level partitioning, this method performs an auto-discovery of all sub-partitions
@@ -962,11 +1096,27 @@ public class BusinessObjectDataDdlPartitionsHelper
      */
     public List<HivePartitionDto> getHivePartitions(BusinessObjectDataKey businessObjectDataKey, List<SchemaColumn> autoDiscoverableSubPartitionColumns,
         String s3KeyPrefix, Collection<String> storageFiles, String storageName)
+    {
+        return getHivePartitions(businessObjectDataKey, getHivePathPattern(autoDiscoverableSubPartitionColumns), s3KeyPrefix, storageFiles, storageName);
+    }
+
+    /**
+     * Gets a list of Hive partitions by matching the storage files against the specified pattern of Hive partition sub-directories.
+     *
+     * @param businessObjectDataKey the business object data key
+     * @param pattern the pattern to match Hive partition sub-directories
+     * @param s3KeyPrefix the S3 key prefix
+     * @param storageFiles the storage files
+     * @param storageName the storage name
+     *
+     * @return the list of Hive partitions
+     */
+    private List<HivePartitionDto> getHivePartitions(BusinessObjectDataKey businessObjectDataKey, Pattern pattern, String s3KeyPrefix,
+        Collection<String> storageFiles, String storageName)
     {
         // We are using linked hash map to preserve the order of the discovered partitions.
         Map<List<String>, HivePartitionDto> linkedHashMap = new LinkedHashMap<>();
 
-        Pattern pattern = getHivePathPattern(autoDiscoverableSubPartitionColumns);
         for (String storageFile : storageFiles)
         {
             // Remove S3 key prefix from the file path. Please note that the storage files are already validated to start with S3 key prefix.
@@ -1038,6 +1188,32 @@ public class BusinessObjectDataDdlPartitionsHelper
         return Pattern.compile(getHivePathRegex(partitionColumns));
     }
 
+    /**
+     * Gets a pattern to match Hive partition sub-directories. The pattern is compiled only once for each list of partition column names and stored in memory.
+     *
+     * @param partitionColumns the list of partition columns
+     * @param hivePathPatterns the map of partition column names to the relative patterns
+     *
+     * @return the pattern to match Hive partition sub-directories
+     */
+    private Pattern getHivePathPattern(List<SchemaColumn> partitionColumns, Map<List<String>, Pattern> hivePathPatterns)
+    {
+        List<String> partitionColumnNames = new ArrayList<>();
+        for (SchemaColumn partitionColumn : partitionColumns)
+        {
+            partitionColumnNames.add(partitionColumn.getName());
+        }
+
+        Pattern pattern = hivePathPatterns.get(partitionColumnNames);
+        if (pattern == null)
+        {
+            pattern = getHivePathPattern(partitionColumns);
+            hivePathPatterns.put(partitionColumnNames, pattern);
+        }
+
+        return pattern;
+    }
+
     /**
      * Gets a regex to match Hive partition sub-directories.
      *
@@ -1099,6 +1275,38 @@ public class BusinessObjectDataDdlPartitionsHelper
         return BooleanUtils.isTrue(suppressQuotesInNumericTypePartitionValues) && SCHEMA_COLUMN_NUMERIC_TYPES.contains(partitionType.toUpperCase());
     }
 
+    /**
+     * The values of a storage unit needed to discover and add its Hive partitions.
+     */
+    private static class HivePartitionsSource
+    {
+        private final BusinessObjectDataKey businessObjectDataKey;
+
+        private final BusinessObjectFormat businessObjectFormat;
+
+        private final Pattern hivePathPattern;
+
+        private final String s3BucketName;
+
+        private final String s3KeyPrefix;
+
+        private final List<String> storageFilePaths;
+
+        private final String storageName;
+
+        private HivePartitionsSource(BusinessObjectDataKey businessObjectDataKey, BusinessObjectFormat businessObjectFormat, Pattern hivePathPattern,
+            String s3BucketName, String s3KeyPrefix, List<String> storageFilePaths, String storageName)
+        {
+            this.businessObjectDataKey = businessObjectDataKey;
+            this.businessObjectFormat = businessObjectFormat;
+            this.hivePathPattern = hivePathPattern;
+            this.s3BucketName = s3BucketName;
+            this.s3KeyPrefix = s3KeyPrefix;
+            this.storageFilePaths = storageFilePaths;
+            this.storageName = storageName;
+        }
+    }
+
     static class GenerateDdlRequestWrapper
     {
         private Boolean isGeneratePartitionsRequest;
@@ -1129,9 +1337,7 @@ public class BusinessObjectDataDdlPartitionsHelper
 
         private List<List<String>> partitionFilters;
 
-        private Map<String, String> cachedS3BucketNames;
-
-        private Map<String, StorageEntity> cachedStorageEntities;
+        private DdlPartitionsLookupCache lookupCache;
 
         private List<String> storageNames;
 
@@ -1149,6 +1355,8 @@ public class BusinessObjectDataDdlPartitionsHelper
 
         private Boolean suppressQuotesInNumericTypePartitionValues;
 
+        private XMLGregorianCalendar changedSinceTime;
+
         public Boolean getGeneratePartitionsRequest()
         {
             return isGeneratePartitionsRequest;
@@ -1279,24 +1487,14 @@ public class BusinessObjectDataDdlPartitionsHelper
             this.partitionFilters = partitionFilters;
         }
 
-        public Map<String, String> getCachedS3BucketNames()
-        {
-            return cachedS3BucketNames;
-        }
-
-        public void setCachedS3BucketNames(Map<String, String> cachedS3BucketNames)
+        public DdlPartitionsLookupCache getLookupCache()
         {
-            this.cachedS3BucketNames = cachedS3BucketNames;
+            return lookupCache;
         }
 
-        public Map<String, StorageEntity> getCachedStorageEntities()
+        public void setLookupCache(DdlPartitionsLookupCache lookupCache)
         {
-            return cachedStorageEntities;
-        }
-
-        public void setCachedStorageEntities(Map<String, StorageEntity> cachedStorageEntities)
-        {
-            this.cachedStorageEntities = cachedStorageEntities;
+            this.lookupCache = lookupCache;
         }
 
         public List<String> getStorageNames()
@@ -1378,6 +1576,16 @@ public class BusinessObjectDataDdlPartitionsHelper
         {
             this.suppressQuotesInNumericTypePartitionValues = suppressQuotesInNumericTypePartitionValues;
         }
+
+        public XMLGregorianCalendar getChangedSinceTime()
+        {
+            return changedSinceTime;
+        }
+
+        public void setChangedSinceTime(XMLGregorianCalendar changedSinceTime)
+        {
+            this.changedSinceTime = changedSinceTime;
+        }
     }
 
     GenerateDdlRequestWrapper getGenerateDdlRequestWrapperInstance()
@@ -18,7 +18,6 @@ package org.finra.herd.service.helper;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -45,28 +44,28 @@ public class BusinessObjectDataPartitionsHelper
      * @param businessObjectDataStatusEntity the business object data status for available business object data
      * @param storageNames the list of storage names
      * @param requestedStorageEntities the list of storage entities per storage names specified in the request
-     * @param cachedStorageEntities the map of storage names in upper case to the relative storage entities
-     * @param cachedS3BucketNames the map of storage names in upper case to the relative S3 bucket names
+     * @param lookupCache the cache of values already looked up while processing this or the other requests within the same service call
      *
      * @return the business object data partitions list
      */
     public List<Partition> generatePartitions(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
         BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<String> storageNames, List<StorageEntity> requestedStorageEntities,
-        Map<String, StorageEntity> cachedStorageEntities, Map<String, String> cachedS3BucketNames)
+        DdlPartitionsLookupCache lookupCache)
     {
 
         BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequestWrapper = businessObjectDataDdlPartitionsHelper
             .buildGenerateDdlPartitionsWrapper(request, businessObjectFormatEntity, null, businessObjectDataStatusEntity, storageNames,
-                requestedStorageEntities, cachedStorageEntities, cachedS3BucketNames);
+                requestedStorageEntities, lookupCache);
         BusinessObjectFormat businessObjectFormatForSchema = businessObjectDataDdlPartitionsHelper.validatePartitionFiltersAndFormat(generateDdlRequestWrapper);
         List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtos =
             businessObjectDataDdlPartitionsHelper.processPartitionFiltersForGenerateDdlPartitions(generateDdlRequestWrapper);
 
         List<Partition> partitions = new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
         HashMap<String, String> replacements = new HashMap<>();
+
+        // No DDL writer is needed, since no DDL gets generated for the partitions.
         businessObjectDataDdlPartitionsHelper
-            .processStorageUnitsForGenerateDdlPartitions(generateDdlRequestWrapper, sb, partitions, replacements, businessObjectFormatForSchema, null,
+            .processStorageUnitsForGenerateDdlPartitions(generateDdlRequestWrapper, null, partitions, replacements, businessObjectFormatForSchema,
                 storageUnitAvailabilityDtos);
         return partitions;
     }
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.service.helper;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -68,6 +70,50 @@ public class BusinessObjectDataSearchHelper
         validateBusinessObjectDataSearchKey(businessObjectDataSearchKeys.get(0));
     }
 
+    /**
+     * Decodes a page token returned by a previous business object data search into the id of the last business object data returned on the previous page.
+     *
+     * @param pageToken the page token, may be blank to request the first page
+     *
+     * @return the id of the last business object data returned on the previous page or null if the page token is blank
+     */
+    public Long decodePageToken(String pageToken)
+    {
+        if (StringUtils.isBlank(pageToken))
+        {
+            return null;
+        }
+
+        Long lastBusinessObjectDataId = null;
+        try
+        {
+            lastBusinessObjectDataId = Long.valueOf(new String(Base64.getUrlDecoder().decode(pageToken.trim()), StandardCharsets.UTF_8));
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Both invalid Base64 input and invalid number format are reported below as an invalid page token.
+        }
+
+        if (lastBusinessObjectDataId == null || lastBusinessObjectDataId < 0)
+        {
+            throw new IllegalArgumentException(String.format("Invalid page token \"%s\".", pageToken));
+        }
+
+        return lastBusinessObjectDataId;
+    }
+
+    /**
+     * Encodes the id of the last business object data returned on a page of search results into an opaque page token.
+     *
+     * @param lastBusinessObjectDataId the id of the last business object data returned on the page
+     *
+     * @return the page token
+     */
+    public String encodePageToken(Long lastBusinessObjectDataId)
+    {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(lastBusinessObjectDataId).getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Validates paging parameter value per specified criteria.
      *
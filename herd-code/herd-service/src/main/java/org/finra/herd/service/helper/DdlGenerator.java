@@ -15,8 +15,8 @@
  */
 package org.finra.herd.service.helper;
 
+import java.io.Writer;
 import java.util.List;
-import java.util.Map;
 
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlOutputFormatEnum;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
@@ -58,14 +58,30 @@ public abstract class DdlGenerator
      * @param businessObjectDataStatusEntity the business object data status for available business object data
      * @param storageNames the list of storage names, maybe empty
      * @param requestedStorageEntities the list of storage entities per storage names specified in the request
-     * @param cachedStorageEntities the map of storage names in upper case to the relative storage entities
-     * @param cachedS3BucketNames the map of storage names in upper case to the relative S3 bucket names
+     * @param lookupCache the cache of values already looked up while processing this or the other requests within the same service call
      *
      * @return the generated DDL
      */
     public abstract String generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
         CustomDdlEntity customDdlEntity, BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<String> storageNames,
-        List<StorageEntity> requestedStorageEntities, Map<String, StorageEntity> cachedStorageEntities, Map<String, String> cachedS3BucketNames);
+        List<StorageEntity> requestedStorageEntities, DdlPartitionsLookupCache lookupCache);
+
+    /**
+     * This method generates the create table DDL as per specified business object data DDL request and streams it to the specified writer, so the DDL for a
+     * large number of partitions does not have to be held in memory.
+     *
+     * @param request the business object data DDL request
+     * @param businessObjectFormatEntity the business object format entity
+     * @param customDdlEntity the optional custom DDL entity
+     * @param businessObjectDataStatusEntity the business object data status for available business object data
+     * @param storageNames the list of storage names, maybe empty
+     * @param requestedStorageEntities the list of storage entities per storage names specified in the request
+     * @param lookupCache the cache of values already looked up while processing this or the other requests within the same service call
+     * @param writer the writer to stream the generated DDL to
+     */
+    public abstract void generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
+        CustomDdlEntity customDdlEntity, BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<String> storageNames,
+        List<StorageEntity> requestedStorageEntities, DdlPartitionsLookupCache lookupCache, Writer writer);
 
     public abstract String generateReplaceColumnsStatement(BusinessObjectFormatDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity);
 
@@ -0,0 +1,104 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.finra.herd.model.api.xml.BusinessObjectFormat;
+import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
+import org.finra.herd.model.jpa.StorageEntity;
+
+/**
+ * Holds the values looked up while generating DDL or partitions, so they can be reused by all the requests processed within a single service call (for
+ * example, by every request in a DDL collection). An instance is not thread safe and must not outlive the transaction it was populated in.
+ */
+public class DdlPartitionsLookupCache
+{
+    /**
+     * The map of business object data status values, as specified in the requests, to the relative business object data status entities.
+     */
+    private final Map<String, BusinessObjectDataStatusEntity> businessObjectDataStatusEntities = new HashMap<>();
+
+    /**
+     * The map of business object format keys, as specified in the requests, to the relative business object format entities.
+     */
+    private final Map<BusinessObjectFormatKey, BusinessObjectFormatEntity> businessObjectFormatEntities = new HashMap<>();
+
+    /**
+     * The map of business object format keys to their relative business object format instances.
+     */
+    private final Map<BusinessObjectFormatKey, BusinessObjectFormat> businessObjectFormats = new HashMap<>();
+
+    /**
+     * The map of auto-discoverable partition column names to the relative compiled patterns of Hive partition sub-directories.
+     */
+    private final Map<List<String>, Pattern> hivePathPatterns = new HashMap<>();
+
+    /**
+     * The map of storage names in upper case to the relative S3 bucket names.
+     */
+    private final Map<String, String> s3BucketNames = new HashMap<>();
+
+    /**
+     * The map of storage names in upper case to their relative S3 key prefix velocity templates.
+     */
+    private final Map<String, String> s3KeyPrefixVelocityTemplates = new HashMap<>();
+
+    /**
+     * The map of storage names in upper case to the relative storage entities.
+     */
+    private final Map<String, StorageEntity> storageEntities = new HashMap<>();
+
+    public Map<String, BusinessObjectDataStatusEntity> getBusinessObjectDataStatusEntities()
+    {
+        return businessObjectDataStatusEntities;
+    }
+
+    public Map<BusinessObjectFormatKey, BusinessObjectFormatEntity> getBusinessObjectFormatEntities()
+    {
+        return businessObjectFormatEntities;
+    }
+
+    public Map<BusinessObjectFormatKey, BusinessObjectFormat> getBusinessObjectFormats()
+    {
+        return businessObjectFormats;
+    }
+
+    public Map<List<String>, Pattern> getHivePathPatterns()
+    {
+        return hivePathPatterns;
+    }
+
+    public Map<String, String> getS3BucketNames()
+    {
+        return s3BucketNames;
+    }
+
+    public Map<String, String> getS3KeyPrefixVelocityTemplates()
+    {
+        return s3KeyPrefixVelocityTemplates;
+    }
+
+    public Map<String, StorageEntity> getStorageEntities()
+    {
+        return storageEntities;
+    }
+}
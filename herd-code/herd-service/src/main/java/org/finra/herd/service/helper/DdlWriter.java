@@ -0,0 +1,246 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.BooleanUtils;
+
+/**
+ * Writes the generated DDL to a writer. The DDL is buffered until it is flushed, so the custom DDL tokens found in the buffered DDL can be substituted with
+ * their values once those values are known. The written DDL has its leading and trailing whitespace trimmed. An instance is not thread safe.
+ */
+public class DdlWriter
+{
+    /**
+     * The DDL buffered since the last flush.
+     */
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * The map of custom DDL tokens to their values, substituted in the DDL when it gets flushed.
+     */
+    private final Map<String, String> replacements;
+
+    /**
+     * The writer the DDL gets flushed to.
+     */
+    private final Writer writer;
+
+    /**
+     * The first token of the alter table statements currently being written.
+     */
+    private String alterTableFirstToken;
+
+    /**
+     * The maximum number of partitions to combine into a single alter table statement.
+     */
+    private int alterTableMaxPartitions;
+
+    /**
+     * The separator between the partitions combined into a single alter table statement.
+     */
+    private String alterTablePartitionSeparator;
+
+    /**
+     * The number of partitions written since the alter table statements were started.
+     */
+    private int alterTablePartitionCount;
+
+    /**
+     * Specifies whether multiple partitions are combined into a single alter table statement.
+     */
+    private boolean combineMultiplePartitionsInSingleAlterTable;
+
+    /**
+     * The trailing whitespace of the flushed DDL, only written out if more DDL gets flushed after it.
+     */
+    private String pendingWhitespace = "";
+
+    /**
+     * Specifies whether any DDL was written out.
+     */
+    private boolean started;
+
+    /**
+     * Creates a DDL writer.
+     *
+     * @param writer the writer the DDL gets flushed to
+     * @param replacements the map of custom DDL tokens to their values, that may still be updated after the DDL containing the tokens was appended
+     */
+    public DdlWriter(Writer writer, Map<String, String> replacements)
+    {
+        this.writer = writer;
+        this.replacements = replacements;
+    }
+
+    /**
+     * Appends the DDL to the buffer.
+     *
+     * @param ddl the DDL
+     */
+    public void append(String ddl)
+    {
+        buffer.append(ddl);
+    }
+
+    /**
+     * Starts a sequence of alter table statements. The partitions appended to the sequence are combined into alter table statements as per the specified
+     * parameters.
+     *
+     * @param alterTableFirstToken the beginning of each alter table statement
+     * @param alterTablePartitionSeparator the separator between the partitions combined into a single alter table statement
+     * @param combineMultiplePartitionsInSingleAlterTable specifies whether to combine multiple partitions into a single alter table statement
+     * @param combinedAlterTableMaxPartitions the optional maximum number of partitions to combine into a single alter table statement
+     */
+    public void startAlterTableStatements(String alterTableFirstToken, String alterTablePartitionSeparator, Boolean combineMultiplePartitionsInSingleAlterTable,
+        Integer combinedAlterTableMaxPartitions)
+    {
+        this.alterTableFirstToken = alterTableFirstToken;
+        this.alterTablePartitionSeparator = alterTablePartitionSeparator;
+        this.combineMultiplePartitionsInSingleAlterTable = BooleanUtils.isTrue(combineMultiplePartitionsInSingleAlterTable);
+        alterTableMaxPartitions = combinedAlterTableMaxPartitions != null ? combinedAlterTableMaxPartitions :
+            this.combineMultiplePartitionsInSingleAlterTable ? Integer.MAX_VALUE : 1;
+        alterTablePartitionCount = 0;
+    }
+
+    /**
+     * Appends a partition clause to the current sequence of alter table statements, starting a new alter table statement when needed.
+     *
+     * @param partition the partition clause
+     */
+    public void appendAlterTablePartition(String partition)
+    {
+        // Add a blank line before the first alter table statement.
+        if (alterTablePartitionCount == 0)
+        {
+            buffer.append('\n');
+        }
+
+        if (alterTablePartitionCount % alterTableMaxPartitions == 0)
+        {
+            // If we are combining multiple partitions into single alter table statement, add an extra blank line as a separator between the statements.
+            if (combineMultiplePartitionsInSingleAlterTable && alterTablePartitionCount > 0)
+            {
+                buffer.append('\n');
+            }
+
+            // Add first token for alter table statement along with an end-of-line and an indent if we are combining multiple partitions
+            // into single alter table statement or one space character otherwise.
+            buffer.append(alterTableFirstToken).append(combineMultiplePartitionsInSingleAlterTable ? "\n    " : " ");
+        }
+        else
+        {
+            buffer.append(alterTablePartitionSeparator);
+        }
+
+        buffer.append(partition);
+        alterTablePartitionCount++;
+
+        // Complete this alter table statement once it has the maximum number of partitions.
+        if (alterTablePartitionCount % alterTableMaxPartitions == 0)
+        {
+            buffer.append(";\n");
+        }
+    }
+
+    /**
+     * Completes the current sequence of alter table statements.
+     */
+    public void endAlterTableStatements()
+    {
+        // Complete the last alter table statement, unless it is already completed.
+        if (alterTablePartitionCount % alterTableMaxPartitions != 0)
+        {
+            buffer.append(";\n");
+        }
+
+        alterTablePartitionCount = 0;
+    }
+
+    /**
+     * Gets the number of partitions appended since the current sequence of alter table statements was started.
+     *
+     * @return the number of partitions
+     */
+    public int getAlterTablePartitionCount()
+    {
+        return alterTablePartitionCount;
+    }
+
+    /**
+     * Substitutes the custom DDL tokens in the buffered DDL with their values and writes it out. The DDL appended after this call can no longer contain the
+     * tokens already written out.
+     */
+    public void flush()
+    {
+        String ddl = buffer.toString();
+        buffer.setLength(0);
+
+        // Substitute the relative custom DDL tokens with their values.
+        for (Map.Entry<String, String> entry : replacements.entrySet())
+        {
+            ddl = ddl.replaceAll(Pattern.quote(entry.getKey()), entry.getValue());
+        }
+
+        // Trim the whitespace from the beginning of the DDL and hold back the whitespace at its end, since it might be the end of the DDL.
+        int beginIndex = 0;
+        if (!started)
+        {
+            while (beginIndex < ddl.length() && ddl.charAt(beginIndex) <= ' ')
+            {
+                beginIndex++;
+            }
+        }
+        int endIndex = ddl.length();
+        while (endIndex > beginIndex && ddl.charAt(endIndex - 1) <= ' ')
+        {
+            endIndex--;
+        }
+
+        try
+        {
+            if (endIndex > beginIndex)
+            {
+                writer.write(pendingWhitespace);
+                writer.write(ddl, beginIndex, endIndex - beginIndex);
+                writer.flush();
+                pendingWhitespace = ddl.substring(endIndex);
+                started = true;
+            }
+            else if (started)
+            {
+                pendingWhitespace += ddl;
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Failed to write the generated DDL.", e);
+        }
+    }
+
+    /**
+     * Flushes the remaining DDL without its trailing whitespace. The underlying writer is not closed.
+     */
+    public void close()
+    {
+        flush();
+        pendingWhitespace = "";
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.finra.herd.service.helper;
 
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -22,7 +24,6 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -37,12 +38,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlOutputFormatEnum;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormat;
 import org.finra.herd.model.api.xml.BusinessObjectFormatDdlRequest;
 import org.finra.herd.model.api.xml.SchemaColumn;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.HivePartitionDto;
 import org.finra.herd.model.dto.StorageUnitAvailabilityDto;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
@@ -109,6 +112,9 @@ public class Hive13DdlGenerator extends DdlGenerator
     @Autowired
     private BusinessObjectFormatHelper businessObjectFormatHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     /**
      * Escapes single quote characters, if not already escaped, with an extra backslash.
      *
@@ -140,22 +146,45 @@ public class Hive13DdlGenerator extends DdlGenerator
      * @param businessObjectDataStatusEntity the business object data status for available business object data
      * @param storageNames the list of storage names
      * @param requestedStorageEntities the list of storage entities per storage names specified in the request
-     * @param cachedStorageEntities the map of storage names in upper case to the relative storage entities
-     * @param cachedS3BucketNames the map of storage names in upper case to the relative S3 bucket names
+     * @param lookupCache the cache of values already looked up while processing this or the other requests within the same service call
      *
      * @return the create table Hive DDL
      */
     @Override
     public String generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
         CustomDdlEntity customDdlEntity, BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<String> storageNames,
-        List<StorageEntity> requestedStorageEntities, Map<String, StorageEntity> cachedStorageEntities, Map<String, String> cachedS3BucketNames)
+        List<StorageEntity> requestedStorageEntities, DdlPartitionsLookupCache lookupCache)
     {
         BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequestWrapper = businessObjectDataDdlPartitionsHelper
             .buildGenerateDdlPartitionsWrapper(request, businessObjectFormatEntity, customDdlEntity, businessObjectDataStatusEntity, storageNames,
-                requestedStorageEntities, cachedStorageEntities, cachedS3BucketNames);
+                requestedStorageEntities, lookupCache);
         return generateCreateTableDdlHelper(generateDdlRequestWrapper);
     }
 
+    /**
+     * Generates the create table Hive 13 DDL as per specified business object data DDL request and streams it to the specified writer. The storage units are
+     * selected and the "alter table add partition" statements are written out one page of partition filters at a time.
+     *
+     * @param request the business object data DDL request
+     * @param businessObjectFormatEntity the business object format entity
+     * @param customDdlEntity the optional custom DDL entity
+     * @param businessObjectDataStatusEntity the business object data status for available business object data
+     * @param storageNames the list of storage names
+     * @param requestedStorageEntities the list of storage entities per storage names specified in the request
+     * @param lookupCache the cache of values already looked up while processing this or the other requests within the same service call
+     * @param writer the writer to stream the create table Hive DDL to
+     */
+    @Override
+    public void generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
+        CustomDdlEntity customDdlEntity, BusinessObjectDataStatusEntity businessObjectDataStatusEntity, List<String> storageNames,
+        List<StorageEntity> requestedStorageEntities, DdlPartitionsLookupCache lookupCache, Writer writer)
+    {
+        BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequestWrapper = businessObjectDataDdlPartitionsHelper
+            .buildGenerateDdlPartitionsWrapper(request, businessObjectFormatEntity, customDdlEntity, businessObjectDataStatusEntity, storageNames,
+                requestedStorageEntities, lookupCache);
+        generateCreateTableDdlHelper(generateDdlRequestWrapper, writer, true);
+    }
+
     /**
      * Generates the create table Hive 13 DDL as per specified business object format DDL request.
      *
@@ -428,61 +457,84 @@ public class Hive13DdlGenerator extends DdlGenerator
     }
 
     /**
-     * Generates and append to the string builder the create table Hive 13 DDL as per specified parameters.
+     * Generates the create table Hive 13 DDL as per specified parameters.
      */
     private String generateCreateTableDdlHelper(BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequest)
+    {
+        StringWriter writer = new StringWriter();
+        generateCreateTableDdlHelper(generateDdlRequest, writer, false);
+        return writer.toString();
+    }
+
+    /**
+     * Generates and writes the create table Hive 13 DDL as per specified parameters.
+     *
+     * @param generateDdlRequest the generate DDL request
+     * @param writer the writer to write the DDL to
+     * @param pagePartitionFilters specifies whether to process the partition filters one page at a time, writing out the DDL generated for each page
+     */
+    private void generateCreateTableDdlHelper(BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequest, Writer writer,
+        boolean pagePartitionFilters)
     {
         StringBuilder sb = new StringBuilder();
 
         // For custom DDL, we would need to substitute the custom DDL tokens with their relative values.
         HashMap<String, String> replacements = new HashMap<>();
 
-        BusinessObjectFormat businessObjectFormat = businessObjectDataDdlPartitionsHelper.validatePartitionFiltersAndFormat(generateDdlRequest);
+        // The DDL writer trims the DDL and substitutes the custom DDL tokens as the DDL gets written out.
+        DdlWriter ddlWriter = new DdlWriter(writer, replacements);
 
-        // Add drop table if requested.
-        if (BooleanUtils.isTrue(generateDdlRequest.getIncludeDropTableStatement()))
-        {
-            sb.append(String.format("DROP TABLE IF EXISTS `%s`;\n\n", generateDdlRequest.getTableName()));
-        }
+        BusinessObjectFormat businessObjectFormat = businessObjectDataDdlPartitionsHelper.validatePartitionFiltersAndFormat(generateDdlRequest);
 
         // Depending on the flag, prepare "if not exists" option text or leave it an empty string.
         String ifNotExistsOption = BooleanUtils.isTrue(generateDdlRequest.getIncludeIfNotExistsOption()) ? "IF NOT EXISTS " : "";
 
-        // Only generate the create table DDL statement, if custom DDL was not specified.
-        if (generateDdlRequest.getCustomDdlEntity() == null)
+        // The delta DDL only drops and adds back the partitions for the business object data changed since the specified time.
+        if (generateDdlRequest.getChangedSinceTime() != null)
         {
-            generateStandardBaseDdl(generateDdlRequest, sb, businessObjectFormat, ifNotExistsOption);
+            Assert.isTrue(generateDdlRequest.getPartitioned(), "Delta DDL can only be generated for a partitioned table.");
+
+            if (!CollectionUtils.isEmpty(generateDdlRequest.getPartitionFilters()))
+            {
+                // The changed partitions are dropped even when they no longer have available business object data.
+                generateDdlRequest.setPartitionFilters(businessObjectDataDdlPartitionsHelper.getChangedPartitionFilters(generateDdlRequest));
+                generateDdlRequest.setIncludeDropPartitions(true);
+                generateDdlRequest.setAllowMissingData(true);
+            }
         }
         else
         {
-            // Use the custom DDL in place of the create table statement.
-            sb.append(String.format("%s\n", generateDdlRequest.getCustomDdlEntity().getDdl()));
+            // Add drop table if requested.
+            if (BooleanUtils.isTrue(generateDdlRequest.getIncludeDropTableStatement()))
+            {
+                sb.append(String.format("DROP TABLE IF EXISTS `%s`;\n\n", generateDdlRequest.getTableName()));
+            }
+
+            // Only generate the create table DDL statement, if custom DDL was not specified.
+            if (generateDdlRequest.getCustomDdlEntity() == null)
+            {
+                generateStandardBaseDdl(generateDdlRequest, sb, businessObjectFormat, ifNotExistsOption);
+            }
+            else
+            {
+                // Use the custom DDL in place of the create table statement.
+                sb.append(String.format("%s\n", generateDdlRequest.getCustomDdlEntity().getDdl()));
 
-            // We need to substitute the relative custom DDL token with an actual table name.
-            replacements.put(TABLE_NAME_CUSTOM_DDL_TOKEN, generateDdlRequest.getTableName());
+                // We need to substitute the relative custom DDL token with an actual table name.
+                replacements.put(TABLE_NAME_CUSTOM_DDL_TOKEN, generateDdlRequest.getTableName());
+            }
+
+            ddlWriter.append(sb.toString());
         }
 
         // Add alter table statements only if the list of partition filters is not empty - this is applicable to generating DDL for business object data only.
         if (!CollectionUtils.isEmpty(generateDdlRequest.getPartitionFilters()))
         {
-            processPartitionFiltersForGenerateDdl(generateDdlRequest, sb, replacements, businessObjectFormat, ifNotExistsOption);
+            processPartitionFiltersForGenerateDdl(generateDdlRequest, ddlWriter, replacements, businessObjectFormat, ifNotExistsOption, pagePartitionFilters);
         }
 
-        // Trim to remove unnecessary end-of-line characters, if any, from the end of the generated DDL.
-        String resultDdl = sb.toString().trim();
-
-        // Substitute the relative custom DDL tokens with their values.
-        if (!replacements.isEmpty())
-        {
-            for (Map.Entry<String, String> entry : replacements.entrySet())
-            {
-                String token = entry.getKey();
-                String value = entry.getValue();
-                resultDdl = resultDdl.replaceAll(Pattern.quote(token), value);
-            }
-        }
-
-        return resultDdl;
+        // Write out the rest of the DDL without unnecessary end-of-line characters, if any, at its end.
+        ddlWriter.close();
     }
 
     /**
@@ -739,111 +791,125 @@ public class Hive13DdlGenerator extends DdlGenerator
      * Processes partition filters for DDL generation as per generate DDL request.
      *
      * @param generateDdlRequest the generate DDL request
-     * @param sb the string builder to be updated with the "alter table add partition" statements
+     * @param ddlWriter the DDL writer to be updated with the "alter table" statements
      * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
      * @param businessObjectFormat the business object format
      * @param ifNotExistsOption specifies if generated DDL contains "if not exists" option
+     * @param pagePartitionFilters specifies whether to process the partition filters one page at a time, writing out the DDL generated for each page
      */
-    private void processPartitionFiltersForGenerateDdl(BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequest, StringBuilder sb,
-        HashMap<String, String> replacements, BusinessObjectFormat businessObjectFormat, String ifNotExistsOption)
+    private void processPartitionFiltersForGenerateDdl(BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequest,
+        DdlWriter ddlWriter, HashMap<String, String> replacements, BusinessObjectFormat businessObjectFormat, String ifNotExistsOption,
+        boolean pagePartitionFilters)
     {
+        // Unless the partition filters are processed one page at a time, select and validate the storage units for all partition filters upfront.
         List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtos =
-            businessObjectDataDdlPartitionsHelper.processPartitionFiltersForGenerateDdlPartitions(generateDdlRequest);
+            pagePartitionFilters ? null : businessObjectDataDdlPartitionsHelper.processPartitionFiltersForGenerateDdlPartitions(generateDdlRequest);
 
-        // Continue processing only if table is partitioned, custom DDL is specified, or there is at least one business object data instance found.
-        if (generateDdlRequest.getPartitioned() || generateDdlRequest.getCustomDdlEntity() != null || CollectionUtils.isNotEmpty(storageUnitAvailabilityDtos))
+        // If drop partitions flag is set and the table is partitioned, drop partitions specified by the partition filters.
+        if (generateDdlRequest.getPartitioned() && BooleanUtils.isTrue(generateDdlRequest.getIncludeDropPartitions()))
         {
-            // If drop partitions flag is set and the table is partitioned, drop partitions specified by the partition filters.
-            if (generateDdlRequest.getPartitioned() && BooleanUtils.isTrue(generateDdlRequest.getIncludeDropPartitions()))
+            // Start the alter table drop partition statements.
+            ddlWriter.startAlterTableStatements(String.format("ALTER TABLE `%s` DROP IF EXISTS", generateDdlRequest.getTableName()), ",\n    ",
+                generateDdlRequest.getCombineMultiplePartitionsInSingleAlterTable(), generateDdlRequest.getCombinedAlterTableMaxPartitions());
+
+            // Create a drop partition statement for each partition filter entry.
+            for (List<String> partitionFilter : generateDdlRequest.getPartitionFilters())
             {
-                // Generate the beginning of the alter table statement.
-                String alterTableFirstToken = String.format("ALTER TABLE `%s` DROP IF EXISTS", generateDdlRequest.getTableName());
+                // Start building a drop partition statement for this partition filter.
+                StringBuilder dropPartitionStatement = new StringBuilder();
+                dropPartitionStatement.append("PARTITION (");
 
-                // Create a drop partition statement for each partition filter entry.
-                List<String> dropPartitionStatements = new ArrayList<>();
-                for (List<String> partitionFilter : generateDdlRequest.getPartitionFilters())
+                // Specify all partition column values as per this partition filter.
+                List<String> partitionKeyValuePairs = new ArrayList<>();
+                for (int i = 0; i < partitionFilter.size(); i++)
                 {
-                    // Start building a drop partition statement for this partition filter.
-                    StringBuilder dropPartitionStatement = new StringBuilder();
-                    dropPartitionStatement.append("PARTITION (");
-
-                    // Specify all partition column values as per this partition filter.
-                    List<String> partitionKeyValuePairs = new ArrayList<>();
-                    for (int i = 0; i < partitionFilter.size(); i++)
+                    if (StringUtils.isNotBlank(partitionFilter.get(i)))
                     {
-                        if (StringUtils.isNotBlank(partitionFilter.get(i)))
-                        {
-                            // We cannot hit ArrayIndexOutOfBoundsException on getPartitions() since partitionFilter would
-                            // not have a value set at an index that is greater or equal than the number of partitions in the schema.
-                            String partitionColumnName = businessObjectFormat.getSchema().getPartitions().get(i).getName();
+                        // We cannot hit ArrayIndexOutOfBoundsException on getPartitions() since partitionFilter would
+                        // not have a value set at an index that is greater or equal than the number of partitions in the schema.
+                        String partitionColumnName = businessObjectFormat.getSchema().getPartitions().get(i).getName();
 
-                            // If quotes are being suppressed for numeric types and the partition value is a numeric type, then suppress the quotes.
-                            if (businessObjectDataDdlPartitionsHelper.suppressQuotesInNumericTypePartitionValues(
-                                generateDdlRequest.getSuppressQuotesInNumericTypePartitionValues(),
+                        // If quotes are being suppressed for numeric types and the partition value is a numeric type, then suppress the quotes.
+                        if (businessObjectDataDdlPartitionsHelper
+                            .suppressQuotesInNumericTypePartitionValues(generateDdlRequest.getSuppressQuotesInNumericTypePartitionValues(),
                                 businessObjectFormat.getSchema().getPartitions().get(i).getType()))
-                            {
-                                partitionKeyValuePairs.add(String.format("`%s`=%s", partitionColumnName, partitionFilter.get(i)));
-                            }
-                            else
-                            {
-                                partitionKeyValuePairs.add(String.format("`%s`='%s'", partitionColumnName, partitionFilter.get(i)));
-                            }
+                        {
+                            partitionKeyValuePairs.add(String.format("`%s`=%s", partitionColumnName, partitionFilter.get(i)));
+                        }
+                        else
+                        {
+                            partitionKeyValuePairs.add(String.format("`%s`='%s'", partitionColumnName, partitionFilter.get(i)));
                         }
                     }
-
-                    // Complete the drop partition statement.
-                    dropPartitionStatement.append(StringUtils.join(partitionKeyValuePairs, ", ")).append(')');
-
-                    // Add this drop partition statement to the list.
-                    dropPartitionStatements.add(dropPartitionStatement.toString());
                 }
 
-                // Add all drop partition statements to the main string builder.
-                if (CollectionUtils.isNotEmpty(dropPartitionStatements))
-                {
-                    // Get the size on the list.
-                    int listSize = CollectionUtils.size(dropPartitionStatements);
-
-                    // Append partition statements in chunks as determined by the optionally
-                    // specified maximum number of partitions in combined alter table statement.
-                    int chunkSize = generateDdlRequest.getCombinedAlterTableMaxPartitions() != null ? generateDdlRequest.getCombinedAlterTableMaxPartitions() :
-                        BooleanUtils.isTrue(generateDdlRequest.getCombineMultiplePartitionsInSingleAlterTable()) ? listSize : 1;
-
-                    // Add a blank line before the first alter table statement.
-                    sb.append('\n');
+                // Complete the drop partition statement.
+                dropPartitionStatement.append(StringUtils.join(partitionKeyValuePairs, ", ")).append(')');
 
-                    // Loop through each chunk until we have reached the end of the list.
-                    for (int i = 0; i < listSize; i += chunkSize)
-                    {
-                        // If we are combining multiple partitions into single alter table statement, add an extra blank line as a separator between the chunks.
-                        if (BooleanUtils.isTrue(generateDdlRequest.getCombineMultiplePartitionsInSingleAlterTable()) && i > 0)
-                        {
-                            sb.append('\n');
-                        }
+                // Add this drop partition statement to the alter table statements.
+                ddlWriter.appendAlterTablePartition(dropPartitionStatement.toString());
+            }
 
-                        // Add first token for alter table statement.
-                        sb.append(alterTableFirstToken);
+            // Complete the alter table drop partition statements.
+            ddlWriter.endAlterTableStatements();
+        }
 
-                        // Add end-of-line along with an indent if we are combining multiple partitions
-                        // into single alter table statement or one space character otherwise.
-                        sb.append(BooleanUtils.isTrue(generateDdlRequest.getCombineMultiplePartitionsInSingleAlterTable()) ? "\n    " : " ");
+        // Start the alter table add partition statements.
+        ddlWriter.startAlterTableStatements(String.format("ALTER TABLE `%s` ADD %s", generateDdlRequest.getTableName(), ifNotExistsOption).trim(), "\n    ",
+            generateDdlRequest.getCombineMultiplePartitionsInSingleAlterTable(), generateDdlRequest.getCombinedAlterTableMaxPartitions());
 
-                        // Add all statements in this chunk.
-                        sb.append(StringUtils.join(dropPartitionStatements.subList(i, Math.min(listSize, i + chunkSize)), chunkSize > 1 ? ",\n    " : ""));
+        if (pagePartitionFilters)
+        {
+            // Process the partition filters one page at a time.
+            List<List<String>> partitionFilters = generateDdlRequest.getPartitionFilters();
+            int pageSize = configurationHelper.getProperty(ConfigurationValue.DDL_STREAM_PARTITION_FILTERS_PAGE_SIZE, Integer.class);
+            try
+            {
+                for (int i = 0; i < partitionFilters.size(); i += pageSize)
+                {
+                    // Select and validate the storage units for this page of partition filters and add the relative partitions.
+                    generateDdlRequest.setPartitionFilters(partitionFilters.subList(i, Math.min(partitionFilters.size(), i + pageSize)));
+                    processStorageUnitsForGenerateDdl(generateDdlRequest, ddlWriter, replacements, businessObjectFormat,
+                        businessObjectDataDdlPartitionsHelper.processPartitionFiltersForGenerateDdlPartitions(generateDdlRequest));
 
-                        // Complete this alter table statement.
-                        sb.append(";\n");
+                    // Write out the DDL generated so far. We wait for the first partition to be added, since it might provide the table location.
+                    if (ddlWriter.getAlterTablePartitionCount() > 0)
+                    {
+                        ddlWriter.flush();
                     }
                 }
             }
-
-            // Process storage unit entities.
-            if (!CollectionUtils.isEmpty(storageUnitAvailabilityDtos))
+            finally
             {
-                businessObjectDataDdlPartitionsHelper
-                    .processStorageUnitsForGenerateDdlPartitions(generateDdlRequest, sb, new ArrayList(), replacements, businessObjectFormat, ifNotExistsOption,
-                        storageUnitAvailabilityDtos);
+                generateDdlRequest.setPartitionFilters(partitionFilters);
             }
         }
+        else
+        {
+            processStorageUnitsForGenerateDdl(generateDdlRequest, ddlWriter, replacements, businessObjectFormat, storageUnitAvailabilityDtos);
+        }
+
+        // Complete the alter table add partition statements.
+        ddlWriter.endAlterTableStatements();
+    }
+
+    /**
+     * Adds the "alter table add partition" statements for the specified storage units.
+     *
+     * @param generateDdlRequest the generate DDL request
+     * @param ddlWriter the DDL writer to be updated with the "alter table add partition" statements
+     * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
+     * @param businessObjectFormat the business object format
+     * @param storageUnitAvailabilityDtos the list of storage unit availability DTOs
+     */
+    private void processStorageUnitsForGenerateDdl(BusinessObjectDataDdlPartitionsHelper.GenerateDdlRequestWrapper generateDdlRequest, DdlWriter ddlWriter,
+        HashMap<String, String> replacements, BusinessObjectFormat businessObjectFormat, List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtos)
+    {
+        if (!CollectionUtils.isEmpty(storageUnitAvailabilityDtos))
+        {
+            businessObjectDataDdlPartitionsHelper
+                .processStorageUnitsForGenerateDdlPartitions(generateDdlRequest, ddlWriter, new ArrayList<>(), replacements, businessObjectFormat,
+                    storageUnitAvailabilityDtos);
+        }
     }
 }
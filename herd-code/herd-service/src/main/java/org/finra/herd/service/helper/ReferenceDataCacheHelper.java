@@ -0,0 +1,81 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.ReferenceDataCacheDao;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * A helper that keeps the reference data in the Hibernate second-level cache of this herd node consistent with the changes made by the other herd nodes.
+ * Changes made on this herd node are invalidated by Hibernate itself, so this only needs to detect changes made elsewhere.
+ */
+@Component
+public class ReferenceDataCacheHelper
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceDataCacheHelper.class);
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private ReferenceDataCacheDao referenceDataCacheDao;
+
+    /**
+     * The reference data version seen by the last check or null if the reference data was not checked yet.
+     */
+    private String referenceDataVersion;
+
+    /**
+     * Periodically check the reference data version and evict the reference data cache of this herd node, if the reference data was changed since the last
+     * check.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public synchronized void evictStaleReferenceDataCache()
+    {
+        try
+        {
+            // Skip the check when the second-level cache is not enabled.
+            if (!configurationHelper.getBooleanProperty(ConfigurationValue.HIBERNATE_SECOND_LEVEL_CACHE_ENABLED))
+            {
+                return;
+            }
+
+            // Get the current reference data version.
+            String currentReferenceDataVersion = referenceDataCacheDao.getReferenceDataVersion();
+
+            // Evict the reference data cache if the reference data was changed.
+            if (referenceDataVersion != null && !referenceDataVersion.equals(currentReferenceDataVersion))
+            {
+                LOGGER.info("Evicting the reference data cache. previousReferenceDataVersion=\"{}\" currentReferenceDataVersion=\"{}\"", referenceDataVersion,
+                    currentReferenceDataVersion);
+                referenceDataCacheDao.evictReferenceDataCache();
+            }
+
+            referenceDataVersion = currentReferenceDataVersion;
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Failed to check the reference data version.", e);
+        }
+    }
+}
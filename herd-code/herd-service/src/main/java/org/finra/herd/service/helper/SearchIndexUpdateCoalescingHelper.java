@@ -0,0 +1,339 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_TAG_UPDATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_CREATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_DELETE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_UPDATE;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.core.helper.MethodMetricsHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.SearchIndexUpdateDto;
+import org.finra.herd.service.BusinessObjectDefinitionService;
+import org.finra.herd.service.TagService;
+
+/**
+ * Coalesces the search index update messages by document id over a short time window and applies the pending updates as bulk updates, so a burst of
+ * modifications to the same business object definition or tag results in a single re-rendering and re-indexing of its search index document. The search
+ * index update JMS message listener threads wait until the updates of their messages are applied, so a message is only acknowledged once its updates are in
+ * the search index, and a message whose updates fail is redelivered by the queue.
+ */
+@Component
+public class SearchIndexUpdateCoalescingHelper
+{
+    /**
+     * The name of the counter of the search index document updates received from the search index update messages.
+     */
+    public static final String RECEIVED_DOCUMENT_UPDATES_COUNTER = "search_index_update_received_documents";
+
+    /**
+     * The name of the counter of the coalesced search index document updates applied to the search index. The ratio of the received to the applied document
+     * updates is the coalescing ratio.
+     */
+    public static final String APPLIED_DOCUMENT_UPDATES_COUNTER = "search_index_update_applied_documents";
+
+    /**
+     * The name of the counter of the coalesced search index document updates that failed to be applied. The messages of the failed document updates are
+     * redelivered by the queue.
+     */
+    public static final String FAILED_DOCUMENT_UPDATES_COUNTER = "search_index_update_failed_documents";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexUpdateCoalescingHelper.class);
+
+    @Autowired
+    private BusinessObjectDefinitionService businessObjectDefinitionService;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private MethodMetricsHelper methodMetricsHelper;
+
+    @Autowired
+    private TagService tagService;
+
+    /**
+     * The pending document updates by message type and document id. Guarded by this helper's monitor.
+     */
+    private final Map<String, Map<Long, PendingDocumentUpdate>> pendingDocumentUpdates = new LinkedHashMap<>();
+
+    /**
+     * The number of pending document updates. Guarded by this helper's monitor.
+     */
+    private int pendingDocumentUpdateCount;
+
+    /**
+     * The lock that makes the pending document updates be applied by one thread at a time, so the updates of the same document are applied in order.
+     */
+    private final Object applyLock = new Object();
+
+    /**
+     * Applies the document updates from the specified search index update message along with the other pending updates of the same documents. The calling
+     * thread waits for the coalescing window to let the updates from other messages join, then applies all the pending document updates unless another thread
+     * has already applied them. The method returns once the document updates from the message are applied.
+     *
+     * @param searchIndexUpdateDto the search index update message
+     *
+     * @throws RuntimeException if the document updates from the message failed to be applied
+     */
+    public void applySearchIndexUpdate(SearchIndexUpdateDto searchIndexUpdateDto)
+    {
+        CompletableFuture<Void> completion = addSearchIndexUpdate(searchIndexUpdateDto);
+
+        int coalescingWindowMilliseconds =
+            configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLISECONDS, Integer.class);
+
+        try
+        {
+            try
+            {
+                completion.get(coalescingWindowMilliseconds, TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException e)
+            {
+                // The coalescing window has elapsed, so apply the pending document updates, including the ones from this message, on this thread.
+                applyPendingDocumentUpdates();
+                completion.get();
+            }
+        }
+        catch (ExecutionException e)
+        {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the search index updates to be applied.", e);
+        }
+    }
+
+    /**
+     * Adds the document updates from the specified search index update message to the pending document updates. The pending updates are applied right away
+     * when their number reaches the configured maximum.
+     *
+     * @param searchIndexUpdateDto the search index update message
+     *
+     * @return the future that completes when all the document updates from the message are applied, or completes exceptionally if any of them fails
+     */
+    CompletableFuture<Void> addSearchIndexUpdate(SearchIndexUpdateDto searchIndexUpdateDto)
+    {
+        // If the message type is null, this message is in the original message format, that was used for the business object definitions only.
+        String messageType = searchIndexUpdateDto.getMessageType() == null ? MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE :
+            searchIndexUpdateDto.getMessageType();
+        List<Long> ids = MESSAGE_TYPE_TAG_UPDATE.equals(messageType) ? searchIndexUpdateDto.getTagIds() : searchIndexUpdateDto.getBusinessObjectDefinitionIds();
+
+        if (CollectionUtils.isEmpty(ids))
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        methodMetricsHelper.incrementCounter(RECEIVED_DOCUMENT_UPDATES_COUNTER, ids.size());
+
+        int maxPendingDocuments = configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS, Integer.class);
+
+        List<CompletableFuture<Void>> documentCompletions = new ArrayList<>();
+        boolean applyPendingDocumentUpdates;
+        synchronized (this)
+        {
+            for (Long id : ids)
+            {
+                documentCompletions.add(addPendingDocumentUpdate(messageType, id, searchIndexUpdateDto.getModificationType()));
+            }
+            applyPendingDocumentUpdates = pendingDocumentUpdateCount >= maxPendingDocuments;
+        }
+
+        if (applyPendingDocumentUpdates)
+        {
+            applyPendingDocumentUpdates();
+        }
+
+        return CompletableFuture.allOf(documentCompletions.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Applies all the pending document updates, grouped by message type and modification type, as bulk updates. The document updates of a group that fails
+     * complete exceptionally, so the messages they came from are redelivered by the queue.
+     */
+    @PreDestroy
+    public void applyPendingDocumentUpdates()
+    {
+        synchronized (applyLock)
+        {
+            // Take the pending document updates.
+            Map<String, Map<Long, PendingDocumentUpdate>> documentUpdates;
+            synchronized (this)
+            {
+                if (pendingDocumentUpdateCount == 0)
+                {
+                    return;
+                }
+
+                documentUpdates = new LinkedHashMap<>(pendingDocumentUpdates);
+                pendingDocumentUpdates.clear();
+                pendingDocumentUpdateCount = 0;
+            }
+
+            for (Map.Entry<String, Map<Long, PendingDocumentUpdate>> messageTypeEntry : documentUpdates.entrySet())
+            {
+                // Group the document ids by the modification type.
+                Map<String, List<Long>> idsByModificationType = new LinkedHashMap<>();
+                messageTypeEntry.getValue().forEach((id, pendingDocumentUpdate) -> idsByModificationType
+                    .computeIfAbsent(pendingDocumentUpdate.getModificationType(), key -> new ArrayList<>()).add(id));
+
+                for (Map.Entry<String, List<Long>> modificationTypeEntry : idsByModificationType.entrySet())
+                {
+                    applyDocumentUpdates(messageTypeEntry.getKey(), modificationTypeEntry.getKey(), modificationTypeEntry.getValue(),
+                        messageTypeEntry.getValue());
+                }
+            }
+
+            LOGGER.info("Applied coalesced search index updates. receivedDocumentUpdates={} appliedDocumentUpdates={} failedDocumentUpdates={}",
+                methodMetricsHelper.getCounter(RECEIVED_DOCUMENT_UPDATES_COUNTER), methodMetricsHelper.getCounter(APPLIED_DOCUMENT_UPDATES_COUNTER),
+                methodMetricsHelper.getCounter(FAILED_DOCUMENT_UPDATES_COUNTER));
+        }
+    }
+
+    /**
+     * Applies the updates of the specified documents as a single bulk update and completes the document updates accordingly.
+     *
+     * @param messageType the message type
+     * @param modificationType the modification type
+     * @param ids the ids of the documents to update
+     * @param takenDocumentUpdates the pending document updates the ids were taken from
+     */
+    private void applyDocumentUpdates(String messageType, String modificationType, List<Long> ids, Map<Long, PendingDocumentUpdate> takenDocumentUpdates)
+    {
+        try
+        {
+            if (MESSAGE_TYPE_TAG_UPDATE.equals(messageType))
+            {
+                tagService.updateSearchIndexDocumentTag(new SearchIndexUpdateDto(messageType, ids, modificationType));
+            }
+            else
+            {
+                businessObjectDefinitionService.updateSearchIndexDocumentBusinessObjectDefinition(new SearchIndexUpdateDto(messageType, ids, modificationType));
+            }
+
+            methodMetricsHelper.incrementCounter(APPLIED_DOCUMENT_UPDATES_COUNTER, ids.size());
+            ids.forEach(id -> takenDocumentUpdates.get(id).getCompletion().complete(null));
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.warn("Failed to apply coalesced search index updates. The messages of these updates will be redelivered. " +
+                "messageType=\"{}\" modificationType=\"{}\" ids={}", messageType, modificationType, ids, e);
+
+            methodMetricsHelper.incrementCounter(FAILED_DOCUMENT_UPDATES_COUNTER, ids.size());
+            ids.forEach(id -> takenDocumentUpdates.get(id).getCompletion().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Adds a document update to the pending document updates, coalescing it with the pending update of the same document if any. Must be called while
+     * holding this helper's monitor.
+     *
+     * @param messageType the message type
+     * @param id the document id
+     * @param modificationType the modification type
+     *
+     * @return the future that completes when the pending update of the document is applied
+     */
+    private CompletableFuture<Void> addPendingDocumentUpdate(String messageType, Long id, String modificationType)
+    {
+        Map<Long, PendingDocumentUpdate> documentUpdates = pendingDocumentUpdates.computeIfAbsent(messageType, key -> new LinkedHashMap<>());
+        PendingDocumentUpdate pendingDocumentUpdate = documentUpdates.get(id);
+
+        if (pendingDocumentUpdate == null)
+        {
+            pendingDocumentUpdate = new PendingDocumentUpdate(modificationType, new CompletableFuture<>());
+            pendingDocumentUpdateCount++;
+        }
+        else
+        {
+            pendingDocumentUpdate = new PendingDocumentUpdate(coalesceModificationTypes(pendingDocumentUpdate.getModificationType(), modificationType),
+                pendingDocumentUpdate.getCompletion());
+        }
+
+        documentUpdates.put(id, pendingDocumentUpdate);
+        return pendingDocumentUpdate.getCompletion();
+    }
+
+    /**
+     * Coalesces two modifications of the same document into one. Since the created and updated documents are rendered from the current state of the database,
+     * the latest modification wins, except that an update keeps a pending create, so the document still gets created, and an update keeps a pending delete, so
+     * the document of a deleted entity still gets deleted.
+     *
+     * @param olderModificationType the modification type of the older update
+     * @param newerModificationType the modification type of the newer update
+     *
+     * @return the coalesced modification type
+     */
+    private String coalesceModificationTypes(String olderModificationType, String newerModificationType)
+    {
+        if (SEARCH_INDEX_UPDATE_TYPE_UPDATE.equals(newerModificationType) &&
+            (SEARCH_INDEX_UPDATE_TYPE_CREATE.equals(olderModificationType) || SEARCH_INDEX_UPDATE_TYPE_DELETE.equals(olderModificationType)))
+        {
+            return olderModificationType;
+        }
+
+        return newerModificationType;
+    }
+
+    /**
+     * A pending document update along with the future shared by the messages the coalesced update came from.
+     */
+    private static class PendingDocumentUpdate
+    {
+        private final String modificationType;
+
+        private final CompletableFuture<Void> completion;
+
+        PendingDocumentUpdate(String modificationType, CompletableFuture<Void> completion)
+        {
+            this.modificationType = modificationType;
+            this.completion = completion;
+        }
+
+        String getModificationType()
+        {
+            return modificationType;
+        }
+
+        CompletableFuture<Void> getCompletion()
+        {
+            return completion;
+        }
+    }
+}
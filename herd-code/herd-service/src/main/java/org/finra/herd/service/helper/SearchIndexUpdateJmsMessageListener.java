@@ -60,6 +60,9 @@ public class SearchIndexUpdateJmsMessageListener
     @Autowired
     private JsonHelper jsonHelper;
 
+    @Autowired
+    private SearchIndexUpdateCoalescingHelper searchIndexUpdateCoalescingHelper;
+
     @Autowired
     private TagService tagService;
 
@@ -142,8 +145,19 @@ public class SearchIndexUpdateJmsMessageListener
             LOGGER.info("Unmarshall the json payload into the searchIndexUpdateDto=\"{}\", jms_messageId=\"{}\"", searchIndexUpdateDto.toString(),
                 allHeaders.get("jms_messageId"));
 
+            // If coalescing is enabled, apply the message along with the other pending updates of the same documents. This waits until the updates are
+            // applied, so the message is not acknowledged before its updates are in the search index. A message of an unknown type is not coalesced, so it
+            // gets reported and dropped below.
+            String messageType = searchIndexUpdateDto.getMessageType();
+            if (configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLISECONDS, Integer.class) > 0 &&
+                (messageType == null || MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE.equals(messageType) || MESSAGE_TYPE_TAG_UPDATE.equals(messageType)))
+            {
+                LOGGER.info("Applying the search index update along with the pending search index updates. jms_messageId=\"{}\"",
+                    allHeaders.get("jms_messageId"));
+                searchIndexUpdateCoalescingHelper.applySearchIndexUpdate(searchIndexUpdateDto);
+            }
             // If the message type is null, this message is in the original message format.
-            if (searchIndexUpdateDto.getMessageType() == null)
+            else if (searchIndexUpdateDto.getMessageType() == null)
             {
                 LOGGER.info("Updating the search index document(s) for the business object definition(s) that have changed. jms_messageId=\"{}\"",
                     allHeaders.get("jms_messageId"));
@@ -25,6 +25,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import org.apache.commons.collections4.CollectionUtils;
@@ -37,13 +39,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.api.xml.StorageUnit;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.model.jpa.StorageFileEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
+import org.finra.herd.service.S3Service;
 
 /**
  * A helper class for StorageFile related code.
@@ -56,9 +63,15 @@ public class StorageFileHelper
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private JsonHelper jsonHelper;
 
+    @Autowired
+    private S3Service s3Service;
+
     /**
      * Creates a storage file from the storage file entity. Storage unit directory path might not be specified and also it may or may not contain trailing '/'
      * character.
@@ -297,6 +310,24 @@ public class StorageFileHelper
         return result;
     }
 
+    /**
+     * Lists the S3 files matching the S3 key prefix and returns a map of file paths to the storage files built from them with map iteration order matching the
+     * order the S3 files were listed in. The S3 files are streamed straight into the map, so the S3 listing is never held in memory. When listing S3 files, 0
+     * byte objects that represent S3 directories are ignored.
+     *
+     * @param params the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 files to get listed.
+     *
+     * @return the map of file paths to storage files
+     */
+    public Map<String, StorageFile> getStorageFilesMapFromS3(S3FileTransferRequestParamsDto params)
+    {
+        Map<String, StorageFile> result = new LinkedHashMap<>();
+
+        streamS3Directory(params, s3Object -> result.put(s3Object.getKey(), new StorageFile(s3Object.getKey(), s3Object.getSize(), null)));
+
+        return result;
+    }
+
     /**
      * Returns a map of file paths to the storage files build from the list of S3 object summaries with map iteration order matching the original list order.
      *
@@ -413,6 +444,33 @@ public class StorageFileHelper
         }
     }
 
+    /**
+     * Lists the S3 files matching the S3 key prefix and validates them per list of expected storage files as they get listed, so the S3 listing is never held
+     * in memory as a whole. Every listed S3 file is also passed on to the specified consumer. The validation ignores (does not fail) when detecting
+     * unregistered zero byte S3 files. For directory only registration, when no storage files are expected, the S3 files are listed without validation. When
+     * listing S3 files, 0 byte objects that represent S3 directories are ignored.
+     *
+     * @param params the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 files to get listed.
+     * @param expectedStorageFiles the list of expected S3 files represented by storage files, maybe empty
+     * @param storageName the storage name
+     * @param businessObjectDataKey the business object data key
+     * @param s3ObjectConsumer the consumer of the listed S3 files
+     */
+    public void listAndValidateRegisteredS3Files(S3FileTransferRequestParamsDto params, List<StorageFile> expectedStorageFiles, String storageName,
+        BusinessObjectDataKey businessObjectDataKey, Consumer<S3ObjectSummaryDto> s3ObjectConsumer)
+    {
+        if (CollectionUtils.isEmpty(expectedStorageFiles))
+        {
+            streamS3Directory(params, s3ObjectConsumer);
+        }
+        else
+        {
+            validateRegisteredS3Files(expectedStorageFiles,
+                validatingS3ObjectConsumer -> streamS3Directory(params, validatingS3ObjectConsumer.andThen(s3ObjectConsumer)), storageName,
+                businessObjectDataKey);
+        }
+    }
+
     /**
      * Validates registered S3 files per list of expected storage files. The validation ignores (does not fail) when detecting unregistered zero byte S3 files.
      *
@@ -424,45 +482,12 @@ public class StorageFileHelper
     public void validateRegisteredS3Files(List<StorageFile> expectedStorageFiles, List<S3ObjectSummary> s3ObjectSummaries, String storageName,
         BusinessObjectDataKey businessObjectDataKey)
     {
-        // Get a set of actual S3 file paths.
-        Set<String> actualS3FilePaths = new HashSet<>(getFilePathsFromS3ObjectSummaries(s3ObjectSummaries));
-
-        // Validate existence and file size for all expected files.
-        for (StorageFile expectedStorageFile : expectedStorageFiles)
-        {
-            if (!actualS3FilePaths.contains(expectedStorageFile.getFilePath()))
+        validateRegisteredS3Files(expectedStorageFiles, s3ObjectConsumer -> {
+            for (S3ObjectSummary s3ObjectSummary : s3ObjectSummaries)
             {
-                throw new ObjectNotFoundException(
-                    String.format("Registered file \"%s\" does not exist in \"%s\" storage.", expectedStorageFile.getFilePath(), storageName));
+                s3ObjectConsumer.accept(new S3ObjectSummaryDto(s3ObjectSummary.getKey(), s3ObjectSummary.getSize(), s3ObjectSummary.getStorageClass()));
             }
-        }
-
-        // Get a set of expected file paths.
-        Set<String> expectedFilePaths = new HashSet<>(getFilePathsFromStorageFiles(expectedStorageFiles));
-
-        // Create a JSON representation of the business object data key.
-        String businessObjectDataKeyAsJson = jsonHelper.objectToJson(businessObjectDataKey);
-
-        // Validate that no other files in S3 bucket except for expected storage files have the same S3 key prefix.
-        // Please note that this validation ignores (does not fail on) any unregistered zero byte S3 files.
-        for (S3ObjectSummary s3ObjectSummary : s3ObjectSummaries)
-        {
-            if (!expectedFilePaths.contains(s3ObjectSummary.getKey()))
-            {
-                // Ignore unregistered zero byte S3 files.
-                if (s3ObjectSummary.getSize() == 0)
-                {
-                    LOGGER.info("Ignoring unregistered zero byte S3 file. s3Key=\"{}\" storageName=\"{}\" businessObjectDataKey={}", s3ObjectSummary.getKey(),
-                        storageName, businessObjectDataKeyAsJson);
-                }
-                else
-                {
-                    throw new IllegalStateException(String
-                        .format("Found unregistered non-empty S3 file \"%s\" in \"%s\" storage. Business object data {%s}", s3ObjectSummary.getKey(),
-                            storageName, businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey)));
-                }
-            }
-        }
+        }, storageName, businessObjectDataKey);
     }
 
     /**
@@ -575,4 +600,86 @@ public class StorageFileHelper
                     storageUnit.getStorage().getName()));
         }
     }
+
+    /**
+     * Streams the S3 files matching the S3 key prefix to the specified consumer ignoring 0 byte objects that represent S3 directories. The S3 key sub-prefixes
+     * are listed in parallel per configured maximum number of S3 directory listing threads. The maximum number of threads originally set in the S3 file
+     * transfer request parameters is restored once the listing completes, since the callers reuse the parameters for other S3 operations.
+     *
+     * @param params the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 files to get listed.
+     * @param s3ObjectConsumer the consumer of the listed S3 files
+     */
+    private void streamS3Directory(S3FileTransferRequestParamsDto params, Consumer<S3ObjectSummaryDto> s3ObjectConsumer)
+    {
+        Integer maxThreads = params.getMaxThreads();
+        params.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.S3_DIRECTORY_LISTING_MAX_THREADS, Integer.class));
+
+        try
+        {
+            s3Service.streamDirectory(params, true, s3ObjectConsumer);
+        }
+        finally
+        {
+            params.setMaxThreads(maxThreads);
+        }
+    }
+
+    /**
+     * Validates registered S3 files per list of expected storage files while the actual S3 files are passed on one at a time by the specified S3 file lister.
+     * The validation ignores (does not fail) when detecting unregistered zero byte S3 files. A registered S3 file that does not exist is reported ahead of an
+     * unregistered non-empty S3 file, regardless of the order the S3 files are passed on in.
+     *
+     * @param expectedStorageFiles the list of expected S3 files represented by storage files
+     * @param s3ObjectLister the S3 file lister that passes on all actual S3 files to the consumer it is given
+     * @param storageName the storage name
+     * @param businessObjectDataKey the business object data key
+     */
+    private void validateRegisteredS3Files(List<StorageFile> expectedStorageFiles, Consumer<Consumer<S3ObjectSummaryDto>> s3ObjectLister, String storageName,
+        BusinessObjectDataKey businessObjectDataKey)
+    {
+        // Get a set of expected file paths and a set of the expected file paths not found among the actual S3 files yet.
+        Set<String> expectedFilePaths = new HashSet<>(getFilePathsFromStorageFiles(expectedStorageFiles));
+        Set<String> missingFilePaths = new HashSet<>(expectedFilePaths);
+
+        // Create a JSON representation of the business object data key.
+        String businessObjectDataKeyAsJson = jsonHelper.objectToJson(businessObjectDataKey);
+
+        // Check the actual S3 files as they get passed on. Keep the first unregistered non-empty S3 file to report it once all expected files are found.
+        // Please note that this validation ignores (does not fail on) any unregistered zero byte S3 files.
+        AtomicReference<String> unregisteredNonEmptyS3Key = new AtomicReference<>();
+        s3ObjectLister.accept(s3Object -> {
+            if (expectedFilePaths.contains(s3Object.getKey()))
+            {
+                missingFilePaths.remove(s3Object.getKey());
+            }
+            // Ignore unregistered zero byte S3 files.
+            else if (s3Object.getSize() == 0)
+            {
+                LOGGER.info("Ignoring unregistered zero byte S3 file. s3Key=\"{}\" storageName=\"{}\" businessObjectDataKey={}", s3Object.getKey(), storageName,
+                    businessObjectDataKeyAsJson);
+            }
+            else
+            {
+                unregisteredNonEmptyS3Key.compareAndSet(null, s3Object.getKey());
+            }
+        });
+
+        // Validate existence of all expected files.
+        for (StorageFile expectedStorageFile : expectedStorageFiles)
+        {
+            if (missingFilePaths.contains(expectedStorageFile.getFilePath()))
+            {
+                throw new ObjectNotFoundException(
+                    String.format("Registered file \"%s\" does not exist in \"%s\" storage.", expectedStorageFile.getFilePath(), storageName));
+            }
+        }
+
+        // Validate that no other files in S3 bucket except for expected storage files have the same S3 key prefix.
+        if (unregisteredNonEmptyS3Key.get() != null)
+        {
+            throw new IllegalStateException(String
+                .format("Found unregistered non-empty S3 file \"%s\" in \"%s\" storage. Business object data {%s}", unregisteredNonEmptyS3Key.get(),
+                    storageName, businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey)));
+        }
+    }
 }
@@ -17,7 +17,9 @@ package org.finra.herd.service.helper;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -241,9 +243,12 @@ public class StorageUnitHelper
     {
         List<StorageUnitAvailabilityDto> result = new ArrayList<>();
 
+        // Look up the excluded partitions in a hash set to avoid a nested scan when both lists are large.
+        Set<List<String>> excludedPartitionSet = new HashSet<>(excludedPartitions);
+
         for (StorageUnitAvailabilityDto storageUnitAvailabilityDto : storageUnitAvailabilityDtos)
         {
-            if (!excludedPartitions.contains(businessObjectDataHelper.getPrimaryAndSubPartitionValues(storageUnitAvailabilityDto.getBusinessObjectDataKey())))
+            if (!excludedPartitionSet.contains(businessObjectDataHelper.getPrimaryAndSubPartitionValues(storageUnitAvailabilityDto.getBusinessObjectDataKey())))
             {
                 result.add(storageUnitAvailabilityDto);
             }
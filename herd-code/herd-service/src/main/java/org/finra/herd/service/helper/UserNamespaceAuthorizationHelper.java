@@ -21,16 +21,25 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.BooleanUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.WildcardHelper;
 import org.finra.herd.dao.NamespaceDao;
 import org.finra.herd.dao.UserDao;
 import org.finra.herd.dao.UserNamespaceAuthorizationDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.api.xml.NamespaceAuthorization;
 import org.finra.herd.model.api.xml.NamespaceKey;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
@@ -45,6 +54,11 @@ import org.finra.herd.model.jpa.UserNamespaceAuthorizationEntity;
 @Component
 public class UserNamespaceAuthorizationHelper
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserNamespaceAuthorizationHelper.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private ConfigurationHelper configurationHelper;
 
@@ -61,7 +75,23 @@ public class UserNamespaceAuthorizationHelper
     private WildcardHelper wildcardHelper;
 
     /**
-     * Builds a set of namespace authorizations per specified user and adds them to the application user.
+     * The number of namespace authorization lookups served from the cache.
+     */
+    private final AtomicLong namespaceAuthorizationCacheHitCount = new AtomicLong();
+
+    /**
+     * The number of namespace authorization lookups that had to build the namespace authorizations.
+     */
+    private final AtomicLong namespaceAuthorizationCacheMissCount = new AtomicLong();
+
+    /**
+     * The user namespace authorization version seen by the last check or null if the user namespace authorizations were not checked yet.
+     */
+    private String userNamespaceAuthorizationVersion;
+
+    /**
+     * Builds a set of namespace authorizations per specified user and adds them to the application user. When the user namespace authorization cache is
+     * enabled, the namespace authorizations are only built once per user and then served from the cache until they are evicted or expire.
      *
      * @param applicationUser the application user
      */
@@ -70,18 +100,154 @@ public class UserNamespaceAuthorizationHelper
         // Get the user id from the application user.
         String userId = applicationUser.getUserId();
 
+        // Check if user namespace authorization is enabled. The setting can be changed at runtime, so it is read on every call.
+        boolean userNamespaceAuthorizationEnabled =
+            BooleanUtils.isTrue(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED));
+
+        // Build the namespace authorizations, if the cache is not enabled.
+        if (BooleanUtils.isNotTrue(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_ENABLED)))
+        {
+            applicationUser.setNamespaceAuthorizations(buildNamespaceAuthorizations(userId, userNamespaceAuthorizationEnabled));
+            return;
+        }
+
+        // Look up the namespace authorizations in the cache. The cache key includes the user namespace authorization enabled flag, so the entries cached
+        // before the setting was changed are never served.
+        Cache cache = getNamespaceAuthorizationCache();
+        String cacheKey = getNamespaceAuthorizationCacheKey(userId, userNamespaceAuthorizationEnabled);
+        Cache.ValueWrapper cachedValue = cache.get(cacheKey);
+
+        Set<NamespaceAuthorization> namespaceAuthorizations;
+        if (cachedValue != null)
+        {
+            namespaceAuthorizationCacheHitCount.incrementAndGet();
+
+            @SuppressWarnings("unchecked")
+            Set<NamespaceAuthorization> cachedNamespaceAuthorizations = (Set<NamespaceAuthorization>) cachedValue.get();
+            namespaceAuthorizations = copyNamespaceAuthorizations(cachedNamespaceAuthorizations);
+        }
+        else
+        {
+            namespaceAuthorizationCacheMissCount.incrementAndGet();
+
+            // Build the namespace authorizations and cache a copy of them, so the cached value is not affected by changes made to the application user.
+            namespaceAuthorizations = buildNamespaceAuthorizations(userId, userNamespaceAuthorizationEnabled);
+            cache.put(cacheKey, copyNamespaceAuthorizations(namespaceAuthorizations));
+        }
+
+        applicationUser.setNamespaceAuthorizations(namespaceAuthorizations);
+    }
+
+    /**
+     * Evicts the cached namespace authorizations of the specified user. When the user id is a wildcard, the namespace authorizations of all users are evicted,
+     * since the wildcard might match any of them. When called within a transaction, the namespace authorizations are evicted after the transaction commits,
+     * so they can not be cached again from the data that is not yet committed.
+     *
+     * @param userId the user id of the changed user namespace authorization (case-insensitive)
+     */
+    public void evictNamespaceAuthorizations(String userId)
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCommit()
+                {
+                    evictNamespaceAuthorizationsNow(userId);
+                }
+            });
+        }
+        else
+        {
+            evictNamespaceAuthorizationsNow(userId);
+        }
+    }
+
+    /**
+     * Evicts the cached namespace authorizations of all users.
+     */
+    public void evictAllNamespaceAuthorizations()
+    {
+        getNamespaceAuthorizationCache().clear();
+    }
+
+    /**
+     * Periodically check the user namespace authorization version and evict the namespace authorizations cached by this herd node, if the user namespace
+     * authorizations were changed since the last check. This keeps the cache consistent with the changes made by the other herd nodes.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public synchronized void evictStaleNamespaceAuthorizations()
+    {
+        try
+        {
+            // Skip the check when the cache is not enabled.
+            if (BooleanUtils.isNotTrue(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_ENABLED)))
+            {
+                return;
+            }
+
+            // Get the current user namespace authorization version.
+            String currentUserNamespaceAuthorizationVersion = userNamespaceAuthorizationDao.getUserNamespaceAuthorizationVersion();
+
+            // Evict the cached namespace authorizations if the user namespace authorizations were changed.
+            if (userNamespaceAuthorizationVersion != null && !userNamespaceAuthorizationVersion.equals(currentUserNamespaceAuthorizationVersion))
+            {
+                LOGGER.info("Evicting the user namespace authorization cache. previousUserNamespaceAuthorizationVersion=\"{}\" " +
+                        "currentUserNamespaceAuthorizationVersion=\"{}\" namespaceAuthorizationCacheHitCount={} namespaceAuthorizationCacheMissCount={}",
+                    userNamespaceAuthorizationVersion, currentUserNamespaceAuthorizationVersion, namespaceAuthorizationCacheHitCount.get(),
+                    namespaceAuthorizationCacheMissCount.get());
+                evictAllNamespaceAuthorizations();
+            }
+
+            userNamespaceAuthorizationVersion = currentUserNamespaceAuthorizationVersion;
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Failed to check the user namespace authorization version.", e);
+        }
+    }
+
+    /**
+     * Returns the number of namespace authorization lookups served from the cache since this herd node was started.
+     *
+     * @return the namespace authorization cache hit count
+     */
+    public long getNamespaceAuthorizationCacheHitCount()
+    {
+        return namespaceAuthorizationCacheHitCount.get();
+    }
+
+    /**
+     * Returns the number of namespace authorization lookups that were not served from the cache since this herd node was started.
+     *
+     * @return the namespace authorization cache miss count
+     */
+    public long getNamespaceAuthorizationCacheMissCount()
+    {
+        return namespaceAuthorizationCacheMissCount.get();
+    }
+
+    /**
+     * Builds a set of namespace authorizations per specified user.
+     *
+     * @param userId the user id
+     * @param userNamespaceAuthorizationEnabled whether user namespace authorization is enabled
+     *
+     * @return the set of namespace authorizations
+     */
+    private Set<NamespaceAuthorization> buildNamespaceAuthorizations(String userId, boolean userNamespaceAuthorizationEnabled)
+    {
         // Check if user namespace authorization is not enabled or this user is a namespace authorization administrator.
-        if (BooleanUtils.isNotTrue(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)) ||
-            isNamespaceAuthorizationAdmin(userId))
+        if (!userNamespaceAuthorizationEnabled || isNamespaceAuthorizationAdmin(userId))
         {
             // Assign all permissions for all namespaces configured in the system.
-            applicationUser.setNamespaceAuthorizations(getAllNamespaceAuthorizations());
+            return getAllNamespaceAuthorizations();
         }
         else
         {
             // Assign a set of namespace authorizations per specified user.
             Set<NamespaceAuthorization> namespaceAuthorizations = new HashSet<>();
-            applicationUser.setNamespaceAuthorizations(namespaceAuthorizations);
             for (UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity : userNamespaceAuthorizationDao
                 .getUserNamespaceAuthorizationsByUserId(userId))
             {
@@ -97,6 +263,8 @@ public class UserNamespaceAuthorizationHelper
                     namespaceAuthorizations.add(toNamespaceAuthorization(wildcardEntity));
                 }
             }
+
+            return namespaceAuthorizations;
         }
     }
 
@@ -160,6 +328,67 @@ public class UserNamespaceAuthorizationHelper
         return namespacePermissions;
     }
 
+    /**
+     * Returns a deep copy of the specified namespace authorizations.
+     *
+     * @param namespaceAuthorizations the namespace authorizations
+     *
+     * @return the copy of the namespace authorizations
+     */
+    private Set<NamespaceAuthorization> copyNamespaceAuthorizations(Set<NamespaceAuthorization> namespaceAuthorizations)
+    {
+        Set<NamespaceAuthorization> namespaceAuthorizationsCopy = new LinkedHashSet<>();
+
+        for (NamespaceAuthorization namespaceAuthorization : namespaceAuthorizations)
+        {
+            namespaceAuthorizationsCopy.add((NamespaceAuthorization) namespaceAuthorization.clone());
+        }
+
+        return namespaceAuthorizationsCopy;
+    }
+
+    /**
+     * Evicts the cached namespace authorizations of the specified user right away.
+     *
+     * @param userId the user id of the changed user namespace authorization (case-insensitive)
+     */
+    private void evictNamespaceAuthorizationsNow(String userId)
+    {
+        if (userId.startsWith(WildcardHelper.WILDCARD_TOKEN))
+        {
+            evictAllNamespaceAuthorizations();
+        }
+        else
+        {
+            Cache cache = getNamespaceAuthorizationCache();
+            cache.evict(getNamespaceAuthorizationCacheKey(userId, true));
+            cache.evict(getNamespaceAuthorizationCacheKey(userId, false));
+        }
+    }
+
+    /**
+     * Gets the cache that holds the namespace authorizations built per user.
+     *
+     * @return the user namespace authorization cache
+     */
+    private Cache getNamespaceAuthorizationCache()
+    {
+        return cacheManager.getCache(DaoSpringModuleConfig.USER_NAMESPACE_AUTHORIZATION_CACHE_NAME);
+    }
+
+    /**
+     * Gets the key of the cached namespace authorizations of the specified user. The user id is case-insensitive.
+     *
+     * @param userId the user id
+     * @param userNamespaceAuthorizationEnabled whether user namespace authorization is enabled
+     *
+     * @return the cache key
+     */
+    private String getNamespaceAuthorizationCacheKey(String userId, boolean userNamespaceAuthorizationEnabled)
+    {
+        return userId.toUpperCase() + ":" + userNamespaceAuthorizationEnabled;
+    }
+
     /**
      * Returns a list of all available namespace permissions.
      *
@@ -18,14 +18,27 @@ package org.finra.herd.service.helper;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.Velocity;
+import org.apache.velocity.exception.ParseErrorException;
+import org.apache.velocity.exception.TemplateInitException;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeServices;
+import org.apache.velocity.runtime.RuntimeSingleton;
+import org.apache.velocity.runtime.parser.ParseException;
 import org.apache.velocity.util.introspection.SecureUberspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+
 /**
  * A helper to abstract operations around Apache Velocity.
  * Note: This is the strict version of the velocity helper.
@@ -33,6 +46,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class VelocityHelper
 {
+    @Autowired
+    private CacheManager cacheManager;
+
     /**
      * Initializes the Velocity engine.
      */
@@ -69,7 +85,9 @@ public class VelocityHelper
     }
 
     /**
-     * Wrapper for {@link Velocity#evaluate(org.apache.velocity.context.Context, java.io.Writer, String, java.io.InputStream)}
+     * Evaluates a velocity template the same way as {@link Velocity#evaluate(org.apache.velocity.context.Context, java.io.Writer, String, java.io.Reader)},
+     * but parses the template only once. The parsed template is cached by its text and log tag, since the log tag is used as the template name in the error
+     * messages.
      *
      * @param template The template {@link String}
      * @param variables Variables to add to context
@@ -79,7 +97,66 @@ public class VelocityHelper
      */
     public String evaluate(String template, Map<String, Object> variables, String logTag)
     {
-        StringReader templateReader = new StringReader(template);
-        return evaluate(templateReader, variables, logTag);
+        VelocityContext velocityContext = new VelocityContext(variables);
+        StringWriter writer = new StringWriter();
+        getTemplate(template, logTag).merge(velocityContext, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Gets a parsed velocity template from the cache, parsing and caching it if it is not cached yet.
+     *
+     * @param template The template {@link String}
+     * @param logTag The log tag
+     *
+     * @return the parsed velocity template
+     */
+    private Template getTemplate(String template, String logTag)
+    {
+        Cache velocityTemplateCache = cacheManager.getCache(DaoSpringModuleConfig.VELOCITY_TEMPLATE_CACHE_NAME);
+        List<String> cacheKey = Arrays.asList(logTag, template);
+
+        Template velocityTemplate = velocityTemplateCache.get(cacheKey, Template.class);
+        if (velocityTemplate == null)
+        {
+            velocityTemplate = parseTemplate(template, logTag);
+            velocityTemplateCache.put(cacheKey, velocityTemplate);
+        }
+
+        return velocityTemplate;
+    }
+
+    /**
+     * Parses and initializes a velocity template. The parse errors are reported with the same exception as {@link Velocity#evaluate(
+     * org.apache.velocity.context.Context, java.io.Writer, String, java.io.Reader)}.
+     *
+     * @param template The template {@link String}
+     * @param logTag The log tag
+     *
+     * @return the parsed velocity template
+     */
+    private Template parseTemplate(String template, String logTag)
+    {
+        RuntimeServices runtimeServices = RuntimeSingleton.getRuntimeServices();
+
+        Template velocityTemplate = new Template();
+        velocityTemplate.setRuntimeServices(runtimeServices);
+        velocityTemplate.setName(logTag);
+
+        try
+        {
+            velocityTemplate.setData(runtimeServices.parse(new StringReader(template), logTag));
+            velocityTemplate.initDocument();
+        }
+        catch (ParseException parseException)
+        {
+            throw new ParseErrorException(parseException, null);
+        }
+        catch (TemplateInitException templateInitException)
+        {
+            throw new ParseErrorException(templateInitException, null);
+        }
+
+        return velocityTemplate;
     }
-}
\ No newline at end of file
+}
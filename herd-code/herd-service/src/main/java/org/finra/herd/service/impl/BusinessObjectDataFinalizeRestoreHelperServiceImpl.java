@@ -15,12 +15,11 @@
  */
 package org.finra.herd.service.impl;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.StorageClass;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -162,32 +161,23 @@ public class BusinessObjectDataFinalizeRestoreHelperServiceImpl implements Busin
         s3FileTransferRequestParamsDto.setS3Endpoint(businessObjectDataRestoreDto.getS3Endpoint());
         s3FileTransferRequestParamsDto.setS3KeyPrefix(StringUtils.appendIfMissing(businessObjectDataRestoreDto.getS3KeyPrefix(), "/"));
 
-        // Get actual S3 files by selecting all S3 keys matching the S3 key prefix form the S3 bucket.
-        // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-        List<S3ObjectSummary> actualS3Files = s3Service.listDirectory(s3FileTransferRequestParamsDto, true);
-
-        // For directory only registration, we have no registered storage files to check against actual S3 files.
-        if (CollectionUtils.isNotEmpty(businessObjectDataRestoreDto.getStorageFiles()))
-        {
-            // Validate existence and file size of the S3 files.
-            storageFileHelper
-                .validateRegisteredS3Files(businessObjectDataRestoreDto.getStorageFiles(), actualS3Files, businessObjectDataRestoreDto.getStorageName(),
-                    businessObjectDataRestoreDto.getBusinessObjectDataKey());
-        }
-
-        // Build a list of files to check for restore status by selection only objects that are currently archived in Glacier or DeepArchive storage class.
-        List<S3ObjectSummary> glacierS3Files = new ArrayList<>();
-        for (S3ObjectSummary s3ObjectSummary : actualS3Files)
-        {
-            if (StorageClass.Glacier.toString().equals(s3ObjectSummary.getStorageClass()) ||
-                StorageClass.DeepArchive.toString().equals(s3ObjectSummary.getStorageClass()))
-            {
-                glacierS3Files.add(s3ObjectSummary);
-            }
-        }
-
-        // Validate that all S3 files are now restored.
-        s3FileTransferRequestParamsDto.setFiles(storageFileHelper.getFiles(storageFileHelper.createStorageFilesFromS3ObjectSummaries(glacierS3Files)));
+        // Stream the S3 files matching the S3 key prefix, validating existence and file size of the registered S3 files as they get listed.
+        // When listing S3 files, we ignore 0 byte objects that represent S3 directories. For directory only registration, we have no registered storage
+        // files to check against actual S3 files. While listing, build a list of files to check for restore status by selecting only objects that are currently
+        // archived in Glacier or DeepArchive storage class.
+        List<File> glacierFiles = new ArrayList<>();
+        storageFileHelper.listAndValidateRegisteredS3Files(s3FileTransferRequestParamsDto, businessObjectDataRestoreDto.getStorageFiles(),
+            businessObjectDataRestoreDto.getStorageName(), businessObjectDataRestoreDto.getBusinessObjectDataKey(), s3ObjectSummaryDto -> {
+                if (StorageClass.Glacier.toString().equals(s3ObjectSummaryDto.getStorageClass()) ||
+                    StorageClass.DeepArchive.toString().equals(s3ObjectSummaryDto.getStorageClass()))
+                {
+                    glacierFiles.add(new File(s3ObjectSummaryDto.getKey()));
+                }
+            });
+
+        // Validate that all S3 files are now restored, processing the configured number of files concurrently.
+        s3FileTransferRequestParamsDto.setFiles(glacierFiles);
+        s3FileTransferRequestParamsDto.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.S3_RESTORE_MAX_CONCURRENCY, Integer.class));
         s3Service.validateGlacierS3FilesRestored(s3FileTransferRequestParamsDto);
     }
 
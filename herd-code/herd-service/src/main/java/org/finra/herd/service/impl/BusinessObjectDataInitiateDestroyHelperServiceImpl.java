@@ -237,16 +237,37 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImpl implements Busin
         }
 
         // Check if the operation needs to be executed in batch mode.
+        BatchJobConfigDto jobConfig = null;
         if (businessObjectDataDestroyDto instanceof BusinessObjectDataBatchDestroyDto)
         {
-            BatchJobConfigDto jobConfig = ((BusinessObjectDataBatchDestroyDto) businessObjectDataDestroyDto).getJobConfig();
+            jobConfig = ((BusinessObjectDataBatchDestroyDto) businessObjectDataDestroyDto).getJobConfig();
+        }
+        else
+        {
+            // Switch to S3 Batch Operations when the number of S3 versions is above the configured threshold, so a destroy of many files does not issue
+            // tagging requests per S3 version.
+            int batchModeVersionCountThreshold =
+                configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_BATCH_MODE_VERSION_COUNT_THRESHOLD, Integer.class);
+            if (batchModeVersionCountThreshold > 0 && CollectionUtils.size(s3VersionSummaries) > batchModeVersionCountThreshold)
+            {
+                LOGGER.info("Switching the business object data destroy to batch mode. businessObjectDataKey={} s3VersionCount={} " +
+                        "batchModeVersionCountThreshold={}", jsonHelper.objectToJson(businessObjectDataDestroyDto.getBusinessObjectDataKey()),
+                    CollectionUtils.size(s3VersionSummaries), batchModeVersionCountThreshold);
+
+                jobConfig = getBatchJobConfig();
+            }
+        }
+
+        if (jobConfig != null)
+        {
             // Create and execute s3 batch job to tag the S3 objects to initiate deletion
             s3Dao.batchTagVersions(s3FileTransferRequestParamsDto, jobConfig, s3VersionSummaries,
                 new Tag(businessObjectDataDestroyDto.getS3ObjectTagKey(), businessObjectDataDestroyDto.getS3ObjectTagValue()));
         }
         else
         {
-            // Tag the S3 objects to initiate the deletion.
+            // Tag the S3 objects to initiate the deletion, processing the configured number of S3 objects concurrently.
+            s3FileTransferRequestParamsDto.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_MAX_CONCURRENCY, Integer.class));
             s3Dao.tagVersions(s3FileTransferRequestParamsDto, businessObjectDataDestroyDto.getS3ObjectTaggerRoleParamsDto(), s3VersionSummaries,
                 new Tag(businessObjectDataDestroyDto.getS3ObjectTagKey(), businessObjectDataDestroyDto.getS3ObjectTagValue()));
         }
@@ -415,18 +436,27 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImpl implements Busin
         // Pull all configuration values for batch job processing
         if (businessObjectDataDestroyDto instanceof BusinessObjectDataBatchDestroyDto)
         {
-            BatchJobConfigDto batchJobConfig = new BatchJobConfigDto();
-            batchJobConfig.setAwsAccountId(configurationHelper.getRequiredProperty(ConfigurationValue.AWS_ACCOUNT_ID));
-            batchJobConfig.setS3BatchRoleArn(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_DESTROY_ROLE_ARN));
-            batchJobConfig.setManifestS3BucketName(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_BUCKET_NAME));
-            batchJobConfig.setManifestS3Prefix(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_LOCATION_PREFIX));
-            batchJobConfig.setBackoffPeriod(configurationHelper.getProperty(ConfigurationValue.S3_BATCH_RESTORE_BACKOFF_PERIOD, Integer.class));
-            batchJobConfig.setMaxAttempts(configurationHelper.getProperty(ConfigurationValue.S3_BATCH_RESTORE_MAX_ATTEMPTS, Integer.class));
-
-            ((BusinessObjectDataBatchDestroyDto) businessObjectDataDestroyDto).setJobConfig(batchJobConfig);
+            ((BusinessObjectDataBatchDestroyDto) businessObjectDataDestroyDto).setJobConfig(getBatchJobConfig());
         }
     }
 
+    /**
+     * Creates the configuration of the S3 batch job that tags the S3 objects to initiate a business object data destroy.
+     *
+     * @return the S3 batch job configuration
+     */
+    private BatchJobConfigDto getBatchJobConfig()
+    {
+        BatchJobConfigDto batchJobConfig = new BatchJobConfigDto();
+        batchJobConfig.setAwsAccountId(configurationHelper.getRequiredProperty(ConfigurationValue.AWS_ACCOUNT_ID));
+        batchJobConfig.setS3BatchRoleArn(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_DESTROY_ROLE_ARN));
+        batchJobConfig.setManifestS3BucketName(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_BUCKET_NAME));
+        batchJobConfig.setManifestS3Prefix(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_LOCATION_PREFIX));
+        batchJobConfig.setBackoffPeriod(configurationHelper.getProperty(ConfigurationValue.S3_BATCH_RESTORE_BACKOFF_PERIOD, Integer.class));
+        batchJobConfig.setMaxAttempts(configurationHelper.getProperty(ConfigurationValue.S3_BATCH_RESTORE_MAX_ATTEMPTS, Integer.class));
+        return batchJobConfig;
+    }
+
     /**
      * Validate that business object data is supported by the business object data destroy feature.
      *
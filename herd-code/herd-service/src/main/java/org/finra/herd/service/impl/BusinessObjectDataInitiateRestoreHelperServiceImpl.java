@@ -15,12 +15,14 @@
  */
 package org.finra.herd.service.impl;
 
+import java.io.File;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.StorageClass;
 import com.amazonaws.services.s3.model.Tier;
 import com.amazonaws.services.s3control.model.S3GlacierJobTier;
@@ -50,12 +52,12 @@ import org.finra.herd.model.dto.BusinessObjectDataBatchRestoreDto;
 import org.finra.herd.model.dto.BusinessObjectDataRestoreDto;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 import org.finra.herd.service.BusinessObjectDataInitiateRestoreHelperService;
-import org.finra.herd.service.S3Service;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
@@ -90,9 +92,6 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImpl implements Busin
     @Autowired
     private S3KeyPrefixHelper s3KeyPrefixHelper;
 
-    @Autowired
-    private S3Service s3Service;
-
     @Autowired
     private S3Dao s3Dao;
 
@@ -208,35 +207,36 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImpl implements Busin
             s3FileTransferRequestParamsDto.setS3Endpoint(businessObjectDataRestoreDto.getS3Endpoint());
             s3FileTransferRequestParamsDto.setS3KeyPrefix(StringUtils.appendIfMissing(businessObjectDataRestoreDto.getS3KeyPrefix(), "/"));
 
-            // Get a list of S3 files matching the S3 key prefix. When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            List<S3ObjectSummary> actualS3Files = s3Service.listDirectory(s3FileTransferRequestParamsDto, true);
-
-            // For directory only registration, we have no registered storage files to check against actual S3 files.
-            if (CollectionUtils.isNotEmpty(businessObjectDataRestoreDto.getStorageFiles()))
-            {
-                // Validate existence and file size of the S3 files.
-                storageFileHelper.validateRegisteredS3Files(businessObjectDataRestoreDto.getStorageFiles(), actualS3Files,
-                    businessObjectDataRestoreDto.getStorageName(), businessObjectDataRestoreDto.getBusinessObjectDataKey());
-            }
+            // Stream the S3 files matching the S3 key prefix, validating existence and file size of the registered S3 files as they get listed.
+            // When listing S3 files, we ignore 0 byte objects that represent S3 directories. For directory only registration, we have no registered
+            // storage files to check against actual S3 files. While listing, collect the files to restore and remember the first S3 file that is not
+            // archived in Glacier or DeepArchive storage class.
+            List<File> files = new ArrayList<>();
+            AtomicReference<S3ObjectSummaryDto> notArchivedS3File = new AtomicReference<>();
+            storageFileHelper.listAndValidateRegisteredS3Files(s3FileTransferRequestParamsDto, businessObjectDataRestoreDto.getStorageFiles(),
+                businessObjectDataRestoreDto.getStorageName(), businessObjectDataRestoreDto.getBusinessObjectDataKey(), s3ObjectSummaryDto -> {
+                    files.add(new File(s3ObjectSummaryDto.getKey()));
+                    if (!(StringUtils.equals(s3ObjectSummaryDto.getStorageClass(), StorageClass.Glacier.toString()) ||
+                        StringUtils.equals(s3ObjectSummaryDto.getStorageClass(), StorageClass.DeepArchive.toString())))
+                    {
+                        notArchivedS3File.compareAndSet(null, s3ObjectSummaryDto);
+                    }
+                });
 
             // Validate that all files to be restored are currently archived in Glacier or DeepArchive storage class.
             // Fail on any S3 file that does not have Glacier or DeepArchive storage class. This can happen when request to restore business object
             // data is posted after business object data archiving transition is executed (relative S3 objects get tagged),
             // but before AWS actually transitions the S3 files to Glacier or DeepArchive (changes S3 object storage class to Glacier or DeepArchive).
-            for (S3ObjectSummary s3ObjectSummary : actualS3Files)
+            if (notArchivedS3File.get() != null)
             {
-                if (!(StringUtils.equals(s3ObjectSummary.getStorageClass(), StorageClass.Glacier.toString()) ||
-                    StringUtils.equals(s3ObjectSummary.getStorageClass(), StorageClass.DeepArchive.toString())))
-                {
-                    throw new IllegalArgumentException(
-                        String.format("S3 file \"%s\" is not archived (found %s storage class when expecting %s or %s). S3 Bucket Name: \"%s\"",
-                            s3ObjectSummary.getKey(), s3ObjectSummary.getStorageClass(), StorageClass.Glacier.toString(), StorageClass.DeepArchive.toString(),
-                            s3FileTransferRequestParamsDto.getS3BucketName()));
-                }
+                throw new IllegalArgumentException(
+                    String.format("S3 file \"%s\" is not archived (found %s storage class when expecting %s or %s). S3 Bucket Name: \"%s\"",
+                        notArchivedS3File.get().getKey(), notArchivedS3File.get().getStorageClass(), StorageClass.Glacier.toString(),
+                        StorageClass.DeepArchive.toString(), s3FileTransferRequestParamsDto.getS3BucketName()));
             }
 
             // Set a list of files to restore.
-            s3FileTransferRequestParamsDto.setFiles(storageFileHelper.getFiles(storageFileHelper.createStorageFilesFromS3ObjectSummaries(actualS3Files)));
+            s3FileTransferRequestParamsDto.setFiles(files);
 
             // Check if the operation needs to be executed in batch mode.
             if (businessObjectDataRestoreDto instanceof BusinessObjectDataBatchRestoreDto)
@@ -247,7 +247,8 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImpl implements Busin
             }
             else
             {
-                // Initiate restore requests for the list of objects in the Glacier bucket.
+                // Initiate restore requests for the list of objects in the Glacier bucket, processing the configured number of objects concurrently.
+                s3FileTransferRequestParamsDto.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.S3_RESTORE_MAX_CONCURRENCY, Integer.class));
                 s3Dao.restoreObjects(s3FileTransferRequestParamsDto, 36135, businessObjectDataRestoreDto.getArchiveRetrievalOption());
             }
         }
@@ -447,6 +448,22 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImpl implements Busin
             storageUnitDaoHelper.validateNoExplicitlyRegisteredSubPartitionInStorageForBusinessObjectData(storageUnitEntity.getStorage(),
                 businessObjectDataEntity.getBusinessObjectFormat(), businessObjectDataKey, s3KeyPrefix);
 
+            // Switch to S3 Batch Operations when the number of registered storage files is above the configured threshold, so a restore of many files does
+            // not issue a restore request per file. The switch only happens when the archive retrieval option is also supported by S3 Batch Operations.
+            int batchModeFileCountThreshold = configurationHelper.getProperty(ConfigurationValue.S3_RESTORE_BATCH_MODE_FILE_COUNT_THRESHOLD, Integer.class);
+            String batchArchiveRetrievalOption = StringUtils.upperCase(archiveRetrievalOption);
+            if (BooleanUtils.isNotTrue(batchMode) && batchModeFileCountThreshold > 0 && storageFiles.size() > batchModeFileCountThreshold &&
+                (StringUtils.isEmpty(batchArchiveRetrievalOption) ||
+                    Stream.of(S3GlacierJobTier.values()).anyMatch(tier -> tier.toString().equals(batchArchiveRetrievalOption))))
+            {
+                LOGGER.info("Switching the business object data restore to batch mode. businessObjectDataKey={} storageFileCount={} " +
+                    "batchModeFileCountThreshold={}", jsonHelper.objectToJson(businessObjectDataKey), storageFiles.size(), batchModeFileCountThreshold);
+
+                batchMode = true;
+                archiveRetrievalOption = batchArchiveRetrievalOption;
+                businessObjectDataRestoreDto = new BusinessObjectDataBatchRestoreDto();
+            }
+
             // Set the expiration time for the restored storage unit.
             storageUnitEntity.setRestoreExpirationOn(restoreExpirationOn);
 
@@ -15,9 +15,11 @@
  */
 package org.finra.herd.service.impl;
 
+import java.io.Writer;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +56,9 @@ import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionResponse;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataInvalidateUnregisteredRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataInvalidateUnregisteredResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
@@ -112,6 +117,7 @@ import org.finra.herd.service.helper.BusinessObjectFormatDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatHelper;
 import org.finra.herd.service.helper.CustomDdlDaoHelper;
 import org.finra.herd.service.helper.DdlGeneratorFactory;
+import org.finra.herd.service.helper.DdlPartitionsLookupCache;
 import org.finra.herd.service.helper.StorageDaoHelper;
 import org.finra.herd.service.helper.StorageHelper;
 import org.finra.herd.service.helper.StorageUnitHelper;
@@ -294,6 +300,19 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return destroyBusinessObjectDataImpl(businessObjectDataKey, batchMode);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation executes non-transactionally, suspends the current transaction if one exists.
+     */
+    @NamespacePermission(fields = "#request?.businessObjectDataKeys?.![namespace]", permissions = NamespacePermissionEnum.WRITE)
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BusinessObjectDataDestroyCollectionResponse destroyBusinessObjectDataCollection(BusinessObjectDataDestroyCollectionRequest request)
+    {
+        return destroyBusinessObjectDataCollectionImpl(request);
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -307,6 +326,19 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return generateBusinessObjectDataDdlImpl(request, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @NamespacePermission(fields = "#request.namespace", permissions = NamespacePermissionEnum.READ)
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest request, Writer writer)
+    {
+        generateBusinessObjectDataDdlImpl(request, writer);
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -482,6 +514,20 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     @Override
     public BusinessObjectDataSearchResultPagingInfoDto searchBusinessObjectData(Integer pageNum, Integer pageSize,
         BusinessObjectDataSearchRequest businessObjectDataSearchRequest)
+    {
+        return searchBusinessObjectData(pageNum, pageSize, null, businessObjectDataSearchRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation keeps the current transaction context.
+     */
+    @NamespacePermission(fields = "#businessObjectDataSearchRequest.businessObjectDataSearchFilters[0].BusinessObjectDataSearchKeys[0].namespace",
+        permissions = NamespacePermissionEnum.READ)
+    @Override
+    public BusinessObjectDataSearchResultPagingInfoDto searchBusinessObjectData(Integer pageNum, Integer pageSize, String pageToken,
+        BusinessObjectDataSearchRequest businessObjectDataSearchRequest)
     {
         // Validate the business object data search request.
         businessObjectDataSearchHelper.validateBusinessObjectDataSearchRequest(businessObjectDataSearchRequest);
@@ -496,22 +542,45 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         // Get the maximum number of results that can be returned by the search query when selecting raw data to filter in latest valid versions.
         final int rawSearchPageSize = configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_SEARCH_QUERY_PAGINATION_SIZE, Integer.class);
 
+        // Get the maximum record count that is configured in the system.
+        Integer businessObjectDataSearchMaxResultCount =
+            configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_SEARCH_MAX_RESULT_COUNT, Integer.class);
+
+        // Keyset pagination is requested when a page token is specified, even a blank one that is used to get the first page.
+        boolean keysetPagination = pageToken != null;
+
         // Validate the page number and page size
         // Set the defaults if pageNum and pageSize are null
         // Page number must be greater than 0
         // Page size must be greater than 0 and less than maximum page size
-        pageNum = businessObjectDataSearchHelper.validatePagingParameter("pageNum", pageNum, 1, Integer.MAX_VALUE);
-        pageSize = businessObjectDataSearchHelper.validatePagingParameter("pageSize", pageSize, defaultResultsPerPage, maxResultsPerPage);
+        // With keyset pagination, the total record count is not limited, so a page may not hold more than the maximum record count either
+        pageSize = businessObjectDataSearchHelper.validatePagingParameter("pageSize", pageSize, defaultResultsPerPage,
+            keysetPagination ? Math.min(maxResultsPerPage, businessObjectDataSearchMaxResultCount) : maxResultsPerPage);
 
-        // Get the maximum record count that is configured in the system.
-        Integer businessObjectDataSearchMaxResultCount =
-            configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_SEARCH_MAX_RESULT_COUNT, Integer.class);
+        Long lastBusinessObjectDataId = null;
+        if (keysetPagination)
+        {
+            Assert.isNull(pageNum, "A pageNum can not be specified together with a pageToken.");
+            lastBusinessObjectDataId = businessObjectDataSearchHelper.decodePageToken(pageToken);
+        }
+        else
+        {
+            pageNum = businessObjectDataSearchHelper.validatePagingParameter("pageNum", pageNum, 1, Integer.MAX_VALUE);
+        }
+
+        // Page numbers are not used with keyset pagination.
+        Long pageNumber = keysetPagination ? null : pageNum.longValue();
 
         // Get the business object data search key.
         // We assume that the input list contains only one filter with a single search key, since validation should be passed by now.
         BusinessObjectDataSearchKey businessObjectDataSearchKey =
             businessObjectDataSearchRequest.getBusinessObjectDataSearchFilters().get(0).getBusinessObjectDataSearchKeys().get(0);
 
+        // Selection of the latest valid versions relies on the search results being ordered by partition values and versions, so it can not be used along
+        // with keyset pagination that orders the search results by business object data id.
+        Assert.isTrue(!keysetPagination || BooleanUtils.isNotTrue(businessObjectDataSearchKey.isFilterOnLatestValidVersion()),
+            "A pageToken can not be specified when filtering on the latest valid version.");
+
         // Namespace and business object definition name are required parameters,
         // so fetch the relative business object definition entity to optimize other queries.
         BusinessObjectDefinitionEntity businessObjectDefinitionEntity = businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(
@@ -520,8 +589,8 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         // If specified business object definition does not exist, then return an empty result list.
         if (businessObjectDefinitionEntity == null)
         {
-            return new BusinessObjectDataSearchResultPagingInfoDto(pageNum.longValue(), pageSize.longValue(), 0L, 0L, 0L, (long) maxResultsPerPage,
-                new BusinessObjectDataSearchResult(new ArrayList<>()));
+            return new BusinessObjectDataSearchResultPagingInfoDto(pageNumber, pageSize.longValue(), 0L, 0L, 0L, (long) maxResultsPerPage,
+                new BusinessObjectDataSearchResult(new ArrayList<>(), null));
         }
 
         // If file type is specified, fetch the relative file type entity to optimize other queries.
@@ -533,8 +602,8 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             // If specified file type does not exist, then return an empty result list.
             if (fileTypeEntity == null)
             {
-                return new BusinessObjectDataSearchResultPagingInfoDto(pageNum.longValue(), pageSize.longValue(), 0L, 0L, 0L, (long) maxResultsPerPage,
-                    new BusinessObjectDataSearchResult(new ArrayList<>()));
+                return new BusinessObjectDataSearchResultPagingInfoDto(pageNumber, pageSize.longValue(), 0L, 0L, 0L, (long) maxResultsPerPage,
+                    new BusinessObjectDataSearchResult(new ArrayList<>(), null));
             }
         }
 
@@ -552,8 +621,8 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             // If no business object formats match business object data search key parameters even without partition keys, then return an empty result list.
             if (businessObjectFormatRecordCount == 0)
             {
-                return new BusinessObjectDataSearchResultPagingInfoDto(pageNum.longValue(), pageSize.longValue(), 0L, 0L, 0L, (long) maxResultsPerPage,
-                    new BusinessObjectDataSearchResult(new ArrayList<>()));
+                return new BusinessObjectDataSearchResultPagingInfoDto(pageNumber, pageSize.longValue(), 0L, 0L, 0L, (long) maxResultsPerPage,
+                    new BusinessObjectDataSearchResult(new ArrayList<>(), null));
             }
 
             // Get partition keys from the list of partition value filters.
@@ -602,6 +671,27 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
                 businessObjectFormatRecordCount, CollectionUtils.size(partitionLevels.get(0)), partitionKeys, partitionKeyToPartitionLevelMap);
         }
 
+        // With keyset pagination, seek past the last business object data returned on the previous page and skip the total record count query.
+        if (keysetPagination)
+        {
+            // Select one more record than requested to find out if there is a next page.
+            List<BusinessObjectData> businessObjectDataList =
+                businessObjectDataDao.searchBusinessObjectDataAfterId(businessObjectDataSearchKey, partitionKeyToPartitionLevelMap, lastBusinessObjectDataId,
+                    pageSize + 1);
+
+            // If there is a next page, drop the extra record and build the token to get the next page.
+            String nextPageToken = null;
+            if (businessObjectDataList.size() > pageSize)
+            {
+                businessObjectDataList = new ArrayList<>(businessObjectDataList.subList(0, pageSize));
+                nextPageToken = businessObjectDataSearchHelper.encodePageToken(businessObjectDataList.get(pageSize - 1).getId());
+            }
+
+            // Build and return the business object data search result without the page count and the total record count.
+            return new BusinessObjectDataSearchResultPagingInfoDto(null, pageSize.longValue(), null, (long) businessObjectDataList.size(), null,
+                (long) maxResultsPerPage, new BusinessObjectDataSearchResult(businessObjectDataList, nextPageToken));
+        }
+
         // Get the total record count up to the maximum allowed record count that is configured in the system plus one more record.
         Integer totalRecordCount =
             businessObjectDataDao.getBusinessObjectDataLimitedCountBySearchKey(businessObjectDataSearchKey, partitionKeyToPartitionLevelMap,
@@ -695,7 +785,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         // Build and return the business object data search result with the paging information.
         return new BusinessObjectDataSearchResultPagingInfoDto(pageNum.longValue(), pageSize.longValue(), (long) pageCount,
             (long) businessObjectDataList.size(), totalRecordCount.longValue(), (long) maxResultsPerPage,
-            new BusinessObjectDataSearchResult(businessObjectDataList));
+            new BusinessObjectDataSearchResult(businessObjectDataList, null));
     }
 
     /**
@@ -879,10 +969,17 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         businessObjectDataAvailabilityCollectionResponse.setBusinessObjectDataAvailabilityResponses(businessObjectDataAvailabilityResponses);
         boolean isAllDataAvailable = true;
         boolean isAllDataNotAvailable = true;
+
+        // Individual requests in the collection often share the same business object format, storage and status, so resolve each of them only once.
+        Map<BusinessObjectFormatKey, BusinessObjectFormatEntity> businessObjectFormatEntities = new HashMap<>();
+        Map<String, StorageEntity> storageEntities = new HashMap<>();
+        Map<String, BusinessObjectDataStatusEntity> businessObjectDataStatusEntities = new HashMap<>();
+
         for (BusinessObjectDataAvailabilityRequest request : businessObjectDataAvailabilityCollectionRequest.getBusinessObjectDataAvailabilityRequests())
         {
             // Please note that when calling to process individual availability requests, we ask to skip the request validation and trimming step.
-            BusinessObjectDataAvailability businessObjectDataAvailability = checkBusinessObjectDataAvailabilityImpl(request, true);
+            BusinessObjectDataAvailability businessObjectDataAvailability =
+                checkBusinessObjectDataAvailabilityImpl(request, true, businessObjectFormatEntities, storageEntities, businessObjectDataStatusEntities);
             businessObjectDataAvailabilityResponses.add(businessObjectDataAvailability);
             isAllDataAvailable = isAllDataAvailable && businessObjectDataAvailability.getNotAvailableStatuses().isEmpty();
             isAllDataNotAvailable = isAllDataNotAvailable && businessObjectDataAvailability.getAvailableStatuses().isEmpty();
@@ -903,7 +1000,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     BusinessObjectDataAvailability checkBusinessObjectDataAvailabilityImpl(BusinessObjectDataAvailabilityRequest request)
     {
         // By default, validate and trim the request.
-        return checkBusinessObjectDataAvailabilityImpl(request, false);
+        return checkBusinessObjectDataAvailabilityImpl(request, false, new HashMap<>(), new HashMap<>(), new HashMap<>());
     }
 
     /**
@@ -948,6 +1045,46 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return businessObjectData;
     }
 
+    /**
+     * Initiates destruction process for a collection of existing business object data. Each business object data is destroyed in its own set of transactions,
+     * so a failure to destroy one business object data gets reported in the response and does not stop processing of the remaining keys.
+     *
+     * @param request the business object data destroy collection request
+     *
+     * @return the business object data destroy collection response
+     */
+    BusinessObjectDataDestroyCollectionResponse destroyBusinessObjectDataCollectionImpl(BusinessObjectDataDestroyCollectionRequest request)
+    {
+        // Perform the validation of the entire request, before we start processing the individual business object data keys.
+        validateBusinessObjectDataDestroyCollectionRequest(request);
+
+        // Process the individual business object data keys and build the response.
+        List<BusinessObjectDataDestroyResult> businessObjectDataDestroyResults = new ArrayList<>();
+        for (BusinessObjectDataKey businessObjectDataKey : request.getBusinessObjectDataKeys())
+        {
+            BusinessObjectDataDestroyResult businessObjectDataDestroyResult = new BusinessObjectDataDestroyResult();
+            businessObjectDataDestroyResult.setBusinessObjectDataKey(businessObjectDataKey);
+
+            try
+            {
+                BusinessObjectData businessObjectData = destroyBusinessObjectDataImpl(businessObjectDataKey, request.isBatchMode());
+                businessObjectDataDestroyResult.setStatus(businessObjectData.getStatus());
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.warn("Failed to initiate destruction of business object data. businessObjectDataKey={}",
+                    businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey), e);
+                businessObjectDataDestroyResult.setErrorMessage(e.getMessage());
+            }
+
+            businessObjectDataDestroyResults.add(businessObjectDataDestroyResult);
+        }
+
+        BusinessObjectDataDestroyCollectionResponse businessObjectDataDestroyCollectionResponse = new BusinessObjectDataDestroyCollectionResponse();
+        businessObjectDataDestroyCollectionResponse.setBusinessObjectDataDestroyResults(businessObjectDataDestroyResults);
+        return businessObjectDataDestroyCollectionResponse;
+    }
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a collection of business object data in the specified
      * storages.
@@ -967,10 +1104,14 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         List<BusinessObjectDataDdl> businessObjectDataDdlResponses = new ArrayList<>();
         businessObjectDataDdlCollectionResponse.setBusinessObjectDataDdlResponses(businessObjectDataDdlResponses);
         List<String> ddls = new ArrayList<>();
+
+        // Share the looked up formats, storage, S3 bucket names, and S3 key prefix velocity templates across all individual requests.
+        DdlPartitionsLookupCache lookupCache = new DdlPartitionsLookupCache();
+
         for (BusinessObjectDataDdlRequest request : businessObjectDataDdlCollectionRequest.getBusinessObjectDataDdlRequests())
         {
             // Please note that when calling to process individual ddl requests, we ask to skip the request validation and trimming step.
-            BusinessObjectDataDdl businessObjectDataDdl = generateBusinessObjectDataDdlImpl(request, true);
+            BusinessObjectDataDdl businessObjectDataDdl = generateBusinessObjectDataDdlImpl(request, true, lookupCache);
             businessObjectDataDdlResponses.add(businessObjectDataDdl);
             ddls.add(businessObjectDataDdl.getDdl());
         }
@@ -989,6 +1130,22 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      * @return the business object data DDL information
      */
     BusinessObjectDataDdl generateBusinessObjectDataDdlImpl(BusinessObjectDataDdlRequest request, boolean skipRequestValidation)
+    {
+        return generateBusinessObjectDataDdlImpl(request, skipRequestValidation, new DdlPartitionsLookupCache());
+    }
+
+    /**
+     * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage.
+     *
+     * @param request the business object data DDL request
+     * @param skipRequestValidation specifies whether to skip the request validation and trimming
+     * @param lookupCache the cache of values already looked up while processing the other requests within the same service call
+     *
+     * @return the business object data DDL information
+     */
+    private BusinessObjectDataDdl generateBusinessObjectDataDdlImpl(BusinessObjectDataDdlRequest request, boolean skipRequestValidation,
+        DdlPartitionsLookupCache lookupCache)
     {
         // Perform the validation.
         if (!skipRequestValidation)
@@ -996,7 +1153,22 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             validateBusinessObjectDataDdlRequest(request);
         }
 
-        return generateDdlOrPartitions(request, false);
+        return generateDdlOrPartitions(request, false, lookupCache, null);
+    }
+
+    /**
+     * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage, and streams it to the specified writer as it gets generated.
+     *
+     * @param request the business object data DDL request
+     * @param writer the writer to stream the DDL to
+     */
+    void generateBusinessObjectDataDdlImpl(BusinessObjectDataDdlRequest request, Writer writer)
+    {
+        // Perform the validation.
+        validateBusinessObjectDataDdlRequest(request);
+
+        generateDdlOrPartitions(request, false, new DdlPartitionsLookupCache(), writer);
     }
 
     /**
@@ -1012,7 +1184,8 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         validateBusinessObjectDataPartitionsRequest(request);
 
         // Generate partitions for the business object data as per specified request.
-        return generateDdlOrPartitions(businessObjectDataDdlPartitionsHelper.buildBusinessObjectDataDdlRequest(request), true);
+        return generateDdlOrPartitions(businessObjectDataDdlPartitionsHelper.buildBusinessObjectDataDdlRequest(request), true, new DdlPartitionsLookupCache(),
+            null);
     }
 
     /**
@@ -1020,18 +1193,23 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      *
      * @param request business object data DDL request
      * @param isGeneratePartitions flag to indicate if this is a generateDDL or generatePartitions request
+     * @param lookupCache the cache of values already looked up while processing this or the other requests within the same service call
+     * @param writer the optional writer to stream the generated DDL to, in which case no business object data DDL object instance is returned
      * @param <T> the type of the results produced by this method
      *
      * @return business object data DDL object instance if isGenerateDdl = true, otherwise, return business Object Data partitions object instance
      */
     @SuppressWarnings("unchecked")
-    private <T> T generateDdlOrPartitions(BusinessObjectDataDdlRequest request, boolean isGeneratePartitions)
+    private <T> T generateDdlOrPartitions(BusinessObjectDataDdlRequest request, boolean isGeneratePartitions, DdlPartitionsLookupCache lookupCache,
+        Writer writer)
     {
         // Get the business object format entity for the specified parameters and make sure it exists.
         // Please note that when format version is not specified, we should get back the latest format version.
-        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoHelper.getBusinessObjectFormatEntity(
+        BusinessObjectFormatKey businessObjectFormatKey =
             new BusinessObjectFormatKey(request.getNamespace(), request.getBusinessObjectDefinitionName(), request.getBusinessObjectFormatUsage(),
-                request.getBusinessObjectFormatFileType(), request.getBusinessObjectFormatVersion()));
+                request.getBusinessObjectFormatFileType(), request.getBusinessObjectFormatVersion());
+        BusinessObjectFormatEntity businessObjectFormatEntity =
+            lookupCache.getBusinessObjectFormatEntities().computeIfAbsent(businessObjectFormatKey, businessObjectFormatDaoHelper::getBusinessObjectFormatEntity);
 
         // Validate that format has schema information.
         Assert.notEmpty(businessObjectFormatEntity.getSchemaColumns(), String.format(
@@ -1052,8 +1230,8 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         }
 
         // Get business object data status entity for available business object data as per optionally specified business object data status in the request.
-        BusinessObjectDataStatusEntity businessObjectDataStatusEntity =
-            businessObjectDataDaoHelper.getBusinessObjectStatusEntityForAvailableData(request.getBusinessObjectDataStatus());
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity = lookupCache.getBusinessObjectDataStatusEntities()
+            .computeIfAbsent(request.getBusinessObjectDataStatus(), businessObjectDataDaoHelper::getBusinessObjectStatusEntityForAvailableData);
 
         // Build a list of storage names specified in the request.
         List<String> storageNames = new ArrayList<>();
@@ -1067,13 +1245,14 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         }
 
         // Validate that storage entities, specified in the request, exist, of a proper storage platform type, and have S3 bucket name configured.
+        // Storage entities and S3 bucket names already looked up for the other requests within the same service call are reused from the lookup cache.
         List<StorageEntity> requestedStorageEntities = new ArrayList<>();
-        Map<String, StorageEntity> cachedStorageEntities = new HashMap<>();
-        Map<String, String> cachedS3BucketNames = new HashMap<>();
         for (String storageName : storageNames)
         {
             // Get the requested storage entity.
-            StorageEntity storageEntity = storageDaoHelper.getStorageEntity(storageName);
+            String upperCaseStorageName = storageName.toUpperCase();
+            StorageEntity storageEntity =
+                lookupCache.getStorageEntities().computeIfAbsent(upperCaseStorageName, key -> storageDaoHelper.getStorageEntity(storageName));
             requestedStorageEntities.add(storageEntity);
 
             // Only S3 storage platform is currently supported.
@@ -1081,14 +1260,8 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
                 String.format("Cannot generate DDL/Partitions for \"%s\" storage platform.", storageEntity.getStoragePlatform().getName()));
 
             // Validate that storage have S3 bucket name configured. Please note that since S3 bucket name attribute value is required we pass a "true" flag.
-            String s3BucketName =
-                storageHelper.getStorageAttributeValueByName(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_BUCKET_NAME), storageEntity,
-                    true);
-
-            // Memorize retrieved values for faster processing.
-            String upperCaseStorageName = storageName.toUpperCase();
-            cachedStorageEntities.put(upperCaseStorageName, storageEntity);
-            cachedS3BucketNames.put(upperCaseStorageName, s3BucketName);
+            lookupCache.getS3BucketNames().computeIfAbsent(upperCaseStorageName, key -> storageHelper
+                .getStorageAttributeValueByName(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_BUCKET_NAME), storageEntity, true));
         }
 
         if (isGeneratePartitions)
@@ -1097,17 +1270,26 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             BusinessObjectDataPartitions businessObjectDataPartitions = createBusinessObjectDataPartitions(request, businessObjectDataStatusEntity);
             businessObjectDataPartitions.setPartitions(
                 businessObjectDataPartitionsHelper.generatePartitions(request, businessObjectFormatEntity, businessObjectDataStatusEntity, storageNames,
-                    requestedStorageEntities, cachedStorageEntities, cachedS3BucketNames));
+                    requestedStorageEntities, lookupCache));
 
             return (T) businessObjectDataPartitions;
         }
+        else if (writer != null)
+        {
+            // Stream the DDL to the writer as it gets generated.
+            ddlGeneratorFactory.getDdlGenerator(request.getOutputFormat())
+                .generateCreateTableDdl(request, businessObjectFormatEntity, customDdlEntity, businessObjectDataStatusEntity, storageNames,
+                    requestedStorageEntities, lookupCache, writer);
+
+            return null;
+        }
         else
         {
             // Create and initialize a business object data DDL object instance.
             BusinessObjectDataDdl businessObjectDataDdl = createBusinessObjectDataDdl(request, businessObjectDataStatusEntity);
             businessObjectDataDdl.setDdl(ddlGeneratorFactory.getDdlGenerator(request.getOutputFormat())
                 .generateCreateTableDdl(request, businessObjectFormatEntity, customDdlEntity, businessObjectDataStatusEntity, storageNames,
-                    requestedStorageEntities, cachedStorageEntities, cachedS3BucketNames));
+                    requestedStorageEntities, lookupCache));
             businessObjectDataDdl.setAsOfTime(request.getAsOfTime());
 
             return (T) businessObjectDataDdl;
@@ -1294,10 +1476,16 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      *
      * @param request the business object data availability request
      * @param skipRequestValidation specifies whether to skip the request validation and trimming
+     * @param businessObjectFormatEntities the already resolved business object format entities keyed by business object format key, updated by this method
+     * @param storageEntitiesByName the already resolved storage entities keyed by upper case storage name, updated by this method
+     * @param businessObjectDataStatusEntities the already resolved business object data status entities for available business object data keyed by the
+     * business object data status specified in the request, updated by this method
      *
      * @return the business object data availability information
      */
-    private BusinessObjectDataAvailability checkBusinessObjectDataAvailabilityImpl(BusinessObjectDataAvailabilityRequest request, boolean skipRequestValidation)
+    private BusinessObjectDataAvailability checkBusinessObjectDataAvailabilityImpl(BusinessObjectDataAvailabilityRequest request, boolean skipRequestValidation,
+        Map<BusinessObjectFormatKey, BusinessObjectFormatEntity> businessObjectFormatEntities, Map<String, StorageEntity> storageEntitiesByName,
+        Map<String, BusinessObjectDataStatusEntity> businessObjectDataStatusEntities)
     {
         // Perform the validation.
         if (!skipRequestValidation)
@@ -1309,18 +1497,19 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         BusinessObjectFormatKey businessObjectFormatKey = getBusinessObjectFormatKey(request);
 
         // Make sure that specified business object format exists.
-        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoHelper.getBusinessObjectFormatEntity(businessObjectFormatKey);
+        BusinessObjectFormatEntity businessObjectFormatEntity =
+            businessObjectFormatEntities.computeIfAbsent(businessObjectFormatKey, businessObjectFormatDaoHelper::getBusinessObjectFormatEntity);
 
         // Validate that all storage names specified in the request exist and build a list of the requested storage entities.
         List<StorageEntity> storageEntities = new ArrayList<>();
         for (String storageName : getStorageNames(request))
         {
-            storageEntities.add(storageDaoHelper.getStorageEntity(storageName));
+            storageEntities.add(storageEntitiesByName.computeIfAbsent(storageName.toUpperCase(), key -> storageDaoHelper.getStorageEntity(storageName)));
         }
 
         // Get business object data status entity for available business object data as per optionally specified business object data status in the request.
-        BusinessObjectDataStatusEntity businessObjectDataStatusEntity =
-            businessObjectDataDaoHelper.getBusinessObjectStatusEntityForAvailableData(request.getBusinessObjectDataStatus());
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity = businessObjectDataStatusEntities
+            .computeIfAbsent(request.getBusinessObjectDataStatus(), businessObjectDataDaoHelper::getBusinessObjectStatusEntityForAvailableData);
 
         // Build partition filters based on the specified partition value filters.
         // Business object data availability works across all storage platform types, so the storage platform type is not specified in the call.
@@ -1390,8 +1579,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         }
 
         // Get a list of unmatched partition filters.
+        // Matched partition filters are wrapped in a hash set, so removal does not degrade to a nested scan for requests with many partition filters.
         List<List<String>> unmatchedPartitionFilters = new ArrayList<>(partitionFilters);
-        unmatchedPartitionFilters.removeAll(matchedAvailablePartitionFilters);
+        unmatchedPartitionFilters.removeAll(new HashSet<>(matchedAvailablePartitionFilters));
 
         // We still need to try to retrieve business object data per list of unmatched filters regardless of business object data and/or storage unit statuses.
         // This is done to populate not-available statuses with legitimate reasons.
@@ -1411,7 +1601,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         List<List<String>> matchedNotAvailablePartitionFilters = getPartitionFilters(notAvailableStorageUnitAvailabilityDtos, partitionFilters.get(0));
 
         // Update the list of unmatched partition filters.
-        unmatchedPartitionFilters.removeAll(matchedNotAvailablePartitionFilters);
+        unmatchedPartitionFilters.removeAll(new HashSet<>(matchedNotAvailablePartitionFilters));
 
         // Populate the "not available" statuses per remaining unmatched filters.
         for (List<String> unmatchedPartitionFilter : unmatchedPartitionFilters)
@@ -1803,6 +1993,31 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         }
     }
 
+    /**
+     * Validates a business object data destroy collection request. The individual business object data keys get validated and trimmed when they are
+     * processed, so a single invalid key is reported in the response instead of failing the entire request.
+     *
+     * @param request the business object data destroy collection request
+     *
+     * @throws IllegalArgumentException if any validation errors were found
+     */
+    private void validateBusinessObjectDataDestroyCollectionRequest(BusinessObjectDataDestroyCollectionRequest request)
+    {
+        Assert.notNull(request, "A business object data destroy collection request must be specified.");
+
+        Assert.isTrue(!CollectionUtils.isEmpty(request.getBusinessObjectDataKeys()), "At least one business object data key must be specified.");
+
+        Integer maxKeys = configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_MAX_KEYS, Integer.class);
+        Assert.isTrue(request.getBusinessObjectDataKeys().size() <= maxKeys, String
+            .format("The number of business object data keys (%d) exceeds the maximum of %d keys allowed in a single destroy collection request.",
+                request.getBusinessObjectDataKeys().size(), maxKeys));
+
+        for (BusinessObjectDataKey businessObjectDataKey : request.getBusinessObjectDataKeys())
+        {
+            Assert.notNull(businessObjectDataKey, "A business object data key must be specified.");
+        }
+    }
+
     /**
      * Validates a business object data DDL collection request. This method also trims appropriate request parameters.
      *
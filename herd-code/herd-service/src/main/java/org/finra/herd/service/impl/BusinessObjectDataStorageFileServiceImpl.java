@@ -45,7 +45,6 @@ import org.finra.herd.model.jpa.StorageEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 import org.finra.herd.service.BusinessObjectDataStorageFileService;
-import org.finra.herd.service.S3Service;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
@@ -73,9 +72,6 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
     @Autowired
     private S3KeyPrefixHelper s3KeyPrefixHelper;
 
-    @Autowired
-    private S3Service s3Service;
-
     @Autowired
     private StorageFileDaoHelper storageFileDaoHelper;
 
@@ -286,7 +282,7 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
         // List S3 files ignoring 0 byte objects that represent S3 directories.
         // Please note that the map implementation returned by the helper method below
         // preserves the original order of files as returned by the S3 list command.
-        Map<String, StorageFile> actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3Service.listDirectory(params, true));
+        Map<String, StorageFile> actualS3Keys = storageFileHelper.getStorageFilesMapFromS3(params);
 
         // For the already registered storage files, validate file existence and file size against S3 keys and metadata reported by S3.
         for (Map.Entry<String, StorageFile> entry : alreadyRegisteredStorageFiles.entrySet())
@@ -358,7 +354,7 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
             params.setS3KeyPrefix(directoryPathWithTrailingSlash);
 
             // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            Map<String, StorageFile> actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3Service.listDirectory(params, true));
+            Map<String, StorageFile> actualS3Keys = storageFileHelper.getStorageFilesMapFromS3(params);
 
             // For the already registered storage files, validate each storage file against S3 keys and metadata reported by S3.
             for (Map.Entry<String, StorageFile> entry : alreadyRegisteredStorageFiles.entrySet())
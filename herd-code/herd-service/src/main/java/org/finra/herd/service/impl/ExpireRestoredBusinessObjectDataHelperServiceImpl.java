@@ -15,12 +15,11 @@
  */
 package org.finra.herd.service.impl;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.StorageClass;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -40,7 +39,6 @@ import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 import org.finra.herd.service.ExpireRestoredBusinessObjectDataHelperService;
-import org.finra.herd.service.S3Service;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
@@ -66,9 +64,6 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImpl implements Expire
     @Autowired
     private S3KeyPrefixHelper s3KeyPrefixHelper;
 
-    @Autowired
-    private S3Service s3Service;
-
     @Autowired
     private S3Dao s3Dao;
 
@@ -158,31 +153,22 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImpl implements Expire
         s3FileTransferRequestParamsDto.setS3BucketName(businessObjectDataRestoreDto.getS3BucketName());
         s3FileTransferRequestParamsDto.setS3KeyPrefix(StringUtils.appendIfMissing(businessObjectDataRestoreDto.getS3KeyPrefix(), "/"));
 
-        // Get a list of S3 files matching the S3 key prefix. When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-        List<S3ObjectSummary> actualS3Files = s3Service.listDirectory(s3FileTransferRequestParamsDto, true);
-
-        // For directory only registration, we have no registered storage files to check against actual S3 files.
-        if (CollectionUtils.isNotEmpty(businessObjectDataRestoreDto.getStorageFiles()))
-        {
-            // Validate existence and file size of the S3 files.
-            storageFileHelper
-                .validateRegisteredS3Files(businessObjectDataRestoreDto.getStorageFiles(), actualS3Files, businessObjectDataRestoreDto.getStorageName(),
-                    businessObjectDataRestoreDto.getBusinessObjectDataKey());
-        }
-
-        // Build a list of files to expire by selection only objects that have Glacier or DeepArchive storage class.
-        List<S3ObjectSummary> glacierS3Files = new ArrayList<>();
-        for (S3ObjectSummary s3ObjectSummary : actualS3Files)
-        {
-            if (StorageClass.Glacier.toString().equals(s3ObjectSummary.getStorageClass()) ||
-                StorageClass.DeepArchive.toString().equals(s3ObjectSummary.getStorageClass()))
-            {
-                glacierS3Files.add(s3ObjectSummary);
-            }
-        }
+        // Stream the S3 files matching the S3 key prefix, validating existence and file size of the registered S3 files as they get listed.
+        // When listing S3 files, we ignore 0 byte objects that represent S3 directories. For directory only registration, we have no registered storage
+        // files to check against actual S3 files. While listing, build a list of files to expire by selecting only objects that are currently
+        // archived in Glacier or DeepArchive storage class.
+        List<File> glacierFiles = new ArrayList<>();
+        storageFileHelper.listAndValidateRegisteredS3Files(s3FileTransferRequestParamsDto, businessObjectDataRestoreDto.getStorageFiles(),
+            businessObjectDataRestoreDto.getStorageName(), businessObjectDataRestoreDto.getBusinessObjectDataKey(), s3ObjectSummaryDto -> {
+                if (StorageClass.Glacier.toString().equals(s3ObjectSummaryDto.getStorageClass()) ||
+                    StorageClass.DeepArchive.toString().equals(s3ObjectSummaryDto.getStorageClass()))
+                {
+                    glacierFiles.add(new File(s3ObjectSummaryDto.getKey()));
+                }
+            });
 
         // Set a list of files to expire.
-        s3FileTransferRequestParamsDto.setFiles(storageFileHelper.getFiles(storageFileHelper.createStorageFilesFromS3ObjectSummaries(glacierS3Files)));
+        s3FileTransferRequestParamsDto.setFiles(glacierFiles);
 
         // To expire the restored S3 objects, initiate restore requests with expiration set to 1 day.
         s3Dao.restoreObjects(s3FileTransferRequestParamsDto, 1, null);
@@ -16,9 +16,16 @@
 package org.finra.herd.service.impl;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.amazonaws.services.sns.model.PublishResult;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -37,6 +44,7 @@ import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.dto.MessageHeader;
 import org.finra.herd.model.dto.NotificationMessage;
+import org.finra.herd.model.dto.NotificationMessageBatchPublishingResultDto;
 import org.finra.herd.model.jpa.MessageTypeEntity;
 import org.finra.herd.model.jpa.NotificationMessageEntity;
 import org.finra.herd.service.NotificationMessagePublishingService;
@@ -51,6 +59,16 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(NotificationMessagePublishingServiceImpl.class);
 
+    /**
+     * The maximum number of messages that can be sent to SQS in a single send message batch request.
+     */
+    private static final int SQS_MAX_BATCH_ENTRIES = 10;
+
+    /**
+     * The maximum total payload size in bytes of all messages sent to SQS in a single send message batch request.
+     */
+    private static final int SQS_MAX_BATCH_PAYLOAD_SIZE_BYTES = 262_144;
+
     @Autowired
     private AwsHelper awsHelper;
 
@@ -105,6 +123,18 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         return publishOldestNotificationMessageFromDatabaseQueueImpl();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public NotificationMessageBatchPublishingResultDto publishOldestNotificationMessagesFromDatabaseQueue(Long lastNotificationMessageId, int maxMessages)
+    {
+        return publishOldestNotificationMessagesFromDatabaseQueueImpl(lastNotificationMessageId, maxMessages);
+    }
+
     /**
      * Adds a notification message to the database queue.
      *
@@ -183,7 +213,6 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
      *
      * @return true if notification message was successfully published and false otherwise
      */
-    @SuppressWarnings("unchecked")
     protected boolean publishOldestNotificationMessageFromDatabaseQueueImpl()
     {
         // Initialize the result flag to false.
@@ -195,35 +224,231 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         // If message is retrieved, publish and remove it from the queue.
         if (notificationMessageEntity != null)
         {
-            // Get the message headers from the entity.
-            List<MessageHeader> messageHeaders = null;
-            if (StringUtils.isNotBlank(notificationMessageEntity.getMessageHeaders()))
+            // Publish notification message.
+            publishNotificationMessageImpl(createNotificationMessage(notificationMessageEntity));
+
+            // Delete this message from the queue.
+            notificationMessageDao.delete(notificationMessageEntity);
+
+            // Set the result flag to true.
+            result = true;
+        }
+
+        return result;
+    }
+
+    /**
+     * Publishes and removes from the database queue a batch of the oldest notification messages. Messages locked by another herd node are skipped, and
+     * messages that fail to publish are left in the database queue.
+     *
+     * @param lastNotificationMessageId the id of the last notification message already processed by the caller, may be null
+     * @param maxMessages the maximum number of notification messages to select from the database queue
+     *
+     * @return the result of publishing the batch of notification messages
+     */
+    protected NotificationMessageBatchPublishingResultDto publishOldestNotificationMessagesFromDatabaseQueueImpl(Long lastNotificationMessageId,
+        int maxMessages)
+    {
+        // Select ids of the oldest notification messages that were not yet processed by the caller.
+        List<Long> notificationMessageIds = notificationMessageDao.getOldestNotificationMessageIds(lastNotificationMessageId, maxMessages);
+
+        // Initialize the result. The last notification message id is advanced even if all selected messages are locked by another herd node.
+        NotificationMessageBatchPublishingResultDto result = new NotificationMessageBatchPublishingResultDto(
+            notificationMessageIds.isEmpty() ? lastNotificationMessageId : notificationMessageIds.get(notificationMessageIds.size() - 1),
+            notificationMessageIds.size(), 0, 0);
+
+        // Lock the selected notification messages, skipping the ones claimed by another herd node.
+        List<NotificationMessageEntity> notificationMessageEntities = notificationMessageDao.getNotificationMessagesForUpdateSkipLocked(notificationMessageIds);
+
+        // Publish SNS messages one at a time and group SQS messages by their destination, so they can be published using send message batch requests.
+        Map<String, List<NotificationMessageEntity>> sqsNotificationMessageEntities = new LinkedHashMap<>();
+        for (NotificationMessageEntity notificationMessageEntity : notificationMessageEntities)
+        {
+            if (notificationMessageEntity.getMessageType().getCode().equals(MessageTypeEntity.MessageEventTypes.SQS.name()))
+            {
+                sqsNotificationMessageEntities.computeIfAbsent(notificationMessageEntity.getMessageDestination(), key -> new ArrayList<>())
+                    .add(notificationMessageEntity);
+            }
+            else
             {
                 try
                 {
-                    messageHeaders = jsonHelper.unmarshallJsonToListOfObjects(MessageHeader.class, notificationMessageEntity.getMessageHeaders());
+                    publishNotificationMessageImpl(createNotificationMessage(notificationMessageEntity));
+                    notificationMessageDao.delete(notificationMessageEntity);
+                    result.setPublishedMessageCount(result.getPublishedMessageCount() + 1);
                 }
-                catch (IOException e)
+                catch (RuntimeException e)
                 {
-                    throw new IllegalStateException(String.format("Failed to unmarshall notification message headers. " +
-                        "messageId=%d messageType=%s messageDestination=%s messageText=%s messageHeaders=%s", notificationMessageEntity.getId(),
-                        notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
-                        notificationMessageEntity.getMessageText(), notificationMessageEntity.getMessageHeaders()), e);
+                    LOGGER.warn("Failed to publish a notification message from the database queue. messageId={}", notificationMessageEntity.getId(), e);
+                    result.setFailedMessageCount(result.getFailedMessageCount() + 1);
                 }
             }
+        }
 
-            // Publish notification message.
-            publishNotificationMessageImpl(
-                new NotificationMessage(notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
-                    notificationMessageEntity.getMessageText(), messageHeaders));
+        // Publish SQS messages using send message batch requests.
+        for (Map.Entry<String, List<NotificationMessageEntity>> entry : sqsNotificationMessageEntities.entrySet())
+        {
+            publishSqsNotificationMessagesFromDatabaseQueue(entry.getKey(), entry.getValue(), result);
+        }
 
-            // Delete this message from the queue.
-            notificationMessageDao.delete(notificationMessageEntity);
+        return result;
+    }
 
-            // Set the result flag to true.
-            result = true;
+    /**
+     * Creates a notification message from the notification message entity.
+     *
+     * @param notificationMessageEntity the notification message entity
+     *
+     * @return the notification message
+     */
+    @SuppressWarnings("unchecked")
+    private NotificationMessage createNotificationMessage(NotificationMessageEntity notificationMessageEntity)
+    {
+        // Get the message headers from the entity.
+        List<MessageHeader> messageHeaders = null;
+        if (StringUtils.isNotBlank(notificationMessageEntity.getMessageHeaders()))
+        {
+            try
+            {
+                messageHeaders = jsonHelper.unmarshallJsonToListOfObjects(MessageHeader.class, notificationMessageEntity.getMessageHeaders());
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException(String.format("Failed to unmarshall notification message headers. " +
+                    "messageId=%d messageType=%s messageDestination=%s messageText=%s messageHeaders=%s", notificationMessageEntity.getId(),
+                    notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
+                    notificationMessageEntity.getMessageText(), notificationMessageEntity.getMessageHeaders()), e);
+            }
         }
 
-        return result;
+        return new NotificationMessage(notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
+            notificationMessageEntity.getMessageText(), messageHeaders);
+    }
+
+    /**
+     * Returns an approximate size in bytes of the SQS message payload, including the message body and the message attributes.
+     *
+     * @param notificationMessage the notification message
+     *
+     * @return the payload size in bytes
+     */
+    private int getSqsMessagePayloadSize(NotificationMessage notificationMessage)
+    {
+        int payloadSize = StringUtils.defaultString(notificationMessage.getMessageText()).getBytes(StandardCharsets.UTF_8).length;
+
+        if (CollectionUtils.isNotEmpty(notificationMessage.getMessageHeaders()))
+        {
+            for (MessageHeader messageHeader : notificationMessage.getMessageHeaders())
+            {
+                payloadSize += StringUtils.defaultString(messageHeader.getKey()).getBytes(StandardCharsets.UTF_8).length +
+                    StringUtils.defaultString(messageHeader.getValue()).getBytes(StandardCharsets.UTF_8).length + "String".length();
+            }
+        }
+
+        return payloadSize;
+    }
+
+    /**
+     * Publishes notification messages from the database queue to the specified SQS queue using send message batch requests. Successfully published messages
+     * are removed from the database queue.
+     *
+     * @param queueName the name of the SQS queue
+     * @param notificationMessageEntities the notification message entities to publish
+     * @param result the batch publishing result to be updated with the published and failed message counts
+     */
+    private void publishSqsNotificationMessagesFromDatabaseQueue(String queueName, List<NotificationMessageEntity> notificationMessageEntities,
+        NotificationMessageBatchPublishingResultDto result)
+    {
+        // Split notification messages into batches that do not exceed the SQS limits on the number of entries and the total payload size.
+        Map<String, NotificationMessageEntity> batchNotificationMessageEntities = new LinkedHashMap<>();
+        Map<String, NotificationMessage> batchNotificationMessages = new LinkedHashMap<>();
+        int batchPayloadSize = 0;
+
+        for (NotificationMessageEntity notificationMessageEntity : notificationMessageEntities)
+        {
+            NotificationMessage notificationMessage;
+            try
+            {
+                notificationMessage = createNotificationMessage(notificationMessageEntity);
+            }
+            catch (IllegalStateException e)
+            {
+                LOGGER.warn(e.getMessage(), e);
+                result.setFailedMessageCount(result.getFailedMessageCount() + 1);
+                continue;
+            }
+
+            int payloadSize = getSqsMessagePayloadSize(notificationMessage);
+
+            // Send the current batch if adding this message would exceed any of the SQS batch limits.
+            if (!batchNotificationMessages.isEmpty() &&
+                (batchNotificationMessages.size() >= SQS_MAX_BATCH_ENTRIES || batchPayloadSize + payloadSize > SQS_MAX_BATCH_PAYLOAD_SIZE_BYTES))
+            {
+                sendSqsNotificationMessageBatch(queueName, batchNotificationMessageEntities, batchNotificationMessages, result);
+                batchNotificationMessageEntities.clear();
+                batchNotificationMessages.clear();
+                batchPayloadSize = 0;
+            }
+
+            // The batch entry id is the notification message id, which is unique within the request.
+            String batchEntryId = notificationMessageEntity.getId().toString();
+            batchNotificationMessageEntities.put(batchEntryId, notificationMessageEntity);
+            batchNotificationMessages.put(batchEntryId, notificationMessage);
+            batchPayloadSize += payloadSize;
+        }
+
+        // Send the last batch.
+        if (!batchNotificationMessages.isEmpty())
+        {
+            sendSqsNotificationMessageBatch(queueName, batchNotificationMessageEntities, batchNotificationMessages, result);
+        }
+    }
+
+    /**
+     * Sends a batch of notification messages to the specified SQS queue and removes successfully published messages from the database queue.
+     *
+     * @param queueName the name of the SQS queue
+     * @param notificationMessageEntities the notification message entities keyed by batch entry ids
+     * @param notificationMessages the notification messages keyed by batch entry ids
+     * @param result the batch publishing result to be updated with the published and failed message counts
+     */
+    private void sendSqsNotificationMessageBatch(String queueName, Map<String, NotificationMessageEntity> notificationMessageEntities,
+        Map<String, NotificationMessage> notificationMessages, NotificationMessageBatchPublishingResultDto result)
+    {
+        SendMessageBatchResult sendMessageBatchResult;
+        try
+        {
+            sendMessageBatchResult = sqsDao.sendMessageBatch(awsHelper.getAwsParamsDto(), queueName, notificationMessages);
+        }
+        catch (RuntimeException e)
+        {
+            // Log an error message.
+            LOGGER.error("Failed to publish {} notification messages to \"{}\" destination. messageIds={}", MessageTypeEntity.MessageEventTypes.SQS.name(),
+                queueName, notificationMessages.keySet(), e);
+
+            // Leave all messages from this batch in the database queue.
+            result.setFailedMessageCount(result.getFailedMessageCount() + notificationMessages.size());
+            return;
+        }
+
+        // Remove successfully published messages from the database queue.
+        for (SendMessageBatchResultEntry sendMessageBatchResultEntry : sendMessageBatchResult.getSuccessful())
+        {
+            notificationMessageDao.delete(notificationMessageEntities.get(sendMessageBatchResultEntry.getId()));
+            result.setPublishedMessageCount(result.getPublishedMessageCount() + 1);
+        }
+
+        // Log the messages that failed to publish, leaving them in the database queue.
+        for (BatchResultErrorEntry batchResultErrorEntry : sendMessageBatchResult.getFailed())
+        {
+            LOGGER.error("Failed to publish {} notification message to \"{}\" destination. messageId={} errorCode=\"{}\" errorMessage=\"{}\" senderFault={}",
+                MessageTypeEntity.MessageEventTypes.SQS.name(), queueName, batchResultErrorEntry.getId(), batchResultErrorEntry.getCode(),
+                batchResultErrorEntry.getMessage(), batchResultErrorEntry.getSenderFault());
+            result.setFailedMessageCount(result.getFailedMessageCount() + 1);
+        }
+
+        // Log the number of published messages.
+        LOGGER.info("Published {} notification messages. messageDestination=\"{}\" publishedMessageCount={} failedMessageCount={}",
+            MessageTypeEntity.MessageEventTypes.SQS.name(), queueName, sendMessageBatchResult.getSuccessful().size(), sendMessageBatchResult.getFailed().size());
     }
 }
@@ -16,6 +16,7 @@
 package org.finra.herd.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import org.slf4j.Logger;
@@ -29,6 +30,7 @@ import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.service.S3Service;
 
 /**
@@ -113,6 +115,12 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.listDirectory(params, ignoreZeroByteDirectoryMarkers);
     }
 
+    @Override
+    public void streamDirectory(S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers, Consumer<S3ObjectSummaryDto> s3ObjectConsumer)
+    {
+        s3Dao.streamDirectory(params, ignoreZeroByteDirectoryMarkers, s3ObjectConsumer);
+    }
+
     @Override
     public S3FileTransferResultsDto uploadDirectory(S3FileTransferRequestParamsDto params) throws InterruptedException
     {
@@ -15,23 +15,34 @@
 */
 package org.finra.herd.service.impl;
 
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
+import org.elasticsearch.common.settings.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDefinitionDao;
 import org.finra.herd.dao.IndexFunctionsDao;
 import org.finra.herd.dao.TagDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.api.xml.SearchIndexKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
 import org.finra.herd.model.jpa.SearchIndexStatusEntity;
 import org.finra.herd.model.jpa.TagEntity;
@@ -49,6 +60,18 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
 {
     public static final int BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE = 100;
 
+    public static final int TAGS_CHUNK_SIZE = 100;
+
+    /**
+     * The name of the index refresh interval setting.
+     */
+    private static final String INDEX_REFRESH_INTERVAL_SETTING = "index.refresh_interval";
+
+    /**
+     * The name of the index number of replicas setting.
+     */
+    private static final String INDEX_NUMBER_OF_REPLICAS_SETTING = "index.number_of_replicas";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexHelperServiceImpl.class);
 
     @Autowired
@@ -57,6 +80,12 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
     @Autowired
     private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private AsyncTaskExecutor searchIndexBulkRequestTaskExecutor;
+
     @Autowired
     private SearchIndexDaoHelper searchIndexDaoHelper;
 
@@ -73,27 +102,48 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
     @Async
     public Future<Void> indexAllBusinessObjectDefinitions(SearchIndexKey searchIndexKey)
     {
-        // Index all business object definitions defined in the system using pagination.
-        int startPosition = 0;
+        final String indexName = searchIndexKey.getSearchIndexName();
+
+        // Tune the index settings for the bulk load.
+        Settings indexSettings = prepareIndexForBulkLoad(indexName);
+
         int processedBusinessObjectDefinitionsCount = 0;
-        List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities;
-        while ((businessObjectDefinitionEntities =
-            businessObjectDefinitionDao.getAllBusinessObjectDefinitions(startPosition, BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE)).size() > 0)
+        try
         {
-            // Index business object definitions selected for processing.
-            businessObjectDefinitionHelper
-                .executeFunctionForBusinessObjectDefinitionEntities(searchIndexKey.getSearchIndexName(), businessObjectDefinitionEntities,
-                    indexFunctionsDao::createIndexDocument);
+            // Index all business object definitions defined in the system using keyset pagination.
+            SearchIndexBulkLoader bulkLoader = new SearchIndexBulkLoader(indexName);
+            Long lastId = null;
+            List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities;
+            while (!(businessObjectDefinitionEntities =
+                businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(lastId, BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE)).isEmpty())
+            {
+                // Build the documents for the business object definitions selected for processing and pass them to the bulk loader.
+                Map<String, String> documentMap = new LinkedHashMap<>();
+                businessObjectDefinitionHelper.executeFunctionForBusinessObjectDefinitionEntities(indexName, businessObjectDefinitionEntities,
+                    (index, id, json) -> documentMap.put(id, json));
+                bulkLoader.add(documentMap);
+
+                // Remember the last id to select the next chunk.
+                lastId = businessObjectDefinitionEntities.get(businessObjectDefinitionEntities.size() - 1).getId();
 
-            // Increment the offset.
-            startPosition += BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE;
+                // Increment the total count of processed business object definition entities.
+                processedBusinessObjectDefinitionsCount += businessObjectDefinitionEntities.size();
 
-            // Increment the total count of processed business object definition entities.
-            processedBusinessObjectDefinitionsCount += businessObjectDefinitionEntities.size();
+                LOGGER.info("Indexing business object definitions... searchIndexName=\"{}\" processedBusinessObjectDefinitionsCount={} indexedDocumentCount={}",
+                    indexName, processedBusinessObjectDefinitionsCount, bulkLoader.getIndexedDocumentCount());
+            }
+
+            // Wait for all the documents to be indexed.
+            bulkLoader.close();
+        }
+        finally
+        {
+            // Restore the index settings, so the index is refreshed and replicated as configured.
+            restoreIndexAfterBulkLoad(indexName, indexSettings);
         }
 
         // Perform a simple count validation, index size should equal entity list size.
-        validateSearchIndexSize(searchIndexKey.getSearchIndexName(), processedBusinessObjectDefinitionsCount);
+        validateSearchIndexSize(indexName, processedBusinessObjectDefinitionsCount);
 
         // Update search index status to READY.
         searchIndexDaoHelper.updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
@@ -107,14 +157,46 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
     @Async
     public Future<Void> indexAllTags(SearchIndexKey searchIndexKey)
     {
-        // Get a list of all tags
-        final List<TagEntity> tagEntities = Collections.unmodifiableList(tagDao.getTags());
+        final String indexName = searchIndexKey.getSearchIndexName();
+
+        // Tune the index settings for the bulk load.
+        Settings indexSettings = prepareIndexForBulkLoad(indexName);
+
+        int processedTagsCount = 0;
+        try
+        {
+            // Index all tags using keyset pagination.
+            SearchIndexBulkLoader bulkLoader = new SearchIndexBulkLoader(indexName);
+            Long lastId = null;
+            List<TagEntity> tagEntities;
+            while (!(tagEntities = tagDao.getTagsAfterId(lastId, TAGS_CHUNK_SIZE)).isEmpty())
+            {
+                // Build the documents for the tags selected for processing and pass them to the bulk loader.
+                Map<String, String> documentMap = new LinkedHashMap<>();
+                tagHelper.executeFunctionForTagEntities(indexName, tagEntities, (index, id, json) -> documentMap.put(id, json));
+                bulkLoader.add(documentMap);
+
+                // Remember the last id to select the next chunk.
+                lastId = tagEntities.get(tagEntities.size() - 1).getId();
 
-        // Index all tags.
-        tagHelper.executeFunctionForTagEntities(searchIndexKey.getSearchIndexName(), tagEntities, indexFunctionsDao::createIndexDocument);
+                // Increment the total count of processed tag entities.
+                processedTagsCount += tagEntities.size();
+
+                LOGGER.info("Indexing tags... searchIndexName=\"{}\" processedTagsCount={} indexedDocumentCount={}", indexName, processedTagsCount,
+                    bulkLoader.getIndexedDocumentCount());
+            }
+
+            // Wait for all the documents to be indexed.
+            bulkLoader.close();
+        }
+        finally
+        {
+            // Restore the index settings, so the index is refreshed and replicated as configured.
+            restoreIndexAfterBulkLoad(indexName, indexSettings);
+        }
 
         // Simple count validation, index size should equal entity list size.
-        validateSearchIndexSize(searchIndexKey.getSearchIndexName(), tagEntities.size());
+        validateSearchIndexSize(indexName, processedTagsCount);
 
         // Update search index status to READY.
         searchIndexDaoHelper.updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
@@ -145,4 +227,195 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
 
         return result;
     }
+
+    /**
+     * Updates the index settings for a bulk load: disables the replicas and makes the index refresh less often, while still letting the index count report
+     * the progress of the bulk load.
+     *
+     * @param indexName the name of the index
+     *
+     * @return the index settings before the update, may be null
+     */
+    private Settings prepareIndexForBulkLoad(String indexName)
+    {
+        Settings indexSettings = indexFunctionsDao.getIndexSettings(indexName);
+
+        indexFunctionsDao.updateIndexSettings(indexName, Settings.builder()
+            .put(INDEX_REFRESH_INTERVAL_SETTING, configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_REFRESH_INTERVAL))
+            .put(INDEX_NUMBER_OF_REPLICAS_SETTING, 0).build());
+
+        return indexSettings;
+    }
+
+    /**
+     * Restores the index settings updated for a bulk load and refreshes the index, so all the loaded documents are visible.
+     *
+     * @param indexName the name of the index
+     * @param indexSettings the index settings before the bulk load, may be null
+     */
+    private void restoreIndexAfterBulkLoad(String indexName, Settings indexSettings)
+    {
+        // Settings that were not explicitly set on the index are reset to their defaults.
+        Settings.Builder settingsBuilder = Settings.builder();
+        for (String settingName : Arrays.asList(INDEX_REFRESH_INTERVAL_SETTING, INDEX_NUMBER_OF_REPLICAS_SETTING))
+        {
+            String settingValue = indexSettings != null ? indexSettings.get(settingName) : null;
+            if (settingValue != null)
+            {
+                settingsBuilder.put(settingName, settingValue);
+            }
+            else
+            {
+                settingsBuilder.putNull(settingName);
+            }
+        }
+
+        indexFunctionsDao.updateIndexSettings(indexName, settingsBuilder.build());
+        indexFunctionsDao.refreshIndex(indexName);
+    }
+
+    /**
+     * Sends search index documents to an index in bulk requests of a limited size in bytes. The bulk requests are sent asynchronously, with a limited number
+     * of them in flight at a time, so the documents for the next chunk of entities can be built while the previous documents are being indexed.
+     */
+    private class SearchIndexBulkLoader
+    {
+        private final String indexName;
+
+        private final int maxBulkRequestBytes;
+
+        private final int maxBulkRequestsInFlight;
+
+        private final Map<String, String> documentMap = new LinkedHashMap<>();
+
+        private long documentMapBytes;
+
+        private final Deque<Future<Integer>> bulkRequests = new ArrayDeque<>();
+
+        private int indexedDocumentCount;
+
+        private SearchIndexBulkLoader(String indexName)
+        {
+            this.indexName = indexName;
+            this.maxBulkRequestBytes = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class);
+            this.maxBulkRequestsInFlight =
+                Math.max(1, configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_THREADS, Integer.class));
+        }
+
+        /**
+         * Adds documents to the next bulk request, sending the bulk request once it reaches the maximum size.
+         *
+         * @param documents the map of document ids to the documents as JSON strings
+         */
+        private void add(Map<String, String> documents)
+        {
+            for (Map.Entry<String, String> document : documents.entrySet())
+            {
+                documentMap.put(document.getKey(), document.getValue());
+                documentMapBytes += document.getValue().getBytes(StandardCharsets.UTF_8).length;
+
+                if (documentMapBytes >= maxBulkRequestBytes)
+                {
+                    sendBulkRequest();
+                }
+            }
+        }
+
+        /**
+         * Sends the remaining documents and waits for all bulk requests to complete.
+         */
+        private void close()
+        {
+            sendBulkRequest();
+
+            while (!bulkRequests.isEmpty())
+            {
+                indexedDocumentCount += getBulkRequestResult(bulkRequests.removeFirst());
+            }
+
+            LOGGER.info("Indexed documents. searchIndexName=\"{}\" indexedDocumentCount={}", indexName, indexedDocumentCount);
+        }
+
+        private int getIndexedDocumentCount()
+        {
+            return indexedDocumentCount;
+        }
+
+        /**
+         * Sends the documents added so far in an asynchronous bulk request. If the maximum number of bulk requests are already in flight, waits for the
+         * oldest one to complete first. If the dedicated bulk request task executor has no idle thread or queue space left, the bulk request is sent by the
+         * calling thread.
+         */
+        private void sendBulkRequest()
+        {
+            if (documentMap.isEmpty())
+            {
+                return;
+            }
+
+            while (bulkRequests.size() >= maxBulkRequestsInFlight)
+            {
+                indexedDocumentCount += getBulkRequestResult(bulkRequests.removeFirst());
+            }
+
+            final Map<String, String> bulkDocumentMap = new LinkedHashMap<>(documentMap);
+            documentMap.clear();
+            documentMapBytes = 0;
+
+            try
+            {
+                bulkRequests.addLast(searchIndexBulkRequestTaskExecutor.submit(() -> bulkIndexDocuments(bulkDocumentMap)));
+            }
+            catch (TaskRejectedException e)
+            {
+                indexedDocumentCount += bulkIndexDocuments(bulkDocumentMap);
+            }
+        }
+
+        /**
+         * Indexes the documents in a single bulk request. As with the documents indexed one at a time, a failed bulk request is logged and does not stop the
+         * documents that follow from being indexed.
+         *
+         * @param bulkDocumentMap the map of document ids to the documents as JSON strings
+         *
+         * @return the number of documents successfully indexed
+         */
+        private int bulkIndexDocuments(Map<String, String> bulkDocumentMap)
+        {
+            try
+            {
+                return indexFunctionsDao.bulkIndexDocuments(indexName, bulkDocumentMap);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.error("Failed to bulk index documents. searchIndexName=\"{}\" documentCount={}", indexName, bulkDocumentMap.size(), e);
+                return 0;
+            }
+        }
+
+        /**
+         * Waits for the bulk request to complete and gets its result.
+         *
+         * @param bulkRequest the future of the bulk request
+         *
+         * @return the number of documents successfully indexed
+         */
+        private int getBulkRequestResult(Future<Integer> bulkRequest)
+        {
+            try
+            {
+                return bulkRequest.get();
+            }
+            catch (ExecutionException e)
+            {
+                LOGGER.error("Failed to bulk index documents. searchIndexName=\"{}\"", indexName, e.getCause());
+                return 0;
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the search index documents to be indexed.", e);
+            }
+        }
+    }
 }
@@ -329,20 +329,19 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
         // For directory only registration, we have no registered storage files to check against actual S3 files.
         if (CollectionUtils.isNotEmpty(storagePolicyTransitionParamsDto.getStorageFiles()))
         {
-            // Get actual S3 files by selecting all S3 keys matching the S3 key prefix form the S3 bucket.
+            // Validate existence of the S3 files while streaming all S3 keys matching the S3 key prefix form the S3 bucket.
             // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            List<S3ObjectSummary> actualS3FilesWithoutZeroByteDirectoryMarkers = s3Dao.listDirectory(s3FileTransferRequestParamsDto, true);
-
-            // Validate existence of the S3 files.
-            storageFileHelper.validateRegisteredS3Files(storagePolicyTransitionParamsDto.getStorageFiles(), actualS3FilesWithoutZeroByteDirectoryMarkers,
-                storagePolicyTransitionParamsDto.getStorageName(), storagePolicyTransitionParamsDto.getBusinessObjectDataKey());
+            storageFileHelper.listAndValidateRegisteredS3Files(s3FileTransferRequestParamsDto, storagePolicyTransitionParamsDto.getStorageFiles(),
+                storagePolicyTransitionParamsDto.getStorageName(), storagePolicyTransitionParamsDto.getBusinessObjectDataKey(), s3ObjectSummaryDto -> {
+                });
         }
 
         // Get actual S3 files by selecting all S3 keys matching the S3 key prefix form the S3 bucket.
         // This time, we do not ignore 0 byte objects that represent S3 directories.
         List<S3ObjectSummary> actualS3Files = s3Dao.listDirectory(s3FileTransferRequestParamsDto, false);
 
-        // Tag the S3 objects to initiate the archiving.
+        // Tag the S3 objects to initiate the archiving, processing the configured number of S3 objects concurrently.
+        s3FileTransferRequestParamsDto.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_MAX_CONCURRENCY, Integer.class));
         s3Dao.tagObjects(s3FileTransferRequestParamsDto, storagePolicyTransitionParamsDto.getS3ObjectTaggerRoleParamsDto(), actualS3Files,
             new Tag(storagePolicyTransitionParamsDto.getS3ObjectTagKey(), storagePolicyTransitionParamsDto.getS3ObjectTagValue()));
     }
@@ -99,6 +99,9 @@ public class UserNamespaceAuthorizationServiceImpl implements UserNamespaceAutho
         // Create and persist a new user namespace authorization entity from the request information.
         userNamespaceAuthorizationEntity = createUserNamespaceAuthorizationEntity(key.getUserId(), namespaceEntity, request.getNamespacePermissions());
 
+        // Evict the cached namespace authorizations of the user once the transaction commits.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(userNamespaceAuthorizationEntity.getUserId());
+
         // Create a user namespace authorization change notification to be sent on create user namespace authorization event.
         messageNotificationEventService.processUserNamespaceAuthorizationChangeNotificationEvent(
             new UserNamespaceAuthorizationKey(userNamespaceAuthorizationEntity.getUserId(), userNamespaceAuthorizationEntity.getNamespaceCode()));
@@ -138,6 +141,9 @@ public class UserNamespaceAuthorizationServiceImpl implements UserNamespaceAutho
         updateNamespacePermissions(userNamespaceAuthorizationEntity, request.getNamespacePermissions());
         userNamespaceAuthorizationDao.saveAndRefresh(userNamespaceAuthorizationEntity);
 
+        // Evict the cached namespace authorizations of the user once the transaction commits.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(userNamespaceAuthorizationEntity.getUserId());
+
         // Create a user namespace authorization change notification to be sent on update user namespace authorization event.
         messageNotificationEventService.processUserNamespaceAuthorizationChangeNotificationEvent(
             new UserNamespaceAuthorizationKey(userNamespaceAuthorizationEntity.getUserId(), userNamespaceAuthorizationEntity.getNamespaceCode()));
@@ -174,6 +180,9 @@ public class UserNamespaceAuthorizationServiceImpl implements UserNamespaceAutho
         // Delete the business object definition.
         userNamespaceAuthorizationDao.delete(userNamespaceAuthorizationEntity);
 
+        // Evict the cached namespace authorizations of the user once the transaction commits.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(userNamespaceAuthorizationEntity.getUserId());
+
         // Create a user namespace authorization change notification to be sent on delete user namespace authorization event.
         messageNotificationEventService.processUserNamespaceAuthorizationChangeNotificationEvent(
             new UserNamespaceAuthorizationKey(userNamespaceAuthorizationEntity.getUserId(), userNamespaceAuthorizationEntity.getNamespaceCode()));
@@ -198,6 +207,9 @@ public class UserNamespaceAuthorizationServiceImpl implements UserNamespaceAutho
             // Delete the business object definition.
             userNamespaceAuthorizationDao.delete(userNamespaceAuthorizationEntity);
 
+            // Evict the cached namespace authorizations of the user once the transaction commits.
+            userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(userNamespaceAuthorizationEntity.getUserId());
+
             // Create a user namespace authorization change notification to be sent on delete user namespace authorization event.
             messageNotificationEventService.processUserNamespaceAuthorizationChangeNotificationEvent(
                 new UserNamespaceAuthorizationKey(userNamespaceAuthorizationEntity.getUserId(), userNamespaceAuthorizationEntity.getNamespaceCode()));
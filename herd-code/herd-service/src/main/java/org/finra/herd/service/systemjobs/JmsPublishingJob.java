@@ -30,6 +30,7 @@ import org.springframework.util.CollectionUtils;
 
 import org.finra.herd.model.api.xml.Parameter;
 import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.NotificationMessageBatchPublishingResultDto;
 import org.finra.herd.service.NotificationMessagePublishingService;
 
 /**
@@ -43,6 +44,11 @@ public class JmsPublishingJob extends AbstractSystemJob
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JmsPublishingJob.class);
 
+    /**
+     * The maximum number of notification messages that can be claimed from the database queue in a single transaction.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private NotificationMessagePublishingService notificationMessagePublishingService;
 
@@ -71,6 +77,27 @@ public class JmsPublishingJob extends AbstractSystemJob
         // Log that the system job is started.
         LOGGER.info("Started system job. systemJobName=\"{}\"", JOB_NAME);
 
+        // Get the batch size. A batch size greater than zero enables the batched drain of the database queue.
+        int batchSize = configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_BATCH_SIZE, Integer.class);
+
+        if (batchSize > 0)
+        {
+            publishNotificationMessagesInBatches(Math.min(batchSize, MAX_BATCH_SIZE));
+        }
+        else
+        {
+            publishNotificationMessages();
+        }
+
+        // Log that the system job is ended.
+        LOGGER.info("Completed system job. systemJobName=\"{}\"", JOB_NAME);
+    }
+
+    /**
+     * Publishes all notification messages stored in the database queue one at a time, stopping at the first failure.
+     */
+    private void publishNotificationMessages()
+    {
         // Publish all notification messages stored in the database queue.
         int count = 0;
         try
@@ -88,8 +115,55 @@ public class JmsPublishingJob extends AbstractSystemJob
 
         // Log the number of notification messages successfully published.
         LOGGER.info("Published {} notification messages. systemJobName=\"{}\"", Integer.toString(count), JOB_NAME);
+    }
 
-        // Log that the system job is ended.
-        LOGGER.info("Completed system job. systemJobName=\"{}\"", JOB_NAME);
+    /**
+     * Publishes notification messages stored in the database queue in batches, one transaction per batch. The database queue is traversed once in the order of
+     * notification message ids, so messages that fail to publish are left in the queue for the next run of this system job and do not block the messages
+     * behind them.
+     *
+     * @param batchSize the maximum number of notification messages to claim per batch
+     */
+    private void publishNotificationMessagesInBatches(int batchSize)
+    {
+        long startTimeMillis = System.currentTimeMillis();
+        int publishedMessageCount = 0;
+        int failedMessageCount = 0;
+        int skippedMessageCount = 0;
+        int batchCount = 0;
+        Long lastNotificationMessageId = null;
+
+        try
+        {
+            while (true)
+            {
+                NotificationMessageBatchPublishingResultDto result =
+                    notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(lastNotificationMessageId, batchSize);
+
+                // Stop when there are no more notification messages in the database queue.
+                if (result.getSelectedMessageCount() == 0)
+                {
+                    break;
+                }
+
+                batchCount++;
+                publishedMessageCount += result.getPublishedMessageCount();
+                failedMessageCount += result.getFailedMessageCount();
+                skippedMessageCount += result.getSelectedMessageCount() - result.getPublishedMessageCount() - result.getFailedMessageCount();
+                lastNotificationMessageId = result.getLastNotificationMessageId();
+            }
+        }
+        catch (Exception e)
+        {
+            // Log the exception.
+            LOGGER.error("Failed to publish a batch of notification messages. systemJobName=\"{}\" lastNotificationMessageId={}", JOB_NAME,
+                lastNotificationMessageId, e);
+        }
+
+        // Log the number of notification messages processed along with the publishing throughput.
+        long durationMillis = System.currentTimeMillis() - startTimeMillis;
+        LOGGER.info("Published {} notification messages. systemJobName=\"{}\" batchSize={} batchCount={} failedMessageCount={} skippedMessageCount={} " +
+                "durationMillis={} messagesPerSecond={}", Integer.toString(publishedMessageCount), JOB_NAME, batchSize, batchCount, failedMessageCount,
+            skippedMessageCount, durationMillis, String.format("%.2f", durationMillis > 0 ? publishedMessageCount * 1000.0 / durationMillis : 0.0));
     }
 }
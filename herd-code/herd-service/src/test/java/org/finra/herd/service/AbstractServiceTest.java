@@ -717,6 +717,8 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
 
     public static final String NO_OLD_BUSINESS_OBJECT_FORMAT_VERSION = null;
 
+    public static final String NO_PAGE_TOKEN = null;
+
     public static final TagKey NO_PARENT_TAG_KEY = null;
 
     public static final boolean NO_PERFORM_FULL_SEARCH_INDEX_VALIDATION = Boolean.FALSE;
@@ -779,6 +781,8 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
 
     public static final Integer PAGE_SIZE_ONE_THOUSAND = 1_000;
 
+    public static final String PAGE_TOKEN = "UT_PageToken_" + RANDOM_SUFFIX;
+
     public static final String PARAMETER_NAME = "UT_ParameterName_" + RANDOM_SUFFIX;
 
     public static final String PARAMETER_VALUE = "UT_ParameterValue_" + RANDOM_SUFFIX;
@@ -2,6 +2,7 @@ package org.finra.herd.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -627,6 +628,89 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         }
     }
 
+    @Test
+    public void testSearchBusinessObjectDataNoFiltersKeysetPagingInvalidParameters()
+    {
+        BusinessObjectDataSearchRequest request = businessObjectDataServiceTestHelper.createSimpleBusinessObjectDataSearchRequest(NAMESPACE, BDEF_NAME);
+
+        // Try to search with both page number and page token specified.
+        try
+        {
+            businessObjectDataService.searchBusinessObjectData(1, 1, EMPTY_STRING, request);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A pageNum can not be specified together with a pageToken.", e.getMessage());
+        }
+
+        // Try to search with an invalid page token.
+        try
+        {
+            businessObjectDataService.searchBusinessObjectData(null, 1, "I_DO_NOT_EXIST", request);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("Invalid page token \"I_DO_NOT_EXIST\".", e.getMessage());
+        }
+
+        // Try to search with a page token and the latest valid version filter.
+        request.getBusinessObjectDataSearchFilters().get(0).getBusinessObjectDataSearchKeys().get(0).setFilterOnLatestValidVersion(true);
+        try
+        {
+            businessObjectDataService.searchBusinessObjectData(null, 1, EMPTY_STRING, request);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A pageToken can not be specified when filtering on the latest valid version.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testSearchBusinessObjectDataNoFiltersKeysetPagingTraverseAllPages()
+    {
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataSearchTesting();
+
+        BusinessObjectDataSearchRequest request = businessObjectDataServiceTestHelper.createSimpleBusinessObjectDataSearchRequest(NAMESPACE, BDEF_NAME);
+
+        // Test getting the first page using an empty page token.
+        BusinessObjectDataSearchResultPagingInfoDto result = businessObjectDataService.searchBusinessObjectData(null, 1, EMPTY_STRING, request);
+
+        assertEquals(1, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
+        BusinessObjectData firstBusinessObjectData = result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().get(0);
+        assertEquals(NAMESPACE, firstBusinessObjectData.getNamespace());
+        assertEquals(BDEF_NAME, firstBusinessObjectData.getBusinessObjectDefinitionName());
+        assertNotNull(result.getBusinessObjectDataSearchResult().getNextPageToken());
+
+        // Validate the paging information. Page number, page count, and total record count are not computed with keyset pagination.
+        assertNull(result.getPageNum());
+        assertEquals(Long.valueOf(1), result.getPageSize());
+        assertNull(result.getPageCount());
+        assertEquals(Long.valueOf(1), result.getTotalRecordsOnPage());
+        assertNull(result.getTotalRecordCount());
+        assertEquals(Long.valueOf(DEFAULT_PAGE_SIZE), result.getMaxResultsPerPage());
+
+        // Test getting the second and the last page using the returned page token.
+        result =
+            businessObjectDataService.searchBusinessObjectData(null, 1, result.getBusinessObjectDataSearchResult().getNextPageToken(), request);
+
+        assertEquals(1, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
+        BusinessObjectData secondBusinessObjectData = result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().get(0);
+        assertEquals(NAMESPACE, secondBusinessObjectData.getNamespace());
+        assertEquals(BDEF_NAME, secondBusinessObjectData.getBusinessObjectDefinitionName());
+        assertTrue(secondBusinessObjectData.getId() > firstBusinessObjectData.getId());
+        assertNull(result.getBusinessObjectDataSearchResult().getNextPageToken());
+
+        // Test getting a larger page than there are results.
+        result = businessObjectDataService.searchBusinessObjectData(null, 3, EMPTY_STRING, request);
+
+        assertEquals(2, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
+        assertEquals(Long.valueOf(2), result.getTotalRecordsOnPage());
+        assertNull(result.getBusinessObjectDataSearchResult().getNextPageToken());
+    }
+
     @Test
     public void testSearchBusinessObjectDataNoFiltersPagingMaxRecordsExceeded() throws Exception
     {
@@ -672,6 +756,33 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         }
     }
 
+    @Test
+    public void testSearchBusinessObjectDataNoFiltersKeysetPagingPageSizeGreaterThanMaxRecords() throws Exception
+    {
+        BusinessObjectDataSearchRequest request = businessObjectDataServiceTestHelper.createSimpleBusinessObjectDataSearchRequest(NAMESPACE, BDEF_NAME);
+
+        // Override configuration.
+        int maxBusinessObjectDataSearchResultCount = 2;
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.BUSINESS_OBJECT_DATA_SEARCH_MAX_RESULT_COUNT.getKey(), maxBusinessObjectDataSearchResultCount);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            businessObjectDataService.searchBusinessObjectData(null, maxBusinessObjectDataSearchResultCount + 1, EMPTY_STRING, request);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("A pageSize less than %d must be specified.", maxBusinessObjectDataSearchResultCount), e.getMessage());
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
     @Test
     public void testSearchBusinessObjectDataNoFiltersPagingPageSizeGreaterThanMaximumPageSize()
     {
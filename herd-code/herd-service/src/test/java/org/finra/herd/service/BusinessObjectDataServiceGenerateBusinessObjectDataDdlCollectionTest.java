@@ -17,16 +17,31 @@ package org.finra.herd.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.FileTypeEntity;
+import org.finra.herd.model.jpa.StorageEntity;
+import org.finra.herd.service.helper.BusinessObjectFormatDaoHelper;
+import org.finra.herd.service.helper.StorageDaoHelper;
+import org.finra.herd.service.helper.StorageHelper;
 
 /**
  * This class tests generateBusinessObjectDataDdlCollection functionality within the business object data service.
@@ -47,6 +62,85 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlCollectionTes
         assertEquals(businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdlCollectionResponse(), resultBusinessObjectDataDdlCollectionResponse);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataDdlCollectionStorageNameCaseMismatch()
+    {
+        // Prepare database entities required for testing.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting(AbstractServiceTest.PARTITION_VALUE);
+
+        // Build a collection request where the second request specifies the same storage using a different case, so its storage lookup gets shared.
+        BusinessObjectDataDdlCollectionRequest request = businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlCollectionRequest();
+        BusinessObjectDataDdlRequest lowerCaseStorageNameRequest = (BusinessObjectDataDdlRequest) request.getBusinessObjectDataDdlRequests().get(1).clone();
+        lowerCaseStorageNameRequest.setStorageName(STORAGE_NAME.toLowerCase());
+        request.getBusinessObjectDataDdlRequests().set(1, lowerCaseStorageNameRequest);
+
+        // Generate DDL for a collection of business object data.
+        BusinessObjectDataDdlCollectionResponse resultBusinessObjectDataDdlCollectionResponse =
+            businessObjectDataService.generateBusinessObjectDataDdlCollection(request);
+
+        // Validate the response object. Only the storage name echoed back from the second request is expected to differ.
+        BusinessObjectDataDdlCollectionResponse expectedBusinessObjectDataDdlCollectionResponse =
+            businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdlCollectionResponse();
+        BusinessObjectDataDdl expectedLowerCaseStorageNameDdl =
+            (BusinessObjectDataDdl) expectedBusinessObjectDataDdlCollectionResponse.getBusinessObjectDataDdlResponses().get(1).clone();
+        expectedLowerCaseStorageNameDdl.setStorageName(STORAGE_NAME.toLowerCase());
+        expectedBusinessObjectDataDdlCollectionResponse.getBusinessObjectDataDdlResponses().set(1, expectedLowerCaseStorageNameDdl);
+        assertEquals(expectedBusinessObjectDataDdlCollectionResponse, resultBusinessObjectDataDdlCollectionResponse);
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlCollectionLookupsShared()
+    {
+        // Prepare database entities required for testing.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting(AbstractServiceTest.PARTITION_VALUE);
+
+        // Build a collection request where the second request specifies the same storage using a different case.
+        BusinessObjectDataDdlCollectionRequest request = businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlCollectionRequest();
+        BusinessObjectDataDdlRequest lowerCaseStorageNameRequest = (BusinessObjectDataDdlRequest) request.getBusinessObjectDataDdlRequests().get(1).clone();
+        lowerCaseStorageNameRequest.setStorageName(STORAGE_NAME.toLowerCase());
+        request.getBusinessObjectDataDdlRequests().set(1, lowerCaseStorageNameRequest);
+
+        // Spy on the helpers used by the business object data service and the DDL partitions helper to look up formats, storage and storage attributes.
+        Object businessObjectDataServiceImpl = AopTestUtils.getUltimateTargetObject(businessObjectDataService);
+        BusinessObjectFormatDaoHelper businessObjectFormatDaoHelperSpy = spy(businessObjectFormatDaoHelper);
+        StorageDaoHelper storageDaoHelperSpy = spy(storageDaoHelper);
+        StorageHelper storageHelperSpy = spy(storageHelper);
+        for (Object target : Arrays.asList(businessObjectDataServiceImpl, businessObjectDataDdlPartitionsHelper))
+        {
+            ReflectionTestUtils.setField(target, "businessObjectFormatDaoHelper", businessObjectFormatDaoHelperSpy);
+            ReflectionTestUtils.setField(target, "storageDaoHelper", storageDaoHelperSpy);
+            ReflectionTestUtils.setField(target, "storageHelper", storageHelperSpy);
+        }
+
+        try
+        {
+            // Generate DDL for a collection of business object data.
+            businessObjectDataService.generateBusinessObjectDataDdlCollection(request);
+
+            // Validate that the format, the storage and its S3 bucket name and S3 key prefix velocity template got looked up only once for the entire
+            // collection, since both requests share them.
+            verify(businessObjectFormatDaoHelperSpy, times(1)).getBusinessObjectFormatEntity(
+                new BusinessObjectFormatKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION));
+            verify(storageDaoHelperSpy, times(1)).getStorageEntity(any(String.class));
+            verify(storageHelperSpy, times(1))
+                .getStorageAttributeValueByName(eq(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_BUCKET_NAME)), any(StorageEntity.class),
+                    eq(true));
+            verify(storageHelperSpy, times(1))
+                .getStorageAttributeValueByName(eq(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_KEY_PREFIX_VELOCITY_TEMPLATE)),
+                    any(StorageEntity.class), eq(false));
+        }
+        finally
+        {
+            // Restore the helpers so we don't affect other tests.
+            for (Object target : Arrays.asList(businessObjectDataServiceImpl, businessObjectDataDdlPartitionsHelper))
+            {
+                ReflectionTestUtils.setField(target, "businessObjectFormatDaoHelper", businessObjectFormatDaoHelper);
+                ReflectionTestUtils.setField(target, "storageDaoHelper", storageDaoHelper);
+                ReflectionTestUtils.setField(target, "storageHelper", storageHelper);
+            }
+        }
+    }
+
     @Test
     public void testGenerateBusinessObjectDataDdlCollectionMissingRequiredParameters()
     {
@@ -20,7 +20,14 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
-
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -28,9 +35,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.junit.Ignore;
 import org.junit.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.model.ObjectNotFoundException;
@@ -88,6 +99,149 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
             .validateBusinessObjectDataDdl(request, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(), resultDdl);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataDdlSubPartitionDiscoveryThreads() throws Exception
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Retrieve business object data ddl with the sub-partition discovery running in a single thread and in more threads than there are storage units.
+        for (int threadCount : Arrays.asList(1, 2, UNSORTED_PARTITION_VALUES.size() + 1))
+        {
+            Map<String, Object> overrideMap = new HashMap<>();
+            overrideMap.put(ConfigurationValue.DDL_SUB_PARTITION_DISCOVERY_THREADS.getKey(), threadCount);
+            modifyPropertySourceInEnvironment(overrideMap);
+
+            try
+            {
+                BusinessObjectDataDdlRequest request =
+                    businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME);
+                BusinessObjectDataDdl resultDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+                // Validate the results. The partitions must be listed in the same order regardless of the number of threads.
+                businessObjectDataServiceTestHelper
+                    .validateBusinessObjectDataDdl(request, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(), resultDdl);
+            }
+            finally
+            {
+                // Restore the property sources so we don't affect other tests.
+                restorePropertySourceInEnvironment();
+            }
+        }
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlSubPartitionDiscoveryTasksRejected() throws Exception
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Replace the sub-partition discovery task executor with one that rejects all tasks, as it does when all of its threads are busy.
+        AsyncTaskExecutor ddlSubPartitionDiscoveryTaskExecutor =
+            (AsyncTaskExecutor) ReflectionTestUtils.getField(businessObjectDataDdlPartitionsHelper, "ddlSubPartitionDiscoveryTaskExecutor");
+        AsyncTaskExecutor rejectingTaskExecutor = mock(AsyncTaskExecutor.class);
+        when(rejectingTaskExecutor.submit(any(Callable.class))).thenThrow(new TaskRejectedException(ERROR_MESSAGE));
+        ReflectionTestUtils.setField(businessObjectDataDdlPartitionsHelper, "ddlSubPartitionDiscoveryTaskExecutor", rejectingTaskExecutor);
+
+        try
+        {
+            // Retrieve business object data ddl with the sub-partition discovery split into two batches.
+            Map<String, Object> overrideMap = new HashMap<>();
+            overrideMap.put(ConfigurationValue.DDL_SUB_PARTITION_DISCOVERY_THREADS.getKey(), 2);
+            modifyPropertySourceInEnvironment(overrideMap);
+
+            BusinessObjectDataDdlRequest request =
+                businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME);
+            BusinessObjectDataDdl resultDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+            // Validate that the rejected batch was processed by the request thread and the results are not affected.
+            verify(rejectingTaskExecutor, times(1)).submit(any(Callable.class));
+            businessObjectDataServiceTestHelper
+                .validateBusinessObjectDataDdl(request, businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(), resultDdl);
+        }
+        finally
+        {
+            // Restore the task executor and the property sources so we don't affect other tests.
+            ReflectionTestUtils.setField(businessObjectDataDdlPartitionsHelper, "ddlSubPartitionDiscoveryTaskExecutor", ddlSubPartitionDiscoveryTaskExecutor);
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlStream() throws Exception
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Override configuration for the streamed DDL page size to be small enough to process the partition filters in multiple pages.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.DDL_STREAM_PARTITION_FILTERS_PAGE_SIZE.getKey(), 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            for (String customDdlName : Arrays.asList(CUSTOM_DDL_NAME, NO_CUSTOM_DDL_NAME))
+            {
+                for (Integer combinedAlterTableMaxPartitions : Arrays.asList(null, 3))
+                {
+                    // Retrieve business object data ddl.
+                    BusinessObjectDataDdlRequest request =
+                        businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, customDdlName);
+                    request.setIncludeDropPartitions(true);
+                    request.setCombineMultiplePartitionsInSingleAlterTable(true);
+                    request.setCombinedAlterTableMaxPartitions(combinedAlterTableMaxPartitions);
+                    BusinessObjectDataDdl resultDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+                    // Stream business object data ddl for the same request.
+                    request = businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, customDdlName);
+                    request.setIncludeDropPartitions(true);
+                    request.setCombineMultiplePartitionsInSingleAlterTable(true);
+                    request.setCombinedAlterTableMaxPartitions(combinedAlterTableMaxPartitions);
+                    StringWriter writer = new StringWriter();
+                    businessObjectDataService.generateBusinessObjectDataDdl(request, writer);
+
+                    // Validate that the streamed DDL is the same as the retrieved one.
+                    assertEquals(resultDdl.getDdl(), writer.toString());
+                }
+            }
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlChangedSinceTime()
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+        Timestamp currentTime = new Timestamp(System.currentTimeMillis());
+
+        // Retrieve business object data ddl for the partitions that have business object data registered in the test storage.
+        BusinessObjectDataDdlRequest request =
+            businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(STORAGE_1_AVAILABLE_PARTITION_VALUES, CUSTOM_DDL_NAME);
+        request.setIncludeDropPartitions(true);
+        BusinessObjectDataDdl resultDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+        // Retrieve delta business object data ddl for all business object data changed since yesterday.
+        request = businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(STORAGE_1_AVAILABLE_PARTITION_VALUES, CUSTOM_DDL_NAME);
+        request.setChangedSinceTime(HerdDateUtils.getXMLGregorianCalendarValue(HerdDateUtils.addDays(currentTime, -1)));
+        BusinessObjectDataDdl resultDeltaDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+        // Validate that the delta DDL drops and adds back all partitions without creating the table.
+        String expectedDeltaDdl = resultDdl.getDdl().substring(resultDdl.getDdl().indexOf(String.format("ALTER TABLE `%s` DROP IF EXISTS", TABLE_NAME)));
+        assertEquals(expectedDeltaDdl, resultDeltaDdl.getDdl());
+
+        // Retrieve delta business object data ddl for the business object data changed since tomorrow.
+        request.setChangedSinceTime(HerdDateUtils.getXMLGregorianCalendarValue(HerdDateUtils.addDays(currentTime, 1)));
+        resultDeltaDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+        // Validate that the delta DDL is empty.
+        assertEquals("", resultDeltaDdl.getDdl());
+    }
+
     @Test
     public void testGenerateBusinessObjectDataDdlPartitionValueListStandalonePartitionValueFilter()
     {
@@ -159,7 +313,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                     NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -191,7 +346,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME);
 
         // Confirm that, by default, no results are returned since there are no VALID business object data instances.
         request.setBusinessObjectDataVersion(null);
@@ -257,7 +413,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -289,7 +446,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME);
 
         // Confirm that, by default, no results are returned since there are no VALID business object data instances.
         request.setBusinessObjectDataVersion(null);
@@ -823,7 +981,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                     NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -852,7 +1011,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
             // Validate the response object.
             assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -1077,7 +1237,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME);
 
             try
             {
@@ -2452,7 +2612,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Should throw an IllegalArgumentException when storage directory path does not match the expected S3 key prefix.");
         }
         catch (IllegalArgumentException e)
@@ -2483,7 +2644,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Should throw an IllegalArgumentException when storage directory path is null.");
         }
         catch (IllegalArgumentException e)
@@ -2690,7 +2852,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the results.
         assertNotNull(businessObjectDataDdl);
@@ -2713,7 +2875,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Suppose to throw an ObjectNotFoundException when failed to find the latest before partition value.");
         }
         catch (ObjectNotFoundException e)
@@ -2744,7 +2907,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Suppose to throw an ObjectNotFoundException when failed to find the latest after partition value.");
         }
         catch (ObjectNotFoundException e)
@@ -2780,7 +2944,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object.
         String expectedDdl =
@@ -2819,7 +2983,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object.
         String expectedDdl =
@@ -2860,7 +3025,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object.
         String expectedDdl =
@@ -2901,7 +3067,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object.
         String expectedDdl =
@@ -2942,7 +3109,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object.
         String expectedDdl =
@@ -2984,7 +3152,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object.
         String expectedDdl =
@@ -3024,7 +3193,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Suppose to throw an IllegalArgumentException when business object data registered in more than one storage.");
         }
         catch (IllegalArgumentException e)
@@ -3047,7 +3217,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Suppose to throw an IllegalArgumentException when business object data registered in more than one storage.");
         }
         catch (IllegalArgumentException e)
@@ -3126,7 +3297,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Suppose to throw an IllegalArgumentException when business object data has more or " +
                 "equal sub-partition values then the latest business object format version.");
         }
@@ -3161,7 +3333,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3193,7 +3365,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Only the first sub-partition should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3227,7 +3399,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has an INVALID status.");
         }
         catch (ObjectNotFoundException e)
@@ -3261,7 +3434,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has a non-available storage unit status.");
         }
         catch (ObjectNotFoundException e)
@@ -3295,7 +3469,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has a non-available storage unit status.");
         }
         catch (ObjectNotFoundException e)
@@ -3333,7 +3508,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail("Suppose to throw an ObjectNotFoundException when second sub-partition has a non-available storage unit status.");
         }
         catch (ObjectNotFoundException e)
@@ -3369,7 +3545,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA, INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE,
                 AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should. Only the first sub-partition should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3401,7 +3577,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Only the first sub-partition should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3428,7 +3605,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3463,7 +3641,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -3498,7 +3677,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -3574,7 +3754,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -3605,7 +3786,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3636,7 +3818,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3669,7 +3852,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, 1, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3704,7 +3887,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                 NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, 2, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3741,7 +3924,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                 NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, 2, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3775,7 +3958,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                 NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 AbstractServiceTest.COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, 1000, AbstractServiceTest.NO_AS_OF_TIME,
-                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, AbstractServiceTest.NO_CHANGED_SINCE_TIME));
 
         // Validate the response object. Both sub-partitions should be present in the generated DDL.
         BusinessObjectDataDdl expectedBusinessObjectDataDdl =
@@ -3910,7 +4093,8 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                     INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, NO_INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION, NO_ALLOW_MISSING_DATA,
                     NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                     AbstractServiceTest.NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, AbstractServiceTest.NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                    AbstractServiceTest.NO_AS_OF_TIME, AbstractServiceTest.NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES,
+                    AbstractServiceTest.NO_CHANGED_SINCE_TIME);
 
             Calendar cal = Calendar.getInstance();
             java.util.Date dateTime = cal.getTime();
@@ -4353,7 +4537,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 BusinessObjectDataDdlOutputFormatEnum.HIVE_13_DDL, TABLE_NAME, NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION,
                 NO_INCLUDE_DROP_PARTITIONS, INCLUDE_SINGLE_LOCATION, ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS,
                 NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS, NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                NO_AS_OF_TIME, NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES);
+                NO_AS_OF_TIME, NO_SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, NO_CHANGED_SINCE_TIME);
         BusinessObjectDataDdl resultBusinessObjectDataDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
 
         // Validate the response object.
@@ -4425,7 +4609,7 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
                 NO_CUSTOM_DDL_NAME, INCLUDE_DROP_TABLE_STATEMENT, INCLUDE_IF_NOT_EXISTS_OPTION, INCLUDE_DROP_PARTITIONS, NO_INCLUDE_SINGLE_LOCATION,
                 NO_ALLOW_MISSING_DATA, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS, NO_SUPPRESS_SCAN_FOR_UNREGISTERED_SUBPARTITIONS,
                 NO_COMBINE_MULTIPLE_PARTITIONS_IN_SINGLE_ALTER_TABLE, NO_COMBINED_ALTER_TABLE_MAX_PARTITIONS,
-                NO_AS_OF_TIME, SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES));
+                NO_AS_OF_TIME, SUPPRESS_QUOTES_IN_NUMERIC_TYPE_PARTITION_VALUES, NO_CHANGED_SINCE_TIME));
 
         // Validate the response object.
         assertEquals(new BusinessObjectDataDdl(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FileTypeEntity.TXT_FILE_TYPE, FORMAT_VERSION, Arrays.asList(
@@ -22,13 +22,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.google.common.collect.Lists;
 import org.junit.Before;
 import org.junit.Test;
@@ -82,9 +80,6 @@ public class BusinessObjectDataStorageFileServiceMockTest extends AbstractServic
     @Mock
     private S3KeyPrefixHelper s3KeyPrefixHelper;
 
-    @Mock
-    private S3Service s3Service;
-
     @Mock
     private StorageFileDaoHelper storageFileDaoHelper;
 
@@ -793,9 +788,6 @@ public class BusinessObjectDataStorageFileServiceMockTest extends AbstractServic
         S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
         s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
 
-        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
-        s3ObjectSummaries.add(new S3ObjectSummary());
-
         Map<String, StorageFile> actualS3Keys = new HashMap<>();
         actualS3Keys.put(testS3KeyPrefix + "/" + FILE_PATH_2, new StorageFile(testS3KeyPrefix + "/" + FILE_PATH_2, FILE_SIZE_1_KB, ROW_COUNT_1000));
 
@@ -811,8 +803,7 @@ public class BusinessObjectDataStorageFileServiceMockTest extends AbstractServic
         when(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE)).thenReturn(S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE);
         when(storageHelper.getBooleanStorageAttributeValueByName(S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE, storageEntity, false, true)).thenReturn(true);
         when(storageHelper.getS3BucketAccessParams(storageUnitEntity.getStorage())).thenReturn(s3FileTransferRequestParamsDto);
-        when(s3Service.listDirectory(s3FileTransferRequestParamsDto, true)).thenReturn(s3ObjectSummaries);
-        when(storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3ObjectSummaries)).thenReturn(actualS3Keys);
+        when(storageFileHelper.getStorageFilesMapFromS3(s3FileTransferRequestParamsDto)).thenReturn(actualS3Keys);
         when(businessObjectDataHelper.getSubPartitionValues(businessObjectDataEntity)).thenReturn(SUB_PARTITION_VALUES);
 
         // Create the request object
@@ -844,8 +835,7 @@ public class BusinessObjectDataStorageFileServiceMockTest extends AbstractServic
         verify(storageFileHelper).getAlreadyRegisteredStorageFilesMap(NO_DIRECTORY_PATH, storageUnitEntity.getStorageFiles());
         verify(storageFileHelper).getFilePathsFromStorageFiles(TEST_S3_STORAGE_FILES);
         verify(storageHelper).getS3BucketAccessParams(storageEntity);
-        verify(s3Service).listDirectory(s3FileTransferRequestParamsDto, true);
-        verify(storageFileHelper).getStorageFilesMapFromS3ObjectSummaries(s3ObjectSummaries);
+        verify(storageFileHelper).getStorageFilesMapFromS3(s3FileTransferRequestParamsDto);
         verify(storageFileHelper).validateStorageFile(TEST_S3_STORAGE_FILES.get(0), S3_BUCKET_NAME, actualS3Keys, true);
         verify(storageFileDaoHelper).createStorageFileEntitiesFromStorageFiles(storageUnitEntity, TEST_S3_STORAGE_FILES, NO_DIRECTORY_PATH);
         verify(businessObjectDataHelper).getSubPartitionValues(businessObjectDataEntity);
@@ -900,9 +890,6 @@ public class BusinessObjectDataStorageFileServiceMockTest extends AbstractServic
         S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
         s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
 
-        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
-        s3ObjectSummaries.add(new S3ObjectSummary());
-
         Map<String, StorageFile> actualS3Keys = new HashMap<>();
         actualS3Keys.put(testS3KeyPrefix + "/" + FILE_PATH_2, new StorageFile(testS3KeyPrefix + "/" + FILE_PATH_2, FILE_SIZE_1_KB, ROW_COUNT_1000));
 
@@ -918,8 +905,7 @@ public class BusinessObjectDataStorageFileServiceMockTest extends AbstractServic
         when(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE)).thenReturn(S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE);
         when(storageHelper.getBooleanStorageAttributeValueByName(S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE, storageEntity, false, true)).thenReturn(true);
         when(storageHelper.getS3BucketAccessParams(storageEntity)).thenReturn(s3FileTransferRequestParamsDto);
-        when(s3Service.listDirectory(s3FileTransferRequestParamsDto, true)).thenReturn(s3ObjectSummaries);
-        when(storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3ObjectSummaries)).thenReturn(actualS3Keys);
+        when(storageFileHelper.getStorageFilesMapFromS3(s3FileTransferRequestParamsDto)).thenReturn(actualS3Keys);
         when(businessObjectDataHelper.getSubPartitionValues(businessObjectDataEntity)).thenReturn(NO_SUBPARTITION_VALUES);
 
         // Discover storage files in S3 managed storage.
@@ -949,8 +935,7 @@ public class BusinessObjectDataStorageFileServiceMockTest extends AbstractServic
                 testS3KeyPrefix);
         verify(storageFileHelper).getAlreadyRegisteredStorageFilesMap(storageUnitEntity.getDirectoryPath(), storageUnitEntity.getStorageFiles());
         verify(storageHelper).getS3BucketAccessParams(storageEntity);
-        verify(s3Service).listDirectory(s3FileTransferRequestParamsDto, true);
-        verify(storageFileHelper).getStorageFilesMapFromS3ObjectSummaries(s3ObjectSummaries);
+        verify(storageFileHelper).getStorageFilesMapFromS3(s3FileTransferRequestParamsDto);
         verify(storageFileDaoHelper).createStorageFileEntitiesFromStorageFiles(storageUnitEntity, TEST_S3_STORAGE_FILES, testS3KeyPrefix);
         verify(businessObjectDataHelper).getSubPartitionValues(businessObjectDataEntity);
         verifyNoMoreInteractionsHelper();
@@ -1046,6 +1031,6 @@ public class BusinessObjectDataStorageFileServiceMockTest extends AbstractServic
     private void verifyNoMoreInteractionsHelper()
     {
         verifyNoMoreInteractions(businessObjectDataDaoHelper, businessObjectDataHelper, businessObjectFormatHelper, configurationHelper, s3KeyPrefixHelper,
-            s3Service, storageFileDaoHelper, storageFileHelper, storageHelper, storageUnitDaoHelper);
+            storageFileDaoHelper, storageFileHelper, storageHelper, storageUnitDaoHelper);
     }
 }
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -32,6 +33,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.finra.herd.dao.impl.MockSqsOperationsImpl;
 import org.finra.herd.model.dto.MessageHeader;
 import org.finra.herd.model.dto.NotificationMessage;
+import org.finra.herd.model.dto.NotificationMessageBatchPublishingResultDto;
 import org.finra.herd.model.jpa.MessageTypeEntity;
 import org.finra.herd.model.jpa.NotificationMessageEntity;
 
@@ -114,6 +116,10 @@ public class NotificationMessagePublishingServiceTest extends AbstractServiceTes
         notificationMessagePublishingServiceImpl.publishNotificationMessage(
             new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), MESSAGE_DESTINATION, MESSAGE_TEXT,
                 Collections.singletonList(new MessageHeader(KEY, VALUE))));
+
+        // Try to publish a batch of notification messages from the database queue, which is empty now.
+        assertEquals(new NotificationMessageBatchPublishingResultDto(null, 0, 0, 0),
+            notificationMessagePublishingServiceImpl.publishOldestNotificationMessagesFromDatabaseQueue(null, 10));
     }
 
     @Test
@@ -206,4 +212,63 @@ public class NotificationMessagePublishingServiceTest extends AbstractServiceTes
         // Check that the test notification message is still the oldest message in the database queue.
         assertEquals(notificationMessageDao.getOldestNotificationMessage(), notificationMessageEntity);
     }
+
+    @Test
+    public void testPublishOldestNotificationMessagesFromDatabaseQueue()
+    {
+        // Create notification messages and add them to the database queue. The third message is set to fail.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays.asList(
+            notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT),
+            notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SNS.name(), MESSAGE_DESTINATION, MESSAGE_TEXT),
+            notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME,
+                MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_FAILED_MESSAGE_TEXT),
+            notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT_2));
+
+        // Publish a batch of notification messages from the database queue.
+        assertEquals(new NotificationMessageBatchPublishingResultDto(notificationMessageEntities.get(3).getId(), 4, 3, 1),
+            notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(null, 10));
+
+        // Check that only the failed notification message is left in the database queue.
+        assertEquals(notificationMessageEntities.get(2), notificationMessageDao.getOldestNotificationMessage());
+        assertEquals(Collections.singletonList(notificationMessageEntities.get(2).getId()), notificationMessageDao.getOldestNotificationMessageIds(null, 10));
+
+        // Confirm that there are no more notification messages to publish after the last processed one.
+        assertEquals(new NotificationMessageBatchPublishingResultDto(notificationMessageEntities.get(3).getId(), 0, 0, 0),
+            notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(notificationMessageEntities.get(3).getId(), 10));
+    }
+
+    @Test
+    public void testPublishOldestNotificationMessagesFromDatabaseQueueAwsServiceException()
+    {
+        // Prepare database entries required for testing.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays.asList(notificationMessageDaoTestHelper
+                .createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME,
+                    MESSAGE_TEXT),
+            notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT));
+
+        // Publish a batch of notification messages. The first message fails to publish, but the processing continues.
+        assertEquals(new NotificationMessageBatchPublishingResultDto(notificationMessageEntities.get(1).getId(), 2, 1, 1),
+            notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(null, 10));
+
+        // Check that the failed notification message is still in the database queue.
+        assertEquals(notificationMessageEntities.get(0), notificationMessageDao.getOldestNotificationMessage());
+        assertEquals(Collections.singletonList(notificationMessageEntities.get(0).getId()), notificationMessageDao.getOldestNotificationMessageIds(null, 10));
+    }
+
+    @Test
+    public void testPublishOldestNotificationMessagesFromDatabaseQueueJsonParseException()
+    {
+        // Prepare database entries required for testing.
+        NotificationMessageEntity notificationMessageEntity = notificationMessageDaoTestHelper
+            .createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT);
+        notificationMessageEntity.setMessageHeaders(INVALID_VALUE);
+        notificationMessageDao.saveAndRefresh(notificationMessageEntity);
+
+        // Publish a batch of notification messages. The message fails to publish.
+        assertEquals(new NotificationMessageBatchPublishingResultDto(notificationMessageEntity.getId(), 1, 0, 1),
+            notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(null, 10));
+
+        // Check that the test notification message is still the oldest message in the database queue.
+        assertEquals(notificationMessageEntity, notificationMessageDao.getOldestNotificationMessage());
+    }
 }
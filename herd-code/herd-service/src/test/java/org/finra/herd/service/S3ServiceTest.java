@@ -21,8 +21,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import org.junit.Before;
@@ -35,6 +37,7 @@ import org.finra.herd.dao.S3Dao;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.service.impl.S3ServiceImpl;
 
 /**
@@ -242,6 +245,24 @@ public class S3ServiceTest extends AbstractServiceTest
         assertEquals(s3ObjectSummaries, result);
     }
 
+    @Test
+    public void testStreamDirectory()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create a consumer of the listed S3 objects.
+        List<S3ObjectSummaryDto> s3Objects = new ArrayList<>();
+        Consumer<S3ObjectSummaryDto> s3ObjectConsumer = s3Objects::add;
+
+        // Call the method under test.
+        s3Service.streamDirectory(s3FileTransferRequestParamsDto, true, s3ObjectConsumer);
+
+        // Verify the external calls.
+        verify(s3Dao).streamDirectory(s3FileTransferRequestParamsDto, true, s3ObjectConsumer);
+        verifyNoMoreInteractions(s3Dao);
+    }
+
     @Test
     public void testUploadDirectory() throws InterruptedException
     {
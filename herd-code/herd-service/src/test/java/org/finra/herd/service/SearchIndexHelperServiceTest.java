@@ -20,7 +20,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -29,21 +31,30 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
+import org.elasticsearch.common.settings.Settings;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.AsyncResult;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDefinitionDao;
 import org.finra.herd.dao.IndexFunctionsDao;
 import org.finra.herd.dao.TagDao;
 import org.finra.herd.model.api.xml.SearchIndexKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
 import org.finra.herd.model.jpa.SearchIndexStatusEntity;
 import org.finra.herd.model.jpa.TagEntity;
+import org.finra.herd.service.functional.TriConsumer;
 import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.SearchIndexDaoHelper;
 import org.finra.herd.service.helper.TagHelper;
@@ -60,9 +71,15 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
     @Mock
     private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
 
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private IndexFunctionsDao indexFunctionsDao;
 
+    @Mock
+    private AsyncTaskExecutor searchIndexBulkRequestTaskExecutor;
+
     @Mock
     private SearchIndexDaoHelper searchIndexDaoHelper;
 
@@ -79,6 +96,13 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
     public void before()
     {
         MockitoAnnotations.initMocks(this);
+
+        // Mock the configuration of the bulk load.
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_REFRESH_INTERVAL)).thenReturn(SEARCH_INDEX_REFRESH_INTERVAL);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class))
+            .thenReturn((Integer) ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_MAX_BYTES.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_THREADS, Integer.class))
+            .thenReturn((Integer) ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_THREADS.getDefaultValue());
     }
 
     @Test
@@ -97,9 +121,12 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
         // Get a chunk size.
         int chunkSize = SearchIndexHelperServiceImpl.BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE;
 
+        // Get the id of the last business object definition entity.
+        Long lastId = businessObjectDefinitionEntities.get(1).getId();
+
         // Mock the external calls. Please note that we mock index size is set to be equal to the business object definition entity list size.
-        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitions(0, chunkSize)).thenReturn(businessObjectDefinitionEntities);
-        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitions(chunkSize, chunkSize)).thenReturn(new ArrayList<>());
+        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(null, chunkSize)).thenReturn(businessObjectDefinitionEntities);
+        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(lastId, chunkSize)).thenReturn(new ArrayList<>());
 
         when(indexFunctionsDao.getNumberOfTypesInIndex(any())).thenReturn(2L);
 
@@ -107,8 +134,8 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
         Future<Void> response = searchIndexHelperService.indexAllBusinessObjectDefinitions(searchIndexKey);
 
         // Verify the external calls.
-        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitions(0, chunkSize);
-        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitions(chunkSize, chunkSize);
+        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitionsAfterId(null, chunkSize);
+        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitionsAfterId(lastId, chunkSize);
         verify(businessObjectDefinitionHelper)
             .executeFunctionForBusinessObjectDefinitionEntities(eq(SEARCH_INDEX_NAME), eq(businessObjectDefinitionEntities),
                 any());
@@ -121,6 +148,128 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
         assertThat(response, instanceOf(Future.class));
     }
 
+    @Test
+    public void testIndexAllBusinessObjectDefinitionsBulkRequests()
+    {
+        // Create a search index key.
+        SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
+
+        // Create a list of business object definition entities.
+        final List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities = Collections.unmodifiableList(Arrays.asList(
+            businessObjectDefinitionDaoTestHelper.createBusinessObjectDefinitionEntity(BDEF_NAMESPACE, BDEF_NAME, DATA_PROVIDER_NAME, BDEF_DESCRIPTION,
+                businessObjectDefinitionServiceTestHelper.getNewAttributes()), businessObjectDefinitionDaoTestHelper
+            .createBusinessObjectDefinitionEntity(BDEF_NAMESPACE_2, BDEF_NAME_2, DATA_PROVIDER_NAME_2, BDEF_DESCRIPTION_2,
+                businessObjectDefinitionServiceTestHelper.getNewAttributes2())));
+
+        // Get a chunk size and the id of the last business object definition entity.
+        int chunkSize = SearchIndexHelperServiceImpl.BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE;
+        Long lastId = businessObjectDefinitionEntities.get(1).getId();
+
+        // Mock the external calls. Please note that the maximum bulk request size is set to one byte, so each document is sent in its own bulk request.
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class)).thenReturn(1);
+        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(null, chunkSize)).thenReturn(businessObjectDefinitionEntities);
+        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(lastId, chunkSize)).thenReturn(new ArrayList<>());
+        doAnswer(invocation ->
+        {
+            TriConsumer<String, String, String> function = invocation.getArgument(2);
+            function.accept(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_ID, SEARCH_INDEX_DOCUMENT_JSON);
+            function.accept(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_ID_2, SEARCH_INDEX_DOCUMENT_JSON_2);
+            return null;
+        }).when(businessObjectDefinitionHelper)
+            .executeFunctionForBusinessObjectDefinitionEntities(eq(SEARCH_INDEX_NAME), eq(businessObjectDefinitionEntities), any());
+        when(searchIndexBulkRequestTaskExecutor.submit(any(Callable.class)))
+            .thenAnswer(invocation -> new AsyncResult<>(((Callable<?>) invocation.getArgument(0)).call()));
+        when(indexFunctionsDao.bulkIndexDocuments(eq(SEARCH_INDEX_NAME), any())).thenReturn(1);
+        when(indexFunctionsDao.getNumberOfTypesInIndex(SEARCH_INDEX_NAME)).thenReturn(2L);
+
+        // Index all business object definitions defined in the system.
+        Future<Void> response = searchIndexHelperService.indexAllBusinessObjectDefinitions(searchIndexKey);
+
+        // Verify the external calls.
+        verify(indexFunctionsDao).getIndexSettings(SEARCH_INDEX_NAME);
+        verify(indexFunctionsDao).updateIndexSettings(SEARCH_INDEX_NAME,
+            Settings.builder().put("index.refresh_interval", SEARCH_INDEX_REFRESH_INTERVAL).put("index.number_of_replicas", 0).build());
+        verify(searchIndexBulkRequestTaskExecutor, times(2)).submit(any(Callable.class));
+        verify(indexFunctionsDao).bulkIndexDocuments(SEARCH_INDEX_NAME, Collections.singletonMap(SEARCH_INDEX_DOCUMENT_ID, SEARCH_INDEX_DOCUMENT_JSON));
+        verify(indexFunctionsDao).bulkIndexDocuments(SEARCH_INDEX_NAME, Collections.singletonMap(SEARCH_INDEX_DOCUMENT_ID_2, SEARCH_INDEX_DOCUMENT_JSON_2));
+        verify(indexFunctionsDao)
+            .updateIndexSettings(SEARCH_INDEX_NAME, Settings.builder().putNull("index.refresh_interval").putNull("index.number_of_replicas").build());
+        verify(indexFunctionsDao).refreshIndex(SEARCH_INDEX_NAME);
+        verify(indexFunctionsDao).getNumberOfTypesInIndex(SEARCH_INDEX_NAME);
+        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitionsAfterId(null, chunkSize);
+        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitionsAfterId(lastId, chunkSize);
+        verify(businessObjectDefinitionHelper)
+            .executeFunctionForBusinessObjectDefinitionEntities(eq(SEARCH_INDEX_NAME), eq(businessObjectDefinitionEntities), any());
+        verify(searchIndexDaoHelper).updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
+        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, indexFunctionsDao, searchIndexBulkRequestTaskExecutor,
+            searchIndexDaoHelper, tagDao, tagHelper);
+
+        // Validate the results.
+        assertNotNull(response);
+        assertThat(response, instanceOf(Future.class));
+    }
+
+    @Test
+    public void testIndexAllBusinessObjectDefinitionsBulkRequestsRejected()
+    {
+        // Create a search index key.
+        SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
+
+        // Create a list of business object definition entities.
+        final List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities = Collections.unmodifiableList(Arrays.asList(
+            businessObjectDefinitionDaoTestHelper.createBusinessObjectDefinitionEntity(BDEF_NAMESPACE, BDEF_NAME, DATA_PROVIDER_NAME, BDEF_DESCRIPTION,
+                businessObjectDefinitionServiceTestHelper.getNewAttributes()), businessObjectDefinitionDaoTestHelper
+            .createBusinessObjectDefinitionEntity(BDEF_NAMESPACE_2, BDEF_NAME_2, DATA_PROVIDER_NAME_2, BDEF_DESCRIPTION_2,
+                businessObjectDefinitionServiceTestHelper.getNewAttributes2())));
+
+        // Get a chunk size and the id of the last business object definition entity.
+        int chunkSize = SearchIndexHelperServiceImpl.BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE;
+        Long lastId = businessObjectDefinitionEntities.get(1).getId();
+
+        // Mock the external calls. Please note that the maximum bulk request size is set to one byte, so each document is sent in its own bulk request, and
+        // that the bulk request task executor rejects all bulk requests, so they are sent by the calling thread.
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class)).thenReturn(1);
+        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(null, chunkSize)).thenReturn(businessObjectDefinitionEntities);
+        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitionsAfterId(lastId, chunkSize)).thenReturn(new ArrayList<>());
+        doAnswer(invocation ->
+        {
+            TriConsumer<String, String, String> function = invocation.getArgument(2);
+            function.accept(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_ID, SEARCH_INDEX_DOCUMENT_JSON);
+            function.accept(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_ID_2, SEARCH_INDEX_DOCUMENT_JSON_2);
+            return null;
+        }).when(businessObjectDefinitionHelper)
+            .executeFunctionForBusinessObjectDefinitionEntities(eq(SEARCH_INDEX_NAME), eq(businessObjectDefinitionEntities), any());
+        when(searchIndexBulkRequestTaskExecutor.submit(any(Callable.class))).thenThrow(new TaskRejectedException(ERROR_MESSAGE));
+        when(indexFunctionsDao.bulkIndexDocuments(eq(SEARCH_INDEX_NAME), any())).thenReturn(1);
+        when(indexFunctionsDao.getNumberOfTypesInIndex(SEARCH_INDEX_NAME)).thenReturn(2L);
+
+        // Index all business object definitions defined in the system.
+        Future<Void> response = searchIndexHelperService.indexAllBusinessObjectDefinitions(searchIndexKey);
+
+        // Verify the external calls. Both documents are still indexed.
+        verify(indexFunctionsDao).getIndexSettings(SEARCH_INDEX_NAME);
+        verify(indexFunctionsDao).updateIndexSettings(SEARCH_INDEX_NAME,
+            Settings.builder().put("index.refresh_interval", SEARCH_INDEX_REFRESH_INTERVAL).put("index.number_of_replicas", 0).build());
+        verify(searchIndexBulkRequestTaskExecutor, times(2)).submit(any(Callable.class));
+        verify(indexFunctionsDao).bulkIndexDocuments(SEARCH_INDEX_NAME, Collections.singletonMap(SEARCH_INDEX_DOCUMENT_ID, SEARCH_INDEX_DOCUMENT_JSON));
+        verify(indexFunctionsDao).bulkIndexDocuments(SEARCH_INDEX_NAME, Collections.singletonMap(SEARCH_INDEX_DOCUMENT_ID_2, SEARCH_INDEX_DOCUMENT_JSON_2));
+        verify(indexFunctionsDao)
+            .updateIndexSettings(SEARCH_INDEX_NAME, Settings.builder().putNull("index.refresh_interval").putNull("index.number_of_replicas").build());
+        verify(indexFunctionsDao).refreshIndex(SEARCH_INDEX_NAME);
+        verify(indexFunctionsDao).getNumberOfTypesInIndex(SEARCH_INDEX_NAME);
+        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitionsAfterId(null, chunkSize);
+        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitionsAfterId(lastId, chunkSize);
+        verify(businessObjectDefinitionHelper)
+            .executeFunctionForBusinessObjectDefinitionEntities(eq(SEARCH_INDEX_NAME), eq(businessObjectDefinitionEntities), any());
+        verify(searchIndexDaoHelper).updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
+        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, indexFunctionsDao, searchIndexBulkRequestTaskExecutor,
+            searchIndexDaoHelper, tagDao, tagHelper);
+
+        // Validate the results.
+        assertNotNull(response);
+        assertThat(response, instanceOf(Future.class));
+    }
+
     @Test
     public void testIndexAllTags()
     {
@@ -133,7 +282,8 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
                 tagDaoTestHelper.createTagEntity(TAG_TYPE_2, TAG_CODE_2, TAG_DISPLAY_NAME_2, TAG_DESCRIPTION_2)));
 
         // Mock the external calls. Please note that we mock index size is set to be equal to the tag entity list size.
-        when(tagDao.getTags()).thenReturn(tagEntities);
+        when(tagDao.getTagsAfterId(null, SearchIndexHelperServiceImpl.TAGS_CHUNK_SIZE)).thenReturn(tagEntities);
+        when(tagDao.getTagsAfterId(tagEntities.get(1).getId(), SearchIndexHelperServiceImpl.TAGS_CHUNK_SIZE)).thenReturn(new ArrayList<>());
         doNothing().when(indexFunctionsDao).createIndexDocument(any(), any(), any());
 
         when(indexFunctionsDao.getNumberOfTypesInIndex(SEARCH_INDEX_NAME)).thenReturn(2L);
@@ -142,7 +292,8 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
         Future<Void> response = searchIndexHelperService.indexAllTags(searchIndexKey);
 
         // Verify the external calls.
-        verify(tagDao).getTags();
+        verify(tagDao).getTagsAfterId(null, SearchIndexHelperServiceImpl.TAGS_CHUNK_SIZE);
+        verify(tagDao).getTagsAfterId(tagEntities.get(1).getId(), SearchIndexHelperServiceImpl.TAGS_CHUNK_SIZE);
         //verify(indexFunctionsDao).createIndexDocument(any(), any(), any(), any());
         verify(tagHelper).executeFunctionForTagEntities(eq(SEARCH_INDEX_NAME), eq(tagEntities), any());
         verify(indexFunctionsDao).getNumberOfTypesInIndex(SEARCH_INDEX_NAME);
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.service.advice;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -26,15 +28,20 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import org.finra.herd.core.Command;
 import org.finra.herd.core.MockProceedingJoinPoint;
 import org.finra.herd.core.SuppressLogging;
 import org.finra.herd.core.helper.LogLevel;
+import org.finra.herd.core.helper.MethodMetricsHelper;
 import org.finra.herd.service.AbstractServiceTest;
 
 public class StopWatchAdviceTest extends AbstractServiceTest
 {
+    @Spy
+    private MethodMetricsHelper methodMetricsHelper = new MethodMetricsHelper();
+
     @InjectMocks
     private StopWatchAdvice stopWatchAdvice;
 
@@ -141,6 +148,37 @@ public class StopWatchAdviceTest extends AbstractServiceTest
         }
     }
 
+    @Test
+    public void testLogMethodTimeRecordsMethodMetrics() throws Throwable
+    {
+        // Mock a join point of the method call.
+        ProceedingJoinPoint joinPoint = getMockedProceedingJoinPoint(new StopWatchAdviceTest(), StopWatchAdviceTest.class.getDeclaredMethod("mockMethod"));
+
+        // Call the method under test twice.
+        stopWatchAdvice.logMethodTime(joinPoint);
+        stopWatchAdvice.logMethodTime(joinPoint);
+
+        // Make the method call fail and call the method under test again.
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException(ERROR_MESSAGE));
+        try
+        {
+            stopWatchAdvice.logMethodTime(joinPoint);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(ERROR_MESSAGE, e.getMessage());
+        }
+
+        // Validate the recorded method metrics.
+        MethodMetricsHelper.MethodMetrics methodMetrics = methodMetricsHelper.getMethodMetrics(MethodMetricsHelper.SERVICE_METHOD_CATEGORY, joinPoint);
+        assertEquals(StopWatchAdviceTest.class.getName(), methodMetrics.getClassName());
+        assertEquals("mockMethod", methodMetrics.getMethodName());
+        assertEquals(3, methodMetrics.getCount());
+        assertEquals(1, methodMetrics.getErrorCount());
+        assertEquals(0, methodMetrics.getInFlightCount());
+    }
+
     /**
      * Creates and returns a mocked join point of the method call.
      *
@@ -1,6 +1,7 @@
 package org.finra.herd.service.helper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -24,6 +25,31 @@ import org.finra.herd.service.AbstractServiceTest;
 
 public class BusinessObjectDataSearchHelperTest extends AbstractServiceTest
 {
+    @Test
+    public void testDecodePageToken()
+    {
+        // Validate that an encoded page token is decoded back to the business object data id.
+        assertEquals(LONG_VALUE, businessObjectDataSearchHelper.decodePageToken(businessObjectDataSearchHelper.encodePageToken(LONG_VALUE)));
+
+        // Validate that a blank page token is decoded to null.
+        assertNull(businessObjectDataSearchHelper.decodePageToken(EMPTY_STRING));
+        assertNull(businessObjectDataSearchHelper.decodePageToken(BLANK_TEXT));
+
+        // Try to decode page tokens that are not valid.
+        for (String pageToken : Arrays.asList("#invalid#", businessObjectDataSearchHelper.encodePageToken(-1L), "YWJj"))
+        {
+            try
+            {
+                businessObjectDataSearchHelper.decodePageToken(pageToken);
+                fail();
+            }
+            catch (IllegalArgumentException e)
+            {
+                assertEquals(String.format("Invalid page token \"%s\".", pageToken), e.getMessage());
+            }
+        }
+    }
+
     @Test
     public void testValidateBusinessObjectDataSearchKey() throws Exception
     {
@@ -0,0 +1,90 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * This class tests the functionality of the DDL writer.
+ */
+public class DdlWriterTest
+{
+    @Test
+    public void testAlterTableStatements()
+    {
+        StringWriter writer = new StringWriter();
+        DdlWriter ddlWriter = new DdlWriter(writer, new HashMap<>());
+
+        // Write three partitions combined into alter table statements of at most two partitions each.
+        ddlWriter.append("CREATE TABLE `T`;\n");
+        ddlWriter.startAlterTableStatements("ALTER TABLE `T` ADD", "\n    ", true, 2);
+        ddlWriter.appendAlterTablePartition("PARTITION (`P`='1')");
+        ddlWriter.appendAlterTablePartition("PARTITION (`P`='2')");
+        ddlWriter.appendAlterTablePartition("PARTITION (`P`='3')");
+        assertEquals(3, ddlWriter.getAlterTablePartitionCount());
+        ddlWriter.endAlterTableStatements();
+        ddlWriter.close();
+
+        // Validate the results.
+        assertEquals("CREATE TABLE `T`;\n\n" + "ALTER TABLE `T` ADD\n    PARTITION (`P`='1')\n    PARTITION (`P`='2');\n\n" +
+            "ALTER TABLE `T` ADD\n    PARTITION (`P`='3');", writer.toString());
+    }
+
+    @Test
+    public void testAlterTableStatementsNotCombined()
+    {
+        StringWriter writer = new StringWriter();
+        DdlWriter ddlWriter = new DdlWriter(writer, new HashMap<>());
+
+        // Write two partitions, each in its own alter table statement.
+        ddlWriter.startAlterTableStatements("ALTER TABLE `T` DROP IF EXISTS", ",\n    ", null, null);
+        ddlWriter.appendAlterTablePartition("PARTITION (`P`='1')");
+        ddlWriter.appendAlterTablePartition("PARTITION (`P`='2')");
+        ddlWriter.endAlterTableStatements();
+        ddlWriter.close();
+
+        // Validate the results.
+        assertEquals("ALTER TABLE `T` DROP IF EXISTS PARTITION (`P`='1');\n" + "ALTER TABLE `T` DROP IF EXISTS PARTITION (`P`='2');", writer.toString());
+    }
+
+    @Test
+    public void testFlush()
+    {
+        StringWriter writer = new StringWriter();
+        Map<String, String> replacements = new HashMap<>();
+        DdlWriter ddlWriter = new DdlWriter(writer, replacements);
+
+        // Append DDL with a token whose value is not known yet.
+        ddlWriter.append("\n  LOCATION '${table.location}';\n");
+        assertEquals("", writer.toString());
+
+        // Set the token value and flush the DDL. Validate that the leading whitespace is trimmed and the trailing whitespace is held back.
+        replacements.put(DdlGenerator.PARTITIONED_TABLE_LOCATION_CUSTOM_DDL_TOKEN, "s3n://bucket/prefix");
+        ddlWriter.flush();
+        assertEquals("LOCATION 's3n://bucket/prefix';", writer.toString());
+
+        // Append more DDL and close the writer. Validate that the held back whitespace is written only before the DDL that follows it.
+        ddlWriter.append("\nALTER TABLE `T` ADD PARTITION (`P`='1');\n\n");
+        ddlWriter.close();
+        assertEquals("LOCATION 's3n://bucket/prefix';\n\nALTER TABLE `T` ADD PARTITION (`P`='1');", writer.toString());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.ReferenceDataCacheDao;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the ReferenceDataCacheHelper class.
+ */
+public class ReferenceDataCacheHelperTest extends AbstractServiceTest
+{
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @Mock
+    private ReferenceDataCacheDao referenceDataCacheDao;
+
+    @InjectMocks
+    private ReferenceDataCacheHelper referenceDataCacheHelper;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testEvictStaleReferenceDataCache()
+    {
+        // Mock the external calls. The reference data does not change between the first two checks and changes before the third one.
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.HIBERNATE_SECOND_LEVEL_CACHE_ENABLED)).thenReturn(true);
+        when(referenceDataCacheDao.getReferenceDataVersion()).thenReturn(STRING_VALUE, STRING_VALUE, STRING_VALUE_2);
+
+        // Call the method under test three times.
+        referenceDataCacheHelper.evictStaleReferenceDataCache();
+        referenceDataCacheHelper.evictStaleReferenceDataCache();
+        referenceDataCacheHelper.evictStaleReferenceDataCache();
+
+        // Verify the external calls. The cache is only evicted after the reference data was changed.
+        verify(configurationHelper, times(3)).getBooleanProperty(ConfigurationValue.HIBERNATE_SECOND_LEVEL_CACHE_ENABLED);
+        verify(referenceDataCacheDao, times(3)).getReferenceDataVersion();
+        verify(referenceDataCacheDao).evictReferenceDataCache();
+        verifyNoMoreInteractions(configurationHelper, referenceDataCacheDao);
+    }
+
+    @Test
+    public void testEvictStaleReferenceDataCacheSecondLevelCacheDisabled()
+    {
+        // Mock the external calls.
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.HIBERNATE_SECOND_LEVEL_CACHE_ENABLED)).thenReturn(false);
+
+        // Call the method under test.
+        referenceDataCacheHelper.evictStaleReferenceDataCache();
+
+        // Verify the external calls.
+        verify(configurationHelper).getBooleanProperty(ConfigurationValue.HIBERNATE_SECOND_LEVEL_CACHE_ENABLED);
+        verifyNoMoreInteractions(configurationHelper, referenceDataCacheDao);
+    }
+}
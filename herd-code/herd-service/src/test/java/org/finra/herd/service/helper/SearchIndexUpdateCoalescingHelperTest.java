@@ -0,0 +1,218 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_TAG_UPDATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_CREATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_DELETE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_UPDATE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.core.helper.MethodMetricsHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.SearchIndexUpdateDto;
+import org.finra.herd.service.AbstractServiceTest;
+import org.finra.herd.service.BusinessObjectDefinitionService;
+import org.finra.herd.service.TagService;
+
+public class SearchIndexUpdateCoalescingHelperTest extends AbstractServiceTest
+{
+    @Mock
+    private BusinessObjectDefinitionService businessObjectDefinitionService;
+
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @Spy
+    private MethodMetricsHelper methodMetricsHelper = new MethodMetricsHelper();
+
+    @InjectMocks
+    private SearchIndexUpdateCoalescingHelper searchIndexUpdateCoalescingHelper;
+
+    @Mock
+    private TagService tagService;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLISECONDS, Integer.class)).thenReturn(1);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS, Integer.class)).thenReturn(100);
+    }
+
+    @Test
+    public void testApplyPendingDocumentUpdates()
+    {
+        // Add several updates of the same business object definitions and of a tag.
+        CompletableFuture<Void> firstCompletion = searchIndexUpdateCoalescingHelper.addSearchIndexUpdate(
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(1L, 2L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        CompletableFuture<Void> secondCompletion = searchIndexUpdateCoalescingHelper.addSearchIndexUpdate(
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(2L, 1L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        CompletableFuture<Void> thirdCompletion = searchIndexUpdateCoalescingHelper
+            .addSearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(1L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        CompletableFuture<Void> fourthCompletion = searchIndexUpdateCoalescingHelper
+            .addSearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Collections.singletonList(3L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+
+        // Validate that nothing is applied before the pending updates are applied.
+        verifyNoMoreInteractions(businessObjectDefinitionService, tagService);
+        assertFalse(firstCompletion.isDone());
+
+        // Apply the pending updates.
+        searchIndexUpdateCoalescingHelper.applyPendingDocumentUpdates();
+
+        // Validate that each document got updated once.
+        verify(businessObjectDefinitionService).updateSearchIndexDocumentBusinessObjectDefinition(
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(1L, 2L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        verify(tagService)
+            .updateSearchIndexDocumentTag(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Collections.singletonList(3L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        verifyNoMoreInteractions(businessObjectDefinitionService, tagService);
+
+        // Validate that the updates of all the messages are completed.
+        for (CompletableFuture<Void> completion : Arrays.asList(firstCompletion, secondCompletion, thirdCompletion, fourthCompletion))
+        {
+            assertTrue(completion.isDone());
+            assertFalse(completion.isCompletedExceptionally());
+        }
+
+        // Validate the coalescing metrics.
+        assertEquals(6, methodMetricsHelper.getCounter(SearchIndexUpdateCoalescingHelper.RECEIVED_DOCUMENT_UPDATES_COUNTER));
+        assertEquals(3, methodMetricsHelper.getCounter(SearchIndexUpdateCoalescingHelper.APPLIED_DOCUMENT_UPDATES_COUNTER));
+
+        // Validate that there is nothing left to apply.
+        searchIndexUpdateCoalescingHelper.applyPendingDocumentUpdates();
+        verifyNoMoreInteractions(businessObjectDefinitionService, tagService);
+    }
+
+    @Test
+    public void testApplySearchIndexUpdate()
+    {
+        // Apply an update. The calling thread applies it once the coalescing window elapses.
+        searchIndexUpdateCoalescingHelper
+            .applySearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Collections.singletonList(1L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+
+        // Validate that the update is applied before the method returns.
+        verify(tagService)
+            .updateSearchIndexDocumentTag(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Collections.singletonList(1L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        verifyNoMoreInteractions(businessObjectDefinitionService, tagService);
+        assertEquals(1, methodMetricsHelper.getCounter(SearchIndexUpdateCoalescingHelper.APPLIED_DOCUMENT_UPDATES_COUNTER));
+    }
+
+    @Test
+    public void testApplySearchIndexUpdateNoDocumentIds()
+    {
+        // Apply a message without document ids.
+        searchIndexUpdateCoalescingHelper
+            .applySearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Collections.emptyList(), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+
+        // Validate that there is nothing to apply.
+        verifyNoMoreInteractions(businessObjectDefinitionService, tagService);
+    }
+
+    @Test
+    public void testApplySearchIndexUpdateFailure()
+    {
+        // Fail to apply the update.
+        SearchIndexUpdateDto searchIndexUpdateDto =
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(1L), SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+        doThrow(new IllegalStateException(ERROR_MESSAGE)).when(businessObjectDefinitionService)
+            .updateSearchIndexDocumentBusinessObjectDefinition(any(SearchIndexUpdateDto.class));
+
+        // Try to apply the update.
+        try
+        {
+            searchIndexUpdateCoalescingHelper.applySearchIndexUpdate(searchIndexUpdateDto);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            // Validate that the failure is reported to the caller, so the message is redelivered by the queue.
+            assertEquals(ERROR_MESSAGE, e.getMessage());
+        }
+
+        // Validate that the failed update is not retained.
+        verify(businessObjectDefinitionService).updateSearchIndexDocumentBusinessObjectDefinition(searchIndexUpdateDto);
+        searchIndexUpdateCoalescingHelper.applyPendingDocumentUpdates();
+        verifyNoMoreInteractions(businessObjectDefinitionService, tagService);
+        assertEquals(0, methodMetricsHelper.getCounter(SearchIndexUpdateCoalescingHelper.APPLIED_DOCUMENT_UPDATES_COUNTER));
+        assertEquals(1, methodMetricsHelper.getCounter(SearchIndexUpdateCoalescingHelper.FAILED_DOCUMENT_UPDATES_COUNTER));
+    }
+
+    @Test
+    public void testAddSearchIndexUpdateMaxPendingDocuments()
+    {
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS, Integer.class)).thenReturn(2);
+
+        // Add the updates of two documents in the original message format.
+        SearchIndexUpdateDto searchIndexUpdateDto = new SearchIndexUpdateDto();
+        searchIndexUpdateDto.setBusinessObjectDefinitionIds(Arrays.asList(1L, 2L));
+        searchIndexUpdateDto.setModificationType(SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+        CompletableFuture<Void> completion = searchIndexUpdateCoalescingHelper.addSearchIndexUpdate(searchIndexUpdateDto);
+
+        // Validate that the updates are applied without waiting for the coalescing window.
+        verify(businessObjectDefinitionService).updateSearchIndexDocumentBusinessObjectDefinition(
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(1L, 2L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        verifyNoMoreInteractions(businessObjectDefinitionService, tagService);
+        assertTrue(completion.isDone());
+    }
+
+    @Test
+    public void testApplyPendingDocumentUpdatesModificationTypes()
+    {
+        // Create document 1, update document 2 and delete document 3, then update all of them. Also update document 4 and then delete it.
+        searchIndexUpdateCoalescingHelper
+            .addSearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Collections.singletonList(1L), SEARCH_INDEX_UPDATE_TYPE_CREATE));
+        searchIndexUpdateCoalescingHelper
+            .addSearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(2L, 4L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        searchIndexUpdateCoalescingHelper
+            .addSearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Collections.singletonList(3L), SEARCH_INDEX_UPDATE_TYPE_DELETE));
+        searchIndexUpdateCoalescingHelper
+            .addSearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(1L, 2L, 3L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        searchIndexUpdateCoalescingHelper
+            .addSearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Collections.singletonList(4L), SEARCH_INDEX_UPDATE_TYPE_DELETE));
+
+        // Apply the pending updates.
+        searchIndexUpdateCoalescingHelper.applyPendingDocumentUpdates();
+
+        // Validate that a pending create or delete is kept by a later update, while a later delete replaces a pending update.
+        verify(tagService).updateSearchIndexDocumentTag(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(1L), SEARCH_INDEX_UPDATE_TYPE_CREATE));
+        verify(tagService).updateSearchIndexDocumentTag(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(2L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        verify(tagService)
+            .updateSearchIndexDocumentTag(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(4L, 3L), SEARCH_INDEX_UPDATE_TYPE_DELETE));
+        verifyNoMoreInteractions(businessObjectDefinitionService, tagService);
+    }
+}
@@ -6,6 +6,7 @@ import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -49,6 +50,9 @@ public class SearchIndexUpdateJmsMessageListenerTest extends AbstractServiceTest
     @Mock
     private JsonHelper jsonHelper;
 
+    @Mock
+    private SearchIndexUpdateCoalescingHelper searchIndexUpdateCoalescingHelper;
+
     @Mock
     private TagService tagService;
 
@@ -56,6 +60,9 @@ public class SearchIndexUpdateJmsMessageListenerTest extends AbstractServiceTest
     public void before()
     {
         MockitoAnnotations.initMocks(this);
+
+        // Disable the coalescing of the search index updates by default.
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLISECONDS, Integer.class)).thenReturn(0);
     }
 
     @Configuration
@@ -98,6 +105,50 @@ public class SearchIndexUpdateJmsMessageListenerTest extends AbstractServiceTest
             .updateSearchIndexDocumentBusinessObjectDefinition(any(SearchIndexUpdateDto.class));
     }
 
+    @Test
+    public void testProcessMessageCoalescingEnabled() throws Exception
+    {
+        List<Long> ids = new ArrayList<>();
+        SearchIndexUpdateDto searchIndexUpdateDto
+            = new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, ids, SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLISECONDS, Integer.class)).thenReturn(1000);
+        when(jsonHelper.unmarshallJsonToObject(SearchIndexUpdateDto.class, "PAYLOAD")).thenReturn(searchIndexUpdateDto);
+
+        Map<Object, Object> allHeaders = new HashMap<>();
+        allHeaders.put("jms_messageId", MESSAGE_ID);
+
+        // Call the method under test
+        searchIndexUpdateJmsMessageListener.processMessage("PAYLOAD", allHeaders);
+
+        // Verify the calls to external methods
+        verify(searchIndexUpdateCoalescingHelper).applySearchIndexUpdate(searchIndexUpdateDto);
+        verifyNoMoreInteractions(businessObjectDefinitionService, searchIndexUpdateCoalescingHelper, tagService);
+    }
+
+    @Test
+    public void testProcessMessageCoalescingEnabledUnknownMessageType() throws Exception
+    {
+        List<Long> ids = new ArrayList<>();
+        ids.add(ID);
+        SearchIndexUpdateDto searchIndexUpdateDto = new SearchIndexUpdateDto();
+        searchIndexUpdateDto.setMessageType("UNKNOWN_MESSAGE_TYPE");
+        searchIndexUpdateDto.setBusinessObjectDefinitionIds(ids);
+        searchIndexUpdateDto.setModificationType(SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLISECONDS, Integer.class)).thenReturn(1000);
+        when(jsonHelper.unmarshallJsonToObject(SearchIndexUpdateDto.class, "PAYLOAD")).thenReturn(searchIndexUpdateDto);
+
+        Map<Object, Object> allHeaders = new HashMap<>();
+        allHeaders.put("jms_messageId", MESSAGE_ID);
+
+        // Call the method under test
+        searchIndexUpdateJmsMessageListener.processMessage("PAYLOAD", allHeaders);
+
+        // Verify that the message of an unknown type is dropped rather than coalesced.
+        verifyNoMoreInteractions(businessObjectDefinitionService, searchIndexUpdateCoalescingHelper, tagService);
+    }
+
     @Test
     public void testProcessMessageTag() throws Exception
     {
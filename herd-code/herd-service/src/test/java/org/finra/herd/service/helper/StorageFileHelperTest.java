@@ -16,9 +16,11 @@
 package org.finra.herd.service.helper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -26,8 +28,14 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
@@ -40,6 +48,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.Storage;
 import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.api.xml.StorageUnit;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.jpa.StorageFileEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 import org.finra.herd.service.AbstractServiceTest;
@@ -237,6 +247,140 @@ public class StorageFileHelperTest extends AbstractServiceTest
         }
     }
 
+    @Test
+    public void testListAndValidateRegisteredS3Files()
+    {
+        // Create S3 file transfer request parameters DTO to access the S3 bucket.
+        // Since test S3 key prefix represents a directory, we add a trailing '/' character to it.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto =
+            S3FileTransferRequestParamsDto.builder().withS3BucketName(S3_BUCKET_NAME).withS3KeyPrefix(TEST_S3_KEY_PREFIX + "/").build();
+
+        // Create a list of expected storage files.
+        List<StorageFile> testExpectedFiles = new ArrayList<>();
+        for (String file : LOCAL_FILES)
+        {
+            testExpectedFiles.add(new StorageFile(String.format("%s/%s", TEST_S3_KEY_PREFIX, file), FILE_SIZE_1_KB, ROW_COUNT));
+        }
+
+        try
+        {
+            // Put the expected S3 files in the S3 bucket along with a zero byte directory marker.
+            for (StorageFile storageFile : testExpectedFiles)
+            {
+                s3Operations.putObject(new PutObjectRequest(S3_BUCKET_NAME, storageFile.getFilePath(),
+                    new ByteArrayInputStream(new byte[storageFile.getFileSizeBytes().intValue()]), new ObjectMetadata()), NO_S3_CLIENT);
+            }
+            s3Operations
+                .putObject(new PutObjectRequest(S3_BUCKET_NAME, TEST_S3_KEY_PREFIX + "/", new ByteArrayInputStream(new byte[0]), new ObjectMetadata()),
+                    NO_S3_CLIENT);
+
+            // List and validate the S3 files.
+            Set<String> listedS3Keys = new HashSet<>();
+            storageFileHelper.listAndValidateRegisteredS3Files(s3FileTransferRequestParamsDto, testExpectedFiles, STORAGE_NAME,
+                new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, DATA_VERSION), s3ObjectSummaryDto -> listedS3Keys.add(s3ObjectSummaryDto.getKey()));
+
+            // Validate that all S3 files except for the directory marker got passed on to the consumer.
+            Set<String> expectedS3Keys = new HashSet<>();
+            for (StorageFile storageFile : testExpectedFiles)
+            {
+                expectedS3Keys.add(storageFile.getFilePath());
+            }
+            assertEquals(expectedS3Keys, listedS3Keys);
+
+            // Validate that the same S3 files get loaded into the storage files map.
+            assertEquals(expectedS3Keys, storageFileHelper.getStorageFilesMapFromS3(s3FileTransferRequestParamsDto).keySet());
+
+            // Validate that the maximum number of threads of the S3 file transfer request parameters is left unchanged by the S3 directory listings.
+            assertNull(s3FileTransferRequestParamsDto.getMaxThreads());
+        }
+        finally
+        {
+            // Delete test files from S3 storage.
+            s3Operations.rollback();
+        }
+    }
+
+    @Test
+    public void testListAndValidateRegisteredS3FilesSequentialListing() throws Exception
+    {
+        // Create S3 file transfer request parameters DTO to access the S3 bucket with the maximum number of threads set for some other S3 operation.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto =
+            S3FileTransferRequestParamsDto.builder().withS3BucketName(S3_BUCKET_NAME).withS3KeyPrefix(TEST_S3_KEY_PREFIX + "/").withMaxThreads(MAX_THREADS)
+                .build();
+
+        // Create a list of expected storage files.
+        List<StorageFile> testExpectedFiles = new ArrayList<>();
+        for (String file : LOCAL_FILES)
+        {
+            testExpectedFiles.add(new StorageFile(String.format("%s/%s", TEST_S3_KEY_PREFIX, file), FILE_SIZE_1_KB, ROW_COUNT));
+        }
+
+        // Override configuration to list the S3 files sequentially.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_DIRECTORY_LISTING_MAX_THREADS.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Put the expected S3 files in the S3 bucket.
+            for (StorageFile storageFile : testExpectedFiles)
+            {
+                s3Operations.putObject(new PutObjectRequest(S3_BUCKET_NAME, storageFile.getFilePath(),
+                    new ByteArrayInputStream(new byte[storageFile.getFileSizeBytes().intValue()]), new ObjectMetadata()), NO_S3_CLIENT);
+            }
+
+            // List and validate the S3 files.
+            Set<String> listedS3Keys = new HashSet<>();
+            storageFileHelper.listAndValidateRegisteredS3Files(s3FileTransferRequestParamsDto, testExpectedFiles, STORAGE_NAME,
+                new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, DATA_VERSION), s3ObjectSummaryDto -> listedS3Keys.add(s3ObjectSummaryDto.getKey()));
+
+            // Validate that all S3 files got passed on to the consumer.
+            Set<String> expectedS3Keys = new HashSet<>();
+            for (StorageFile storageFile : testExpectedFiles)
+            {
+                expectedS3Keys.add(storageFile.getFilePath());
+            }
+            assertEquals(expectedS3Keys, listedS3Keys);
+
+            // Validate that the maximum number of threads of the S3 file transfer request parameters got restored.
+            assertEquals(MAX_THREADS, s3FileTransferRequestParamsDto.getMaxThreads());
+        }
+        finally
+        {
+            // Delete test files from S3 storage.
+            s3Operations.rollback();
+
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testListAndValidateRegisteredS3FilesActualFileNoExists()
+    {
+        // Create S3 file transfer request parameters DTO to access the S3 bucket.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto =
+            S3FileTransferRequestParamsDto.builder().withS3BucketName(S3_BUCKET_NAME).withS3KeyPrefix(TEST_S3_KEY_PREFIX + "/").build();
+
+        // Create a list of expected storage files with no relative S3 files present in the S3 bucket.
+        List<StorageFile> testExpectedFiles = Collections.singletonList(new StorageFile(TARGET_S3_KEY, FILE_SIZE, ROW_COUNT_1000));
+
+        // Try to list and validate S3 files when expected S3 file does not exist.
+        try
+        {
+            storageFileHelper.listAndValidateRegisteredS3Files(s3FileTransferRequestParamsDto, testExpectedFiles, STORAGE_NAME,
+                new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, DATA_VERSION), s3ObjectSummaryDto -> fail());
+            fail("Should throw an ObjectNotFoundException when the registered S3 file does not exist.");
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals(String.format("Registered file \"%s\" does not exist in \"%s\" storage.", TARGET_S3_KEY, STORAGE_NAME), e.getMessage());
+        }
+    }
+
     /**
      * Creates an S3 object summary.
      *
@@ -16,12 +16,15 @@
 package org.finra.herd.service.helper;
 
 import static org.finra.herd.service.AbstractServiceTest.NAMESPACE_CODE;
+import static org.finra.herd.service.AbstractServiceTest.STRING_VALUE;
+import static org.finra.herd.service.AbstractServiceTest.STRING_VALUE_2;
 import static org.finra.herd.service.AbstractServiceTest.USER_ID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -29,6 +32,7 @@ import static org.mockito.MockitoAnnotations.initMocks;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.collections4.IterableUtils;
@@ -36,12 +40,17 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.WildcardHelper;
 import org.finra.herd.dao.NamespaceDao;
 import org.finra.herd.dao.UserDao;
 import org.finra.herd.dao.UserNamespaceAuthorizationDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.api.xml.NamespaceAuthorization;
 import org.finra.herd.model.api.xml.NamespaceKey;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
@@ -56,6 +65,9 @@ public class UserNamespaceAuthorizationHelperTest
     @InjectMocks
     private UserNamespaceAuthorizationHelper userNamespaceAuthorizationHelper;
 
+    @Mock
+    private CacheManager cacheManager;
+
     @Mock
     private NamespaceDao namespaceDao;
 
@@ -75,6 +87,10 @@ public class UserNamespaceAuthorizationHelperTest
     public void before()
     {
         initMocks(this);
+
+        // Back the user namespace authorization cache with an in-memory cache.
+        when(cacheManager.getCache(DaoSpringModuleConfig.USER_NAMESPACE_AUTHORIZATION_CACHE_NAME))
+            .thenReturn(new ConcurrentMapCache(DaoSpringModuleConfig.USER_NAMESPACE_AUTHORIZATION_CACHE_NAME));
     }
 
     @Test
@@ -275,4 +291,165 @@ public class UserNamespaceAuthorizationHelperTest
         verify(namespaceDao).getNamespaceKeys();
         verifyNoMoreInteractions(namespaceDao, userNamespaceAuthorizationDao, wildcardHelper);
     }
+
+    @Test
+    public void testBuildNamespaceAuthorizationsCacheEnabled()
+    {
+        // Create a user namespace authorization entity.
+        UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity = new UserNamespaceAuthorizationEntity();
+        userNamespaceAuthorizationEntity.setUserId(USER_ID);
+        userNamespaceAuthorizationEntity.setReadPermission(true);
+        ReflectionTestUtils.setField(userNamespaceAuthorizationEntity, "namespaceCode", NAMESPACE_CODE);
+
+        // Mock the external calls.
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_ENABLED)).thenReturn(true);
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)).thenReturn(true);
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserId(USER_ID)).thenReturn(Arrays.asList(userNamespaceAuthorizationEntity));
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN)).thenReturn(new ArrayList<>());
+
+        // Build the namespace authorizations and change them on the application user.
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId(USER_ID);
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+        IterableUtils.get(applicationUser.getNamespaceAuthorizations(), 0).getNamespacePermissions().add(NamespacePermissionEnum.GRANT);
+
+        // Build the namespace authorizations again using a user id in a different case.
+        ApplicationUser cachedApplicationUser = new ApplicationUser(getClass());
+        cachedApplicationUser.setUserId(USER_ID.toLowerCase());
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(cachedApplicationUser);
+
+        // Validate that the cached namespace authorizations are not affected by the change made to the first application user.
+        assertEquals(1, cachedApplicationUser.getNamespaceAuthorizations().size());
+        NamespaceAuthorization namespaceAuthorization = IterableUtils.get(cachedApplicationUser.getNamespaceAuthorizations(), 0);
+        assertEquals(NAMESPACE_CODE, namespaceAuthorization.getNamespace());
+        assertEquals(Arrays.asList(NamespacePermissionEnum.READ), namespaceAuthorization.getNamespacePermissions());
+        assertEquals(1, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheHitCount());
+        assertEquals(1, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheMissCount());
+
+        // Evict the cached namespace authorizations of the user and build them again.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(USER_ID.toLowerCase());
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(cachedApplicationUser);
+        assertEquals(1, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheHitCount());
+        assertEquals(2, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheMissCount());
+
+        // Evict the cached namespace authorizations of all users using a wildcard user id and build them again.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(WildcardHelper.WILDCARD_TOKEN + USER_ID);
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+        assertEquals(1, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheHitCount());
+        assertEquals(3, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheMissCount());
+
+        // Verify the external calls. The namespace authorizations are only built on cache misses.
+        verify(userDao, times(3)).getUserByUserId(any());
+        verify(userNamespaceAuthorizationDao, times(3)).getUserNamespaceAuthorizationsByUserId(any());
+        verify(userNamespaceAuthorizationDao, times(3)).getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN);
+        verifyNoMoreInteractions(namespaceDao, userDao, userNamespaceAuthorizationDao, wildcardHelper);
+    }
+
+    @Test
+    public void testBuildNamespaceAuthorizationsCacheEnabledUserNamespaceAuthorizationEnabledChanged()
+    {
+        // Create a user namespace authorization entity.
+        UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity = new UserNamespaceAuthorizationEntity();
+        userNamespaceAuthorizationEntity.setUserId(USER_ID);
+        userNamespaceAuthorizationEntity.setReadPermission(true);
+        ReflectionTestUtils.setField(userNamespaceAuthorizationEntity, "namespaceCode", NAMESPACE_CODE);
+
+        // Mock the external calls. User namespace authorization is disabled at first and then enabled.
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_ENABLED)).thenReturn(true);
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)).thenReturn(false, true);
+        when(namespaceDao.getNamespaceKeys()).thenReturn(Arrays.asList(new NamespaceKey(NAMESPACE_CODE), new NamespaceKey(NAMESPACE_CODE + "_2")));
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserId(USER_ID)).thenReturn(Arrays.asList(userNamespaceAuthorizationEntity));
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN)).thenReturn(new ArrayList<>());
+
+        // Build the namespace authorizations while user namespace authorization is disabled.
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId(USER_ID);
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+        assertEquals(2, applicationUser.getNamespaceAuthorizations().size());
+
+        // Build the namespace authorizations again after user namespace authorization got enabled.
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+
+        // Validate that the namespace authorizations cached while user namespace authorization was disabled are not served.
+        assertEquals(1, applicationUser.getNamespaceAuthorizations().size());
+        assertEquals(NAMESPACE_CODE, IterableUtils.get(applicationUser.getNamespaceAuthorizations(), 0).getNamespace());
+        assertEquals(0, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheHitCount());
+        assertEquals(2, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheMissCount());
+
+        // Verify the external calls.
+        verify(namespaceDao).getNamespaceKeys();
+        verify(userDao).getUserByUserId(USER_ID);
+        verify(userNamespaceAuthorizationDao).getUserNamespaceAuthorizationsByUserId(USER_ID);
+        verify(userNamespaceAuthorizationDao).getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN);
+        verifyNoMoreInteractions(namespaceDao, userDao, userNamespaceAuthorizationDao, wildcardHelper);
+    }
+
+    @Test
+    public void testEvictNamespaceAuthorizationsInTransaction()
+    {
+        // Cache the namespace authorizations of a user.
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_ENABLED)).thenReturn(true);
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)).thenReturn(false);
+        when(namespaceDao.getNamespaceKeys()).thenReturn(Arrays.asList(new NamespaceKey(NAMESPACE_CODE)));
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId(USER_ID);
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try
+        {
+            // Evict the cached namespace authorizations of the user within a transaction.
+            userNamespaceAuthorizationHelper.evictNamespaceAuthorizations(USER_ID);
+
+            // Validate that the namespace authorizations are still cached before the transaction commits.
+            userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+            assertEquals(1, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheHitCount());
+
+            // Commit the transaction.
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        }
+        finally
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Validate that the namespace authorizations are evicted after the transaction commits.
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+        assertEquals(1, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheHitCount());
+        assertEquals(2, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheMissCount());
+
+        // Verify the external calls.
+        verify(namespaceDao, times(2)).getNamespaceKeys();
+        verifyNoMoreInteractions(namespaceDao, userDao, userNamespaceAuthorizationDao, wildcardHelper);
+    }
+
+    @Test
+    public void testEvictStaleNamespaceAuthorizations()
+    {
+        // Cache the namespace authorizations of a user.
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_CACHE_ENABLED)).thenReturn(true);
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)).thenReturn(false);
+        when(namespaceDao.getNamespaceKeys()).thenReturn(Arrays.asList(new NamespaceKey(NAMESPACE_CODE)));
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId(USER_ID);
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+
+        // Mock the external calls. The user namespace authorizations do not change between the first two checks and change before the third one.
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationVersion()).thenReturn(STRING_VALUE, STRING_VALUE, STRING_VALUE_2);
+
+        // Call the method under test three times and validate that the namespace authorizations are only evicted after the third check.
+        userNamespaceAuthorizationHelper.evictStaleNamespaceAuthorizations();
+        userNamespaceAuthorizationHelper.evictStaleNamespaceAuthorizations();
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+        assertEquals(1, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheHitCount());
+        userNamespaceAuthorizationHelper.evictStaleNamespaceAuthorizations();
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+        assertEquals(1, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheHitCount());
+        assertEquals(2, userNamespaceAuthorizationHelper.getNamespaceAuthorizationCacheMissCount());
+
+        // Verify the external calls.
+        verify(namespaceDao, times(2)).getNamespaceKeys();
+        verify(userNamespaceAuthorizationDao, times(3)).getUserNamespaceAuthorizationVersion();
+        verifyNoMoreInteractions(namespaceDao, userDao, userNamespaceAuthorizationDao, wildcardHelper);
+    }
 }
@@ -17,17 +17,26 @@ package org.finra.herd.service.helper;
 
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.velocity.exception.MethodInvocationException;
+import org.apache.velocity.exception.ParseErrorException;
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.service.AbstractServiceTest;
 
 public class VelocityHelperTest extends AbstractServiceTest
 {
+    @Autowired
+    private CacheManager cacheManager;
+
     @Test
     public void testEvaluate()
     {
@@ -58,4 +67,49 @@ public class VelocityHelperTest extends AbstractServiceTest
                 methodInvocationException.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEvaluateCachedTemplate()
+    {
+        String template = "${foo}/${bar}";
+        String logTag = "test";
+
+        // Clear the parsed velocity template cache.
+        Cache velocityTemplateCache = cacheManager.getCache(DaoSpringModuleConfig.VELOCITY_TEMPLATE_CACHE_NAME);
+        velocityTemplateCache.clear();
+
+        // Evaluate the template and validate that the parsed template got cached.
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("foo", "a");
+        variables.put("bar", "b");
+        Assert.assertEquals("result", "a/b", velocityHelper.evaluate(template, variables, logTag));
+        Assert.assertNotNull(velocityTemplateCache.get(Arrays.asList(logTag, template)));
+
+        // Evaluate the cached template against different variables.
+        variables.put("foo", "c");
+        variables.put("bar", "d");
+        Assert.assertEquals("result", "c/d", velocityHelper.evaluate(template, variables, logTag));
+    }
+
+    @Test
+    public void testEvaluateInvalidTemplate()
+    {
+        String template = "#if(${foo}";
+        Map<String, Object> variables = new HashMap<>();
+        String logTag = "test";
+
+        // Validate that the parse error is reported on every evaluation, since a template that failed to parse is not cached.
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                velocityHelper.evaluate(template, variables, logTag);
+                fail();
+            }
+            catch (ParseErrorException parseErrorException)
+            {
+                Assert.assertNotNull(parseErrorException.getMessage());
+            }
+        }
+    }
+}
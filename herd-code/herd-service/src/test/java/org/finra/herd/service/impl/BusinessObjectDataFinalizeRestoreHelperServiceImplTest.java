@@ -18,7 +18,7 @@ package org.finra.herd.service.impl;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -26,8 +26,8 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.StorageClass;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,7 +39,9 @@ import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.BusinessObjectDataRestoreDto;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
@@ -172,22 +174,11 @@ public class BusinessObjectDataFinalizeRestoreHelperServiceImplTest extends Abst
         updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
 
-        // Create a mock S3 object summary for S3 object that belongs to Glacier storage class.
-        S3ObjectSummary glacierS3ObjectSummary = mock(S3ObjectSummary.class);
-        when(glacierS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Glacier.toString());
+        // Create an S3 object summary for S3 object that belongs to Glacier storage class.
+        S3ObjectSummaryDto glacierS3ObjectSummaryDto = new S3ObjectSummaryDto(S3_KEY, FILE_SIZE, StorageClass.Glacier.toString());
 
-        // Create a mock S3 object summary for S3 object that does not belong to Glacier storage class.
-        S3ObjectSummary standardS3ObjectSummary = mock(S3ObjectSummary.class);
-        when(standardS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Standard.toString());
-
-        // Create a list of S3 files.
-        List<S3ObjectSummary> s3Files = Arrays.asList(glacierS3ObjectSummary, standardS3ObjectSummary);
-
-        // Create a list of S3 objects that belong to Glacier storage class.
-        List<S3ObjectSummary> glacierS3Files = Arrays.asList(glacierS3ObjectSummary);
-
-        // Create a list of storage files that represent S3 objects of Glacier storage class.
-        List<StorageFile> glacierStorageFiles = Arrays.asList(new StorageFile(S3_KEY, FILE_SIZE, ROW_COUNT));
+        // Create an S3 object summary for S3 object that does not belong to Glacier storage class.
+        S3ObjectSummaryDto standardS3ObjectSummaryDto = new S3ObjectSummaryDto(S3_KEY_2, FILE_SIZE_2, StorageClass.Standard.toString());
 
         // Create a list of files.
         List<File> files = Arrays.asList(new File(S3_KEY));
@@ -198,22 +189,28 @@ public class BusinessObjectDataFinalizeRestoreHelperServiceImplTest extends Abst
         finalS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         finalS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
         finalS3FileTransferRequestParamsDto.setFiles(files);
+        finalS3FileTransferRequestParamsDto.setMaxThreads(MAX_THREADS);
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
-        when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(s3Files);
-        when(storageFileHelper.createStorageFilesFromS3ObjectSummaries(glacierS3Files)).thenReturn(glacierStorageFiles);
-        when(storageFileHelper.getFiles(glacierStorageFiles)).thenReturn(files);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Consumer<S3ObjectSummaryDto> s3ObjectConsumer = (Consumer<S3ObjectSummaryDto>) invocation.getArguments()[4];
+            s3ObjectConsumer.accept(glacierS3ObjectSummaryDto);
+            s3ObjectConsumer.accept(standardS3ObjectSummaryDto);
+            return null;
+        }).when(storageFileHelper)
+            .listAndValidateRegisteredS3Files(eq(updatedS3FileTransferRequestParamsDto), eq(storageFiles), eq(STORAGE_NAME), eq(businessObjectDataKey), any());
+        when(configurationHelper.getProperty(ConfigurationValue.S3_RESTORE_MAX_CONCURRENCY, Integer.class)).thenReturn(MAX_THREADS);
 
         // Call the method under test.
         businessObjectDataFinalizeRestoreHelperServiceImpl.executeS3SpecificSteps(businessObjectDataRestoreDto);
 
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
-        verify(s3Service).listDirectory(any(S3FileTransferRequestParamsDto.class), eq(true));
-        verify(storageFileHelper).validateRegisteredS3Files(storageFiles, s3Files, STORAGE_NAME, businessObjectDataKey);
-        verify(storageFileHelper).createStorageFilesFromS3ObjectSummaries(glacierS3Files);
-        verify(storageFileHelper).getFiles(glacierStorageFiles);
+        verify(storageFileHelper)
+            .listAndValidateRegisteredS3Files(any(S3FileTransferRequestParamsDto.class), eq(storageFiles), eq(STORAGE_NAME), eq(businessObjectDataKey), any());
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_RESTORE_MAX_CONCURRENCY, Integer.class);
         verify(s3Service).validateGlacierS3FilesRestored(finalS3FileTransferRequestParamsDto);
         verifyNoMoreInteractionsHelper();
     }
@@ -17,6 +17,7 @@ package org.finra.herd.service.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -35,6 +36,7 @@ import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.Tag;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -51,6 +53,7 @@ import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.dto.BatchJobConfigDto;
 import org.finra.herd.model.dto.BusinessObjectDataDestroyDto;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
@@ -323,10 +326,13 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImplTest extends Abst
         updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         updatedS3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
         updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+        updatedS3FileTransferRequestParamsDto.setMaxThreads(MAX_THREADS);
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
         when(s3Dao.listVersions(s3FileTransferRequestParamsDto)).thenReturn(s3VersionSummaries);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_BATCH_MODE_VERSION_COUNT_THRESHOLD, Integer.class)).thenReturn(0);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_MAX_CONCURRENCY, Integer.class)).thenReturn(MAX_THREADS);
 
         // Call the method under test.
         businessObjectDataInitiateDestroyHelperServiceImpl.executeS3SpecificSteps(businessObjectDataDestroyDto);
@@ -341,11 +347,85 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImplTest extends Abst
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
         verify(s3Dao).listVersions(s3FileTransferRequestParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_TAGGING_BATCH_MODE_VERSION_COUNT_THRESHOLD, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_TAGGING_MAX_CONCURRENCY, Integer.class);
         verify(s3Dao).tagVersions(updatedS3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, s3VersionSummaries,
             new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE));
         verifyNoMoreInteractionsHelper();
     }
 
+    @Test
+    public void testExecuteS3SpecificStepsSwitchToBatchMode()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, DATA_VERSION);
+
+        // Create an S3 object tagger role parameters DTO.
+        S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto =
+            new S3ObjectTaggerRoleParamsDto(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME, S3_OBJECT_TAGGER_ROLE_SESSION_DURATION_SECONDS);
+
+        // Create a business object data destroy parameters DTO without requesting batch mode.
+        BusinessObjectDataDestroyDto businessObjectDataDestroyDto =
+            new BusinessObjectDataDestroyDto(businessObjectDataKey, STORAGE_NAME, BusinessObjectDataStatusEntity.DELETED, BusinessObjectDataStatusEntity.VALID,
+                StorageUnitStatusEntity.DISABLING, StorageUnitStatusEntity.ENABLED, S3_ENDPOINT, S3_BUCKET_NAME, TEST_S3_KEY_PREFIX, S3_OBJECT_TAG_KEY,
+                S3_OBJECT_TAG_VALUE, s3ObjectTaggerRoleParamsDto, BDATA_FINAL_DESTROY_DELAY_IN_DAYS, TOTAL_FILE_COUNT_0, TOTAL_FILE_SIZE_BYTES_0);
+
+        // Create an S3 file transfer parameters DTO to access the S3 bucket.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create a list of two S3 versions, which is above the batch mode version count threshold.
+        List<S3VersionSummary> s3VersionSummaries = new ArrayList<>();
+        for (String s3Key : Arrays.asList(S3_KEY, S3_KEY_2))
+        {
+            S3VersionSummary s3VersionSummary = new S3VersionSummary();
+            s3VersionSummary.setKey(s3Key);
+            s3VersionSummary.setVersionId(S3_VERSION_ID);
+            s3VersionSummary.setSize(FILE_SIZE);
+            s3VersionSummaries.add(s3VersionSummary);
+        }
+
+        // Mock the external calls.
+        when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
+        when(s3Dao.listVersions(s3FileTransferRequestParamsDto)).thenReturn(s3VersionSummaries);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_BATCH_MODE_VERSION_COUNT_THRESHOLD, Integer.class)).thenReturn(1);
+        when(jsonHelper.objectToJson(businessObjectDataKey)).thenReturn(BUSINESS_OBJECT_DATA_KEY_AS_STRING);
+        when(configurationHelper.getRequiredProperty(ConfigurationValue.AWS_ACCOUNT_ID)).thenReturn(AWS_ACCOUNT_ID);
+        when(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_DESTROY_ROLE_ARN)).thenReturn(AWS_ROLE_ARN);
+        when(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_BUCKET_NAME)).thenReturn(S3_BUCKET_NAME_2);
+        when(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_LOCATION_PREFIX)).thenReturn(TEST_S3_KEY_PREFIX_2);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_BATCH_RESTORE_BACKOFF_PERIOD, Integer.class)).thenReturn(
+            (Integer) ConfigurationValue.S3_BATCH_RESTORE_BACKOFF_PERIOD.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.S3_BATCH_RESTORE_MAX_ATTEMPTS, Integer.class)).thenReturn(
+            (Integer) ConfigurationValue.S3_BATCH_RESTORE_MAX_ATTEMPTS.getDefaultValue());
+
+        // Call the method under test.
+        businessObjectDataInitiateDestroyHelperServiceImpl.executeS3SpecificSteps(businessObjectDataDestroyDto);
+
+        // Verify the external calls.
+        ArgumentCaptor<BatchJobConfigDto> batchJobConfigCaptor = ArgumentCaptor.forClass(BatchJobConfigDto.class);
+        verify(storageHelper).getS3FileTransferRequestParamsDto();
+        verify(s3Dao).listVersions(s3FileTransferRequestParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_TAGGING_BATCH_MODE_VERSION_COUNT_THRESHOLD, Integer.class);
+        verify(jsonHelper).objectToJson(businessObjectDataKey);
+        verify(configurationHelper).getRequiredProperty(ConfigurationValue.AWS_ACCOUNT_ID);
+        verify(configurationHelper).getRequiredProperty(ConfigurationValue.S3_BATCH_DESTROY_ROLE_ARN);
+        verify(configurationHelper).getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_BUCKET_NAME);
+        verify(configurationHelper).getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_LOCATION_PREFIX);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_BATCH_RESTORE_BACKOFF_PERIOD, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_BATCH_RESTORE_MAX_ATTEMPTS, Integer.class);
+        verify(s3Dao).batchTagVersions(eq(s3FileTransferRequestParamsDto), batchJobConfigCaptor.capture(), eq(s3VersionSummaries),
+            eq(new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE)));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that the S3 versions are tagged by an S3 batch job using the S3 batch destroy role.
+        assertEquals(AWS_ACCOUNT_ID, batchJobConfigCaptor.getValue().getAwsAccountId());
+        assertEquals(AWS_ROLE_ARN, batchJobConfigCaptor.getValue().getS3BatchRoleArn());
+        assertEquals(S3_BUCKET_NAME_2, batchJobConfigCaptor.getValue().getManifestS3BucketName());
+        assertEquals(TEST_S3_KEY_PREFIX_2, batchJobConfigCaptor.getValue().getManifestS3Prefix());
+    }
+
     @Test
     public void testGetAndValidateFinalDestroyInDaysNonPositiveValue()
     {
@@ -19,9 +19,10 @@ import static junit.framework.TestCase.fail;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -31,12 +32,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.StorageClass;
 import com.amazonaws.services.s3.model.Tier;
+import com.amazonaws.services.s3control.model.S3GlacierJobTier;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -52,9 +54,12 @@ import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.StorageFile;
+import org.finra.herd.model.dto.BatchJobConfigDto;
+import org.finra.herd.model.dto.BusinessObjectDataBatchRestoreDto;
 import org.finra.herd.model.dto.BusinessObjectDataRestoreDto;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
 import org.finra.herd.model.jpa.StorageEntity;
@@ -62,7 +67,6 @@ import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 import org.finra.herd.service.AbstractServiceTest;
-import org.finra.herd.service.S3Service;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
@@ -100,9 +104,6 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
     @Mock
     private S3KeyPrefixHelper s3KeyPrefixHelper;
 
-    @Mock
-    private S3Service s3Service;
-
     @Mock
     private S3Dao s3Dao;
 
@@ -152,15 +153,8 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
         updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
 
-        // Create a mock S3 object summary for an S3 object that does belong to Glacier storage class.
-        S3ObjectSummary glacierS3ObjectSummary = mock(S3ObjectSummary.class);
-        when(glacierS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Glacier.toString());
-
-        // Create a list of actual S3 files.
-        List<S3ObjectSummary> actualS3Files = Collections.singletonList(glacierS3ObjectSummary);
-
-        // Create a list of storage files that represent actual S3 objects.
-        List<StorageFile> storageFilesCreatedFromActualS3Files = Collections.singletonList(new StorageFile(S3_KEY, FILE_SIZE, ROW_COUNT));
+        // Create an S3 object summary for an S3 object that does belong to Glacier storage class.
+        S3ObjectSummaryDto glacierS3ObjectSummaryDto = new S3ObjectSummaryDto(S3_KEY, FILE_SIZE, StorageClass.Glacier.toString());
 
         // Create a list of files selected for S3 object tagging.
         List<File> filesToBeRestored = Collections.singletonList(new File(S3_KEY));
@@ -171,22 +165,27 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
         finalS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         finalS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
         finalS3FileTransferRequestParamsDto.setFiles(filesToBeRestored);
+        finalS3FileTransferRequestParamsDto.setMaxThreads(MAX_THREADS);
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(initialS3FileTransferRequestParamsDto);
-        when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(actualS3Files);
-        when(storageFileHelper.createStorageFilesFromS3ObjectSummaries(actualS3Files)).thenReturn(storageFilesCreatedFromActualS3Files);
-        when(storageFileHelper.getFiles(storageFilesCreatedFromActualS3Files)).thenReturn(filesToBeRestored);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Consumer<S3ObjectSummaryDto> s3ObjectConsumer = (Consumer<S3ObjectSummaryDto>) invocation.getArguments()[4];
+            s3ObjectConsumer.accept(glacierS3ObjectSummaryDto);
+            return null;
+        }).when(storageFileHelper)
+            .listAndValidateRegisteredS3Files(eq(updatedS3FileTransferRequestParamsDto), eq(storageFiles), eq(STORAGE_NAME), eq(businessObjectDataKey), any());
+        when(configurationHelper.getProperty(ConfigurationValue.S3_RESTORE_MAX_CONCURRENCY, Integer.class)).thenReturn(MAX_THREADS);
 
         // Call the method under test.
         businessObjectDataInitiateRestoreHelperServiceImpl.executeS3SpecificSteps(businessObjectDataRestoreDto);
 
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
-        verify(s3Service).listDirectory(any(S3FileTransferRequestParamsDto.class), eq(true));
-        verify(storageFileHelper).validateRegisteredS3Files(storageFiles, actualS3Files, STORAGE_NAME, businessObjectDataKey);
-        verify(storageFileHelper).createStorageFilesFromS3ObjectSummaries(actualS3Files);
-        verify(storageFileHelper).getFiles(storageFilesCreatedFromActualS3Files);
+        verify(storageFileHelper)
+            .listAndValidateRegisteredS3Files(any(S3FileTransferRequestParamsDto.class), eq(storageFiles), eq(STORAGE_NAME), eq(businessObjectDataKey), any());
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_RESTORE_MAX_CONCURRENCY, Integer.class);
         verify(s3Dao).restoreObjects(finalS3FileTransferRequestParamsDto, 36135, ARCHIVE_RETRIEVAL_OPTION);
         verifyNoMoreInteractionsHelper();
 
@@ -220,25 +219,26 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
         updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
 
-        // Create a mock S3 object summary for S3 object that does not belong to Glacier storage class.
-        S3ObjectSummary standardS3ObjectSummary = mock(S3ObjectSummary.class);
-        when(standardS3ObjectSummary.getKey()).thenReturn(S3_KEY);
-        when(standardS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Standard.toString());
-
-        // Create a list of actual S3 files.
-        List<S3ObjectSummary> actualS3Files = Collections.singletonList(standardS3ObjectSummary);
+        // Create an S3 object summary for S3 object that does not belong to Glacier storage class.
+        S3ObjectSummaryDto standardS3ObjectSummaryDto = new S3ObjectSummaryDto(S3_KEY, FILE_SIZE, StorageClass.Standard.toString());
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(initialS3FileTransferRequestParamsDto);
-        when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(actualS3Files);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Consumer<S3ObjectSummaryDto> s3ObjectConsumer = (Consumer<S3ObjectSummaryDto>) invocation.getArguments()[4];
+            s3ObjectConsumer.accept(standardS3ObjectSummaryDto);
+            return null;
+        }).when(storageFileHelper)
+            .listAndValidateRegisteredS3Files(eq(updatedS3FileTransferRequestParamsDto), eq(storageFiles), eq(STORAGE_NAME), eq(businessObjectDataKey), any());
 
         // Call the method under test.
         businessObjectDataInitiateRestoreHelperServiceImpl.executeS3SpecificSteps(businessObjectDataRestoreDto);
 
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
-        verify(s3Service).listDirectory(any(S3FileTransferRequestParamsDto.class), eq(true));
-        verify(storageFileHelper).validateRegisteredS3Files(storageFiles, actualS3Files, STORAGE_NAME, businessObjectDataKey);
+        verify(storageFileHelper)
+            .listAndValidateRegisteredS3Files(any(S3FileTransferRequestParamsDto.class), eq(storageFiles), eq(STORAGE_NAME), eq(businessObjectDataKey), any());
         verify(jsonHelper).objectToJson(businessObjectDataKey);
         verifyNoMoreInteractionsHelper();
 
@@ -537,6 +537,7 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
             S3_KEY_PREFIX);
         when(storageFileHelper.getAndValidateStorageFiles(storageUnitEntity, S3_KEY_PREFIX, STORAGE_NAME, businessObjectDataKey, false)).thenReturn(
             storageFiles);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_RESTORE_BATCH_MODE_FILE_COUNT_THRESHOLD, Integer.class)).thenReturn(0);
         when(storageUnitStatusDaoHelper.getStorageUnitStatusEntity(StorageUnitStatusEntity.RESTORING)).thenReturn(newStorageUnitStatusEntity);
         when(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity)).thenReturn(businessObjectDataKey);
         when(configurationHelper.getProperty(ConfigurationValue.S3_ENDPOINT)).thenReturn(S3_ENDPOINT);
@@ -559,6 +560,77 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
         assertEquals(StorageUnitStatusEntity.ARCHIVED, businessObjectDataRestoreDto.getOldStorageUnitStatus());
     }
 
+    @Test
+    public void testPrepareToInitiateRestoreSwitchToBatchMode()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Create a business object format entity.
+        BusinessObjectFormatEntity businessObjectFormatEntity = new BusinessObjectFormatEntity();
+
+        // Create a business object data entity.
+        BusinessObjectDataEntity businessObjectDataEntity = new BusinessObjectDataEntity();
+        businessObjectDataEntity.setBusinessObjectFormat(businessObjectFormatEntity);
+
+        // Create a single storage unit.
+        StorageEntity storageEntity = new StorageEntity();
+        storageEntity.setName(STORAGE_NAME);
+        StorageUnitStatusEntity storageUnitStatusEntity = new StorageUnitStatusEntity();
+        storageUnitStatusEntity.setCode(StorageUnitStatusEntity.ARCHIVED);
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+        storageUnitEntity.setStorage(storageEntity);
+        storageUnitEntity.setStatus(storageUnitStatusEntity);
+        List<StorageUnitEntity> storageUnitEntities = Collections.singletonList(storageUnitEntity);
+
+        // Create two storage files, which is above the batch mode file count threshold.
+        List<StorageFile> storageFiles = Arrays.asList(new StorageFile(S3_KEY, FILE_SIZE, ROW_COUNT), new StorageFile(S3_KEY_2, FILE_SIZE, ROW_COUNT));
+        StorageUnitStatusEntity newStorageUnitStatusEntity = new StorageUnitStatusEntity();
+        newStorageUnitStatusEntity.setCode(StorageUnitStatusEntity.RESTORING);
+
+        // Mock the external calls.
+        when(businessObjectDataDaoHelper.getBusinessObjectDataEntity(businessObjectDataKey)).thenReturn(businessObjectDataEntity);
+        when(storageUnitDao.getStorageUnitsByStoragePlatformAndBusinessObjectData(StoragePlatformEntity.S3, businessObjectDataEntity)).thenReturn(
+            storageUnitEntities);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_BUCKET_NAME)).thenReturn(
+            (String) ConfigurationValue.S3_ATTRIBUTE_NAME_BUCKET_NAME.getDefaultValue());
+        when(storageHelper.getStorageAttributeValueByName((String) ConfigurationValue.S3_ATTRIBUTE_NAME_BUCKET_NAME.getDefaultValue(), storageEntity,
+            true)).thenReturn(S3_BUCKET_NAME);
+        when(s3KeyPrefixHelper.buildS3KeyPrefix(storageEntity, businessObjectDataEntity.getBusinessObjectFormat(), businessObjectDataKey)).thenReturn(
+            S3_KEY_PREFIX);
+        when(storageFileHelper.getAndValidateStorageFiles(storageUnitEntity, S3_KEY_PREFIX, STORAGE_NAME, businessObjectDataKey, false)).thenReturn(
+            storageFiles);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_RESTORE_BATCH_MODE_FILE_COUNT_THRESHOLD, Integer.class)).thenReturn(1);
+        when(jsonHelper.objectToJson(businessObjectDataKey)).thenReturn(BUSINESS_OBJECT_DATA_KEY_AS_STRING);
+        when(storageUnitStatusDaoHelper.getStorageUnitStatusEntity(StorageUnitStatusEntity.RESTORING)).thenReturn(newStorageUnitStatusEntity);
+        when(configurationHelper.getRequiredProperty(ConfigurationValue.AWS_ACCOUNT_ID)).thenReturn(AWS_ACCOUNT_ID);
+        when(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_ROLE_ARN)).thenReturn(AWS_ROLE_ARN);
+        when(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_BUCKET_NAME)).thenReturn(S3_BUCKET_NAME_2);
+        when(configurationHelper.getRequiredProperty(ConfigurationValue.S3_BATCH_MANIFEST_LOCATION_PREFIX)).thenReturn(TEST_S3_KEY_PREFIX_2);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_BATCH_RESTORE_BACKOFF_PERIOD, Integer.class)).thenReturn(
+            (Integer) ConfigurationValue.S3_BATCH_RESTORE_BACKOFF_PERIOD.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.S3_BATCH_RESTORE_MAX_ATTEMPTS, Integer.class)).thenReturn(
+            (Integer) ConfigurationValue.S3_BATCH_RESTORE_MAX_ATTEMPTS.getDefaultValue());
+        when(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity)).thenReturn(businessObjectDataKey);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_ENDPOINT)).thenReturn(S3_ENDPOINT);
+
+        // Call the method under test without requesting batch mode.
+        BusinessObjectDataRestoreDto businessObjectDataRestoreDto =
+            businessObjectDataInitiateRestoreHelperServiceImpl.prepareToInitiateRestore(businessObjectDataKey, EXPIRATION_IN_DAYS, Tier.Standard.toString(),
+                BATCH_RESTORE_MODE);
+
+        // Validate that the restore is switched to batch mode with the archive retrieval option supported by S3 Batch Operations.
+        assertTrue(businessObjectDataRestoreDto instanceof BusinessObjectDataBatchRestoreDto);
+        BatchJobConfigDto batchJobConfig = ((BusinessObjectDataBatchRestoreDto) businessObjectDataRestoreDto).getJobConfig();
+        assertEquals(AWS_ACCOUNT_ID, batchJobConfig.getAwsAccountId());
+        assertEquals(AWS_ROLE_ARN, batchJobConfig.getS3BatchRoleArn());
+        assertEquals(S3GlacierJobTier.STANDARD.toString(), businessObjectDataRestoreDto.getArchiveRetrievalOption());
+        assertEquals(storageFiles, businessObjectDataRestoreDto.getStorageFiles());
+        assertEquals(StorageUnitStatusEntity.RESTORING, businessObjectDataRestoreDto.getNewStorageUnitStatus());
+    }
+
     @Test
     public void testPrepareToInitiateRestoreInvalidArchiveRetrievalOption()
     {
@@ -626,6 +698,7 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
             S3_KEY_PREFIX);
         when(storageFileHelper.getAndValidateStorageFiles(storageUnitEntity, S3_KEY_PREFIX, STORAGE_NAME, businessObjectDataKey, false)).thenReturn(
             storageFiles);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_RESTORE_BATCH_MODE_FILE_COUNT_THRESHOLD, Integer.class)).thenReturn(0);
         when(storageUnitStatusDaoHelper.getStorageUnitStatusEntity(StorageUnitStatusEntity.RESTORING)).thenReturn(newStorageUnitStatusEntity);
         when(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity)).thenReturn(businessObjectDataKey);
         when(configurationHelper.getProperty(ConfigurationValue.S3_ENDPOINT)).thenReturn(S3_ENDPOINT);
@@ -656,6 +729,7 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
         verify(storageFileHelper).getAndValidateStorageFiles(storageUnitEntity, S3_KEY_PREFIX, STORAGE_NAME, businessObjectDataKey, false);
         verify(storageUnitDaoHelper).validateNoExplicitlyRegisteredSubPartitionInStorageForBusinessObjectData(storageEntity, businessObjectFormatEntity,
             businessObjectDataKey, S3_KEY_PREFIX);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_RESTORE_BATCH_MODE_FILE_COUNT_THRESHOLD, Integer.class);
         verify(storageUnitStatusDaoHelper).getStorageUnitStatusEntity(StorageUnitStatusEntity.RESTORING);
         verify(storageUnitDaoHelper).updateStorageUnitStatus(storageUnitEntity, newStorageUnitStatusEntity, StorageUnitStatusEntity.RESTORING);
         verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
@@ -669,6 +743,6 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
     private void verifyNoMoreInteractionsHelper()
     {
         verifyNoMoreInteractions(businessObjectDataDaoHelper, businessObjectDataHelper, configurationHelper, herdStringHelper, jsonHelper, s3KeyPrefixHelper,
-            s3Service, storageFileHelper, storageHelper, storageUnitDao, storageUnitDaoHelper, storageUnitStatusDaoHelper);
+            storageFileHelper, storageHelper, storageUnitDao, storageUnitDaoHelper, storageUnitStatusDaoHelper);
     }
 }
@@ -20,7 +20,9 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -45,6 +47,9 @@ import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.Attribute;
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataAttributesUpdateRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyCollectionResponse;
+import org.finra.herd.model.api.xml.BusinessObjectDataDestroyResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataParentsUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataRetentionInformationUpdateRequest;
@@ -52,6 +57,7 @@ import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.dto.AttributeDto;
 import org.finra.herd.model.dto.BusinessObjectDataDestroyDto;
 import org.finra.herd.model.dto.BusinessObjectDataRestoreDto;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3ObjectTaggerRoleParamsDto;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeDefinitionEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
@@ -237,6 +243,92 @@ public class BusinessObjectDataServiceImplTest extends AbstractServiceTest
         assertEquals(businessObjectData, result);
     }
 
+    @Test
+    public void testDestroyBusinessObjectDataCollection()
+    {
+        // Create two business object data keys.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+        BusinessObjectDataKey invalidBusinessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                SUBPARTITION_VALUES, DATA_VERSION);
+
+        // Create a business object data destroy parameters DTO.
+        BusinessObjectDataDestroyDto businessObjectDataDestroyDtoState =
+            new BusinessObjectDataDestroyDto(businessObjectDataKey, STORAGE_NAME, BusinessObjectDataStatusEntity.DELETED, BusinessObjectDataStatusEntity.VALID,
+                StorageUnitStatusEntity.DISABLING, StorageUnitStatusEntity.ENABLED, S3_ENDPOINT, S3_BUCKET_NAME, S3_KEY_PREFIX, S3_OBJECT_TAG_KEY,
+                S3_OBJECT_TAG_VALUE, null, BDATA_FINAL_DESTROY_DELAY_IN_DAYS, TOTAL_FILE_COUNT_0, TOTAL_FILE_SIZE_BYTES_0);
+
+        // Create a business object data.
+        BusinessObjectData businessObjectData = new BusinessObjectData();
+        businessObjectData.setId(ID);
+        businessObjectData.setStatus(BusinessObjectDataStatusEntity.DELETED);
+
+        // Mock the external calls.
+        when(configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_MAX_KEYS, Integer.class)).thenReturn(2);
+        doAnswer(invocation -> {
+            BusinessObjectDataDestroyDto businessObjectDataDestroyDto = (BusinessObjectDataDestroyDto) invocation.getArguments()[0];
+            businessObjectDataDestroyDtoState.copyTo(businessObjectDataDestroyDto);
+            return null;
+        }).when(businessObjectDataInitiateDestroyHelperService).prepareToInitiateDestroy(any(BusinessObjectDataDestroyDto.class), eq(businessObjectDataKey));
+        doThrow(new IllegalArgumentException(ERROR_MESSAGE)).when(businessObjectDataInitiateDestroyHelperService)
+            .prepareToInitiateDestroy(any(BusinessObjectDataDestroyDto.class), eq(invalidBusinessObjectDataKey));
+        when(businessObjectDataInitiateDestroyHelperService.executeInitiateDestroyAfterStep(any(BusinessObjectDataDestroyDto.class))).thenReturn(
+            businessObjectData);
+
+        // Call the method under test.
+        BusinessObjectDataDestroyCollectionResponse result = businessObjectDataServiceImpl.destroyBusinessObjectDataCollection(
+            new BusinessObjectDataDestroyCollectionRequest(Arrays.asList(businessObjectDataKey, invalidBusinessObjectDataKey), BATCH_DESTROY_MODE));
+
+        // Verify the external calls.
+        verify(configurationHelper).getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_MAX_KEYS, Integer.class);
+        verify(businessObjectDataInitiateDestroyHelperService, times(2)).prepareToInitiateDestroy(any(BusinessObjectDataDestroyDto.class),
+            any(BusinessObjectDataKey.class));
+        verify(businessObjectDataInitiateDestroyHelperService).executeS3SpecificSteps(any(BusinessObjectDataDestroyDto.class));
+        verify(businessObjectDataInitiateDestroyHelperService).executeInitiateDestroyAfterStep(any(BusinessObjectDataDestroyDto.class));
+        verify(notificationEventService, times(2)).processStorageUnitNotificationEventAsync(any(NotificationEventTypeEntity.EventTypesStorageUnit.class),
+            any(BusinessObjectDataKey.class), any(String.class), any(String.class), any(String.class));
+        verify(notificationEventService).processBusinessObjectDataNotificationEventAsync(any(NotificationEventTypeEntity.EventTypesBdata.class),
+            any(BusinessObjectDataKey.class), any(String.class), any(String.class));
+        verify(businessObjectDataHelper).businessObjectDataKeyToString(invalidBusinessObjectDataKey);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(new BusinessObjectDataDestroyCollectionResponse(Arrays
+            .asList(new BusinessObjectDataDestroyResult(businessObjectDataKey, BusinessObjectDataStatusEntity.DELETED, NO_ERROR_MESSAGE),
+                new BusinessObjectDataDestroyResult(invalidBusinessObjectDataKey, NO_BDATA_STATUS, ERROR_MESSAGE))), result);
+    }
+
+    @Test
+    public void testDestroyBusinessObjectDataCollectionTooManyKeys()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Mock the external calls.
+        when(configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_MAX_KEYS, Integer.class)).thenReturn(1);
+
+        // Try to destroy a collection of business object data that exceeds the maximum number of keys allowed in a single request.
+        try
+        {
+            businessObjectDataServiceImpl.destroyBusinessObjectDataCollection(
+                new BusinessObjectDataDestroyCollectionRequest(Arrays.asList(businessObjectDataKey, businessObjectDataKey), BATCH_DESTROY_MODE));
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("The number of business object data keys (2) exceeds the maximum of 1 keys allowed in a single destroy collection request.",
+                e.getMessage());
+        }
+
+        // Verify the external calls.
+        verify(configurationHelper).getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DESTROY_COLLECTION_MAX_KEYS, Integer.class);
+        verifyNoMoreInteractionsHelper();
+    }
+
     @Test
     public void testRestoreBusinessObjectDataStorageUnitInRestoredState()
     {
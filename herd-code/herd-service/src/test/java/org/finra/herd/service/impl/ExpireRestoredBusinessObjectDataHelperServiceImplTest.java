@@ -19,7 +19,6 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -28,8 +27,8 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.StorageClass;
 import com.google.common.collect.Lists;
 import org.junit.Before;
@@ -48,6 +47,7 @@ import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.BusinessObjectDataRestoreDto;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3ObjectSummaryDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
 import org.finra.herd.model.jpa.StorageEntity;
@@ -55,7 +55,6 @@ import org.finra.herd.model.jpa.StorageFileEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 import org.finra.herd.service.AbstractServiceTest;
-import org.finra.herd.service.S3Service;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
@@ -83,9 +82,6 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImplTest extends Abstr
     @Mock
     private S3KeyPrefixHelper s3KeyPrefixHelper;
 
-    @Mock
-    private S3Service s3Service;
-
     @Mock
     private S3Dao s3Dao;
 
@@ -187,22 +183,11 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImplTest extends Abstr
         updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
 
-        // Create a mock S3 object summary for S3 object that belongs to Glacier storage class.
-        S3ObjectSummary glacierS3ObjectSummary = mock(S3ObjectSummary.class);
-        when(glacierS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Glacier.toString());
-
-        // Create a mock S3 object summary for S3 object that does not belong to Glacier storage class.
-        S3ObjectSummary standardS3ObjectSummary = mock(S3ObjectSummary.class);
-        when(standardS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Standard.toString());
-
-        // Create a list of S3 files.
-        List<S3ObjectSummary> s3Files = Arrays.asList(glacierS3ObjectSummary, standardS3ObjectSummary);
+        // Create an S3 object summary for S3 object that belongs to Glacier storage class.
+        S3ObjectSummaryDto glacierS3ObjectSummaryDto = new S3ObjectSummaryDto(S3_KEY, FILE_SIZE, StorageClass.Glacier.toString());
 
-        // Create a list of S3 objects that belong to Glacier storage class.
-        List<S3ObjectSummary> glacierS3Files = Lists.newArrayList(glacierS3ObjectSummary);
-
-        // Create a list of storage files that represent S3 objects of Glacier storage class.
-        List<StorageFile> glacierStorageFiles = Lists.newArrayList(new StorageFile(S3_KEY, FILE_SIZE, ROW_COUNT));
+        // Create an S3 object summary for S3 object that does not belong to Glacier storage class.
+        S3ObjectSummaryDto standardS3ObjectSummaryDto = new S3ObjectSummaryDto(S3_KEY_2, FILE_SIZE_2, StorageClass.Standard.toString());
 
         // Create a list of files.
         List<File> files = Lists.newArrayList(new File(S3_KEY));
@@ -216,19 +201,22 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImplTest extends Abstr
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
-        when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(s3Files);
-        when(storageFileHelper.createStorageFilesFromS3ObjectSummaries(glacierS3Files)).thenReturn(glacierStorageFiles);
-        when(storageFileHelper.getFiles(glacierStorageFiles)).thenReturn(files);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Consumer<S3ObjectSummaryDto> s3ObjectConsumer = (Consumer<S3ObjectSummaryDto>) invocation.getArguments()[4];
+            s3ObjectConsumer.accept(glacierS3ObjectSummaryDto);
+            s3ObjectConsumer.accept(standardS3ObjectSummaryDto);
+            return null;
+        }).when(storageFileHelper)
+            .listAndValidateRegisteredS3Files(eq(updatedS3FileTransferRequestParamsDto), eq(storageFiles), eq(STORAGE_NAME), eq(businessObjectDataKey), any());
 
         // Call the method under test.
         expireRestoredBusinessObjectDataHelperServiceImpl.executeS3SpecificSteps(businessObjectDataRestoreDto);
 
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
-        verify(s3Service).listDirectory(any(S3FileTransferRequestParamsDto.class), eq(true));
-        verify(storageFileHelper).validateRegisteredS3Files(storageFiles, s3Files, STORAGE_NAME, businessObjectDataKey);
-        verify(storageFileHelper).createStorageFilesFromS3ObjectSummaries(glacierS3Files);
-        verify(storageFileHelper).getFiles(glacierStorageFiles);
+        verify(storageFileHelper)
+            .listAndValidateRegisteredS3Files(any(S3FileTransferRequestParamsDto.class), eq(storageFiles), eq(STORAGE_NAME), eq(businessObjectDataKey), any());
         verify(s3Dao).restoreObjects(finalS3FileTransferRequestParamsDto, 1, null);
         verifyNoMoreInteractionsHelper();
     }
@@ -256,22 +244,11 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImplTest extends Abstr
         updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
 
-        // Create a mock S3 object summary for S3 object that belongs to Glacier storage class.
-        S3ObjectSummary glacierS3ObjectSummary = mock(S3ObjectSummary.class);
-        when(glacierS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Glacier.toString());
-
-        // Create a mock S3 object summary for S3 object that does not belong to Glacier storage class.
-        S3ObjectSummary standardS3ObjectSummary = mock(S3ObjectSummary.class);
-        when(standardS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Standard.toString());
-
-        // Create a list of S3 files.
-        List<S3ObjectSummary> s3Files = Arrays.asList(glacierS3ObjectSummary, standardS3ObjectSummary);
-
-        // Create a list of S3 objects that belong to Glacier storage class.
-        List<S3ObjectSummary> glacierS3Files = Lists.newArrayList(glacierS3ObjectSummary);
+        // Create an S3 object summary for S3 object that belongs to Glacier storage class.
+        S3ObjectSummaryDto glacierS3ObjectSummaryDto = new S3ObjectSummaryDto(S3_KEY, FILE_SIZE, StorageClass.Glacier.toString());
 
-        // Create a list of storage files that represent S3 objects of Glacier storage class.
-        List<StorageFile> glacierStorageFiles = Lists.newArrayList(new StorageFile(S3_KEY, FILE_SIZE, ROW_COUNT));
+        // Create an S3 object summary for S3 object that does not belong to Glacier storage class.
+        S3ObjectSummaryDto standardS3ObjectSummaryDto = new S3ObjectSummaryDto(S3_KEY_2, FILE_SIZE_2, StorageClass.Standard.toString());
 
         // Create a list of files.
         List<File> files = Lists.newArrayList(new File(S3_KEY));
@@ -285,18 +262,24 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImplTest extends Abstr
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
-        when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(s3Files);
-        when(storageFileHelper.createStorageFilesFromS3ObjectSummaries(glacierS3Files)).thenReturn(glacierStorageFiles);
-        when(storageFileHelper.getFiles(glacierStorageFiles)).thenReturn(files);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Consumer<S3ObjectSummaryDto> s3ObjectConsumer = (Consumer<S3ObjectSummaryDto>) invocation.getArguments()[4];
+            s3ObjectConsumer.accept(glacierS3ObjectSummaryDto);
+            s3ObjectConsumer.accept(standardS3ObjectSummaryDto);
+            return null;
+        }).when(storageFileHelper)
+            .listAndValidateRegisteredS3Files(eq(updatedS3FileTransferRequestParamsDto), eq(new ArrayList<>()), eq(STORAGE_NAME), eq(businessObjectDataKey),
+                any());
 
         // Call the method under test.
         expireRestoredBusinessObjectDataHelperServiceImpl.executeS3SpecificSteps(businessObjectDataRestoreDto);
 
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
-        verify(s3Service).listDirectory(any(S3FileTransferRequestParamsDto.class), eq(true));
-        verify(storageFileHelper).createStorageFilesFromS3ObjectSummaries(glacierS3Files);
-        verify(storageFileHelper).getFiles(glacierStorageFiles);
+        verify(storageFileHelper)
+            .listAndValidateRegisteredS3Files(any(S3FileTransferRequestParamsDto.class), eq(new ArrayList<>()), eq(STORAGE_NAME), eq(businessObjectDataKey),
+                any());
         verify(s3Dao).restoreObjects(finalS3FileTransferRequestParamsDto, 1, null);
         verifyNoMoreInteractionsHelper();
     }
@@ -524,7 +507,7 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImplTest extends Abstr
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(businessObjectDataDaoHelper, businessObjectDataHelper, configurationHelper, s3KeyPrefixHelper, s3Service, storageFileHelper,
+        verifyNoMoreInteractions(businessObjectDataDaoHelper, businessObjectDataHelper, configurationHelper, s3KeyPrefixHelper, storageFileHelper,
             storageHelper, storageUnitDaoHelper);
     }
 }
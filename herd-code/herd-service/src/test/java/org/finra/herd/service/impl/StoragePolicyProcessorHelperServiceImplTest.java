@@ -16,6 +16,8 @@
 package org.finra.herd.service.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -222,9 +224,6 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         s3ObjectTaggerParamsDto.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
         s3ObjectTaggerParamsDto.setSessionToken(AWS_ASSUMED_ROLE_SESSION_TOKEN);
 
-        // Create a list of S3 object summaries selected without zero byte directory markers.
-        List<S3ObjectSummary> actualS3FilesWithoutZeroByteDirectoryMarkers = Collections.singletonList(new S3ObjectSummary());
-
         // Create a list of all S3 files matching the S3 key prefix form the S3 bucket.
         List<S3ObjectSummary> actualS3Files = Collections.singletonList(new S3ObjectSummary());
 
@@ -233,6 +232,7 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         updatedS3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
         updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+        updatedS3FileTransferRequestParamsDto.setMaxThreads(MAX_THREADS);
 
         // Create an S3 object tagger role parameters DTO.
         S3ObjectTaggerRoleParamsDto s3ObjectTaggerRoleParamsDto =
@@ -240,18 +240,18 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
-        when(s3Dao.listDirectory(s3FileTransferRequestParamsDto, true)).thenReturn(actualS3FilesWithoutZeroByteDirectoryMarkers);
         when(s3Dao.listDirectory(s3FileTransferRequestParamsDto, false)).thenReturn(actualS3Files);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TAGGING_MAX_CONCURRENCY, Integer.class)).thenReturn(MAX_THREADS);
 
         // Call the method under test.
         storagePolicyProcessorHelperServiceImpl.executeStoragePolicyTransitionImpl(storagePolicyTransitionParamsDto);
 
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
-        verify(s3Dao).listDirectory(s3FileTransferRequestParamsDto, true);
-        verify(storageFileHelper).validateRegisteredS3Files(storageFiles, actualS3FilesWithoutZeroByteDirectoryMarkers, STORAGE_NAME, businessObjectDataKey);
-        verify(s3Dao).listDirectory(s3FileTransferRequestParamsDto, true);
+        verify(storageFileHelper)
+            .listAndValidateRegisteredS3Files(eq(s3FileTransferRequestParamsDto), eq(storageFiles), eq(STORAGE_NAME), eq(businessObjectDataKey), any());
         verify(s3Dao).listDirectory(s3FileTransferRequestParamsDto, false);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_TAGGING_MAX_CONCURRENCY, Integer.class);
         verify(s3Dao)
             .tagObjects(updatedS3FileTransferRequestParamsDto, s3ObjectTaggerRoleParamsDto, actualS3Files, new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE));
         verifyNoMoreInteractionsHelper();
@@ -122,6 +122,7 @@ public class UserNamespaceAuthorizationServiceImplTest
         verify(userNamespaceAuthorizationDao).getUserNamespaceAuthorizationByKey(USER_NAMESPACE_AUTHORIZATION_KEY);
         verify(userNamespaceAuthorizationDao).saveAndRefresh(any(UserNamespaceAuthorizationEntity.class));
         verify(messageNotificationEventService).processUserNamespaceAuthorizationChangeNotificationEvent(USER_NAMESPACE_AUTHORIZATION_KEY);
+        verify(userNamespaceAuthorizationHelper).evictNamespaceAuthorizations(USER_ID_VALUE);
         verify(userNamespaceAuthorizationHelper).getNamespacePermissions(USER_NAMESPACE_AUTHORIZATION_ENTITY);
 
         verifyNoMoreInteractionsHelper();
@@ -150,6 +151,7 @@ public class UserNamespaceAuthorizationServiceImplTest
         verify(userNamespaceAuthorizationDao).getUserNamespaceAuthorizationByKey(USER_NAMESPACE_AUTHORIZATION_KEY);
         verify(userNamespaceAuthorizationDao).saveAndRefresh(any(UserNamespaceAuthorizationEntity.class));
         verify(messageNotificationEventService).processUserNamespaceAuthorizationChangeNotificationEvent(USER_NAMESPACE_AUTHORIZATION_KEY);
+        verify(userNamespaceAuthorizationHelper).evictNamespaceAuthorizations(USER_ID_VALUE);
         verify(userNamespaceAuthorizationHelper).getNamespacePermissions(USER_NAMESPACE_AUTHORIZATION_ENTITY);
 
         verifyNoMoreInteractionsHelper();
@@ -176,6 +178,7 @@ public class UserNamespaceAuthorizationServiceImplTest
         verify(userNamespaceAuthorizationDao).getUserNamespaceAuthorizationByKey(USER_NAMESPACE_AUTHORIZATION_KEY);
         verify(userNamespaceAuthorizationDao).delete(any(UserNamespaceAuthorizationEntity.class));
         verify(messageNotificationEventService).processUserNamespaceAuthorizationChangeNotificationEvent(USER_NAMESPACE_AUTHORIZATION_KEY);
+        verify(userNamespaceAuthorizationHelper).evictNamespaceAuthorizations(USER_ID_VALUE);
         verify(userNamespaceAuthorizationHelper).getNamespacePermissions(USER_NAMESPACE_AUTHORIZATION_ENTITY);
 
         verifyNoMoreInteractionsHelper();
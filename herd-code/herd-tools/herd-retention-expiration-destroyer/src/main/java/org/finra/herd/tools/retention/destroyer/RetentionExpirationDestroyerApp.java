@@ -42,12 +42,28 @@ public class RetentionExpirationDestroyerApp
 {
     public static final String APPLICATION_NAME = "herd-retention-expiration-destroyer-app";
 
+    private static final Integer BULK_REQUEST_SIZE_MIN = 1;     // Minimum number of business object data keys sent in a single bulk destroy request.
+
+    // Maximum number of business object data keys sent in a single bulk destroy request. It matches the default herd server limit configured by
+    // "business.object.data.destroy.collection.max.keys", which rejects larger bulk destroy requests.
+    private static final Integer BULK_REQUEST_SIZE_MAX = 100;
+
+    private static final Integer THREADS_DEFAULT = 4;           // Default number of threads used to send bulk destroy requests.
+
+    private static final Integer THREADS_MIN = 1;               // Minimum number of threads used to send bulk destroy requests.
+
+    private static final Integer THREADS_MAX = 32;              // Maximum number of threads used to send bulk destroy requests.
+
     private static final Logger LOGGER = LoggerFactory.getLogger(RetentionExpirationDestroyerApp.class);
 
     private ArgumentParser argParser;
 
     private Boolean batchMode;
 
+    private Integer bulkRequestSize;
+
+    private Option checkpointFileOpt;
+
     private Boolean disableHostnameVerification;
 
     private Option disableHostnameVerificationOpt;
@@ -64,6 +80,8 @@ public class RetentionExpirationDestroyerApp
 
     private Integer regServerPort;
 
+    private Integer threadCount;
+
     private Boolean trustSelfSignedCertificate;
 
     private Option trustSelfSignedCertificateOpt;
@@ -146,7 +164,15 @@ public class RetentionExpirationDestroyerApp
 
         // Call the controller with the user specified parameters to perform the upload.
         RetentionExpirationDestroyerController controller = applicationContext.getBean(RetentionExpirationDestroyerController.class);
-        controller.performRetentionExpirationDestruction(argParser.getFileValue(localInputFileOpt), regServerAccessParamsDto, batchMode);
+        if (bulkRequestSize != null)
+        {
+            controller.performRetentionExpirationDestruction(argParser.getFileValue(localInputFileOpt), regServerAccessParamsDto, batchMode, bulkRequestSize,
+                threadCount, argParser.getFileValue(checkpointFileOpt));
+        }
+        else
+        {
+            controller.performRetentionExpirationDestruction(argParser.getFileValue(localInputFileOpt), regServerAccessParamsDto, batchMode);
+        }
 
         // No exceptions were returned so return success.
         return ToolsCommonConstants.ReturnValue.SUCCESS;
@@ -185,6 +211,12 @@ public class RetentionExpirationDestroyerApp
             Option helpOpt = argParser.addArgument("h", "help", false, "Display usage information and exit.", false);
             Option versionOpt = argParser.addArgument("v", "version", false, "Display version information and exit.", false);
             Option batchModeOpt = argParser.addArgument("b", "batchMode", false, "Perform delete using S3 Batch Operation", false);
+            Option bulkRequestSizeOpt = argParser
+                .addArgument("r", "bulkRequestSize", true, "If set, sends business object data to destroy in bulk requests of up to the specified size. " +
+                    "Maximum: " + BULK_REQUEST_SIZE_MAX + ", the default herd server limit of business object data keys per bulk destroy request.", false);
+            Option threadsOpt = argParser.addArgument("t", "threads", true, "The number of threads used to send bulk destroy requests. Default: 4.", false);
+            checkpointFileOpt = argParser
+                .addArgument("c", "checkpointFile", true, "The local file used to record and resume the progress of the bulk destroy requests.", false);
 
             // Parse command line arguments without failing on any missing required arguments by passing "false" as the second argument.
             argParser.parseArguments(args, false);
@@ -228,6 +260,8 @@ public class RetentionExpirationDestroyerApp
 
             // Extract all Integer option values here to catch any NumberFormatException exceptions.
             regServerPort = argParser.getIntegerValue(regServerPortOpt);
+            bulkRequestSize = argParser.getIntegerValue(bulkRequestSizeOpt, null, BULK_REQUEST_SIZE_MIN, BULK_REQUEST_SIZE_MAX);
+            threadCount = argParser.getIntegerValue(threadsOpt, THREADS_DEFAULT, THREADS_MIN, THREADS_MAX);
         }
         catch (ParseException ex)
         {
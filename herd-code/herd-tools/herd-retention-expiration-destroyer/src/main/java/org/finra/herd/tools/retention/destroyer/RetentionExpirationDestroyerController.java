@@ -17,13 +17,24 @@ package org.finra.herd.tools.retention.destroyer;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import org.finra.herd.sdk.model.BusinessObjectDataDestroyCollectionResponse;
+import org.finra.herd.sdk.model.BusinessObjectDataDestroyResult;
 import org.finra.herd.sdk.model.BusinessObjectDataKey;
 
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
@@ -84,6 +95,61 @@ public class RetentionExpirationDestroyerController
         LOGGER.info("Successfully processed {} business object data instances for destruction.", CollectionUtils.size(businessObjectDataKeys));
     }
 
+    /**
+     * Executes the retention expiration destroyer workflow using the bulk business object data destroy endpoint. The input Excel file is read row by row and
+     * the business object data keys are sent to the registration server in bulk requests by a fixed pool of threads. When a checkpoint file is specified, the
+     * number of the last input file line that was processed along with all the lines before it is recorded in that file, so a rerun of a failed execution
+     * skips the lines that were already processed.
+     *
+     * @param localInputFile           the local input file
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the registration server
+     * @param batchMode                flag to indicate if herd should use S3 Batch Operations to destroy the business object data
+     * @param bulkRequestSize          the maximum number of business object data keys to send in a single bulk destroy request
+     * @param threadCount              the number of threads used to send bulk destroy requests
+     * @param checkpointFile           the optional checkpoint file, may be null
+     * @throws Exception if any problems were encountered
+     */
+    public void performRetentionExpirationDestruction(File localInputFile, RegServerAccessParamsDto regServerAccessParamsDto, Boolean batchMode,
+        int bulkRequestSize, int threadCount, File checkpointFile) throws Exception
+    {
+        // Initialize the web client.
+        retentionExpirationDestroyerWebClient.setRegServerAccessParamsDto(regServerAccessParamsDto);
+
+        // Get the number of the last input file line processed by a previous execution.
+        int checkpointLineNumber = readCheckpointLineNumber(checkpointFile);
+        if (checkpointLineNumber > 0)
+        {
+            LOGGER.info("Skipping input file lines up to line number {} recorded in checkpoint file \"{}\".", checkpointLineNumber, checkpointFile.toString());
+        }
+
+        BulkDestruction bulkDestruction = new BulkDestruction(batchMode, bulkRequestSize, threadCount, checkpointFile, checkpointLineNumber);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(localInputFile))
+        {
+            // Get business object data sheet and validate its header.
+            XSSFSheet dataSheet = getBusinessObjectDataSheet(workbook, localInputFile);
+
+            // Process the input Excel file line by line, skipping the lines already processed by a previous execution.
+            int totalLines = dataSheet.getLastRowNum() - dataSheet.getFirstRowNum() + 1;
+            for (int lineCount = checkpointLineNumber + 1; lineCount < totalLines; lineCount++)
+            {
+                bulkDestruction.add(getBusinessObjectDataKey(dataSheet.getRow(lineCount), lineCount, localInputFile), lineCount);
+            }
+
+            // Send the last partially filled bulk request.
+            bulkDestruction.flush();
+        }
+        finally
+        {
+            // Wait for all the submitted bulk requests to complete.
+            bulkDestruction.shutdown();
+        }
+
+        // Fail the execution if any bulk request failed or if any business object data failed to be marked for destruction.
+        bulkDestruction.checkForFailures();
+
+        LOGGER.info("Successfully processed {} business object data instances for destruction.", bulkDestruction.getSucceededCount());
+    }
+
     /**
      * Extracts business object data key from a Excel file line. This method also validates the format of the line.
      *
@@ -159,41 +225,92 @@ public class RetentionExpirationDestroyerController
         // Read the input Excel file and populate business object data key list.
         try (XSSFWorkbook workbook = new XSSFWorkbook(inputExcelFile))
         {
-            // Get business object data sheet
-            XSSFSheet dataSheet = workbook.getSheetAt(1);
-
-            // Get the business object data headers.
-            XSSFRow row = dataSheet.getRow(0);
-            List<String> dataHeaders = new ArrayList<>();
-            for (Cell cell : row)
-            {
-                dataHeaders.add(cell.getStringCellValue());
-            }
-
-            // Validate required header of the Excel input file.
-            if ((CollectionUtils.isEmpty(dataHeaders) || !CollectionUtils.isEqualCollection(dataHeaders, BUSINESS_OBJECT_DATA_HEADERS)))
-            {
-                throw new IllegalArgumentException(
-                    String.format("Input file \"%s\" does not contain the expected Excel file header.", inputExcelFile.toString()));
-            }
+            // Get business object data sheet and validate its header.
+            XSSFSheet dataSheet = getBusinessObjectDataSheet(workbook, inputExcelFile);
 
             // Process the input Excel file line by line.
             int totalLines = dataSheet.getLastRowNum() - dataSheet.getFirstRowNum() + 1;
             for (int lineCount = 1; lineCount < totalLines; lineCount++)
             {
-                List<String> line = new ArrayList<>();
-                row = dataSheet.getRow(lineCount);
-                for (Cell cell : row)
-                {
-                    line.add(cell.getStringCellValue());
-                }
-                businessObjectDataKeyList.add(getBusinessObjectDataKey(line, lineCount, inputExcelFile));
+                businessObjectDataKeyList.add(getBusinessObjectDataKey(dataSheet.getRow(lineCount), lineCount, inputExcelFile));
             }
         }
 
         return businessObjectDataKeyList;
     }
 
+    /**
+     * Gets the business object data sheet from the input Excel workbook. This method also validates the header of the sheet.
+     *
+     * @param workbook       the input Excel workbook
+     * @param inputExcelFile the input Excel file
+     * @return the business object data sheet
+     */
+    private XSSFSheet getBusinessObjectDataSheet(XSSFWorkbook workbook, File inputExcelFile)
+    {
+        // Get business object data sheet
+        XSSFSheet dataSheet = workbook.getSheetAt(1);
+
+        // Get the business object data headers.
+        XSSFRow row = dataSheet.getRow(0);
+        List<String> dataHeaders = new ArrayList<>();
+        for (Cell cell : row)
+        {
+            dataHeaders.add(cell.getStringCellValue());
+        }
+
+        // Validate required header of the Excel input file.
+        if ((CollectionUtils.isEmpty(dataHeaders) || !CollectionUtils.isEqualCollection(dataHeaders, BUSINESS_OBJECT_DATA_HEADERS)))
+        {
+            throw new IllegalArgumentException(String.format("Input file \"%s\" does not contain the expected Excel file header.", inputExcelFile.toString()));
+        }
+
+        return dataSheet;
+    }
+
+    /**
+     * Extracts business object data key from a row of the business object data sheet.
+     *
+     * @param row            the Excel row
+     * @param lineNumber     the input line number
+     * @param inputExcelFile the input Excel file
+     * @return the business object data key
+     */
+    private BusinessObjectDataKey getBusinessObjectDataKey(XSSFRow row, int lineNumber, File inputExcelFile)
+    {
+        List<String> line = new ArrayList<>();
+        for (Cell cell : row)
+        {
+            line.add(cell.getStringCellValue());
+        }
+        return getBusinessObjectDataKey(line, lineNumber, inputExcelFile);
+    }
+
+    /**
+     * Reads the number of the last processed input file line from the checkpoint file.
+     *
+     * @param checkpointFile the checkpoint file, may be null
+     * @return the number of the last processed input file line or 0 if there is no checkpoint
+     * @throws IOException if any problems were encountered
+     */
+    int readCheckpointLineNumber(File checkpointFile) throws IOException
+    {
+        if (checkpointFile == null || !checkpointFile.exists())
+        {
+            return 0;
+        }
+
+        String checkpoint = new String(Files.readAllBytes(checkpointFile.toPath()), StandardCharsets.UTF_8).trim();
+        try
+        {
+            return StringUtils.isEmpty(checkpoint) ? 0 : Integer.parseInt(checkpoint);
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException(String.format("Checkpoint file \"%s\" does not contain a valid line number.", checkpointFile.toString()), e);
+        }
+    }
+
     /**
      * Build Business Object Data Key object
      *
@@ -223,4 +340,239 @@ public class RetentionExpirationDestroyerController
         businessObjectDataKey.setBusinessObjectDataVersion(businessObjectDataVersion);
         return businessObjectDataKey;
     }
+
+    /**
+     * Keeps track of a bulk destruction execution. Business object data keys are grouped into bulk requests that get sent by a fixed pool of threads. The
+     * number of in-flight bulk requests is bounded by the number of threads, so the input file reader never gets ahead of the senders by more than one bulk
+     * request per thread.
+     */
+    private class BulkDestruction
+    {
+        private final Boolean batchMode;
+
+        private final int bulkRequestSize;
+
+        private final File checkpointFile;
+
+        private final TreeMap<Integer, Integer> completedLineRanges = new TreeMap<>();
+
+        private final ExecutorService executorService;
+
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        private final AtomicInteger failedCount = new AtomicInteger();
+
+        private final Semaphore inFlightBulkRequests;
+
+        private final AtomicInteger succeededCount = new AtomicInteger();
+
+        private List<BusinessObjectDataKey> businessObjectDataKeys = new ArrayList<>();
+
+        private int checkpointLineNumber;
+
+        private int firstLineNumber;
+
+        private int lastLineNumber;
+
+        BulkDestruction(Boolean batchMode, int bulkRequestSize, int threadCount, File checkpointFile, int checkpointLineNumber)
+        {
+            this.batchMode = batchMode;
+            this.bulkRequestSize = bulkRequestSize;
+            this.checkpointFile = checkpointFile;
+            this.checkpointLineNumber = checkpointLineNumber;
+            this.executorService = Executors.newFixedThreadPool(threadCount);
+            this.inFlightBulkRequests = new Semaphore(threadCount);
+        }
+
+        /**
+         * Adds a business object data key to the current bulk request and sends the request once it is full.
+         *
+         * @param businessObjectDataKey the business object data key
+         * @param lineNumber            the input line number of the business object data key
+         * @throws Exception if a previously sent bulk request failed
+         */
+        void add(BusinessObjectDataKey businessObjectDataKey, int lineNumber) throws Exception
+        {
+            if (businessObjectDataKeys.isEmpty())
+            {
+                firstLineNumber = lineNumber;
+            }
+            businessObjectDataKeys.add(businessObjectDataKey);
+            lastLineNumber = lineNumber;
+
+            if (businessObjectDataKeys.size() >= bulkRequestSize)
+            {
+                flush();
+            }
+        }
+
+        /**
+         * Sends the current bulk request, if it is not empty. This method blocks while all the threads are busy.
+         *
+         * @throws Exception if a previously sent bulk request failed
+         */
+        void flush() throws Exception
+        {
+            // Stop reading the input file as soon as any bulk request fails.
+            if (failure.get() != null)
+            {
+                throw failure.get();
+            }
+
+            if (businessObjectDataKeys.isEmpty())
+            {
+                return;
+            }
+
+            List<BusinessObjectDataKey> bulkRequestKeys = businessObjectDataKeys;
+            int bulkRequestFirstLineNumber = firstLineNumber;
+            int bulkRequestLastLineNumber = lastLineNumber;
+            businessObjectDataKeys = new ArrayList<>();
+
+            inFlightBulkRequests.acquire();
+            try
+            {
+                executorService.execute(() -> {
+                    try
+                    {
+                        destroy(bulkRequestKeys, bulkRequestFirstLineNumber, bulkRequestLastLineNumber);
+                    }
+                    finally
+                    {
+                        inFlightBulkRequests.release();
+                    }
+                });
+            }
+            catch (RuntimeException e)
+            {
+                inFlightBulkRequests.release();
+                throw e;
+            }
+        }
+
+        /**
+         * Shuts down the thread pool and waits for all the submitted bulk requests to complete.
+         *
+         * @throws InterruptedException if the current thread was interrupted while waiting
+         */
+        void shutdown() throws InterruptedException
+        {
+            executorService.shutdown();
+            while (!executorService.awaitTermination(1, TimeUnit.MINUTES))
+            {
+                LOGGER.info("Waiting for bulk destroy requests to complete...");
+            }
+        }
+
+        /**
+         * Throws an exception if any bulk request failed or if any business object data failed to be marked for destruction.
+         *
+         * @throws Exception if any failures were encountered
+         */
+        void checkForFailures() throws Exception
+        {
+            if (failure.get() != null)
+            {
+                throw failure.get();
+            }
+
+            if (failedCount.get() > 0)
+            {
+                throw new IllegalStateException(String
+                    .format("Failed to mark %d business object data instances for destruction. %d business object data instances were successfully processed.",
+                        failedCount.get(), succeededCount.get()));
+            }
+        }
+
+        int getSucceededCount()
+        {
+            return succeededCount.get();
+        }
+
+        /**
+         * Sends a single bulk destroy request and records the results.
+         *
+         * @param bulkRequestKeys           the business object data keys to destroy
+         * @param bulkRequestFirstLineNumber the input line number of the first business object data key
+         * @param bulkRequestLastLineNumber  the input line number of the last business object data key
+         */
+        private void destroy(List<BusinessObjectDataKey> bulkRequestKeys, int bulkRequestFirstLineNumber, int bulkRequestLastLineNumber)
+        {
+            // Do not send any more requests once a bulk request has failed.
+            if (failure.get() != null)
+            {
+                return;
+            }
+
+            BusinessObjectDataDestroyCollectionResponse response;
+            try
+            {
+                response = retentionExpirationDestroyerWebClient.destroyBusinessObjectDataCollection(bulkRequestKeys, batchMode);
+            }
+            catch (Exception e)
+            {
+                LOGGER.error("Failed to send bulk destroy request for input file lines {} through {}.", bulkRequestFirstLineNumber, bulkRequestLastLineNumber);
+                failure.compareAndSet(null, e);
+                return;
+            }
+
+            for (BusinessObjectDataDestroyResult result : CollectionUtils.emptyIfNull(response.getBusinessObjectDataDestroyResults()))
+            {
+                if (result.getErrorMessage() != null)
+                {
+                    LOGGER.error("Failed to mark for destruction. Business object data {} errorMessage=\"{}\"",
+                        jsonHelper.objectToJson(result.getBusinessObjectDataKey()), result.getErrorMessage());
+                    failedCount.incrementAndGet();
+                }
+                else
+                {
+                    LOGGER.info("Successfully marked for destruction. Business object data {}", jsonHelper.objectToJson(result.getBusinessObjectDataKey()));
+                    succeededCount.incrementAndGet();
+                }
+            }
+
+            completeLineRange(bulkRequestFirstLineNumber, bulkRequestLastLineNumber);
+        }
+
+        /**
+         * Records a processed range of input file lines and advances the checkpoint over all the contiguous processed lines.
+         *
+         * @param rangeFirstLineNumber the first line number of the processed range
+         * @param rangeLastLineNumber  the last line number of the processed range
+         */
+        private synchronized void completeLineRange(int rangeFirstLineNumber, int rangeLastLineNumber)
+        {
+            completedLineRanges.put(rangeFirstLineNumber, rangeLastLineNumber);
+
+            int newCheckpointLineNumber = checkpointLineNumber;
+            while (completedLineRanges.containsKey(newCheckpointLineNumber + 1))
+            {
+                newCheckpointLineNumber = completedLineRanges.remove(newCheckpointLineNumber + 1);
+            }
+
+            if (newCheckpointLineNumber != checkpointLineNumber)
+            {
+                checkpointLineNumber = newCheckpointLineNumber;
+                writeCheckpoint();
+            }
+        }
+
+        /**
+         * Writes the current checkpoint line number to the checkpoint file, if one was specified.
+         */
+        private void writeCheckpoint()
+        {
+            if (checkpointFile != null)
+            {
+                try
+                {
+                    Files.write(checkpointFile.toPath(), String.valueOf(checkpointLineNumber).getBytes(StandardCharsets.UTF_8));
+                }
+                catch (IOException e)
+                {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+    }
 }
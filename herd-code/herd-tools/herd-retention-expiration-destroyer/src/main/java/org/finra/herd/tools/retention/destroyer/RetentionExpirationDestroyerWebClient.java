@@ -19,6 +19,7 @@ import java.net.URISyntaxException;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,8 @@ import org.springframework.stereotype.Component;
 import org.finra.herd.sdk.api.BusinessObjectDataApi;
 import org.finra.herd.sdk.invoker.ApiException;
 import org.finra.herd.sdk.model.BusinessObjectData;
+import org.finra.herd.sdk.model.BusinessObjectDataDestroyCollectionRequest;
+import org.finra.herd.sdk.model.BusinessObjectDataDestroyCollectionResponse;
 import org.finra.herd.sdk.model.BusinessObjectDataKey;
 import org.finra.herd.tools.common.ToolsDtoHelper;
 import org.finra.herd.tools.common.databridge.DataBridgeWebClient;
@@ -65,4 +68,34 @@ public class RetentionExpirationDestroyerWebClient extends DataBridgeWebClient
         LOGGER.info("Successfully destroyed business object data from the registration server.");
         return sdkResponse;
     }
+
+    /**
+     * Initiates destruction of a collection of business object data on the herd registration server using a single bulk request.
+     *
+     * @param businessObjectDataKeys the list of business object data keys
+     * @param batchMode flag to indicate if herd should use S3 Batch Operations to destroy the business object data
+     *
+     * @return the business object data destroy collection response with one destroy result per business object data key
+     *
+     * @throws ApiException if an Api exception was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    public BusinessObjectDataDestroyCollectionResponse destroyBusinessObjectDataCollection(List<BusinessObjectDataKey> businessObjectDataKeys, Boolean batchMode)
+        throws ApiException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        BusinessObjectDataApi businessObjectDataApi = new BusinessObjectDataApi(createApiClient(regServerAccessParamsDto));
+
+        BusinessObjectDataDestroyCollectionRequest request = new BusinessObjectDataDestroyCollectionRequest();
+        request.setBusinessObjectDataKeys(businessObjectDataKeys);
+        request.setBatchMode(batchMode);
+
+        LOGGER.info("Destroy {} business object data instances.", businessObjectDataKeys.size());
+        BusinessObjectDataDestroyCollectionResponse sdkResponse = businessObjectDataApi.businessObjectDataDestroyBusinessObjectDataCollection(request);
+
+        LOGGER.info("Successfully sent bulk destroy request to the registration server.");
+        return sdkResponse;
+    }
 }
@@ -156,6 +156,17 @@ public class RetentionExpirationDestroyerAppTest extends AbstractRetentionExpira
         environmentVariables.clear("HERD_PASSWORD");
     }
 
+    @Test
+    public void testParseCommandLineArgumentsInvalidBulkRequestSize() throws Exception
+    {
+        String[] arguments =
+            {"--localInputFile", LOCAL_INPUT_FILE, "--regServerHost", WEB_SERVICE_HOSTNAME, "--regServerPort", WEB_SERVICE_HTTPS_PORT.toString(), "--ssl",
+                "true", "--username", WEB_SERVICE_HTTPS_USERNAME, "--password", WEB_SERVICE_HTTPS_PASSWORD, "--bulkRequestSize", "101"};
+
+        // We are expecting this to fail with an IllegalArgumentException, since the size exceeds the server limit.
+        runApplicationAndCheckReturnValue(exporterApp, arguments, new IllegalArgumentException());
+    }
+
     @Test
     public void testParseCommandLineArgumentsInvalidRegServerPort() throws Exception
     {
@@ -168,6 +179,17 @@ public class RetentionExpirationDestroyerAppTest extends AbstractRetentionExpira
         runApplicationAndCheckReturnValue(exporterApp, arguments, new NumberFormatException());
     }
 
+    @Test
+    public void testParseCommandLineArgumentsInvalidThreads() throws Exception
+    {
+        String[] arguments =
+            {"--localInputFile", LOCAL_INPUT_FILE, "--regServerHost", WEB_SERVICE_HOSTNAME, "--regServerPort", WEB_SERVICE_HTTPS_PORT.toString(), "--ssl",
+                "true", "--username", WEB_SERVICE_HTTPS_USERNAME, "--password", WEB_SERVICE_HTTPS_PASSWORD, "--bulkRequestSize", "10", "--threads", "0"};
+
+        // We are expecting this to fail with an IllegalArgumentException.
+        runApplicationAndCheckReturnValue(exporterApp, arguments, new IllegalArgumentException());
+    }
+
     @Test
     public void testParseCommandLineArgumentsNone()
     {
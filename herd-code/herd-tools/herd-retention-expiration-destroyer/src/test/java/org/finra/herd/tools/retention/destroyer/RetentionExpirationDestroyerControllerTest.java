@@ -189,6 +189,33 @@ public class RetentionExpirationDestroyerControllerTest extends AbstractRetentio
         retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputExcelFileFile, regServerAccessParamsDto, false);
     }
 
+    @Test
+    public void testPerformRetentionExpirationDestructionBulk() throws Exception
+    {
+        // Create a local input Excel file.
+        File inputExcelFileFile = createLocalInputExcelFile();
+
+        // Create and initialize the registration server DTO.
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+
+        // Perform the retention expiration destruction using bulk requests of two keys sent by two threads.
+        File checkpointFile = new File(LOCAL_TEMP_PATH_INPUT.toFile(), "checkpoint.txt");
+        retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputExcelFileFile, regServerAccessParamsDto, false, 2, 2, checkpointFile);
+
+        // Validate that all three input lines got recorded in the checkpoint file.
+        assertEquals(3, retentionExpirationDestroyerController.readCheckpointLineNumber(checkpointFile));
+    }
+
+    @Test
+    public void testReadCheckpointLineNumberNoCheckpointFile() throws Exception
+    {
+        assertEquals(0, retentionExpirationDestroyerController.readCheckpointLineNumber(null));
+        assertEquals(0, retentionExpirationDestroyerController.readCheckpointLineNumber(new File(LOCAL_TEMP_PATH_INPUT.toFile(), "no-checkpoint.txt")));
+    }
+
     /**
      * Creates a local Excel file with a header and two business object data entries.
      *
@@ -48,6 +48,12 @@ public class RetentionExpirationExporterApp
 {
     static final String APPLICATION_NAME = "herd-retention-expiration-exporter-app";
 
+    private static final Integer PAGE_FETCH_THREADS_DEFAULT = 1;    // Default number of search result pages fetched in parallel.
+
+    private static final Integer PAGE_FETCH_THREADS_MIN = 1;        // Minimum number of search result pages fetched in parallel.
+
+    private static final Integer PAGE_FETCH_THREADS_MAX = 8;        // Maximum number of search result pages fetched in parallel.
+
     private static final Logger LOGGER = LoggerFactory.getLogger(RetentionExpirationExporterApp.class);
 
     protected Option accessTokenUrlOpt;
@@ -68,6 +74,8 @@ public class RetentionExpirationExporterApp
 
     private Option namespaceOpt;
 
+    private Integer pageFetchThreadCount;
+
     private Option passwordOpt;
 
     private Option regServerHostOpt;
@@ -168,7 +176,7 @@ public class RetentionExpirationExporterApp
         RetentionExpirationExporterController controller = applicationContext.getBean(RetentionExpirationExporterController.class);
         controller.performRetentionExpirationExport(argParser.getStringValue(namespaceOpt), argParser.getStringValue(businessObjectDefinitionNameOpt),
             startRegistrationDateTime, endRegistrationDateTime, argParser.getFileValue(localOutputFileOpt), regServerAccessParamsDto,
-            argParser.getStringValue(udcServerHostOpt));
+            argParser.getStringValue(udcServerHostOpt), pageFetchThreadCount);
 
         // No exceptions were returned so return success.
         return ToolsCommonConstants.ReturnValue.SUCCESS;
@@ -211,6 +219,9 @@ public class RetentionExpirationExporterApp
                 argParser.addArgument("C", "trustSelfSignedCertificate", true, "If set to true, makes HTTPS client trust self-signed certificate.", false);
             disableHostnameVerificationOpt =
                 argParser.addArgument("d", "disableHostnameVerification", true, "If set to true, turns off hostname verification.", false);
+            Option pageFetchThreadsOpt = argParser
+                .addArgument("t", "pageFetchThreads", true, "The number of search result pages to fetch from the registration server in parallel. Default: 1.",
+                    false);
             Option helpOpt = argParser.addArgument("h", "help", false, "Display usage information and exit.", false);
             Option versionOpt = argParser.addArgument("v", "version", false, "Display version information and exit.", false);
 
@@ -255,6 +266,7 @@ public class RetentionExpirationExporterApp
 
             // Extract all Integer option values here to catch any NumberFormatException exceptions.
             regServerPort = argParser.getIntegerValue(regServerPortOpt);
+            pageFetchThreadCount = argParser.getIntegerValue(pageFetchThreadsOpt, PAGE_FETCH_THREADS_DEFAULT, PAGE_FETCH_THREADS_MIN, PAGE_FETCH_THREADS_MAX);
 
             // Extract all date-time option values here to catch any IllegalArgumentException exceptions.
             startRegistrationDateTime = argParser.getDateTimeValue(startRegistrationDateTimeOpt);
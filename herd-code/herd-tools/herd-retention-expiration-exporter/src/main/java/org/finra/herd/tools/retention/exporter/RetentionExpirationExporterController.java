@@ -19,25 +19,29 @@ import static org.finra.herd.model.dto.ConfigurationValue.BUSINESS_OBJECT_DATA_S
 
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.xssf.usermodel.XSSFRow;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,6 +76,11 @@ class RetentionExpirationExporterController
             "Business Object Format Version", "Primary Partition Value", "Sub-Partition Value 1", "Sub-Partition Value 2", "Sub-Partition Value 3",
             "Sub-Partition Value 4", "Business Object Data Version");
 
+    /**
+     * The number of Excel rows kept in memory while writing the output file. Rows outside of this window get flushed to a temporary file.
+     */
+    private static final int EXCEL_ROW_ACCESS_WINDOW_SIZE = 100;
+
     @Autowired
     private RetentionExpirationExporterWebClient retentionExpirationExporterWebClient;
 
@@ -90,6 +99,29 @@ class RetentionExpirationExporterController
      */
     void performRetentionExpirationExport(String namespace, String businessObjectDefinitionName, DateTime startRegistrationDateTime,
         DateTime endRegistrationDateTime, File localOutputFile, RegServerAccessParamsDto regServerAccessParamsDto, String udcServerHost) throws Exception
+    {
+        performRetentionExpirationExport(namespace, businessObjectDefinitionName, startRegistrationDateTime, endRegistrationDateTime, localOutputFile,
+            regServerAccessParamsDto, udcServerHost, 1);
+    }
+
+    /**
+     * Executes the retention expiration exporter workflow. The business object data search results are fetched page by page and written to the output Excel
+     * file as they arrive, so the memory used by the exporter does not depend on the number of exported business object data.
+     *
+     * @param namespace the namespace of business object data
+     * @param businessObjectDefinitionName the business object definition name of business object data
+     * @param startRegistrationDateTime the start date-time for the registration date-time range
+     * @param endRegistrationDateTime the end date-time for the registration date-time range
+     * @param localOutputFile the local output file
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the registration server
+     * @param udcServerHost the hostname of the UDC application server
+     * @param pageFetchThreadCount the number of search result pages to fetch from the registration server in parallel
+     *
+     * @throws Exception if any problems were encountered
+     */
+    void performRetentionExpirationExport(String namespace, String businessObjectDefinitionName, DateTime startRegistrationDateTime,
+        DateTime endRegistrationDateTime, File localOutputFile, RegServerAccessParamsDto regServerAccessParamsDto, String udcServerHost,
+        int pageFetchThreadCount) throws Exception
     {
         // Fail if local output file already exists.
         if (localOutputFile.exists())
@@ -126,239 +158,272 @@ class RetentionExpirationExporterController
         BusinessObjectDataSearchRequest request = new BusinessObjectDataSearchRequest();
         request.setBusinessObjectDataSearchFilters(Collections.singletonList(businessObjectDataSearchFilter));
 
-        // Create a result list for business object data.
-        List<BusinessObjectData> businessObjectDataList = new ArrayList<>();
-
         // Use maximum allowed page size as defined in the application server side code as the page size when extracting the data from the application server.
         Integer pageSize = (Integer) BUSINESS_OBJECT_DATA_SEARCH_MAX_PAGE_SIZE.getDefaultValue();
 
-        // Fetch business object data from server until no records found.
-        Integer pageNumber = 1;
-        BusinessObjectDataSearchResult businessObjectDataSearchResult =
-            retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber, pageSize);
-        while (CollectionUtils.isNotEmpty(businessObjectDataSearchResult.getBusinessObjectDataElements()))
-        {
-            LOGGER.info("Fetched {} business object data records from the registration server.",
-                CollectionUtils.size(businessObjectDataSearchResult.getBusinessObjectDataElements()));
-            businessObjectDataList.addAll(businessObjectDataSearchResult.getBusinessObjectDataElements());
-            pageNumber++;
-            businessObjectDataSearchResult = retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber, pageSize);
-        }
-
-        // Extract all unique formats from list of BData
-        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> aggregateStats = getAggregateStats(businessObjectDataList);
-
         // Create business object definition URI.
         String businessObjectDefinitionUdcUri = getBusinessObjectDefinitionUdcUri(udcServerHost, namespace, businessObjectDefinitionName);
 
-        // Write all information to an Excel file.
-        writeToExcelFile(localOutputFile, aggregateStats, startRegistrationDateTime, endRegistrationDateTime, businessObjectDefinitionDisplayName,
-            businessObjectDefinitionUdcUri, businessObjectDataList);
-    }
-
-    /**
-     * Computes business object format version aggregate stats from the list of business object data.
-     *
-     * @param businessObjectDataList the list of business object data
-     *
-     * @return the business object format version aggregate stats
-     */
-    Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> getAggregateStats(List<BusinessObjectData> businessObjectDataList)
-    {
-        // Extract all unique formats from list of BData
-        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> aggregateStats = new LinkedHashMap<>();
-
-        for (BusinessObjectData businessObjectData : businessObjectDataList)
+        // Create a streaming workbook. The summary sheet is created first, so it comes first in the output file, but it gets populated only after all
+        // business object data are written, since it needs the aggregate stats.
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_ACCESS_WINDOW_SIZE);
+        ExecutorService executorService = Executors.newFixedThreadPool(pageFetchThreadCount);
+        try
         {
-            // Get business object format key from business object data
-            BusinessObjectFormatKey businessObjectFormatKey = new BusinessObjectFormatKey();
-            businessObjectFormatKey.setNamespace(businessObjectData.getNamespace());
-            businessObjectFormatKey.setBusinessObjectDefinitionName(businessObjectData.getBusinessObjectDefinitionName());
-            businessObjectFormatKey.setBusinessObjectFormatUsage(businessObjectData.getBusinessObjectFormatUsage());
-            businessObjectFormatKey.setBusinessObjectFormatFileType(businessObjectData.getBusinessObjectFormatFileType());
-            businessObjectFormatKey.setBusinessObjectFormatVersion(businessObjectData.getBusinessObjectFormatVersion());
-
-            // If business object data has createdOn value defined, convert to XMLGregorianCalendar value.
-            XMLGregorianCalendar createdOnXmlGregorianCalendar =
-                businessObjectData.getCreatedOn() == null ? null : HerdDateUtils.getXMLGregorianCalendarValue(businessObjectData.getCreatedOn().toDate());
-
-            // Add business object format key to the map if it is not there.
-            if (!aggregateStats.containsKey(businessObjectFormatKey))
+            SXSSFSheet summarySheet = workbook.createSheet("Summary");
+            summarySheet.trackAllColumnsForAutoSizing();
+            SXSSFSheet detailSheet = workbook.createSheet("Business Object Data");
+            detailSheet.trackAllColumnsForAutoSizing();
+
+            // Write detailed headers.
+            int businessObjectDataRowNum = 0;
+            writeExcelRow(detailSheet, businessObjectDataRowNum++, BUSINESS_OBJECT_DATA_HEADERS);
+
+            // Fetch business object data from server until no records found. Up to the specified number of pages are requested ahead of the page being
+            // written, so the pages are fetched in parallel but written in order.
+            Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> aggregateStats = new LinkedHashMap<>();
+            Deque<Future<BusinessObjectDataSearchResult>> pendingPages = new ArrayDeque<>();
+            int nextPageNumber = 1;
+            while (nextPageNumber <= pageFetchThreadCount)
             {
-                // Initialize aggregate stats dto with first business object data for this business object format version.
-                // Please note that createdOn value will be null if start/end registration date time are not specified.
-                RetentionExpirationExporterAggregateStatsDto retentionExpirationExporterAggregateStatsDto =
-                    new RetentionExpirationExporterAggregateStatsDto(businessObjectData.getPartitionValue(), businessObjectData.getPartitionValue(), 1,
-                        createdOnXmlGregorianCalendar, createdOnXmlGregorianCalendar);
-                aggregateStats.put(businessObjectFormatKey, retentionExpirationExporterAggregateStatsDto);
+                pendingPages.add(submitBusinessObjectDataSearch(executorService, request, nextPageNumber++, pageSize));
             }
-            // If business object format key exists, update the aggregate stats.
-            else
+            while (!pendingPages.isEmpty())
             {
-                // Get retention expiration exporter aggregate stats dto.
-                RetentionExpirationExporterAggregateStatsDto retentionExpirationExporterAggregateStatsDto = aggregateStats.get(businessObjectFormatKey);
-
-                // Update min primary partition value.
-                if (StringUtils.compare(retentionExpirationExporterAggregateStatsDto.getMinPrimaryPartitionValue(), businessObjectData.getPartitionValue()) > 0)
+                BusinessObjectDataSearchResult businessObjectDataSearchResult = getBusinessObjectDataSearchResult(pendingPages.poll());
+                if (CollectionUtils.isEmpty(businessObjectDataSearchResult.getBusinessObjectDataElements()))
                 {
-                    retentionExpirationExporterAggregateStatsDto.setMinPrimaryPartitionValue(businessObjectData.getPartitionValue());
+                    break;
                 }
 
-                // Update max primary partition value.
-                if (StringUtils.compare(retentionExpirationExporterAggregateStatsDto.getMaxPrimaryPartitionValue(), businessObjectData.getPartitionValue()) < 0)
+                LOGGER.info("Fetched {} business object data records from the registration server.",
+                    CollectionUtils.size(businessObjectDataSearchResult.getBusinessObjectDataElements()));
+                pendingPages.add(submitBusinessObjectDataSearch(executorService, request, nextPageNumber++, pageSize));
+
+                // Write detailed information for each business object data and update the aggregate stats.
+                for (BusinessObjectData businessObjectData : businessObjectDataSearchResult.getBusinessObjectDataElements())
                 {
-                    retentionExpirationExporterAggregateStatsDto.setMaxPrimaryPartitionValue(businessObjectData.getPartitionValue());
+                    updateAggregateStats(aggregateStats, businessObjectData);
+                    writeExcelRow(detailSheet, businessObjectDataRowNum++, getBusinessObjectDataRow(businessObjectData));
                 }
+            }
 
-                // Update count.
-                retentionExpirationExporterAggregateStatsDto.setCount(retentionExpirationExporterAggregateStatsDto.getCount() + 1);
+            // Write summary headers and aggregate stat for each business object format version.
+            int summaryRowNum = 0;
+            writeExcelRow(summarySheet, summaryRowNum++, SUMMARY_HEADERS);
+            for (Map.Entry<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> entry : aggregateStats.entrySet())
+            {
+                writeExcelRow(summarySheet, summaryRowNum++,
+                    getAggregateStatsRow(entry.getKey(), entry.getValue(), startRegistrationDateTime, endRegistrationDateTime,
+                        businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri));
+            }
 
-                // Update oldest and latest registration date time, if business object data has createdOn value specified.
-                if (createdOnXmlGregorianCalendar != null)
-                {
-                    // Update oldest registration date time, if it is not set yet or business object data has an older createdOn value.
-                    if (retentionExpirationExporterAggregateStatsDto.getOldestRegistrationDateTime() == null ||
-                        retentionExpirationExporterAggregateStatsDto.getOldestRegistrationDateTime().compare(createdOnXmlGregorianCalendar) > 0)
-                    {
-                        retentionExpirationExporterAggregateStatsDto.setOldestRegistrationDateTime(createdOnXmlGregorianCalendar);
-                    }
-
-                    // Update latest registration date time, if it is not set yet or business object data has a newer createdOn value.
-                    if (retentionExpirationExporterAggregateStatsDto.getLatestRegistrationDateTime() == null ||
-                        retentionExpirationExporterAggregateStatsDto.getLatestRegistrationDateTime().compare(createdOnXmlGregorianCalendar) < 0)
-                    {
-                        retentionExpirationExporterAggregateStatsDto.setLatestRegistrationDateTime(createdOnXmlGregorianCalendar);
-                    }
-                }
+            // Autosize both sheets.
+            for (int columnIndex = 0; columnIndex < SUMMARY_HEADERS.size(); columnIndex++)
+            {
+                summarySheet.autoSizeColumn(columnIndex);
+            }
+            for (int columnIndex = 0; columnIndex < BUSINESS_OBJECT_DATA_HEADERS.size(); columnIndex++)
+            {
+                detailSheet.autoSizeColumn(columnIndex);
             }
+
+            // Write the workbook to local.
+            try (FileOutputStream out = new FileOutputStream(localOutputFile))
+            {
+                workbook.write(out);
+            }
+
+            LOGGER.info("Exported {} business object data records to \"{}\".", businessObjectDataRowNum - 1, localOutputFile.toString());
         }
+        finally
+        {
+            executorService.shutdownNow();
 
-        return aggregateStats;
+            // Delete the temporary files backing the streaming workbook.
+            workbook.dispose();
+            workbook.close();
+        }
     }
 
     /**
-     * Writes business object data to the excel file.
-     *
-     * @param localOutputFile                     the file to write
-     * @param aggregateStats                      the business object format version aggregate stats
-     * @param startRegistrationDateTime           the start registration date time
-     * @param endRegistrationDateTime             the end registration date time
-     * @param businessObjectDefinitionDisplayName the display name of the business object definition
-     * @param businessObjectDefinitionUdcUri      the business object definition UDC URI
-     * @param businessObjectDataList              the business object data list
+     * Updates business object format version aggregate stats with a single business object data.
      *
-     * @throws IOException if any problems were encountered
+     * @param aggregateStats the business object format version aggregate stats
+     * @param businessObjectData the business object data
      */
-    private void writeToExcelFile(File localOutputFile, Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> aggregateStats,
-        DateTime startRegistrationDateTime, DateTime endRegistrationDateTime, String businessObjectDefinitionDisplayName, String businessObjectDefinitionUdcUri,
-        List<BusinessObjectData> businessObjectDataList) throws IOException
+    void updateAggregateStats(Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> aggregateStats,
+        BusinessObjectData businessObjectData)
     {
-        // Create xssf workbook.
-        XSSFWorkbook workbook = new XSSFWorkbook();
-
-        // Create summary sheet.
-        XSSFSheet summarySheet = workbook.createSheet("Summary");
-
-        // Initialize row number.
-        int summaryRowNum = 0;
-
-        // Write summary headers.
-        XSSFRow summaryHeaders = summarySheet.createRow(summaryRowNum++);
-        int summaryCellIdx = 0;
-        for (String header : SUMMARY_HEADERS)
+        // Get business object format key from business object data
+        BusinessObjectFormatKey businessObjectFormatKey = new BusinessObjectFormatKey();
+        businessObjectFormatKey.setNamespace(businessObjectData.getNamespace());
+        businessObjectFormatKey.setBusinessObjectDefinitionName(businessObjectData.getBusinessObjectDefinitionName());
+        businessObjectFormatKey.setBusinessObjectFormatUsage(businessObjectData.getBusinessObjectFormatUsage());
+        businessObjectFormatKey.setBusinessObjectFormatFileType(businessObjectData.getBusinessObjectFormatFileType());
+        businessObjectFormatKey.setBusinessObjectFormatVersion(businessObjectData.getBusinessObjectFormatVersion());
+
+        // If business object data has createdOn value defined, convert to XMLGregorianCalendar value.
+        XMLGregorianCalendar createdOnXmlGregorianCalendar =
+            businessObjectData.getCreatedOn() == null ? null : HerdDateUtils.getXMLGregorianCalendarValue(businessObjectData.getCreatedOn().toDate());
+
+        // Add business object format key to the map if it is not there.
+        if (!aggregateStats.containsKey(businessObjectFormatKey))
         {
-            Cell cell = summaryHeaders.createCell(summaryCellIdx++);
-            cell.setCellValue(header);
+            // Initialize aggregate stats dto with first business object data for this business object format version.
+            // Please note that createdOn value will be null if start/end registration date time are not specified.
+            RetentionExpirationExporterAggregateStatsDto retentionExpirationExporterAggregateStatsDto =
+                new RetentionExpirationExporterAggregateStatsDto(businessObjectData.getPartitionValue(), businessObjectData.getPartitionValue(), 1,
+                    createdOnXmlGregorianCalendar, createdOnXmlGregorianCalendar);
+            aggregateStats.put(businessObjectFormatKey, retentionExpirationExporterAggregateStatsDto);
         }
-
-        // Write aggregate stat for each business object format version.
-        for (BusinessObjectFormatKey businessObjectFormatKey : aggregateStats.keySet())
+        // If business object format key exists, update the aggregate stats.
+        else
         {
-            XSSFRow summaryContents = summarySheet.createRow(summaryRowNum++);
+            // Get retention expiration exporter aggregate stats dto.
             RetentionExpirationExporterAggregateStatsDto retentionExpirationExporterAggregateStatsDto = aggregateStats.get(businessObjectFormatKey);
-            List<String> aggragateStatsRow = new ArrayList<>(Arrays
-                .asList(businessObjectFormatKey.getNamespace(), businessObjectFormatKey.getBusinessObjectDefinitionName(),
-                    businessObjectFormatKey.getBusinessObjectFormatUsage(), businessObjectFormatKey.getBusinessObjectFormatFileType(),
-                    businessObjectFormatKey.getBusinessObjectFormatVersion().toString(),
-                    retentionExpirationExporterAggregateStatsDto.getMinPrimaryPartitionValue() == null ? "" :
-                        retentionExpirationExporterAggregateStatsDto.getMinPrimaryPartitionValue(),
-                    retentionExpirationExporterAggregateStatsDto.getMaxPrimaryPartitionValue() == null ? "" :
-                        retentionExpirationExporterAggregateStatsDto.getMaxPrimaryPartitionValue(),
-                    retentionExpirationExporterAggregateStatsDto.getCount().toString(),
-                    startRegistrationDateTime == null ? "" : startRegistrationDateTime.toString(),
-                    endRegistrationDateTime == null ? "" : endRegistrationDateTime.toString(),
-                    retentionExpirationExporterAggregateStatsDto.getOldestRegistrationDateTime() == null ? "" :
-                        retentionExpirationExporterAggregateStatsDto.getOldestRegistrationDateTime().toString(),
-                    retentionExpirationExporterAggregateStatsDto.getLatestRegistrationDateTime() == null ? "" :
-                        retentionExpirationExporterAggregateStatsDto.getLatestRegistrationDateTime().toString(), businessObjectDefinitionDisplayName,
-                    businessObjectDefinitionUdcUri));
-
-            // Write value to each cell.
-            summaryCellIdx = 0;
-            for (String aggragateStatsCell : aggragateStatsRow)
+
+            // Update min primary partition value.
+            if (StringUtils.compare(retentionExpirationExporterAggregateStatsDto.getMinPrimaryPartitionValue(), businessObjectData.getPartitionValue()) > 0)
             {
-                Cell cell = summaryContents.createCell(summaryCellIdx++);
-                cell.setCellValue(aggragateStatsCell);
+                retentionExpirationExporterAggregateStatsDto.setMinPrimaryPartitionValue(businessObjectData.getPartitionValue());
             }
-        }
-
-        // Autosize the summary sheet.
-        for (int columnIndex = 0; columnIndex < SUMMARY_HEADERS.size(); columnIndex++)
-        {
-            summarySheet.autoSizeColumn(columnIndex);
-        }
-
-        // Create business object data sheet.
-        XSSFSheet detailSheet = workbook.createSheet("Business Object Data");
 
-        // Initialize row number.
-        int businessObjectDataRowNum = 0;
+            // Update max primary partition value.
+            if (StringUtils.compare(retentionExpirationExporterAggregateStatsDto.getMaxPrimaryPartitionValue(), businessObjectData.getPartitionValue()) < 0)
+            {
+                retentionExpirationExporterAggregateStatsDto.setMaxPrimaryPartitionValue(businessObjectData.getPartitionValue());
+            }
 
-        // Write detailed headers.
-        XSSFRow detailHeaders = detailSheet.createRow(businessObjectDataRowNum++);
-        int detailCellIndex = 0;
-        for (String header : BUSINESS_OBJECT_DATA_HEADERS)
-        {
-            Cell cell = detailHeaders.createCell(detailCellIndex++);
-            cell.setCellValue(header);
-        }
+            // Update count.
+            retentionExpirationExporterAggregateStatsDto.setCount(retentionExpirationExporterAggregateStatsDto.getCount() + 1);
 
-        // Write detailed information for each business object data.
-        for (BusinessObjectData businessObjectData : businessObjectDataList)
-        {
-            XSSFRow detailContents = detailSheet.createRow(businessObjectDataRowNum++);
-            int subPartitionsCount = CollectionUtils.size(businessObjectData.getSubPartitionValues());
-            List<String> businessObjectDataRow = Arrays.asList(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
-                businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(),
-                Integer.toString(businessObjectData.getBusinessObjectFormatVersion()), businessObjectData.getPartitionValue(),
-                subPartitionsCount > 0 ? businessObjectData.getSubPartitionValues().get(0) : "",
-                subPartitionsCount > 1 ? businessObjectData.getSubPartitionValues().get(1) : "",
-                subPartitionsCount > 2 ? businessObjectData.getSubPartitionValues().get(2) : "",
-                subPartitionsCount > 3 ? businessObjectData.getSubPartitionValues().get(3) : "", Integer.toString(businessObjectData.getVersion()));
-
-            // Write value to each cell.
-            detailCellIndex = 0;
-            for (String businessObjectDataCell : businessObjectDataRow)
+            // Update oldest and latest registration date time, if business object data has createdOn value specified.
+            if (createdOnXmlGregorianCalendar != null)
             {
-                Cell cell = detailContents.createCell(detailCellIndex++);
-                cell.setCellValue(businessObjectDataCell);
+                // Update oldest registration date time, if it is not set yet or business object data has an older createdOn value.
+                if (retentionExpirationExporterAggregateStatsDto.getOldestRegistrationDateTime() == null ||
+                    retentionExpirationExporterAggregateStatsDto.getOldestRegistrationDateTime().compare(createdOnXmlGregorianCalendar) > 0)
+                {
+                    retentionExpirationExporterAggregateStatsDto.setOldestRegistrationDateTime(createdOnXmlGregorianCalendar);
+                }
+
+                // Update latest registration date time, if it is not set yet or business object data has a newer createdOn value.
+                if (retentionExpirationExporterAggregateStatsDto.getLatestRegistrationDateTime() == null ||
+                    retentionExpirationExporterAggregateStatsDto.getLatestRegistrationDateTime().compare(createdOnXmlGregorianCalendar) < 0)
+                {
+                    retentionExpirationExporterAggregateStatsDto.setLatestRegistrationDateTime(createdOnXmlGregorianCalendar);
+                }
             }
         }
+    }
+
+    /**
+     * Builds the summary sheet row for a business object format version.
+     *
+     * @param businessObjectFormatKey the business object format key
+     * @param retentionExpirationExporterAggregateStatsDto the business object format version aggregate stats
+     * @param startRegistrationDateTime the start registration date time
+     * @param endRegistrationDateTime the end registration date time
+     * @param businessObjectDefinitionDisplayName the display name of the business object definition
+     * @param businessObjectDefinitionUdcUri the business object definition UDC URI
+     *
+     * @return the list of cell values
+     */
+    private List<String> getAggregateStatsRow(BusinessObjectFormatKey businessObjectFormatKey,
+        RetentionExpirationExporterAggregateStatsDto retentionExpirationExporterAggregateStatsDto, DateTime startRegistrationDateTime,
+        DateTime endRegistrationDateTime, String businessObjectDefinitionDisplayName, String businessObjectDefinitionUdcUri)
+    {
+        return Arrays.asList(businessObjectFormatKey.getNamespace(), businessObjectFormatKey.getBusinessObjectDefinitionName(),
+            businessObjectFormatKey.getBusinessObjectFormatUsage(), businessObjectFormatKey.getBusinessObjectFormatFileType(),
+            businessObjectFormatKey.getBusinessObjectFormatVersion().toString(),
+            retentionExpirationExporterAggregateStatsDto.getMinPrimaryPartitionValue() == null ? "" :
+                retentionExpirationExporterAggregateStatsDto.getMinPrimaryPartitionValue(),
+            retentionExpirationExporterAggregateStatsDto.getMaxPrimaryPartitionValue() == null ? "" :
+                retentionExpirationExporterAggregateStatsDto.getMaxPrimaryPartitionValue(), retentionExpirationExporterAggregateStatsDto.getCount().toString(),
+            startRegistrationDateTime == null ? "" : startRegistrationDateTime.toString(),
+            endRegistrationDateTime == null ? "" : endRegistrationDateTime.toString(),
+            retentionExpirationExporterAggregateStatsDto.getOldestRegistrationDateTime() == null ? "" :
+                retentionExpirationExporterAggregateStatsDto.getOldestRegistrationDateTime().toString(),
+            retentionExpirationExporterAggregateStatsDto.getLatestRegistrationDateTime() == null ? "" :
+                retentionExpirationExporterAggregateStatsDto.getLatestRegistrationDateTime().toString(), businessObjectDefinitionDisplayName,
+            businessObjectDefinitionUdcUri);
+    }
+
+    /**
+     * Builds the business object data sheet row for a business object data.
+     *
+     * @param businessObjectData the business object data
+     *
+     * @return the list of cell values
+     */
+    private List<String> getBusinessObjectDataRow(BusinessObjectData businessObjectData)
+    {
+        int subPartitionsCount = CollectionUtils.size(businessObjectData.getSubPartitionValues());
+        return Arrays.asList(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
+            businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(),
+            Integer.toString(businessObjectData.getBusinessObjectFormatVersion()), businessObjectData.getPartitionValue(),
+            subPartitionsCount > 0 ? businessObjectData.getSubPartitionValues().get(0) : "",
+            subPartitionsCount > 1 ? businessObjectData.getSubPartitionValues().get(1) : "",
+            subPartitionsCount > 2 ? businessObjectData.getSubPartitionValues().get(2) : "",
+            subPartitionsCount > 3 ? businessObjectData.getSubPartitionValues().get(3) : "", Integer.toString(businessObjectData.getVersion()));
+    }
 
-        // Autosize the business object data sheet.
-        for (int columnIndex = 0; columnIndex < BUSINESS_OBJECT_DATA_HEADERS.size(); columnIndex++)
+    /**
+     * Writes a row of string values to the specified Excel sheet.
+     *
+     * @param sheet the Excel sheet
+     * @param rowNum the row number
+     * @param values the cell values
+     */
+    private void writeExcelRow(SXSSFSheet sheet, int rowNum, List<String> values)
+    {
+        Row row = sheet.createRow(rowNum);
+        int cellIndex = 0;
+        for (String value : values)
         {
-            detailSheet.autoSizeColumn(columnIndex);
+            row.createCell(cellIndex++).setCellValue(value);
         }
+    }
 
-        // Write the workbook to local.
-        try (FileOutputStream out = new FileOutputStream(localOutputFile))
+    /**
+     * Submits a business object data search request for the specified page to the executor service.
+     *
+     * @param executorService the executor service
+     * @param request the business object data search request
+     * @param pageNumber the page number
+     * @param pageSize the page size
+     *
+     * @return the future for the business object data search result
+     */
+    private Future<BusinessObjectDataSearchResult> submitBusinessObjectDataSearch(ExecutorService executorService, BusinessObjectDataSearchRequest request,
+        int pageNumber, int pageSize)
+    {
+        return executorService.submit(() -> retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber, pageSize));
+    }
+
+    /**
+     * Waits for a business object data search to complete and returns its result.
+     *
+     * @param future the future for the business object data search result
+     *
+     * @return the business object data search result
+     * @throws Exception if the business object data search failed
+     */
+    private BusinessObjectDataSearchResult getBusinessObjectDataSearchResult(Future<BusinessObjectDataSearchResult> future) throws Exception
+    {
+        try
         {
-            workbook.write(out);
+            return future.get();
         }
-        finally
+        catch (ExecutionException e)
         {
-            workbook.close();
+            // Rethrow the original exception thrown by the web client.
+            if (e.getCause() instanceof Exception)
+            {
+                throw (Exception) e.getCause();
+            }
+            throw e;
         }
     }
 
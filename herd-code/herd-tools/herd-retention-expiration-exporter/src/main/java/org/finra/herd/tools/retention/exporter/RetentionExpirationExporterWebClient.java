@@ -91,7 +91,7 @@ class RetentionExpirationExporterWebClient extends DataBridgeWebClient
 
         BusinessObjectDataApi businessObjectDataApi = new BusinessObjectDataApi(createApiClient(regServerAccessParamsDto));
         BusinessObjectDataSearchResult sdkResponse =
-            businessObjectDataApi.businessObjectDataSearchBusinessObjectData(businessObjectDataSearchRequest, pageNum, pageSize);
+            businessObjectDataApi.businessObjectDataSearchBusinessObjectData(businessObjectDataSearchRequest, pageNum, pageSize, null);
 
         LOGGER.info("Successfully received search business object data response from the registration server.");
         return sdkResponse;
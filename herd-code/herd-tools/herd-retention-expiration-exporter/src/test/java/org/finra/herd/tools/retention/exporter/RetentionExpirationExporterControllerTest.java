@@ -189,6 +189,37 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
         assertEquals(expectedOutputContents, outputContents);
     }
 
+    @Test
+    public void testPerformRetentionExpirationExportParallelPageFetch() throws Exception
+    {
+        File outputFile = new File(LOCAL_EXCEL_OUTPUT_FILE);
+
+        // Create and initialize the registration server DTO.
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+
+        // Perform the retention expiration export fetching three search result pages in parallel.
+        retentionExpirationExporterController
+            .performRetentionExpirationExport(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME, NO_REGISTRATION_DATE_TIME, NO_REGISTRATION_DATE_TIME, outputFile,
+                regServerAccessParamsDto, UDC_SERVICE_HOSTNAME, 3);
+
+        // Get the output Excel file.
+        XSSFWorkbook workbook = new XSSFWorkbook(outputFile);
+
+        // Validate that the summary sheet has one aggregate stats row with the count of all exported business object data.
+        XSSFSheet summarySheet = workbook.getSheetAt(0);
+        assertEquals(1, summarySheet.getLastRowNum());
+        assertEquals("2", summarySheet.getRow(1).getCell(7).getStringCellValue());
+
+        // Validate that the business object data sheet has a header and both business object data rows from the first page only.
+        XSSFSheet dataSheet = workbook.getSheetAt(1);
+        assertEquals(2, dataSheet.getLastRowNum());
+        assertEquals("subPartitionValue1", dataSheet.getRow(1).getCell(6).getStringCellValue());
+        assertEquals("", dataSheet.getRow(2).getCell(6).getStringCellValue());
+    }
+
     @Test
     public void testPerformRetentionExpirationExportWithRegistrationDateTimeRange() throws Exception
     {
@@ -275,7 +306,7 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
     }
 
     @Test
-    public void testGetAggregateStats()
+    public void testUpdateAggregateStats()
     {
         // Create a list of business object data.
         BusinessObjectData businessObjectData = new BusinessObjectData();
@@ -286,9 +317,10 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
 
         List<BusinessObjectData> businessObjectDataList = Arrays.asList(businessObjectData);
 
-        // Call the method under test.
-        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results =
-            retentionExpirationExporterController.getAggregateStats(businessObjectDataList);
+        // Call the method under test for each business object data, as done while the search results are streamed.
+        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results = new LinkedHashMap<>();
+        businessObjectDataList
+            .forEach(businessObjectDataElement -> retentionExpirationExporterController.updateAggregateStats(results, businessObjectDataElement));
 
         // Create expected result map.
         Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> expectedResults = new LinkedHashMap<>();
@@ -309,7 +341,7 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
     }
 
     @Test
-    public void testGetAggregateStatsMinMaxPartitionValue()
+    public void testUpdateAggregateStatsMinMaxPartitionValue()
     {
         // Create a list of business object data.
         BusinessObjectData businessObjectData1 = new BusinessObjectData();
@@ -335,9 +367,10 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
 
         List<BusinessObjectData> businessObjectDataList = Arrays.asList(businessObjectData1, businessObjectData2, businessObjectData3);
 
-        // Call the method under test.
-        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results =
-            retentionExpirationExporterController.getAggregateStats(businessObjectDataList);
+        // Call the method under test for each business object data, as done while the search results are streamed.
+        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results = new LinkedHashMap<>();
+        businessObjectDataList
+            .forEach(businessObjectDataElement -> retentionExpirationExporterController.updateAggregateStats(results, businessObjectDataElement));
 
         // Create expected result map.
         Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> expectedResults = new LinkedHashMap<>();
@@ -368,7 +401,7 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
     }
 
     @Test
-    public void testGetAggregateStatsEqualPartitionValue()
+    public void testUpdateAggregateStatsEqualPartitionValue()
     {
         // Create a list of business object data.
         BusinessObjectData businessObjectData1 = new BusinessObjectData();
@@ -387,9 +420,10 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
 
         List<BusinessObjectData> businessObjectDataList = Arrays.asList(businessObjectData1, businessObjectData2);
 
-        // Call the method under test.
-        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results =
-            retentionExpirationExporterController.getAggregateStats(businessObjectDataList);
+        // Call the method under test for each business object data, as done while the search results are streamed.
+        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results = new LinkedHashMap<>();
+        businessObjectDataList
+            .forEach(businessObjectDataElement -> retentionExpirationExporterController.updateAggregateStats(results, businessObjectDataElement));
 
         // Create expected result map.
         Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> expectedResults = new LinkedHashMap<>();
@@ -410,7 +444,7 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
     }
 
     @Test
-    public void testGetAggregateStatsMultipleFormatVersion()
+    public void testUpdateAggregateStatsMultipleFormatVersion()
     {
         // Create a list of business object data.
         BusinessObjectData businessObjectData1 = new BusinessObjectData();
@@ -429,9 +463,10 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
 
         List<BusinessObjectData> businessObjectDataList = Arrays.asList(businessObjectData1, businessObjectData2);
 
-        // Call the method under test.
-        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results =
-            retentionExpirationExporterController.getAggregateStats(businessObjectDataList);
+        // Call the method under test for each business object data, as done while the search results are streamed.
+        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results = new LinkedHashMap<>();
+        businessObjectDataList
+            .forEach(businessObjectDataElement -> retentionExpirationExporterController.updateAggregateStats(results, businessObjectDataElement));
 
         // Create expected result map.
         Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> expectedResults = new LinkedHashMap<>();
@@ -464,14 +499,15 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
     }
 
     @Test
-    public void testGetAggregateStatsEmptyDataList()
+    public void testUpdateAggregateStatsEmptyDataList()
     {
         // Create a list of business object data.
         List<BusinessObjectData> businessObjectDataList = new ArrayList<>();
 
-        // Call the method under test.
-        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results =
-            retentionExpirationExporterController.getAggregateStats(businessObjectDataList);
+        // Call the method under test for each business object data, as done while the search results are streamed.
+        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results = new LinkedHashMap<>();
+        businessObjectDataList
+            .forEach(businessObjectDataElement -> retentionExpirationExporterController.updateAggregateStats(results, businessObjectDataElement));
 
         // Create expected result map.
         Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> expectedResults = new LinkedHashMap<>();
@@ -481,7 +517,7 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
     }
 
     @Test
-    public void testGetAggregateStatsRegistrationDateTime()
+    public void testUpdateAggregateStatsRegistrationDateTime()
     {
         // Create a list of business object data.
         BusinessObjectData businessObjectData1 = new BusinessObjectData();
@@ -500,9 +536,10 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
 
         List<BusinessObjectData> businessObjectDataList = Arrays.asList(businessObjectData1, businessObjectData2);
 
-        // Call the method under test.
-        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results =
-            retentionExpirationExporterController.getAggregateStats(businessObjectDataList);
+        // Call the method under test for each business object data, as done while the search results are streamed.
+        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results = new LinkedHashMap<>();
+        businessObjectDataList
+            .forEach(businessObjectDataElement -> retentionExpirationExporterController.updateAggregateStats(results, businessObjectDataElement));
 
         // Create expected result map.
         Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> expectedResults = new LinkedHashMap<>();
@@ -524,7 +561,7 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
     }
 
     @Test
-    public void testGetAggregateStatsEqualRegistrationDateTime()
+    public void testUpdateAggregateStatsEqualRegistrationDateTime()
     {
         // Create a list of business object data.
         BusinessObjectData businessObjectData1 = new BusinessObjectData();
@@ -543,9 +580,10 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
 
         List<BusinessObjectData> businessObjectDataList = Arrays.asList(businessObjectData1, businessObjectData2);
 
-        // Call the method under test.
-        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results =
-            retentionExpirationExporterController.getAggregateStats(businessObjectDataList);
+        // Call the method under test for each business object data, as done while the search results are streamed.
+        Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> results = new LinkedHashMap<>();
+        businessObjectDataList
+            .forEach(businessObjectDataElement -> retentionExpirationExporterController.updateAggregateStats(results, businessObjectDataElement));
 
         // Create expected result map.
         Map<BusinessObjectFormatKey, RetentionExpirationExporterAggregateStatsDto> expectedResults = new LinkedHashMap<>();
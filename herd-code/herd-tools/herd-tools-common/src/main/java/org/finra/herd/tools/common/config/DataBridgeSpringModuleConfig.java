@@ -23,9 +23,11 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.core.helper.MethodMetricsHelper;
 import org.finra.herd.dao.AwsS3ClientFactory;
 import org.finra.herd.dao.RetryPolicyFactory;
 import org.finra.herd.dao.S3Dao;
+import org.finra.herd.dao.S3TransferExecutorFactory;
 import org.finra.herd.dao.SimpleExponentialBackoffStrategy;
 import org.finra.herd.dao.StsDao;
 import org.finra.herd.dao.helper.AwsHelper;
@@ -121,6 +123,12 @@ public class DataBridgeSpringModuleConfig
         return new JsonHelper();
     }
 
+    @Bean
+    public MethodMetricsHelper methodMetricsHelper()
+    {
+        return new MethodMetricsHelper();
+    }
+
     @Bean
     public OAuthTokenProvider oauthTokenProvider()
     {
@@ -145,6 +153,12 @@ public class DataBridgeSpringModuleConfig
         return new S3DaoImpl();
     }
 
+    @Bean
+    public S3TransferExecutorFactory s3TransferExecutorFactory()
+    {
+        return new S3TransferExecutorFactory();
+    }
+
     @Bean
     public S3Service s3Service()
     {